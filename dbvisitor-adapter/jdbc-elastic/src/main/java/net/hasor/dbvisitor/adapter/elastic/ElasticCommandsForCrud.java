@@ -14,18 +14,26 @@
  * limitations under the License.
  */
 package net.hasor.dbvisitor.adapter.elastic;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.Collections;
-import java.util.Map;
+import java.util.*;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.hasor.cobble.concurrent.future.Future;
 import net.hasor.dbvisitor.driver.AdapterReceive;
+import net.hasor.dbvisitor.driver.AdapterRequest;
 import net.hasor.dbvisitor.driver.AdapterResultCursor;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
 import org.elasticsearch.client.Request;
 import org.elasticsearch.client.Response;
 
 class ElasticCommandsForCrud extends ElasticCommands {
+    private static final ContentType NDJSON = ContentType.create("application/x-ndjson");
+
     public static Future<?> execInsert(Future<Object> sync, ElasticCmd cmd, ElasticOperation o, Object jsonBody, AdapterReceive receive) throws Exception {
         // 只对文档操作（路径包含 /_doc 或 /_create）使用 refresh 参数
         String queryPath = o.getQueryPath();
@@ -201,4 +209,162 @@ class ElasticCommandsForCrud extends ElasticCommands {
         receive.responseUpdateCount(o.getRequest(), updateCount);
         return completed(sync);
     }
+
+    /** JDBC 批量执行时可以合并到 _bulk 请求中的一条写操作，lines 为该操作的 NDJSON 行（action 行以及可选的 source 行） */
+    static class BulkItem {
+        private final int            entryIndex;
+        private final String         action;
+        private final AdapterRequest request;
+        private final byte[]         lines;
+
+        BulkItem(int entryIndex, String action, AdapterRequest request, byte[] lines) {
+            this.entryIndex = entryIndex;
+            this.action = action;
+            this.request = request;
+            this.lines = lines;
+        }
+
+        int byteSize() {
+            return this.lines.length;
+        }
+    }
+
+    /** 等待提交的 _bulk 请求，加入的每一项都会直接写入 NDJSON 请求体 */
+    static class BulkBuffer {
+        private final List<BulkItem>        items = new ArrayList<>();
+        private final ByteArrayOutputStream body  = new ByteArrayOutputStream();
+
+        void add(BulkItem item) {
+            this.items.add(item);
+            this.body.write(item.lines, 0, item.lines.length);
+        }
+
+        boolean isEmpty() {
+            return this.items.isEmpty();
+        }
+
+        int docCount() {
+            return this.items.size();
+        }
+
+        long byteSize() {
+            return this.body.size();
+        }
+
+        void clear() {
+            this.items.clear();
+            this.body.reset();
+        }
+    }
+
+    /**
+     * 将 /index/_doc、/index/_create/id、/index/_update/id 以及 DELETE /index/_doc/id 转换为 _bulk 中的 index/create/update/delete 操作。
+     * <p>带有 query 参数、hint、类型路径或者多索引路径的命令无法表达为 _bulk 中的一项，此时返回 null。</p>
+     */
+    public static BulkItem toBulkItem(ElasticOperation o, Object jsonBody, int entryIndex) throws IOException {
+        if (!o.getQueryParams().isEmpty() || !o.getHints().isEmpty()) {
+            return null;
+        }
+        String[] parts = o.getQueryPath().split("/");
+        if (parts.length < 3 || parts.length > 4 || !parts[0].isEmpty()) {
+            return null;
+        }
+        String index = parts[1];
+        String id = parts.length == 4 ? parts[3] : null;
+        if (index.isEmpty() || index.contains(",") || index.contains("*") || (id != null && id.isEmpty())) {
+            return null;
+        }
+
+        String action;
+        if ("_update".equals(parts[2])) {
+            action = "update";
+        } else if ("_create".equals(parts[2])) {
+            action = "create";
+        } else if ("_doc".equals(parts[2])) {
+            action = o.getMethod() == ElasticHttpMethod.DELETE ? "delete" : "index";
+        } else {
+            return null;
+        }
+        if (id == null && !("index".equals(action) && o.getMethod() == ElasticHttpMethod.POST)) {
+            return null;
+        }
+        if ("delete".equals(action) ? jsonBody != null : jsonBody == null) {
+            return null;
+        }
+
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("_index", index);
+        if (id != null) {
+            meta.put("_id", id);
+        }
+
+        ObjectMapper jsonMapper = ((ElasticRequest) o.getRequest()).getJson();
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        lines.write(jsonMapper.writeValueAsBytes(Collections.singletonMap(action, meta)));
+        lines.write('\n');
+        if (jsonBody != null) {
+            lines.write(jsonMapper.writeValueAsBytes(jsonBody));
+            lines.write('\n');
+        }
+        return new BulkItem(entryIndex, action, o.getRequest(), lines.toByteArray());
+    }
+
+    /**
+     * 以一个 _bulk 请求提交缓冲区中的所有操作，并将响应中 items 的结果按顺序换算为每条请求的影响行数，提交后缓冲区会被清空。
+     * <p>影响行数的换算规则与逐条执行时一致，单项失败只记录到对应的 errors 中，整个请求失败时所有项都会记录该错误。</p>
+     */
+    public static void execBulk(ElasticCmd cmd, BulkBuffer buffer, String refresh, long[] updateCounts, Throwable[] errors) {
+        List<BulkItem> items = buffer.items;
+        AdapterRequest firstRequest = items.get(0).request;
+        try {
+            Request esRequest = new Request(ElasticHttpMethod.POST.name(), refresh == null ? "/_bulk" : ("/_bulk?refresh=" + refresh));
+            esRequest.setEntity(new ByteArrayEntity(buffer.body.toByteArray(), NDJSON));
+            Response response = cmd.getClient().performRequest(esRequest);
+
+            JsonNode resultItems;
+            try (InputStream inputStream = response.getEntity().getContent()) {
+                ObjectMapper jsonMapper = ((ElasticRequest) firstRequest).getJson();
+                resultItems = jsonMapper.readTree(inputStream).path("items");
+            }
+
+            for (int i = 0; i < items.size(); i++) {
+                BulkItem item = items.get(i);
+                JsonNode result = resultItems.path(i).path(item.action);
+                if (result.isMissingNode()) {
+                    errors[item.entryIndex] = new SQLException("bulk response missing item " + i + ".");
+                } else if (result.has("error")) {
+                    JsonNode errorNode = result.get("error");
+                    String errorMsg = errorNode.has("reason") ? errorNode.get("reason").asText() : errorNode.toString();
+                    errors[item.entryIndex] = new SQLException(errorMsg, "E" + result.path("status").asInt());
+                } else {
+                    updateCounts[item.entryIndex] = bulkUpdateCount(item.action, result.path("result").asText(), refresh != null);
+                }
+            }
+        } catch (Exception e) {
+            SQLException error = ElasticDistributeCall.readError(e, firstRequest);
+            for (BulkItem item : items) {
+                errors[item.entryIndex] = error;
+            }
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private static long bulkUpdateCount(String action, String result, boolean hasRefresh) {
+        switch (action) {
+            case "index":
+            case "create":
+                return 1;
+            case "update":
+                if (!hasRefresh) {
+                    return Statement.SUCCESS_NO_INFO;
+                }
+                return ("updated".equals(result) || "created".equals(result)) ? 1 : 0;
+            default:
+                if (!hasRefresh) {
+                    return Statement.SUCCESS_NO_INFO;
+                }
+                return "deleted".equals(result) ? 1 : 0;
+        }
+    }
 }
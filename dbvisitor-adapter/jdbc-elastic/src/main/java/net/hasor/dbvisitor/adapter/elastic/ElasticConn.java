@@ -30,23 +30,30 @@ import net.hasor.cobble.logging.Logger;
 import net.hasor.cobble.logging.LoggerFactory;
 import net.hasor.dbvisitor.adapter.elastic.parser.*;
 import net.hasor.dbvisitor.driver.*;
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.BufferedTokenStream;
 import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.elasticsearch.client.Request;
 import org.elasticsearch.client.Response;
 import org.elasticsearch.client.RestClient;
 
 public class ElasticConn extends AdapterConnection {
-    private static final Logger       logger    = LoggerFactory.getLogger(ElasticConn.class);
-    private final        Connection   owner;
-    private final        ElasticCmd   elasticCmd;
-    private final        boolean      preRead;
-    private final        long         preReadThreshold;
-    private final        long         preReadMaxFileSize;
-    private final        java.io.File preReadCacheDir;
-    private final        boolean      indexRefresh;
-    private final        ObjectMapper json      = new ObjectMapper();
-    private volatile     boolean      cancelled = false;
+    private static final Logger                                             logger      = LoggerFactory.getLogger(ElasticConn.class);
+    private static final AdapterParseCache<ElasticParser.EsCommandsContext> PARSE_CACHE = new AdapterParseCache<>();
+    private final        Connection                                         owner;
+    private final        ElasticCmd                                         elasticCmd;
+    private final        boolean                                            preRead;
+    private final        long                                               preReadThreshold;
+    private final        long                                               preReadMaxFileSize;
+    private final        java.io.File                                       preReadCacheDir;
+    private final        boolean                                            indexRefresh;
+    private final        int                                                bulkMaxDocs;
+    private final        long                                               bulkMaxSize;
+    private final        String                                             bulkRefresh;
+    private final        ObjectMapper                                       json        = new ObjectMapper();
+    private volatile     boolean                                            cancelled   = false;
 
     public ElasticConn(Connection owner, ElasticCmd elasticCmd, String jdbcUrl, Map<String, String> prop) {
         super(jdbcUrl, prop.get(ElasticKeys.USERNAME));
@@ -59,6 +66,11 @@ public class ElasticConn extends AdapterConnection {
         String cacheDirStr = prop.get(ElasticKeys.PREREAD_CACHE_DIR);
         this.preReadCacheDir = StringUtils.isBlank(cacheDirStr) ? new java.io.File(System.getProperty("java.io.tmpdir")) : new java.io.File(cacheDirStr);
         this.indexRefresh = "true".equalsIgnoreCase(prop.getOrDefault(ElasticKeys.INDEX_REFRESH, "false"));
+
+        this.bulkMaxDocs = parseInt(prop.get(ElasticKeys.BULK_MAX_DOCS), 1000);
+        this.bulkMaxSize = parseSize(prop.get(ElasticKeys.BULK_MAX_SIZE), 5 * 1024 * 1024); // Default 5MB
+        String bulkRefresh = prop.getOrDefault(ElasticKeys.BULK_REFRESH, String.valueOf(this.indexRefresh));
+        this.bulkRefresh = (StringUtils.isBlank(bulkRefresh) || "false".equalsIgnoreCase(bulkRefresh)) ? null : bulkRefresh.trim().toLowerCase();
     }
 
     @Override
@@ -93,6 +105,18 @@ public class ElasticConn extends AdapterConnection {
         }
     }
 
+    private int parseInt(String intStr, int defaultValue) {
+        if (StringUtils.isBlank(intStr)) {
+            return defaultValue;
+        }
+        try {
+            int value = Integer.parseInt(intStr.trim());
+            return value > 0 ? value : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     public boolean isPreRead() {
         return this.preRead;
     }
@@ -113,12 +137,25 @@ public class ElasticConn extends AdapterConnection {
         return this.indexRefresh;
     }
 
+    public int getBulkMaxDocs() {
+        return this.bulkMaxDocs;
+    }
+
+    public long getBulkMaxSize() {
+        return this.bulkMaxSize;
+    }
+
+    public String getBulkRefresh() {
+        return this.bulkRefresh;
+    }
+
     protected Connection getOwner() {
         return this.owner;
     }
 
     public void initConnection() {
         this.getFeatures().addFeature(AdapterFeatureKey.ReturnGeneratedKeys, true);
+        this.getFeatures().addFeature(AdapterFeatureKey.BatchRequest, true);
 
         AdapterInfo info = this.getInfo();
         info.getDriverVersion().setName(ElasticKeys.DEFAULT_CLIENT_NAME);
@@ -194,24 +231,38 @@ public class ElasticConn extends AdapterConnection {
     }
 
     protected ElasticParser.EsCommandsContext parserRequest(AdapterRequest request) throws SQLException {
-        if (StringUtils.isBlank(((ElasticRequest) request).getCommandBody())) {
+        String commandBody = ((ElasticRequest) request).getCommandBody();
+        if (StringUtils.isBlank(commandBody)) {
             throw new SQLException("query command is empty.", JdbcErrorCode.SQL_STATE_QUERY_EMPTY);
         }
-        try {
-            ElasticLexer lexer = new ElasticLexer(CharStreams.fromString(((ElasticRequest) request).getCommandBody()));
-            lexer.removeErrorListeners();
-            lexer.addErrorListener(ThrowingListener.INSTANCE);
+        return PARSE_CACHE.get(commandBody, k -> this.parseCommand(commandBody));
+    }
 
-            ElasticParser parser = new ElasticParser(new BufferedTokenStream(lexer));
-            parser.removeErrorListeners();
-            parser.addErrorListener(ThrowingListener.INSTANCE);
-            return parser.esCommands();
+    private ElasticParser.EsCommandsContext parseCommand(String command) throws SQLException {
+        try {
+            return AdapterParseCache.parseWithFallback(ParseCancellationException.class, fast -> this.newParser(command, fast), ElasticParser::esCommands);
         } catch (QueryParseException e) {
-            String errorMsg = "command '" + ((ElasticRequest) request).getCommandBody() + "' parserFailed.";
+            String errorMsg = "command '" + command + "' parserFailed.";
             throw new SQLException(errorMsg, JdbcErrorCode.SQL_STATE_SYNTAX_ERROR, e);
         }
     }
 
+    private ElasticParser newParser(String command, boolean fast) {
+        ElasticLexer lexer = new ElasticLexer(CharStreams.fromString(command));
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(ThrowingListener.INSTANCE);
+
+        ElasticParser parser = new ElasticParser(new BufferedTokenStream(lexer));
+        parser.removeErrorListeners();
+        if (fast) {
+            parser.setErrorHandler(new BailErrorStrategy());
+            parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        } else {
+            parser.addErrorListener(ThrowingListener.INSTANCE);
+        }
+        return parser;
+    }
+
     //
     //
     //
@@ -222,6 +273,11 @@ public class ElasticConn extends AdapterConnection {
             logger.debug("doRequest: " + ((ElasticRequest) request).getCommandBody());
         }
         this.cancelled = false;
+        this.execRequest(request, receive);
+        receive.responseFinish(request);
+    }
+
+    private void execRequest(AdapterRequest request, AdapterReceive receive) throws SQLException {
         ElasticParser.EsCommandsContext root = parserRequest(request);
         ElasticArgVisitor argVisitor = new ElasticArgVisitor();
         root.accept(argVisitor);
@@ -264,8 +320,33 @@ public class ElasticConn extends AdapterConnection {
                 break;
             }
         }
+    }
 
-        receive.responseFinish(request);
+    /**
+     * 连续的单文档 insert/update/delete 命令会以 NDJSON 的形式合并到一个 _bulk 请求中，
+     * 当累计的文档数或者请求体大小达到 bulkMaxDocs/bulkMaxSize 时提交一次，其它命令仍然逐条执行。
+     */
+    @Override
+    public synchronized long[] doBatchRequest(List<AdapterRequest> requests) throws SQLException {
+        if (logger.isDebugEnabled()) {
+            logger.debug("doBatchRequest: " + requests.size() + " requests.");
+        }
+        this.cancelled = false;
+        return this.doBatchRequest(requests, () -> this.cancelled, new ElasticBatchCoalescer());
+    }
+
+    private ElasticCommandsForCrud.BulkItem toBulkItem(AdapterRequest request, int entryIndex) throws Exception {
+        ElasticParser.EsCommandsContext root = parserRequest(request);
+        ElasticArgVisitor argVisitor = new ElasticArgVisitor();
+        root.accept(argVisitor);
+        List<ElasticParser.HintCommandContext> commandList = argVisitor.getCommandList();
+        if (commandList.size() != 1 || commandList.get(0).esCmd() == null) {
+            return null;
+        }
+        if (argVisitor.getArgCount() > 0 && argVisitor.getArgCount() != request.getArgMap().size()) {
+            return null;
+        }
+        return ElasticDistributeCall.toBulkItem(commandList.get(0), request, entryIndex);
     }
 
     @Override
@@ -278,4 +359,35 @@ public class ElasticConn extends AdapterConnection {
         this.cancelRequest();
         this.elasticCmd.close();
     }
+
+    /** 把连续的单文档写操作合并为一次 _bulk 请求，每批不超过 bulkMaxDocs 个文档以及 bulkMaxSize 字节 */
+    private class ElasticBatchCoalescer implements AdapterBatchCoalescer<ElasticCommandsForCrud.BulkItem> {
+        private final ElasticCommandsForCrud.BulkBuffer pending = new ElasticCommandsForCrud.BulkBuffer();
+
+        @Override
+        public ElasticCommandsForCrud.BulkItem tryCoalesce(AdapterRequest request, int entryIndex) throws Exception {
+            return toBulkItem(request, entryIndex);
+        }
+
+        @Override
+        public boolean append(ElasticCommandsForCrud.BulkItem item) {
+            if (!this.pending.isEmpty() && (this.pending.docCount() >= bulkMaxDocs || this.pending.byteSize() + item.byteSize() > bulkMaxSize)) {
+                return false;
+            }
+            this.pending.add(item);
+            return true;
+        }
+
+        @Override
+        public void flush(long[] updateCounts, Throwable[] errors) {
+            if (!this.pending.isEmpty()) {
+                ElasticCommandsForCrud.execBulk(elasticCmd, this.pending, bulkRefresh, updateCounts, errors);
+            }
+        }
+
+        @Override
+        public void execute(AdapterRequest request, AdapterReceive receive) throws SQLException {
+            execRequest(request, receive);
+        }
+    }
 }
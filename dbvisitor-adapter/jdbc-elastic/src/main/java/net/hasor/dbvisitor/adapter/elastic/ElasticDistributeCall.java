@@ -195,7 +195,32 @@ class ElasticDistributeCall {
         }
     }
 
-    private static SQLException readError(Exception e, AdapterRequest request) {
+    /** 将单文档的 insert/update/delete 命令转换为 _bulk 请求中的一项，其它命令返回 null */
+    public static ElasticCommandsForCrud.BulkItem toBulkItem(HintCommandContext c, AdapterRequest request, int entryIndex) throws Exception {
+        AtomicInteger argIndex = new AtomicInteger(0);
+        Map<String, Object> hints = readHints(argIndex, request, c.hint());
+
+        EsCmdContext h = c.esCmd();
+        if (h.insert() != null) {
+            ElasticHttpMethod method = h.insert().POST() != null ? ElasticHttpMethod.POST : ElasticHttpMethod.PUT;
+            ElasticOperation op = createOperation(h.insert().insertPath(), hints, argIndex, method, request);
+            Object jsonBody = resolveJson(h.insert().json(), argIndex, request);
+            return ElasticCommandsForCrud.toBulkItem(op, jsonBody, entryIndex);
+        }
+        if (h.update() != null) {
+            ElasticOperation op = createOperation(h.update().updatePath1(), hints, argIndex, ElasticHttpMethod.POST, request);
+            Object jsonBody = resolveJson(h.update().json(), argIndex, request);
+            return ElasticCommandsForCrud.toBulkItem(op, jsonBody, entryIndex);
+        }
+        if (h.delete() != null) {
+            ElasticOperation op = createOperation(h.delete().deletePath1(), hints, argIndex, ElasticHttpMethod.DELETE, request);
+            Object jsonBody = resolveJson(h.delete().json(), argIndex, request);
+            return ElasticCommandsForCrud.toBulkItem(op, jsonBody, entryIndex);
+        }
+        return null;
+    }
+
+    static SQLException readError(Exception e, AdapterRequest request) {
         if (e instanceof ResponseException) {
             String errorMsg = null;
             Response response = ((ResponseException) e).getResponse();
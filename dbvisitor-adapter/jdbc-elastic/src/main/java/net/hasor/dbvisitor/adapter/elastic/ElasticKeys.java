@@ -41,4 +41,8 @@ public interface ElasticKeys {
     String PREREAD_CACHE_DIR     = "preReadCacheDir";
     // index refresh
     String INDEX_REFRESH         = "indexRefresh";
+    // bulk options
+    String BULK_MAX_DOCS         = "bulkMaxDocs";
+    String BULK_MAX_SIZE         = "bulkMaxSize"; // MB
+    String BULK_REFRESH          = "bulkRefresh"; // true/false/wait_for
 }
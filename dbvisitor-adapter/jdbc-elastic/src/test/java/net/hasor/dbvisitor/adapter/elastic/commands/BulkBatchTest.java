@@ -0,0 +1,164 @@
+package net.hasor.dbvisitor.adapter.elastic.commands;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import net.hasor.cobble.io.IOUtils;
+import net.hasor.dbvisitor.adapter.elastic.AbstractJdbcTest;
+import net.hasor.dbvisitor.adapter.elastic.ElasticCustomClient;
+import net.hasor.dbvisitor.adapter.elastic.ElasticKeys;
+import net.hasor.dbvisitor.driver.JdbcDriver;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+import org.junit.Test;
+import org.powermock.api.mockito.PowerMockito;
+import static org.mockito.ArgumentMatchers.any;
+
+public class BulkBatchTest extends AbstractJdbcTest {
+    private static Connection elasticConnection(Properties prop) throws SQLException {
+        prop.setProperty(ElasticKeys.CUSTOM_ELASTIC, ElasticCustomClient.class.getName());
+        return new JdbcDriver().connect("jdbc:dbvisitor:elastic://xxxxxx:9200", prop);
+    }
+
+    private static void mockResponse(Connection conn, List<String> endpoints, List<String> bodies, String... responses) throws Exception {
+        RestClient client = conn.unwrap(RestClient.class);
+        int[] callIdx = new int[] { 0 };
+        PowerMockito.when(client.performRequest(any(Request.class))).thenAnswer(inv -> {
+            Request request = inv.getArgument(0);
+            endpoints.add(request.getMethod() + " " + request.getEndpoint());
+            bodies.add(request.getEntity() == null ? null : IOUtils.readToString(request.getEntity().getContent(), "UTF-8"));
+
+            Response response = PowerMockito.mock(Response.class);
+            String json = responses[Math.min(callIdx[0]++, responses.length - 1)];
+            PowerMockito.when(response.getEntity()).thenReturn(new StringEntity(json, ContentType.APPLICATION_JSON));
+            return response;
+        });
+    }
+
+    @Test
+    public void batch_insert_0() throws Exception {
+        List<String> endpoints = new ArrayList<>();
+        List<String> bodies = new ArrayList<>();
+        try (Connection conn = elasticConnection()) {
+            mockResponse(conn, endpoints, bodies, "{\"errors\":false,\"items\":[" +//
+                    "{\"index\":{\"_id\":\"1\",\"status\":201,\"result\":\"created\"}}," +//
+                    "{\"index\":{\"_id\":\"2\",\"status\":201,\"result\":\"created\"}}," +//
+                    "{\"index\":{\"_id\":\"3\",\"status\":200,\"result\":\"updated\"}}]}");
+
+            try (PreparedStatement ps = conn.prepareStatement("POST /{?}/_doc/{?} { \"name\": ? }")) {
+                for (String id : new String[] { "1", "2", "3" }) {
+                    ps.setString(1, "users");
+                    ps.setString(2, id);
+                    ps.setString(3, "name_" + id);
+                    ps.addBatch();
+                }
+                int[] counts = ps.executeBatch();
+                assert counts.length == 3 && counts[0] == 1 && counts[1] == 1 && counts[2] == 1;
+            }
+        }
+
+        assert endpoints.size() == 1 && endpoints.get(0).equals("POST /_bulk");
+        String[] lines = bodies.get(0).split("\n");
+        assert lines.length == 6;
+        assert lines[0].equals("{\"index\":{\"_index\":\"users\",\"_id\":\"1\"}}");
+        assert lines[1].equals("{\"name\":\"name_1\"}");
+        assert lines[4].equals("{\"index\":{\"_index\":\"users\",\"_id\":\"3\"}}");
+        assert bodies.get(0).endsWith("\n");
+    }
+
+    @Test
+    public void batch_flush_0() throws Exception {
+        Properties prop = new Properties();
+        prop.setProperty(ElasticKeys.BULK_MAX_DOCS, "2");
+        prop.setProperty(ElasticKeys.BULK_REFRESH, "wait_for");
+
+        List<String> endpoints = new ArrayList<>();
+        List<String> bodies = new ArrayList<>();
+        try (Connection conn = elasticConnection(prop)) {
+            mockResponse(conn, endpoints, bodies,//
+                    "{\"errors\":false,\"items\":[" +//
+                            "{\"update\":{\"_id\":\"1\",\"status\":200,\"result\":\"updated\"}}," +//
+                            "{\"delete\":{\"_id\":\"2\",\"status\":404,\"result\":\"not_found\"}}]}",//
+                    "{\"errors\":false,\"items\":[" +//
+                            "{\"create\":{\"_id\":\"3\",\"status\":201,\"result\":\"created\"}}]}");
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.addBatch("POST /users/_update/1 { \"doc\": { \"age\": 21 } }");
+                stmt.addBatch("DELETE /users/_doc/2");
+                stmt.addBatch("PUT /users/_create/3 { \"name\": \"c\" }");
+                int[] counts = stmt.executeBatch();
+                assert counts.length == 3 && counts[0] == 1 && counts[1] == 0 && counts[2] == 1;
+            }
+        }
+
+        assert endpoints.size() == 2;
+        assert endpoints.get(0).equals("POST /_bulk?refresh=wait_for");
+        assert endpoints.get(1).equals("POST /_bulk?refresh=wait_for");
+        assert bodies.get(0).equals("{\"update\":{\"_index\":\"users\",\"_id\":\"1\"}}\n{\"doc\":{\"age\":21}}\n" +//
+                "{\"delete\":{\"_index\":\"users\",\"_id\":\"2\"}}\n");
+        assert bodies.get(1).equals("{\"create\":{\"_index\":\"users\",\"_id\":\"3\"}}\n{\"name\":\"c\"}\n");
+    }
+
+    @Test
+    public void batch_mixed_0() throws Exception {
+        List<String> endpoints = new ArrayList<>();
+        List<String> bodies = new ArrayList<>();
+        try (Connection conn = elasticConnection()) {
+            mockResponse(conn, endpoints, bodies,//
+                    "{\"errors\":false,\"items\":[{\"index\":{\"_id\":\"a1\",\"status\":201,\"result\":\"created\"}}]}",//
+                    "{\"updated\":5}",//
+                    "{\"errors\":false,\"items\":[{\"index\":{\"_id\":\"a2\",\"status\":201,\"result\":\"created\"}}]}");
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.addBatch("POST /users/_doc { \"name\": \"a\" }");
+                stmt.addBatch("POST /users/_update_by_query { \"query\": { \"match_all\": {} } }");
+                stmt.addBatch("POST /users/_doc { \"name\": \"b\" }");
+                int[] counts = stmt.executeBatch();
+                assert counts.length == 3 && counts[0] == 1 && counts[1] == Statement.SUCCESS_NO_INFO && counts[2] == 1;
+            }
+        }
+
+        assert endpoints.size() == 3;
+        assert endpoints.get(0).equals("POST /_bulk");
+        assert endpoints.get(1).equals("POST /users/_update_by_query");
+        assert endpoints.get(2).equals("POST /_bulk");
+        assert bodies.get(0).equals("{\"index\":{\"_index\":\"users\"}}\n{\"name\":\"a\"}\n");
+    }
+
+    @Test
+    public void batch_item_failed_0() throws Exception {
+        List<String> endpoints = new ArrayList<>();
+        List<String> bodies = new ArrayList<>();
+        try (Connection conn = elasticConnection()) {
+            mockResponse(conn, endpoints, bodies, "{\"errors\":true,\"items\":[" +//
+                    "{\"create\":{\"_id\":\"1\",\"status\":201,\"result\":\"created\"}}," +//
+                    "{\"create\":{\"_id\":\"2\",\"status\":409,\"error\":{\"type\":\"version_conflict_engine_exception\",\"reason\":\"document already exists\"}}}," +//
+                    "{\"create\":{\"_id\":\"3\",\"status\":201,\"result\":\"created\"}}]}");
+
+            try (PreparedStatement ps = conn.prepareStatement("PUT /users/_create/{?} { \"name\": ? }")) {
+                for (String id : new String[] { "1", "2", "3" }) {
+                    ps.setString(1, id);
+                    ps.setString(2, "name_" + id);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                assert false;
+            } catch (BatchUpdateException e) {
+                assert e.getMessage().equals("document already exists");
+                assert e.getSQLState().equals("E409");
+                long[] counts = e.getLargeUpdateCounts();
+                assert counts.length == 3 && counts[0] == 1 && counts[1] == Statement.EXECUTE_FAILED && counts[2] == 1;
+            }
+        }
+
+        assert endpoints.size() == 1;
+        assert bodies.get(0).split("\n").length == 6;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.adapter.milvus;
+import java.sql.SQLException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 以 float[] 作为存储的稠密向量列，所有行的向量连续存放在同一个缓冲区中。
+ * <p>Milvus SDK 要求向量列的值为 List&lt;List&lt;Float&gt;&gt;，这里每一行只是缓冲区上的一个只读视图，
+ * 只有在 SDK 读取元素时才会产生 Float 对象，而不是为每一个分量预先装箱。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+class FloatVectorColumn extends AbstractList<List<Float>> implements RandomAccess {
+    private float[] buffer;
+    private int[]   offsets;
+    private int     rows;
+
+    FloatVectorColumn(int rowCapacity, int dimension) {
+        this.buffer = new float[Math.max(rowCapacity, 1) * Math.max(dimension, 1)];
+        this.offsets = new int[Math.max(rowCapacity, 1) + 1];
+    }
+
+    /** 将一行向量追加到缓冲区中，每个分量必须是 Number 或者可以解析为 float 的字符串 */
+    void addRow(List<?> vector) throws SQLException {
+        int start = this.offsets[this.rows];
+        int end = start + vector.size();
+        if (end > this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, Math.max(end, this.buffer.length * 2));
+        }
+        if (this.rows + 1 >= this.offsets.length) {
+            this.offsets = Arrays.copyOf(this.offsets, this.offsets.length * 2);
+        }
+
+        int pos = start;
+        for (Object item : vector) {
+            if (item instanceof Number) {
+                this.buffer[pos++] = ((Number) item).floatValue();
+            } else {
+                try {
+                    this.buffer[pos++] = Float.parseFloat(String.valueOf(item));
+                } catch (NumberFormatException e) {
+                    throw new SQLException("Failed to parse vector item to Float: " + item);
+                }
+            }
+        }
+        this.offsets[++this.rows] = end;
+    }
+
+    /** 把单个向量转换为 float[] 存储的 List */
+    static List<Float> ofRow(List<?> vector) throws SQLException {
+        FloatVectorColumn column = new FloatVectorColumn(1, vector.size());
+        column.addRow(vector);
+        return column.get(0);
+    }
+
+    @Override
+    public List<Float> get(int index) {
+        if (index < 0 || index >= this.rows) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.rows);
+        }
+        return new FloatVector(this.offsets[index], this.offsets[index + 1] - this.offsets[index]);
+    }
+
+    @Override
+    public int size() {
+        return this.rows;
+    }
+
+    private class FloatVector extends AbstractList<Float> implements RandomAccess {
+        private final int offset;
+        private final int length;
+
+        FloatVector(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public Float get(int index) {
+            if (index < 0 || index >= this.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.length);
+            }
+            return buffer[this.offset + index];
+        }
+
+        @Override
+        public int size() {
+            return this.length;
+        }
+    }
+}
@@ -69,18 +69,7 @@ class MilvusCommandsForData extends MilvusCommands {
         Gson gson = new Gson();
 
         // Fetch Schema to identify JSON columns
-        R<DescribeCollectionResponse> descResp = cmd.getClient()//
-                .describeCollection(DescribeCollectionParam.newBuilder()//
-                        .withCollectionName(collectionName)//
-                        .build());
-        if (descResp.getStatus() != R.Status.Success.getCode()) {
-            throw new SQLException("DescribeCollection failed: " + descResp.getMessage());
-        }
-        DescCollResponseWrapper schema = new DescCollResponseWrapper(descResp.getData());
-        Map<String, DataType> colTypes = new HashMap<>();
-        for (FieldType fs : schema.getFields()) {
-            colTypes.put(fs.getName(), fs.getDataType());
-        }
+        Map<String, DataType> colTypes = describeColumnTypes(cmd, collectionName);
 
         String partitionNameVal = partCtx != null ? partCtx.getText() : null;
         String partitionName = partitionNameVal != null ? getIdentifier(partitionNameVal) : null;
@@ -98,56 +87,7 @@ class MilvusCommandsForData extends MilvusCommands {
             String colName = getIdentifier(colNameTxt);
 
             Object value = parseTerm(colValues.get(i), argIndex, request);
-            DataType dataType = colTypes.get(colName);
-
-            // Type conversion for Numbers
-            if (value instanceof Number && dataType != null) {
-                if (dataType == DataType.Int64) {
-                    value = ((Number) value).longValue();
-                } else if (dataType == DataType.Int32 || dataType == DataType.Int16 || dataType == DataType.Int8) {
-                    value = ((Number) value).intValue();
-                } else if (dataType == DataType.Float) {
-                    value = ((Number) value).floatValue();
-                } else if (dataType == DataType.Double) {
-                    value = ((Number) value).doubleValue();
-                }
-            }
-
-            // If it's a JSON column and we have a String, try to parse it as JSON
-            if (dataType == DataType.JSON && value instanceof String) {
-                try {
-                    value = gson.fromJson((String) value, JsonElement.class);
-                } catch (Exception e) {
-                    // ignore parse error, let Milvus SDK handle validation failure
-                }
-            }
-
-            // Auto convert vector list if needed (Milvus requires List<Float>)
-            // Auto convert Map/List to JsonElement (Gson) for JSON columns
-            if (value instanceof List) {
-                List<?> listVal = (List<?>) value;
-                if (!listVal.isEmpty() && !(listVal.get(0) instanceof List)) {
-                    // Check if elements are Numbers (Float Vector)
-                    boolean isVector = true;
-                    for (Object o : listVal) {
-                        if (!(o instanceof Number)) {
-                            isVector = false;
-                            break;
-                        }
-                    }
-
-                    if (isVector) {
-                        value = toFloatList(value);
-                    } else {
-                        value = gson.toJsonTree(value);
-                    }
-                } else if (listVal.isEmpty()) {
-                    value = gson.toJsonTree(value);
-                }
-            } else if (value instanceof Map) {
-                // JSON Object
-                value = gson.toJsonTree(value);
-            }
+            value = convertInsertValue(value, colTypes.get(colName), gson);
 
             // Milvus InsertParam.Field expects List<?> values. Since we are single-row here, we wrap in singletonList.
             fields.add(new InsertParam.Field(colName, Collections.singletonList(value)));
@@ -184,6 +124,73 @@ class MilvusCommandsForData extends MilvusCommands {
         return completed(future);
     }
 
+    private static Map<String, DataType> describeColumnTypes(MilvusCmd cmd, String collectionName) throws SQLException {
+        R<DescribeCollectionResponse> descResp = cmd.getClient()//
+                .describeCollection(DescribeCollectionParam.newBuilder()//
+                        .withCollectionName(collectionName)//
+                        .build());
+        if (descResp.getStatus() != R.Status.Success.getCode()) {
+            throw new SQLException("DescribeCollection failed: " + descResp.getMessage());
+        }
+        DescCollResponseWrapper schema = new DescCollResponseWrapper(descResp.getData());
+        Map<String, DataType> colTypes = new HashMap<>();
+        for (FieldType fs : schema.getFields()) {
+            colTypes.put(fs.getName(), fs.getDataType());
+        }
+        return colTypes;
+    }
+
+    private static boolean isFloatVector(Object value) {
+        if (!(value instanceof List) || ((List<?>) value).isEmpty()) {
+            return false;
+        }
+        for (Object o : (List<?>) value) {
+            if (!(o instanceof Number)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Object convertInsertValue(Object value, DataType dataType, Gson gson) throws SQLException {
+        // Type conversion for Numbers
+        if (value instanceof Number && dataType != null) {
+            if (dataType == DataType.Int64) {
+                value = ((Number) value).longValue();
+            } else if (dataType == DataType.Int32 || dataType == DataType.Int16 || dataType == DataType.Int8) {
+                value = ((Number) value).intValue();
+            } else if (dataType == DataType.Float) {
+                value = ((Number) value).floatValue();
+            } else if (dataType == DataType.Double) {
+                value = ((Number) value).doubleValue();
+            }
+        }
+
+        // If it's a JSON column and we have a String, try to parse it as JSON
+        if (dataType == DataType.JSON && value instanceof String) {
+            try {
+                value = gson.fromJson((String) value, JsonElement.class);
+            } catch (Exception e) {
+                // ignore parse error, let Milvus SDK handle validation failure
+            }
+        }
+
+        // Auto convert vector list if needed (Milvus requires List<Float>, backed by float[])
+        // Auto convert Map/List to JsonElement (Gson) for JSON columns
+        if (value instanceof List) {
+            List<?> listVal = (List<?>) value;
+            if (isFloatVector(listVal)) {
+                value = FloatVectorColumn.ofRow(listVal);
+            } else if (listVal.isEmpty() || !(listVal.get(0) instanceof List)) {
+                value = gson.toJsonTree(value);
+            }
+        } else if (value instanceof Map) {
+            // JSON Object
+            value = gson.toJsonTree(value);
+        }
+        return value;
+    }
+
     public static Future<?> execUpdateCmd(Future<Object> future, MilvusCmd cmd, HintCommandContext h, UpdateCmdContext c, //
             AdapterRequest request, AdapterReceive receive, int startArgIdx) throws SQLException {
         AtomicInteger argIndex = new AtomicInteger(startArgIdx);
@@ -650,4 +657,116 @@ class MilvusCommandsForData extends MilvusCommands {
         receive.responseUpdateCount(request, 0);
         return completed(future);
     }
+
+    /** JDBC 批量执行时可以合并到同一个列式 InsertParam 中的一行数据 */
+    static class InsertRow {
+        private final int          entryIndex;
+        private final String       collectionName;
+        private final String       partitionName;
+        private final List<String> columns;
+        private final List<Object> values;
+
+        InsertRow(int entryIndex, String collectionName, String partitionName, List<String> columns, List<Object> values) {
+            this.entryIndex = entryIndex;
+            this.collectionName = collectionName;
+            this.partitionName = partitionName;
+            this.columns = columns;
+            this.values = values;
+        }
+
+        boolean sameTarget(InsertRow other) {
+            return Objects.equals(this.collectionName, other.collectionName) //
+                    && Objects.equals(this.partitionName, other.partitionName) //
+                    && this.columns.equals(other.columns);
+        }
+    }
+
+    /** 将带有列名列表的 INSERT 命令解析为一行数据，其它命令返回 null */
+    public static InsertRow toInsertRow(HintCommandContext h, AdapterRequest request, int entryIndex) throws SQLException {
+        InsertCmdContext c = h.command().insertCmd();
+        if (c == null || c.columnList == null) {
+            return null;
+        }
+
+        AtomicInteger argIndex = new AtomicInteger(0);
+        readHints(argIndex, request, h.hint());
+
+        String collectionName = getIdentifier(c.collectionName.getText());
+        String partitionName = c.partitionName != null ? getIdentifier(c.partitionName.getText()) : null;
+        List<IdentifierContext> colNames = c.columnList.identifier();
+        List<TermContext> colValues = c.valueList.term();
+        if (collectionName == null || colNames.size() != colValues.size()) {
+            return null;
+        }
+
+        List<String> columns = new ArrayList<>(colNames.size());
+        List<Object> values = new ArrayList<>(colNames.size());
+        for (int i = 0; i < colNames.size(); i++) {
+            columns.add(getIdentifier(colNames.get(i).getText()));
+            values.add(parseTerm(colValues.get(i), argIndex, request));
+        }
+        return new InsertRow(entryIndex, collectionName, StringUtils.isBlank(partitionName) ? null : partitionName, columns, values);
+    }
+
+    /**
+     * 把同一个集合/分区上连续的多行 INSERT 转置为列式数据，以一次 insert 调用写入。
+     * <p>稠密向量列的所有行存放在同一个 {@link FloatVectorColumn} 缓冲区中，其它列的值与逐条执行时的转换规则一致。
+     * 写入成功时每行记为 1，失败时所有行都会记录该错误。</p>
+     */
+    public static void execInsertRows(MilvusCmd cmd, List<InsertRow> rows, long[] updateCounts, Throwable[] errors) {
+        InsertRow first = rows.get(0);
+        try {
+            Gson gson = new Gson();
+            Map<String, DataType> colTypes = describeColumnTypes(cmd, first.collectionName);
+
+            List<InsertParam.Field> fields = new ArrayList<>(first.columns.size());
+            for (int i = 0; i < first.columns.size(); i++) {
+                String colName = first.columns.get(i);
+                DataType dataType = colTypes.get(colName);
+
+                boolean denseVector = true;
+                for (InsertRow row : rows) {
+                    if (!isFloatVector(row.values.get(i))) {
+                        denseVector = false;
+                        break;
+                    }
+                }
+
+                List<?> columnValues;
+                if (denseVector) {
+                    FloatVectorColumn vectors = new FloatVectorColumn(rows.size(), ((List<?>) first.values.get(i)).size());
+                    for (InsertRow row : rows) {
+                        vectors.addRow((List<?>) row.values.get(i));
+                    }
+                    columnValues = vectors;
+                } else {
+                    List<Object> values = new ArrayList<>(rows.size());
+                    for (InsertRow row : rows) {
+                        values.add(convertInsertValue(row.values.get(i), dataType, gson));
+                    }
+                    columnValues = values;
+                }
+                fields.add(new InsertParam.Field(colName, columnValues));
+            }
+
+            InsertParam.Builder insertBuilder = InsertParam.newBuilder()//
+                    .withCollectionName(first.collectionName)//
+                    .withFields(fields);
+            if (first.partitionName != null) {
+                insertBuilder.withPartitionName(first.partitionName);
+            }
+
+            R<MutationResult> result = cmd.getClient().insert(insertBuilder.build());
+            if (result.getStatus() != R.Status.Success.getCode()) {
+                throw new SQLException(result.getMessage() == null ? "status=" + result.getStatus() : result.getMessage());
+            }
+            for (InsertRow row : rows) {
+                updateCounts[row.entryIndex] = 1;
+            }
+        } catch (Exception e) {
+            for (InsertRow row : rows) {
+                errors[row.entryIndex] = e;
+            }
+        }
+    }
 }
\ No newline at end of file
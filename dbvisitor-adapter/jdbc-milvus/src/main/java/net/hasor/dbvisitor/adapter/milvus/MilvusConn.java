@@ -17,6 +17,7 @@ package net.hasor.dbvisitor.adapter.milvus;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import io.milvus.client.MilvusClient;
@@ -30,15 +31,20 @@ import net.hasor.cobble.logging.Logger;
 import net.hasor.cobble.logging.LoggerFactory;
 import net.hasor.dbvisitor.adapter.milvus.parser.*;
 import net.hasor.dbvisitor.driver.*;
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.BufferedTokenStream;
 import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 
 public class MilvusConn extends AdapterConnection {
-    private static final Logger     logger    = LoggerFactory.getLogger(MilvusConn.class);
-    private final        Connection owner;
-    private final        MilvusCmd  milvusCmd;
-    private final        ConsistencyLevelEnum consistencyLevel;
-    private volatile     boolean    cancelled = false;
+    private static final Logger                                      logger      = LoggerFactory.getLogger(MilvusConn.class);
+    private static final AdapterParseCache<MilvusParser.RootContext> PARSE_CACHE = new AdapterParseCache<>();
+    private final        Connection                                  owner;
+    private final        MilvusCmd                                   milvusCmd;
+    private final        ConsistencyLevelEnum                        consistencyLevel;
+    private final        int                                         batchMaxRows;
+    private volatile     boolean                                     cancelled   = false;
 
     public MilvusConn(Connection owner, MilvusCmd milvusCmd, String jdbcUrl, Map<String, String> prop) {
         super(jdbcUrl, prop.get(MilvusKeys.USERNAME));
@@ -51,6 +57,20 @@ public class MilvusConn extends AdapterConnection {
         } else {
             this.consistencyLevel = null;
         }
+
+        this.batchMaxRows = parseInt(prop.get(MilvusKeys.BATCH_MAX_ROWS), 1000);
+    }
+
+    private int parseInt(String intStr, int defaultValue) {
+        if (StringUtils.isBlank(intStr)) {
+            return defaultValue;
+        }
+        try {
+            int value = Integer.parseInt(intStr.trim());
+            return value > 0 ? value : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
     }
 
     @Override
@@ -59,6 +79,8 @@ public class MilvusConn extends AdapterConnection {
     }
 
     public void initConnection() {
+        this.getFeatures().addFeature(AdapterFeatureKey.BatchRequest, true);
+
         AdapterInfo info = this.getInfo();
         info.getDriverVersion().setName(MilvusKeys.DEFAULT_CLIENT_NAME);
         info.getDbVersion().setName("Milvus");
@@ -125,30 +147,49 @@ public class MilvusConn extends AdapterConnection {
     }
 
     protected MilvusParser.RootContext parserRequest(AdapterRequest request) throws SQLException {
-        if (StringUtils.isBlank(((MilvusRequest) request).getCommandBody())) {
+        String commandBody = ((MilvusRequest) request).getCommandBody();
+        if (StringUtils.isBlank(commandBody)) {
             throw new SQLException("query command is empty.", JdbcErrorCode.SQL_STATE_QUERY_EMPTY);
         }
-        try {
-            MilvusLexer lexer = new MilvusLexer(CharStreams.fromString(((MilvusRequest) request).getCommandBody()));
-            lexer.removeErrorListeners();
-            lexer.addErrorListener(ThrowingListener.INSTANCE);
+        return PARSE_CACHE.get(commandBody, k -> this.parseCommand(commandBody));
+    }
 
-            MilvusParser parser = new MilvusParser(new BufferedTokenStream(lexer));
-            parser.removeErrorListeners();
-            parser.addErrorListener(ThrowingListener.INSTANCE);
-            return parser.root();
+    private MilvusParser.RootContext parseCommand(String command) throws SQLException {
+        try {
+            return AdapterParseCache.parseWithFallback(ParseCancellationException.class, fast -> this.newParser(command, fast), MilvusParser::root);
         } catch (QueryParseException e) {
-            String errorMsg = "command '" + ((MilvusRequest) request).getCommandBody() + "' parserFailed.";
+            String errorMsg = "command '" + command + "' parserFailed.";
             throw new SQLException(errorMsg, JdbcErrorCode.SQL_STATE_SYNTAX_ERROR);
         }
     }
 
+    private MilvusParser newParser(String command, boolean fast) {
+        MilvusLexer lexer = new MilvusLexer(CharStreams.fromString(command));
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(ThrowingListener.INSTANCE);
+
+        MilvusParser parser = new MilvusParser(new BufferedTokenStream(lexer));
+        parser.removeErrorListeners();
+        if (fast) {
+            parser.setErrorHandler(new BailErrorStrategy());
+            parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        } else {
+            parser.addErrorListener(ThrowingListener.INSTANCE);
+        }
+        return parser;
+    }
+
     @Override
     public void doRequest(AdapterRequest request, AdapterReceive receive) throws SQLException {
         if (logger.isDebugEnabled()) {
             logger.debug("doRequest: " + ((MilvusRequest) request).getCommandBody());
         }
         this.cancelled = false;
+        this.execRequest(request, receive);
+        receive.responseFinish(request);
+    }
+
+    private void execRequest(AdapterRequest request, AdapterReceive receive) throws SQLException {
         MilvusParser.RootContext root = parserRequest(request);
         MilvusArgVisitor argVisitor = new MilvusArgVisitor();
         root.accept(argVisitor);
@@ -186,8 +227,32 @@ public class MilvusConn extends AdapterConnection {
                 break;
             }
         }
+    }
 
-        receive.responseFinish(request);
+    /**
+     * 同一个集合/分区上列名相同的连续 INSERT 会被转置为列式数据，每 batchMaxRows 行通过一次 insert 调用写入，其它命令仍然逐条执行。
+     */
+    @Override
+    public synchronized long[] doBatchRequest(List<AdapterRequest> requests) throws SQLException {
+        if (logger.isDebugEnabled()) {
+            logger.debug("doBatchRequest: " + requests.size() + " requests.");
+        }
+        this.cancelled = false;
+        return this.doBatchRequest(requests, () -> this.cancelled, new MilvusBatchCoalescer());
+    }
+
+    private MilvusCommandsForData.InsertRow toInsertRow(AdapterRequest request, int entryIndex) throws SQLException {
+        MilvusParser.RootContext root = parserRequest(request);
+        MilvusArgVisitor argVisitor = new MilvusArgVisitor();
+        root.accept(argVisitor);
+        List<MilvusParser.HintCommandContext> commandList = argVisitor.getCommandList();
+        if (commandList.size() != 1) {
+            return null;
+        }
+        if (argVisitor.getArgCount() > 0 && argVisitor.getArgCount() != request.getArgMap().size()) {
+            return null;
+        }
+        return MilvusCommandsForData.toInsertRow(commandList.get(0), request, entryIndex);
     }
 
     @Override
@@ -200,4 +265,36 @@ public class MilvusConn extends AdapterConnection {
         this.cancelRequest();
         this.milvusCmd.close();
     }
+
+    /** 把写入同一个集合（分区）且列相同的连续 INSERT 合并为一次列式 insert，每批最多 batchMaxRows 行 */
+    private class MilvusBatchCoalescer implements AdapterBatchCoalescer<MilvusCommandsForData.InsertRow> {
+        private final List<MilvusCommandsForData.InsertRow> pending = new ArrayList<>();
+
+        @Override
+        public MilvusCommandsForData.InsertRow tryCoalesce(AdapterRequest request, int entryIndex) throws SQLException {
+            return toInsertRow(request, entryIndex);
+        }
+
+        @Override
+        public boolean append(MilvusCommandsForData.InsertRow row) {
+            if (!this.pending.isEmpty() && (this.pending.size() >= batchMaxRows || !this.pending.get(0).sameTarget(row))) {
+                return false;
+            }
+            this.pending.add(row);
+            return true;
+        }
+
+        @Override
+        public void flush(long[] updateCounts, Throwable[] errors) {
+            if (!this.pending.isEmpty()) {
+                MilvusCommandsForData.execInsertRows(milvusCmd, this.pending, updateCounts, errors);
+                this.pending.clear();
+            }
+        }
+
+        @Override
+        public void execute(AdapterRequest request, AdapterReceive receive) throws SQLException {
+            execRequest(request, receive);
+        }
+    }
 }
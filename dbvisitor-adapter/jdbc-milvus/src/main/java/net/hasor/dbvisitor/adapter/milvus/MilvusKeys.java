@@ -43,4 +43,6 @@ public interface MilvusKeys {
     String RPC_DEADLINE             = "rpcDeadline";
     // query options
     String CONSISTENCY_LEVEL        = "consistencyLevel";
+    // batch options
+    String BATCH_MAX_ROWS           = "batchMaxRows";
 }
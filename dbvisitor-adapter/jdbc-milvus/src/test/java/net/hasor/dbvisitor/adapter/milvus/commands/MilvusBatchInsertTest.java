@@ -0,0 +1,171 @@
+package net.hasor.dbvisitor.adapter.milvus.commands;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import io.milvus.client.MilvusClient;
+import io.milvus.grpc.*;
+import io.milvus.param.R;
+import io.milvus.param.dml.InsertParam;
+import net.hasor.dbvisitor.adapter.milvus.AbstractJdbcTest;
+import net.hasor.dbvisitor.adapter.milvus.MilvusCommandInterceptor;
+import net.hasor.dbvisitor.adapter.milvus.MilvusCustomClient;
+import net.hasor.dbvisitor.adapter.milvus.MilvusKeys;
+import net.hasor.dbvisitor.driver.JdbcDriver;
+import org.junit.Test;
+
+public class MilvusBatchInsertTest extends AbstractJdbcTest {
+
+    private Connection getConnection(Properties prop) throws SQLException {
+        prop.setProperty(MilvusKeys.CUSTOM_MILVUS, MilvusCustomClient.class.getName());
+        prop.setProperty(MilvusKeys.INTERCEPTOR, MilvusCommandInterceptor.class.getName());
+        return new JdbcDriver().connect("jdbc:dbvisitor:milvus://xxxxxx:19530", prop);
+    }
+
+    private static R<DescribeCollectionResponse> describeBookVectors() {
+        CollectionSchema.Builder schemaBuilder = CollectionSchema.newBuilder();
+        schemaBuilder.addFields(FieldSchema.newBuilder().setName("book_id").setDataType(DataType.Int64).setIsPrimaryKey(true).build());
+        schemaBuilder.addFields(FieldSchema.newBuilder().setName("word_count").setDataType(DataType.Int32).build());
+        schemaBuilder.addFields(FieldSchema.newBuilder().setName("book_intro").setDataType(DataType.FloatVector).addTypeParams(KeyValuePair.newBuilder().setKey("dim").setValue("2").build()).build());
+
+        DescribeCollectionResponse.Builder descBuilder = DescribeCollectionResponse.newBuilder();
+        descBuilder.setSchema(schemaBuilder.build());
+        descBuilder.setStatus(io.milvus.grpc.Status.newBuilder().setErrorCode(ErrorCode.Success).build());
+        return R.success(descBuilder.build());
+    }
+
+    private static void mockInsert(List<InsertParam> insertList, List<String> describeList, R<MutationResult> insertResult) {
+        MilvusCommandInterceptor.resetInterceptor();
+        MilvusCommandInterceptor.addInterceptor(MilvusClient.class, (proxy, method, args) -> {
+            if ("insert".equals(method.getName())) {
+                insertList.add((InsertParam) args[0]);
+                return insertResult;
+            } else if ("upsert".equals(method.getName())) {
+                return R.success(MutationResult.newBuilder().setUpsertCnt(1).build());
+            } else if ("describeCollection".equals(method.getName())) {
+                describeList.add(((io.milvus.param.collection.DescribeCollectionParam) args[0]).getCollectionName());
+                return describeBookVectors();
+            }
+            return null;
+        });
+    }
+
+    private static InsertParam.Field field(InsertParam param, String name) {
+        return param.getFields().stream().filter(f -> f.getName().equals(name)).findFirst().get();
+    }
+
+    @Test
+    public void batch_insert_columnar_0() throws SQLException {
+        List<InsertParam> insertList = new ArrayList<>();
+        List<String> describeList = new ArrayList<>();
+        mockInsert(insertList, describeList, R.success(MutationResult.newBuilder().setInsertCnt(3).build()));
+
+        String sql = "INSERT INTO book_vectors (book_id, word_count, book_intro) VALUES (?, ?, ?)";
+        try (Connection conn = getConnection(new Properties()); PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= 3; i++) {
+                ps.setLong(1, 1000L + i);
+                ps.setInt(2, i * 100);
+                ps.setObject(3, Arrays.asList(0.1f * i, 0.2d * i));
+                ps.addBatch();
+            }
+            int[] counts = ps.executeBatch();
+            assert counts.length == 3 && counts[0] == 1 && counts[1] == 1 && counts[2] == 1;
+        }
+
+        assert describeList.size() == 1;
+        assert insertList.size() == 1;
+        InsertParam param = insertList.get(0);
+        assert param.getCollectionName().equals("book_vectors");
+        assert param.getRowCount() == 3;
+
+        List<?> bookIds = field(param, "book_id").getValues();
+        assert bookIds.equals(Arrays.asList(1001L, 1002L, 1003L));
+        List<?> wordCounts = field(param, "word_count").getValues();
+        assert wordCounts.equals(Arrays.asList(100, 200, 300));
+
+        List<?> vectors = field(param, "book_intro").getValues();
+        assert vectors.size() == 3;
+        assert vectors.get(0).equals(Arrays.asList(0.1f, (float) 0.2d));
+        assert vectors.get(2).equals(Arrays.asList(0.1f * 3, (float) (0.2d * 3)));
+        assert ((List<?>) vectors.get(1)).get(0) instanceof Float;
+    }
+
+    @Test
+    public void batch_insert_split_0() throws SQLException {
+        Properties prop = new Properties();
+        prop.setProperty(MilvusKeys.BATCH_MAX_ROWS, "2");
+
+        List<InsertParam> insertList = new ArrayList<>();
+        List<String> describeList = new ArrayList<>();
+        mockInsert(insertList, describeList, R.success(MutationResult.newBuilder().build()));
+
+        try (Connection conn = getConnection(prop); Statement stmt = conn.createStatement()) {
+            stmt.addBatch("INSERT INTO book_vectors (book_id, book_intro) VALUES (1, [0.1, 0.2])");
+            stmt.addBatch("INSERT INTO book_vectors (book_id, book_intro) VALUES (2, [0.3, 0.4])");
+            stmt.addBatch("INSERT INTO book_vectors (book_id, book_intro) VALUES (3, [0.5, 0.6])");
+            stmt.addBatch("INSERT INTO book_vectors PARTITION p1 (book_id, book_intro) VALUES (4, [0.7, 0.8])");
+            stmt.addBatch("UPSERT INTO book_vectors (book_id, book_intro) VALUES (5, [0.9, 1.0])");
+            stmt.addBatch("INSERT INTO book_vectors PARTITION p1 (book_id, book_intro) VALUES (6, [1.1, 1.2])");
+            int[] counts = stmt.executeBatch();
+            assert counts.length == 6;
+            for (int c : counts) {
+                assert c == 1;
+            }
+        }
+
+        assert insertList.size() == 4;
+        assert insertList.get(0).getRowCount() == 2 && insertList.get(0).getPartitionName().equals("");
+        assert insertList.get(1).getRowCount() == 1;
+        assert insertList.get(2).getRowCount() == 1 && insertList.get(2).getPartitionName().equals("p1");
+        assert insertList.get(3).getRowCount() == 1 && insertList.get(3).getPartitionName().equals("p1");
+        assert field(insertList.get(3), "book_id").getValues().equals(Arrays.asList(6L));
+        assert describeList.size() == 5; // 4 columnar inserts + 1 upsert
+    }
+
+    @Test
+    public void batch_insert_badMaxRows_0() throws SQLException {
+        Properties prop = new Properties();
+        prop.setProperty(MilvusKeys.BATCH_MAX_ROWS, "abc");
+
+        List<InsertParam> insertList = new ArrayList<>();
+        List<String> describeList = new ArrayList<>();
+        mockInsert(insertList, describeList, R.success(MutationResult.newBuilder().build()));
+
+        try (Connection conn = getConnection(prop); Statement stmt = conn.createStatement()) {
+            stmt.addBatch("INSERT INTO book_vectors (book_id, book_intro) VALUES (1, [0.1, 0.2])");
+            stmt.addBatch("INSERT INTO book_vectors (book_id, book_intro) VALUES (2, [0.3, 0.4])");
+            int[] counts = stmt.executeBatch();
+            assert counts.length == 2 && counts[0] == 1 && counts[1] == 1;
+        }
+        assert insertList.size() == 1 && insertList.get(0).getRowCount() == 2;
+    }
+
+    @Test
+    public void batch_insert_failed_0() throws SQLException {
+        List<InsertParam> insertList = new ArrayList<>();
+        List<String> describeList = new ArrayList<>();
+        mockInsert(insertList, describeList, R.failed(R.Status.IllegalArgument, "dim mismatch"));
+
+        String sql = "INSERT INTO book_vectors (book_id, book_intro) VALUES (?, ?)";
+        try (Connection conn = getConnection(new Properties()); PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= 2; i++) {
+                ps.setLong(1, i);
+                ps.setObject(2, Arrays.asList(0.1f, 0.2f));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            assert false;
+        } catch (BatchUpdateException e) {
+            assert e.getMessage().equals("dim mismatch");
+            long[] counts = e.getLargeUpdateCounts();
+            assert counts.length == 2 && counts[0] == Statement.EXECUTE_FAILED && counts[1] == Statement.EXECUTE_FAILED;
+        }
+        assert insertList.size() == 1 && insertList.get(0).getRowCount() == 2;
+    }
+}
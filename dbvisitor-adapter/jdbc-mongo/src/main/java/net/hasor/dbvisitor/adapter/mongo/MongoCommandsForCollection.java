@@ -16,10 +16,13 @@
 package net.hasor.dbvisitor.adapter.mongo;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoNamespace;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.*;
 import com.mongodb.client.model.*;
 import com.mongodb.client.result.DeleteResult;
@@ -735,14 +738,7 @@ class MongoCommandsForCollection extends MongoCommands {
         List<Object> args = (List<Object>) new MongoBsonVisitor(request, argIndex).visit(c.arguments());
 
         Bson filter = (Bson) args.get(0);
-        DeleteOptions options = new DeleteOptions();
-        if (args.size() > 1) {
-            Map<String, Object> opts = (Map<String, Object>) args.get(1);
-            Map<String, Object> collation = getOptionMap(opts, "collation");
-            if (collation != null) {
-                options.collation(jsonb2Collation(collation));
-            }
-        }
+        DeleteOptions options = toDeleteOptions(args);
 
         MongoDatabase mongoDB = mongoCmd.getClient().getDatabase(dbName);
         MongoCollection<Document> mongoColl = mongoDB.getCollection(collName);
@@ -787,6 +783,29 @@ class MongoCommandsForCollection extends MongoCommands {
 
         Bson filter = (Bson) args.get(0);
         Bson update = (Bson) args.get(1);
+        UpdateOptions options = toUpdateOneOptions(args);
+
+        MongoDatabase mongoDB = mongoCmd.getClient().getDatabase(dbName);
+        MongoCollection<Document> mongoColl = mongoDB.getCollection(collName);
+        UpdateResult result = mongoColl.updateOne(filter, update, options);
+
+        receive.responseUpdateCount(request, result.getModifiedCount());
+        return completed(sync);
+    }
+
+    private static DeleteOptions toDeleteOptions(List<Object> args) throws SQLException {
+        DeleteOptions options = new DeleteOptions();
+        if (args.size() > 1) {
+            Map<String, Object> opts = (Map<String, Object>) args.get(1);
+            Map<String, Object> collation = getOptionMap(opts, "collation");
+            if (collation != null) {
+                options.collation(jsonb2Collation(collation));
+            }
+        }
+        return options;
+    }
+
+    private static UpdateOptions toUpdateOneOptions(List<Object> args) throws SQLException {
         UpdateOptions options = new UpdateOptions();
         if (args.size() > 2) {
             Map<String, Object> opts = (Map<String, Object>) args.get(2);
@@ -807,13 +826,7 @@ class MongoCommandsForCollection extends MongoCommands {
                 options.arrayFilters(arrayFilters);
             }
         }
-
-        MongoDatabase mongoDB = mongoCmd.getClient().getDatabase(dbName);
-        MongoCollection<Document> mongoColl = mongoDB.getCollection(collName);
-        UpdateResult result = mongoColl.updateOne(filter, update, options);
-
-        receive.responseUpdateCount(request, result.getModifiedCount());
-        return completed(sync);
+        return options;
     }
 
     public static Future<?> execUpdateMany(Future<Object> sync, MongoCmd mongoCmd, AdapterRequest request, AdapterReceive receive, int startArgIdx,//
@@ -1019,4 +1032,141 @@ class MongoCommandsForCollection extends MongoCommands {
             aggregate.hint(new Document(hint));
         }
     }
+
+    /** JDBC 批量执行时可以合并到 bulkWrite 中的一条写操作 */
+    static class BatchModel {
+        private final int                  entryIndex;
+        private final String               dbName;
+        private final String               collName;
+        private final WriteModel<Document> model;
+
+        BatchModel(int entryIndex, String dbName, String collName, WriteModel<Document> model) {
+            this.entryIndex = entryIndex;
+            this.dbName = dbName;
+            this.collName = collName;
+            this.model = model;
+        }
+
+        boolean sameCollection(BatchModel other) {
+            return Objects.equals(this.dbName, other.dbName) && Objects.equals(this.collName, other.collName);
+        }
+    }
+
+    /**
+     * 将 insertOne/updateOne/deleteOne 命令转换为 bulkWrite 的 WriteModel，其它命令或者带有无法放入 WriteModel 的选项时返回 null。
+     */
+    public static BatchModel toBatchModel(MongoCmd mongoCmd, AdapterRequest request, int entryIndex, HintCommandContext h) throws SQLException {
+        CommandContext cc = h.command();
+        MongoOpContext c = cc.mongoOp();
+        if (c == null || (c.insertOneOp() == null && c.updateOneOp() == null && c.deleteOneOp() == null)) {
+            return null;
+        }
+
+        AtomicInteger argIndex = new AtomicInteger(0);
+        Map<String, Object> hint = readHints(argIndex, request, h.hint());
+        String dbName = argAsDbName(argIndex, request, cc.databaseName(), mongoCmd);
+        String collName = argAsCollectionName(argIndex, request, cc.collection());
+
+        if (c.insertOneOp() != null) {
+            List<Object> args = (List<Object>) new MongoBsonVisitor(request, argIndex).visit(c.insertOneOp().arguments());
+            if (args.size() > 1) {
+                return null; // bypassDocumentValidation is a bulk level option.
+            }
+            return new BatchModel(entryIndex, dbName, collName, new InsertOneModel<>((Document) args.get(0)));
+        } else if (c.updateOneOp() != null) {
+            List<Object> args = (List<Object>) new MongoBsonVisitor(request, argIndex).visit(c.updateOneOp().arguments());
+            UpdateOptions options = toUpdateOneOptions(args);
+            if (options.getBypassDocumentValidation() != null) {
+                return null;
+            }
+            return new BatchModel(entryIndex, dbName, collName, new UpdateOneModel<>((Bson) args.get(0), (Bson) args.get(1), options));
+        } else {
+            List<Object> args = (List<Object>) new MongoBsonVisitor(request, argIndex).visit(c.deleteOneOp().arguments());
+            return new BatchModel(entryIndex, dbName, collName, new DeleteOneModel<>((Bson) args.get(0), toDeleteOptions(args)));
+        }
+    }
+
+    /**
+     * 把同一个集合上连续的多条写操作作为一次 bulkWrite 发送，并将 BulkWriteResult 换算为每条请求的影响行数。
+     * <p>只有全部为 insertOne 时才使用无序的 bulkWrite，混合了 update/delete 时使用有序的 bulkWrite 以保持语句的执行顺序，
+     * 有序模式下遇到错误后其后的操作不会被执行，这些请求同样记为 EXECUTE_FAILED。</p>
+     * <p>BulkWriteResult 只有汇总数据，同类操作全部命中时每条记为 1，全部未命中时记为 0，其它情况记为 SUCCESS_NO_INFO。</p>
+     */
+    public static void execBatchModels(MongoCmd mongoCmd, List<BatchModel> models, long[] updateCounts, Throwable[] errors) {
+        BatchModel first = models.get(0);
+        List<WriteModel<Document>> writeModels = new ArrayList<>(models.size());
+        boolean ordered = false;
+        for (BatchModel m : models) {
+            writeModels.add(m.model);
+            ordered = ordered || !(m.model instanceof InsertOneModel);
+        }
+
+        com.mongodb.bulk.BulkWriteResult result;
+        Set<Integer> failedIndex = new HashSet<>();
+        try {
+            MongoCollection<Document> mongoColl = mongoCmd.getClient().getDatabase(first.dbName).getCollection(first.collName);
+            result = mongoColl.bulkWrite(writeModels, new BulkWriteOptions().ordered(ordered));
+        } catch (MongoBulkWriteException e) {
+            result = e.getWriteResult();
+            for (BulkWriteError error : e.getWriteErrors()) {
+                failedIndex.add(error.getIndex());
+                errors[models.get(error.getIndex()).entryIndex] = new SQLException(error.getMessage(), JdbcErrorCode.SQL_STATE_GENERAL_ERROR, error.getCode());
+            }
+            if (ordered && !failedIndex.isEmpty()) {
+                int stopAt = Collections.min(failedIndex);
+                for (int i = stopAt + 1; i < models.size(); i++) {
+                    if (failedIndex.add(i)) {
+                        errors[models.get(i).entryIndex] = new SQLException("not executed, the ordered bulkWrite stopped at a previous error.", JdbcErrorCode.SQL_STATE_GENERAL_ERROR);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            for (BatchModel m : models) {
+                errors[m.entryIndex] = e;
+            }
+            return;
+        }
+
+        int inserts = 0, updates = 0, deletes = 0;
+        for (int i = 0; i < models.size(); i++) {
+            if (failedIndex.contains(i)) {
+                continue;
+            }
+            WriteModel<Document> model = models.get(i).model;
+            if (model instanceof InsertOneModel) {
+                inserts++;
+            } else if (model instanceof UpdateOneModel) {
+                updates++;
+            } else {
+                deletes++;
+            }
+        }
+
+        boolean acknowledged = result != null && result.wasAcknowledged();
+        long insertEach = acknowledged ? eachCount(inserts, result.getInsertedCount()) : Statement.SUCCESS_NO_INFO;
+        long updateEach = acknowledged ? eachCount(updates, result.getModifiedCount()) : Statement.SUCCESS_NO_INFO;
+        long deleteEach = acknowledged ? eachCount(deletes, result.getDeletedCount()) : Statement.SUCCESS_NO_INFO;
+        for (int i = 0; i < models.size(); i++) {
+            BatchModel m = models.get(i);
+            if (failedIndex.contains(i)) {
+                updateCounts[m.entryIndex] = Statement.EXECUTE_FAILED;
+            } else if (m.model instanceof InsertOneModel) {
+                updateCounts[m.entryIndex] = insertEach;
+            } else if (m.model instanceof UpdateOneModel) {
+                updateCounts[m.entryIndex] = updateEach;
+            } else {
+                updateCounts[m.entryIndex] = deleteEach;
+            }
+        }
+    }
+
+    private static long eachCount(int models, long total) {
+        if (total == models) {
+            return 1;
+        } else if (total == 0) {
+            return 0;
+        } else {
+            return Statement.SUCCESS_NO_INFO;
+        }
+    }
 }
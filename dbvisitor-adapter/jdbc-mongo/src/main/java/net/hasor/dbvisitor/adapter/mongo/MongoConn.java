@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import com.mongodb.client.MongoClient;
@@ -29,19 +30,23 @@ import net.hasor.cobble.logging.Logger;
 import net.hasor.cobble.logging.LoggerFactory;
 import net.hasor.dbvisitor.adapter.mongo.parser.*;
 import net.hasor.dbvisitor.driver.*;
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.BufferedTokenStream;
 import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.bson.Document;
 
 public class MongoConn extends AdapterConnection {
-    private static final Logger       logger    = LoggerFactory.getLogger(MongoConn.class);
-    private final        Connection   owner;
-    private final        MongoCmd     mongoCmd;
-    private final        boolean      preRead;
-    private final        long         preReadThreshold;
-    private final        long         preReadMaxFileSize;
-    private final        java.io.File preReadCacheDir;
-    private volatile     boolean      cancelled = false;
+    private static final Logger                                              logger      = LoggerFactory.getLogger(MongoConn.class);
+    private static final AdapterParseCache<MongoParser.MongoCommandsContext> PARSE_CACHE = new AdapterParseCache<>();
+    private final        Connection                                          owner;
+    private final        MongoCmd                                            mongoCmd;
+    private final        boolean                                             preRead;
+    private final        long                                                preReadThreshold;
+    private final        long                                                preReadMaxFileSize;
+    private final        java.io.File                                        preReadCacheDir;
+    private volatile     boolean                                             cancelled   = false;
 
     public MongoConn(Connection owner, MongoCmd mongoCmd, String jdbcUrl, Map<String, String> prop) {
         super(jdbcUrl, prop.get(MongoKeys.USERNAME));
@@ -109,6 +114,7 @@ public class MongoConn extends AdapterConnection {
 
     public void initConnection() {
         this.getFeatures().addFeature(AdapterFeatureKey.ReturnGeneratedKeys, true);
+        this.getFeatures().addFeature(AdapterFeatureKey.BatchRequest, true);
 
         AdapterInfo info = this.getInfo();
         info.getDriverVersion().setName(MongoKeys.DEFAULT_CLIENT_NAME);
@@ -184,30 +190,49 @@ public class MongoConn extends AdapterConnection {
     }
 
     protected MongoParser.MongoCommandsContext parserRequest(AdapterRequest request) throws SQLException {
-        if (StringUtils.isBlank(((MongoRequest) request).getCommandBody())) {
+        String commandBody = ((MongoRequest) request).getCommandBody();
+        if (StringUtils.isBlank(commandBody)) {
             throw new SQLException("query command is empty.", JdbcErrorCode.SQL_STATE_QUERY_EMPTY);
         }
-        try {
-            MongoLexer lexer = new MongoLexer(CharStreams.fromString(((MongoRequest) request).getCommandBody()));
-            lexer.removeErrorListeners();
-            lexer.addErrorListener(ThrowingListener.INSTANCE);
+        return PARSE_CACHE.get(commandBody, k -> this.parseCommand(commandBody));
+    }
 
-            MongoParser parser = new MongoParser(new BufferedTokenStream(lexer));
-            parser.removeErrorListeners();
-            parser.addErrorListener(ThrowingListener.INSTANCE);
-            return parser.mongoCommands();
+    private MongoParser.MongoCommandsContext parseCommand(String command) throws SQLException {
+        try {
+            return AdapterParseCache.parseWithFallback(ParseCancellationException.class, fast -> this.newParser(command, fast), MongoParser::mongoCommands);
         } catch (QueryParseException e) {
-            String errorMsg = "command '" + ((MongoRequest) request).getCommandBody() + "' parserFailed.";
+            String errorMsg = "command '" + command + "' parserFailed.";
             throw new SQLException(errorMsg, JdbcErrorCode.SQL_STATE_SYNTAX_ERROR);
         }
     }
 
+    private MongoParser newParser(String command, boolean fast) {
+        MongoLexer lexer = new MongoLexer(CharStreams.fromString(command));
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(ThrowingListener.INSTANCE);
+
+        MongoParser parser = new MongoParser(new BufferedTokenStream(lexer));
+        parser.removeErrorListeners();
+        if (fast) {
+            parser.setErrorHandler(new BailErrorStrategy());
+            parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        } else {
+            parser.addErrorListener(ThrowingListener.INSTANCE);
+        }
+        return parser;
+    }
+
     @Override
     public synchronized void doRequest(AdapterRequest request, AdapterReceive receive) throws SQLException {
         if (logger.isDebugEnabled()) {
             logger.debug("doRequest: " + ((MongoRequest) request).getCommandBody());
         }
         this.cancelled = false;
+        this.execRequest(request, receive);
+        receive.responseFinish(request);
+    }
+
+    private void execRequest(AdapterRequest request, AdapterReceive receive) throws SQLException {
         MongoParser.MongoCommandsContext root = parserRequest(request);
         MongoArgVisitor argVisitor = new MongoArgVisitor();
         root.accept(argVisitor);
@@ -245,8 +270,32 @@ public class MongoConn extends AdapterConnection {
                 break;
             }
         }
+    }
 
-        receive.responseFinish(request);
+    /**
+     * 同一个集合上连续的 insertOne/updateOne/deleteOne 会被合并为一次无序的 bulkWrite，其它命令仍然逐条执行。
+     */
+    @Override
+    public synchronized long[] doBatchRequest(List<AdapterRequest> requests) throws SQLException {
+        if (logger.isDebugEnabled()) {
+            logger.debug("doBatchRequest: " + requests.size() + " requests.");
+        }
+        this.cancelled = false;
+        return this.doBatchRequest(requests, () -> this.cancelled, new MongoBatchCoalescer());
+    }
+
+    private MongoCommandsForCollection.BatchModel toBatchModel(AdapterRequest request, int entryIndex) throws SQLException {
+        MongoParser.MongoCommandsContext root = parserRequest(request);
+        MongoArgVisitor argVisitor = new MongoArgVisitor();
+        root.accept(argVisitor);
+        List<MongoParser.HintCommandContext> commandList = argVisitor.getCommandList();
+        if (commandList.size() != 1) {
+            return null;
+        }
+        if (argVisitor.getArgCount() > 0 && argVisitor.getArgCount() != request.getArgMap().size()) {
+            return null;
+        }
+        return MongoCommandsForCollection.toBatchModel(this.mongoCmd, request, entryIndex, commandList.get(0));
     }
 
     @Override
@@ -259,4 +308,36 @@ public class MongoConn extends AdapterConnection {
         this.cancelRequest();
         this.mongoCmd.close();
     }
+
+    /** 把同一个集合上连续的 insert/update/delete 合并为一次 bulkWrite */
+    private class MongoBatchCoalescer implements AdapterBatchCoalescer<MongoCommandsForCollection.BatchModel> {
+        private final List<MongoCommandsForCollection.BatchModel> pending = new ArrayList<>();
+
+        @Override
+        public MongoCommandsForCollection.BatchModel tryCoalesce(AdapterRequest request, int entryIndex) throws SQLException {
+            return toBatchModel(request, entryIndex);
+        }
+
+        @Override
+        public boolean append(MongoCommandsForCollection.BatchModel model) {
+            if (!this.pending.isEmpty() && !this.pending.get(0).sameCollection(model)) {
+                return false;
+            }
+            this.pending.add(model);
+            return true;
+        }
+
+        @Override
+        public void flush(long[] updateCounts, Throwable[] errors) {
+            if (!this.pending.isEmpty()) {
+                MongoCommandsForCollection.execBatchModels(mongoCmd, this.pending, updateCounts, errors);
+                this.pending.clear();
+            }
+        }
+
+        @Override
+        public void execute(AdapterRequest request, AdapterReceive receive) throws SQLException {
+            execRequest(request, receive);
+        }
+    }
 }
@@ -0,0 +1,170 @@
+package net.hasor.dbvisitor.adapter.mongo.commands;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.*;
+import com.mongodb.client.result.InsertManyResult;
+import net.hasor.dbvisitor.adapter.mongo.AbstractJdbcTest;
+import net.hasor.dbvisitor.adapter.mongo.MongoCommandInterceptor;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.Test;
+import org.powermock.api.mockito.PowerMockito;
+import static org.mockito.ArgumentMatchers.any;
+
+public class BatchWriteTest extends AbstractJdbcTest {
+    private static BulkWriteResult bulkResult(int inserted, int modified, int deleted) {
+        return BulkWriteResult.acknowledged(inserted, 0, deleted, modified, Collections.emptyList(), Collections.emptyList());
+    }
+
+    @Test
+    public void batch_insertOne_0() throws SQLException {
+        List<String> collections = new ArrayList<>();
+        List<List<WriteModel<Document>>> bulkList = new ArrayList<>();
+        List<BulkWriteOptions> optionList = new ArrayList<>();
+        MongoCommandInterceptor.resetInterceptor();
+        MongoCommandInterceptor.addInterceptor(MongoDatabase.class, (proxy, method, args) -> {
+            if ("getCollection".equals(method.getName())) {
+                collections.add((String) args[0]);
+                MongoCollection<Document> mockColl = PowerMockito.mock(MongoCollection.class);
+                PowerMockito.when(mockColl.bulkWrite(any(List.class), any(BulkWriteOptions.class))).thenAnswer(inv -> {
+                    bulkList.add(inv.getArgument(0));
+                    optionList.add(inv.getArgument(1));
+                    return bulkResult(3, 0, 0);
+                });
+                return mockColl;
+            }
+            return null;
+        });
+
+        try (Connection conn = redisConnection("mydb"); PreparedStatement ps = conn.prepareStatement("db.mycol.insertOne({name: ?})")) {
+            for (String name : new String[] { "a", "b", "c" }) {
+                ps.setString(1, name);
+                ps.addBatch();
+            }
+            int[] counts = ps.executeBatch();
+            assert counts.length == 3 && counts[0] == 1 && counts[1] == 1 && counts[2] == 1;
+        }
+
+        assert collections.size() == 1 && collections.get(0).equals("mycol");
+        assert bulkList.size() == 1 && bulkList.get(0).size() == 3;
+        assert !optionList.get(0).isOrdered();
+        assert ((InsertOneModel<Document>) bulkList.get(0).get(1)).getDocument().get("name").equals("b");
+    }
+
+    @Test
+    public void batch_mixed_0() throws SQLException {
+        List<String> bulkCollections = new ArrayList<>();
+        List<Integer> bulkSizes = new ArrayList<>();
+        List<BulkWriteOptions> optionList = new ArrayList<>();
+        MongoCommandInterceptor.resetInterceptor();
+        MongoCommandInterceptor.addInterceptor(MongoDatabase.class, (proxy, method, args) -> {
+            if ("getCollection".equals(method.getName())) {
+                String collName = (String) args[0];
+                MongoCollection<Document> mockColl = PowerMockito.mock(MongoCollection.class);
+                PowerMockito.when(mockColl.bulkWrite(any(List.class), any(BulkWriteOptions.class))).thenAnswer(inv -> {
+                    List<WriteModel<Document>> models = inv.getArgument(0);
+                    bulkCollections.add(collName);
+                    bulkSizes.add(models.size());
+                    optionList.add(inv.getArgument(1));
+                    return collName.equals("mycol") ? bulkResult(1, 1, 0) : bulkResult(0, 0, 0);
+                });
+                PowerMockito.when(mockColl.insertMany(any(List.class), any(InsertManyOptions.class))).thenAnswer(inv -> {
+                    InsertManyResult res = PowerMockito.mock(InsertManyResult.class);
+                    PowerMockito.when(res.wasAcknowledged()).thenReturn(true);
+                    return res;
+                });
+                return mockColl;
+            }
+            return null;
+        });
+
+        try (Connection conn = redisConnection("mydb"); Statement stmt = conn.createStatement()) {
+            stmt.addBatch("db.mycol.insertOne({name: 'a'})");
+            stmt.addBatch("db.mycol.updateOne({name: 'b'}, {$set: {age: 1}})");
+            stmt.addBatch("db.other.deleteOne({name: 'c'})");
+            stmt.addBatch("db.mycol.insertMany([{name: 'd'}, {name: 'e'}])");
+            stmt.addBatch("db.mycol.deleteOne({name: 'f'}, {collation: {locale: 'fr'}})");
+
+            long[] counts = stmt.executeLargeBatch();
+            assert counts.length == 5;
+            assert counts[0] == 1 && counts[1] == 1 && counts[2] == 0 && counts[3] == 2 && counts[4] == 0;
+        }
+
+        assert bulkCollections.size() == 3;
+        assert bulkCollections.get(0).equals("mycol") && bulkSizes.get(0) == 2 && optionList.get(0).isOrdered();
+        assert bulkCollections.get(1).equals("other") && bulkSizes.get(1) == 1;
+        assert bulkCollections.get(2).equals("mycol") && bulkSizes.get(2) == 1;
+    }
+
+    @Test
+    public void batch_error_0() throws SQLException {
+        MongoCommandInterceptor.resetInterceptor();
+        MongoCommandInterceptor.addInterceptor(MongoDatabase.class, (proxy, method, args) -> {
+            if ("getCollection".equals(method.getName())) {
+                MongoCollection<Document> mockColl = PowerMockito.mock(MongoCollection.class);
+                PowerMockito.when(mockColl.bulkWrite(any(List.class), any(BulkWriteOptions.class))).thenAnswer(inv -> {
+                    BulkWriteError error = new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1);
+                    throw new MongoBulkWriteException(bulkResult(2, 0, 0), Collections.singletonList(error), null, new ServerAddress(), Collections.emptySet());
+                });
+                return mockColl;
+            }
+            return null;
+        });
+
+        try (Connection conn = redisConnection("mydb"); Statement stmt = conn.createStatement()) {
+            stmt.addBatch("db.mycol.insertOne({_id: 1})");
+            stmt.addBatch("db.mycol.insertOne({_id: 1})");
+            stmt.addBatch("db.mycol.insertOne({_id: 2})");
+            stmt.executeBatch();
+            assert false;
+        } catch (BatchUpdateException e) {
+            int[] counts = e.getUpdateCounts();
+            assert counts.length == 3 && counts[0] == 1 && counts[1] == Statement.EXECUTE_FAILED && counts[2] == 1;
+        }
+    }
+
+    @Test
+    public void batch_error_ordered_0() throws SQLException {
+        List<BulkWriteOptions> optionList = new ArrayList<>();
+        MongoCommandInterceptor.resetInterceptor();
+        MongoCommandInterceptor.addInterceptor(MongoDatabase.class, (proxy, method, args) -> {
+            if ("getCollection".equals(method.getName())) {
+                MongoCollection<Document> mockColl = PowerMockito.mock(MongoCollection.class);
+                PowerMockito.when(mockColl.bulkWrite(any(List.class), any(BulkWriteOptions.class))).thenAnswer(inv -> {
+                    optionList.add(inv.getArgument(1));
+                    BulkWriteError error = new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1);
+                    throw new MongoBulkWriteException(bulkResult(1, 0, 0), Collections.singletonList(error), null, new ServerAddress(), Collections.emptySet());
+                });
+                return mockColl;
+            }
+            return null;
+        });
+
+        try (Connection conn = redisConnection("mydb"); Statement stmt = conn.createStatement()) {
+            stmt.addBatch("db.mycol.insertOne({_id: 1})");
+            stmt.addBatch("db.mycol.insertOne({_id: 1})");
+            stmt.addBatch("db.mycol.updateOne({_id: 1}, {$set: {age: 1}})");
+            stmt.addBatch("db.mycol.deleteOne({_id: 1})");
+            stmt.executeBatch();
+            assert false;
+        } catch (BatchUpdateException e) {
+            int[] counts = e.getUpdateCounts();
+            assert counts.length == 4 && counts[0] == 1;
+            assert counts[1] == Statement.EXECUTE_FAILED && counts[2] == Statement.EXECUTE_FAILED && counts[3] == Statement.EXECUTE_FAILED;
+        }
+
+        assert optionList.size() == 1 && optionList.get(0).isOrdered();
+    }
+}
@@ -24,6 +24,7 @@ import redis.clients.jedis.commands.*;
 
 public class JedisCmd implements AutoCloseable {
     private final AutoCloseable                      target;
+    private final InvocationHandler                  invocation;
     private       AccessControlLogBinaryCommands     accessControlLogBinaryCommands;
     private       AccessControlLogCommands           accessControlLogCommands;
     private       BitBinaryCommands                  bitBinaryCommands;
@@ -104,11 +105,19 @@ public class JedisCmd implements AutoCloseable {
     JedisCmd(Jedis jedis, InvocationHandler invocation) {
         this.initCommands(jedis, invocation);
         this.target = jedis;
+        this.invocation = invocation;
     }
 
     JedisCmd(JedisCluster jedis, InvocationHandler invocation) {
         this.initCommands(jedis, invocation);
         this.target = jedis;
+        this.invocation = invocation;
+    }
+
+    JedisCmd(JedisPipeline pipeline, Object commands, InvocationHandler invocation) {
+        this.initCommands(commands, invocation);
+        this.target = pipeline;
+        this.invocation = invocation;
     }
 
     public Object getTarget() {
@@ -126,6 +135,11 @@ public class JedisCmd implements AutoCloseable {
         }
     }
 
+    /** 创建一个 pipeline，通过它执行的命令会被暂存起来，直到调用 {@link JedisPipeline#sync()} 时一次性发送。 */
+    JedisPipeline pipelined() {
+        return new JedisPipeline(this.target, this.invocation);
+    }
+
     public void test() {
         if (this.serverCommands != null) {
             String randomStr = UUID.randomUUID().toString();
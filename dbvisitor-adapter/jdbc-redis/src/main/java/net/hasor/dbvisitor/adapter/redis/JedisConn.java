@@ -18,6 +18,8 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -29,19 +31,24 @@ import net.hasor.cobble.logging.Logger;
 import net.hasor.cobble.logging.LoggerFactory;
 import net.hasor.dbvisitor.adapter.redis.parser.*;
 import net.hasor.dbvisitor.driver.*;
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.BufferedTokenStream;
 import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.Response;
 
 public class JedisConn extends AdapterConnection {
-    private static final Logger     logger    = LoggerFactory.getLogger(JedisConn.class);
-    private final        Connection owner;
-    private final        JedisCmd   jedisCmd;
-    private              int        database;
-    private final        boolean    uncheckNumKeys;
-    private final        char       separatorChar;
-    private volatile     boolean    cancelled = false;
+    private static final Logger                                     logger      = LoggerFactory.getLogger(JedisConn.class);
+    private static final AdapterParseCache<RedisParser.RootContext> PARSE_CACHE = new AdapterParseCache<>();
+    private final        Connection                                 owner;
+    private final        JedisCmd                                   jedisCmd;
+    private              int                                        database;
+    private final        boolean                                    uncheckNumKeys;
+    private final        char                                       separatorChar;
+    private volatile     boolean                                    cancelled   = false;
 
     JedisConn(Connection owner, JedisCmd jedisCmd, String jdbcUrl, Map<String, String> prop, int database) throws SQLException {
         super(jdbcUrl, prop.get(JedisKeys.USERNAME));
@@ -49,6 +56,7 @@ public class JedisConn extends AdapterConnection {
         this.jedisCmd = jedisCmd;
         this.database = database;
         this.uncheckNumKeys = Boolean.parseBoolean(prop.getOrDefault(JedisKeys.UNCHECK_NUM_KEYS, "false"));
+        this.getFeatures().addFeature(AdapterFeatureKey.BatchRequest, true);
 
         switch (prop.getOrDefault(JedisKeys.SEPARATOR_CHAR, "\n").charAt(0)) {
             case '\n':
@@ -175,32 +183,51 @@ public class JedisConn extends AdapterConnection {
     }
 
     protected RedisParser.RootContext parserRequest(AdapterRequest request) throws SQLException {
-        if (StringUtils.isBlank(((JedisRequest) request).getCommandBody())) {
+        String commandBody = ((JedisRequest) request).getCommandBody();
+        if (StringUtils.isBlank(commandBody)) {
             throw new SQLException("query command is empty.", JdbcErrorCode.SQL_STATE_QUERY_EMPTY);
         }
+        return PARSE_CACHE.get(this.separatorChar + commandBody, k -> this.parseCommand(commandBody));
+    }
+
+    private RedisParser.RootContext parseCommand(String command) throws SQLException {
         try {
-            RedisLexer lexer = new RedisLexer(CharStreams.fromString(((JedisRequest) request).getCommandBody()));
-            lexer.setSeparatorChar(this.separatorChar);
-            lexer.removeErrorListeners();
-            lexer.addErrorListener(ThrowingListener.INSTANCE);
-
-            RedisParser parser = new RedisParser(new BufferedTokenStream(lexer));
-            parser.setSeparatorChar(this.separatorChar);
-            parser.removeErrorListeners();
-            parser.addErrorListener(ThrowingListener.INSTANCE);
-            return parser.root();
+            return AdapterParseCache.parseWithFallback(ParseCancellationException.class, fast -> this.newParser(command, fast), RedisParser::root);
         } catch (QueryParseException e) {
-            String errorMsg = "command '" + ((JedisRequest) request).getCommandBody() + "' parserFailed. (separatorChar = '" + getSeparatorCharString() + "')";
+            String errorMsg = "command '" + command + "' parserFailed. (separatorChar = '" + getSeparatorCharString() + "')";
             throw new SQLException(errorMsg, JdbcErrorCode.SQL_STATE_SYNTAX_ERROR);
         }
     }
 
+    private RedisParser newParser(String command, boolean fast) {
+        RedisLexer lexer = new RedisLexer(CharStreams.fromString(command));
+        lexer.setSeparatorChar(this.separatorChar);
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(ThrowingListener.INSTANCE);
+
+        RedisParser parser = new RedisParser(new BufferedTokenStream(lexer));
+        parser.setSeparatorChar(this.separatorChar);
+        parser.removeErrorListeners();
+        if (fast) {
+            parser.setErrorHandler(new BailErrorStrategy());
+            parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        } else {
+            parser.addErrorListener(ThrowingListener.INSTANCE);
+        }
+        return parser;
+    }
+
     @Override
     public synchronized void doRequest(AdapterRequest request, AdapterReceive receive) throws SQLException {
         if (logger.isDebugEnabled()) {
             logger.debug("doRequest: " + ((JedisRequest) request).getCommandBody());
         }
         this.cancelled = false;
+        this.execRequest(this.jedisCmd, request, receive);
+        receive.responseFinish(request);
+    }
+
+    private void execRequest(JedisCmd cmd, AdapterRequest request, AdapterReceive receive) throws SQLException {
         RedisParser.RootContext root = parserRequest(request);
         JedisArgVisitor argVisitor = new JedisArgVisitor();
         root.accept(argVisitor);
@@ -225,10 +252,10 @@ public class JedisConn extends AdapterConnection {
             if (argCount > 0) {
                 argVisitor.reset();
                 redisCmd.accept(argVisitor);
-                JedisDistributeCall.execRedisCmd(sync, this.jedisCmd, redisCmd, request, receive, startArgIdx, this);
+                JedisDistributeCall.execRedisCmd(sync, cmd, redisCmd, request, receive, startArgIdx, this);
                 startArgIdx += argVisitor.getArgCount();
             } else {
-                JedisDistributeCall.execRedisCmd(sync, this.jedisCmd, redisCmd, request, receive, startArgIdx, this);
+                JedisDistributeCall.execRedisCmd(sync, cmd, redisCmd, request, receive, startArgIdx, this);
             }
 
             sync.await();
@@ -238,8 +265,77 @@ public class JedisConn extends AdapterConnection {
                 break;
             }
         }
+    }
 
-        receive.responseFinish(request);
+    /**
+     * 通过 Pipeline 一次性发送整批命令，每条请求的影响行数由其命令的原始返回值计算：
+     * 整数返回值直接作为影响行数，"OK" 记为 1，空值记为 0，其它类型记为 SUCCESS_NO_INFO。
+     * <p>返回结果集的命令（例如 INCR、LPOP、GETDEL）在 sync 时已经执行，因此同样按返回值计算影响行数而不是报告失败，
+     * 否则调用者重试失败的条目时这些写操作会被执行两次。</p>
+     */
+    @Override
+    public synchronized long[] doBatchRequest(List<AdapterRequest> requests) throws SQLException {
+        if (logger.isDebugEnabled()) {
+            logger.debug("doBatchRequest: " + requests.size() + " requests.");
+        }
+        this.cancelled = false;
+        AdapterBatchReceive[] receives = new AdapterBatchReceive[requests.size()];
+        List<List<Response<?>>> responses = new ArrayList<>(requests.size());
+
+        try (JedisPipeline pipeline = this.jedisCmd.pipelined()) {
+            for (int i = 0; i < requests.size(); i++) {
+                if (this.cancelled) {
+                    throw new SQLException("Operation cancelled.", JdbcErrorCode.SQL_STATE_IS_CANCELLED);
+                }
+                AdapterRequest request = requests.get(i);
+                receives[i] = new AdapterBatchReceive();
+                try {
+                    this.execRequest(pipeline.getJedisCmd(), request, receives[i]);
+                } catch (Exception e) {
+                    receives[i].responseFailed(request, e);
+                }
+                responses.add(pipeline.drainResponses());
+            }
+            pipeline.sync();
+        } catch (SQLException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SQLException(e.getMessage(), JdbcErrorCode.SQL_STATE_GENERAL_ERROR, e);
+        }
+
+        long[] updateCounts = new long[requests.size()];
+        Throwable[] errors = new Throwable[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            errors[i] = receives[i].getFailure();
+            if (errors[i] == null) {
+                try {
+                    List<Response<?>> entryResponses = responses.get(i);
+                    updateCounts[i] = entryResponses.isEmpty() ? receives[i].getUpdateCount() : toUpdateCount(entryResponses);
+                } catch (Exception e) {
+                    errors[i] = e;
+                }
+            }
+        }
+        return checkBatchErrors(updateCounts, errors);
+    }
+
+    private static long toUpdateCount(List<Response<?>> responses) {
+        long updateCount = 0;
+        for (Response<?> response : responses) {
+            Object value = response.get();
+            if (value == null) {
+                continue;
+            } else if (value instanceof Long) {
+                updateCount += (Long) value;
+            } else if (value instanceof Boolean) {
+                updateCount += (Boolean) value ? 1 : 0;
+            } else if (StringUtils.equalsIgnoreCase(String.valueOf(value), "OK")) {
+                updateCount += 1;
+            } else {
+                return Statement.SUCCESS_NO_INFO;
+            }
+        }
+        return updateCount;
     }
 
     @Override
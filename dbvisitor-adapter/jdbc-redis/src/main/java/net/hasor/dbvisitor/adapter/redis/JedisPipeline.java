@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.adapter.redis;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import redis.clients.jedis.AbstractPipeline;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.commands.*;
+
+/**
+ * 基于 Jedis Pipeline 的命令执行器，用于 JDBC 批量执行。
+ * <p>它以同步命令接口的形式暴露给 JedisCommandsForXxx，调用时转发到 Pipeline 上同名同参的方法并记录 {@link Response}，
+ * 同步接口的返回值只是占位，真正的结果需要在 {@link #sync()} 之后通过 Response 获取。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+class JedisPipeline implements InvocationHandler, AutoCloseable {
+    private static final Class<?>[]          COMMANDS     = { KeyCommands.class, StringCommands.class, ListCommands.class, HashCommands.class, SetCommands.class, SortedSetCommands.class };
+    private static final Map<Method, Method> METHOD_CACHE = new ConcurrentHashMap<>();
+    private final        Object              target;
+    private final        JedisCmd            jedisCmd;
+    private              AbstractPipeline    pipeline;
+    private              List<Response<?>>   responses    = new ArrayList<>();
+
+    JedisPipeline(Object target, InvocationHandler invocation) {
+        this.target = target;
+        Object commands = Proxy.newProxyInstance(JedisPipeline.class.getClassLoader(), COMMANDS, this);
+        this.jedisCmd = new JedisCmd(this, commands, invocation);
+    }
+
+    /** 基于 pipeline 的 JedisCmd，只支持 key/string/list/hash/set/sorted set 命令 */
+    public JedisCmd getJedisCmd() {
+        return this.jedisCmd;
+    }
+
+    /** 取出自上次调用以来暂存的 Response */
+    public List<Response<?>> drainResponses() {
+        List<Response<?>> result = this.responses;
+        this.responses = new ArrayList<>();
+        return result;
+    }
+
+    /** 发送所有暂存的命令并等待全部响应 */
+    public void sync() {
+        if (this.pipeline != null) {
+            this.pipeline.sync();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.pipeline != null) {
+            this.pipeline.close();
+            this.pipeline = null;
+        }
+    }
+
+    private AbstractPipeline pipeline() {
+        if (this.pipeline == null) {
+            if (this.target instanceof Jedis) {
+                this.pipeline = ((Jedis) this.target).pipelined();
+            } else if (this.target instanceof JedisCluster) {
+                this.pipeline = ((JedisCluster) this.target).pipelined();
+            } else {
+                throw new UnsupportedOperationException("pipeline not supported, unknown jedis object type " + this.target.getClass().getName());
+            }
+        }
+        return this.pipeline;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(this, args);
+        }
+
+        Method pipelineMethod = METHOD_CACHE.computeIfAbsent(method, JedisPipeline::findPipelineMethod);
+        if (pipelineMethod == null) {
+            throw new UnsupportedOperationException("the command '" + method.getName() + "' is not supported in pipeline.");
+        }
+
+        try {
+            this.responses.add((Response<?>) pipelineMethod.invoke(this.pipeline(), args));
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+        return placeholder(method.getReturnType());
+    }
+
+    private static Method findPipelineMethod(Method method) {
+        try {
+            Method pipelineMethod = AbstractPipeline.class.getMethod(method.getName(), method.getParameterTypes());
+            return Response.class.isAssignableFrom(pipelineMethod.getReturnType()) ? pipelineMethod : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Object placeholder(Class<?> returnType) {
+        if (returnType == long.class) {
+            return 0L;
+        } else if (returnType == int.class) {
+            return 0;
+        } else if (returnType == double.class) {
+            return 0d;
+        } else if (returnType == boolean.class) {
+            return false;
+        } else {
+            return null;
+        }
+    }
+}
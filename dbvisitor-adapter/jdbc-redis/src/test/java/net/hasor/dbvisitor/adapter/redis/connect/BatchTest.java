@@ -0,0 +1,112 @@
+package net.hasor.dbvisitor.adapter.redis.connect;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import net.hasor.dbvisitor.adapter.redis.AbstractJdbcTest;
+import net.hasor.dbvisitor.adapter.redis.RedisCommandInterceptor;
+import org.junit.Test;
+import org.powermock.api.mockito.PowerMockito;
+import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.commands.HashCommands;
+import redis.clients.jedis.commands.StringCommands;
+import redis.clients.jedis.params.SetParams;
+
+public class BatchTest extends AbstractJdbcTest {
+    private static <T> Response<T> response(redis.clients.jedis.Builder<T> builder, Object data) {
+        Response<T> response = new Response<>(builder);
+        response.set(data);
+        return response;
+    }
+
+    @Test
+    public void batch_interceptor_1() throws SQLException {
+        List<Object> argList = new ArrayList<>();
+        RedisCommandInterceptor.resetInterceptor();
+        RedisCommandInterceptor.addInterceptor(HashCommands.class, createInvocationHandler("hset", (name, args) -> {
+            argList.addAll(Arrays.asList(args));
+            return 1L;
+        }));
+
+        try (Connection conn = redisConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement("hset myhash ? ?")) {
+                ps.setString(1, "f1");
+                ps.setString(2, "v1");
+                ps.addBatch();
+                ps.setString(1, "f2");
+                ps.setString(2, "v2");
+                ps.addBatch();
+
+                assert Arrays.equals(ps.executeBatch(), new int[] { 1, 1 });
+            }
+        }
+
+        assert argList.equals(Arrays.asList("myhash", Collections.singletonMap("f1", "v1"), "myhash", Collections.singletonMap("f2", "v2")));
+    }
+
+    @Test
+    public void batch_pipeline_1() throws SQLException {
+        RedisCommandInterceptor.resetInterceptor();
+        try (Connection conn = redisConnection()) {
+            Pipeline pipeline = PowerMockito.mock(Pipeline.class);
+            PowerMockito.when(conn.unwrap(Jedis.class).pipelined()).thenReturn(pipeline);
+            PowerMockito.when(pipeline.set("k1", "v1", new SetParams())).thenReturn(response(BuilderFactory.STRING, "OK".getBytes()));
+            PowerMockito.when(pipeline.del("k2", "k3")).thenReturn(response(BuilderFactory.LONG, 2L));
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.addBatch("set k1 v1");
+                stmt.addBatch("del k2 k3");
+
+                assert Arrays.equals(stmt.executeLargeBatch(), new long[] { 1, 2 });
+            }
+
+            org.mockito.Mockito.verify(pipeline).sync();
+        }
+    }
+
+    @Test
+    public void batch_result_1() throws SQLException {
+        RedisCommandInterceptor.resetInterceptor();
+        RedisCommandInterceptor.addInterceptor(StringCommands.class, createInvocationHandler(new String[] { "set", "get" }, (name, args) -> {
+            return name.equals("set") ? "OK" : "value";
+        }));
+
+        try (Connection conn = redisConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.addBatch("set k1 v1");
+                stmt.addBatch("get k1");
+                stmt.addBatch("set k2 v2");
+
+                assert Arrays.equals(stmt.executeLargeBatch(), new long[] { 1, Statement.SUCCESS_NO_INFO, 1 });
+            }
+        }
+    }
+
+    @Test
+    public void batch_pipeline_result_1() throws SQLException {
+        RedisCommandInterceptor.resetInterceptor();
+        try (Connection conn = redisConnection()) {
+            Pipeline pipeline = PowerMockito.mock(Pipeline.class);
+            PowerMockito.when(conn.unwrap(Jedis.class).pipelined()).thenReturn(pipeline);
+            PowerMockito.when(pipeline.incr("k1")).thenReturn(response(BuilderFactory.LONG, 5L));
+            PowerMockito.when(pipeline.lpop("k2")).thenReturn(response(BuilderFactory.STRING, "v".getBytes()));
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.addBatch("incr k1");
+                stmt.addBatch("lpop k2");
+
+                assert Arrays.equals(stmt.executeLargeBatch(), new long[] { 5, Statement.SUCCESS_NO_INFO });
+            }
+
+            org.mockito.Mockito.verify(pipeline).incr("k1");
+            org.mockito.Mockito.verify(pipeline).sync();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.benchmark;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.hasor.dbvisitor.jdbc.core.JdbcTemplate;
+
+/**
+ * 性能测试使用的 H2 内存数据库，每次调用创建一个独立的库并写入 wide_entity 表的测试数据。
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public final class BenchmarkDb {
+    private static final AtomicInteger DB_INDEX = new AtomicInteger();
+
+    private BenchmarkDb() {
+    }
+
+    /** 创建一个新的 H2 内存库连接，并初始化 rows 行数据 */
+    public static Connection newConnection(int rows) throws SQLException {
+        String url = "jdbc:h2:mem:benchmark_" + DB_INDEX.incrementAndGet() + ";DB_CLOSE_DELAY=-1";
+        Connection conn = DriverManager.getConnection(url, "sa", "");
+        initData(new JdbcTemplate(conn), rows);
+        return conn;
+    }
+
+    private static void initData(JdbcTemplate jdbc, int rows) throws SQLException {
+        StringBuilder columns = new StringBuilder();
+        StringBuilder marks = new StringBuilder();
+        for (int i = 1; i <= 30; i++) {
+            if (i > 1) {
+                columns.append(", ");
+                marks.append(", ");
+            }
+            columns.append(String.format("col%02d %s", i, columnType(i)));
+            marks.append("?");
+        }
+        jdbc.execute("create table wide_entity (" + columns + ")");
+
+        List<Object[]> batch = new ArrayList<>(rows);
+        Date now = new Date();
+        for (int r = 0; r < rows; r++) {
+            Object[] row = new Object[30];
+            for (int i = 1; i <= 30; i++) {
+                row[i - 1] = columnValue(i, r, now);
+            }
+            batch.add(row);
+        }
+        if (!batch.isEmpty()) {
+            jdbc.executeBatch("insert into wide_entity values (" + marks + ")", batch.toArray(new Object[0][]));
+        }
+    }
+
+    // same as the property types of WideEntity: String, Integer, Long, int, long, Date
+    private static String columnType(int index) {
+        switch (index % 6) {
+            case 1:
+                return "varchar(64)";
+            case 2:
+            case 4:
+                return "int";
+            case 3:
+            case 5:
+                return "bigint";
+            default:
+                return "timestamp";
+        }
+    }
+
+    private static Object columnValue(int index, int row, Date now) {
+        switch (index % 6) {
+            case 1:
+                return "value_" + row + "_" + index;
+            case 2:
+            case 4:
+                return row;
+            case 3:
+            case 5:
+                return (long) row * index;
+            default:
+                return now;
+        }
+    }
+}
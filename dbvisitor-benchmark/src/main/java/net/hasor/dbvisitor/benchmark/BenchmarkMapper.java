@@ -0,0 +1,34 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.benchmark;
+import java.util.List;
+import net.hasor.dbvisitor.mapper.Param;
+import net.hasor.dbvisitor.mapper.Query;
+import net.hasor.dbvisitor.mapper.SimpleMapper;
+
+/**
+ * 性能测试使用的 Mapper
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+@SimpleMapper
+public interface BenchmarkMapper {
+    @Query("select * from wide_entity where col04 = #{id}")
+    WideEntity selectById(@Param("id") int id);
+
+    @Query("select * from wide_entity where col04 < #{max} @{and, col01 = :name}")
+    List<WideEntity> selectList(@Param("max") int max, @Param("name") String name);
+}
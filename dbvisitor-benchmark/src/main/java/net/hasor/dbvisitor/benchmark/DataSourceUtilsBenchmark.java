@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.benchmark;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import net.hasor.dbvisitor.jdbc.core.JdbcTemplate;
+import net.hasor.dbvisitor.transaction.ConnectionHolder;
+import net.hasor.dbvisitor.transaction.DataSourceUtils;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * 多线程并发获取连接：{@link DataSourceUtils#getHolder} 的查找、{@link DataSourceUtils#getConnection} 的获取与释放，
+ * 以及通过 DataSource 执行一条简单查询的完整路径。线程数可通过 JMH 的 -t 参数调整。
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(Threads.MAX)
+@Fork(1)
+public class DataSourceUtilsBenchmark {
+    private DataSource[] dataSources;
+    private JdbcTemplate jdbc;
+
+    @Setup
+    public void setup() throws SQLException {
+        this.dataSources = new DataSource[4];
+        for (int i = 0; i < this.dataSources.length; i++) {
+            JdbcDataSource ds = new JdbcDataSource();
+            ds.setURL("jdbc:h2:mem:benchmark_ds_" + i + ";DB_CLOSE_DELAY=-1");
+            ds.setUser("sa");
+            ds.setPassword("");
+            this.dataSources[i] = ds;
+        }
+        this.jdbc = new JdbcTemplate(this.dataSources[0]);
+    }
+
+    @Benchmark
+    public ConnectionHolder getHolder() {
+        ConnectionHolder holder = null;
+        for (DataSource ds : this.dataSources) {
+            holder = DataSourceUtils.getHolder(ds);
+        }
+        return holder;
+    }
+
+    /** 获取和释放本地连接，未使用的连接不会真正从 DataSource 中获取 */
+    @Benchmark
+    public int acquireRelease() throws SQLException {
+        int count = 0;
+        for (DataSource ds : this.dataSources) {
+            try (Connection conn = DataSourceUtils.getConnection(ds)) {
+                count += conn.hashCode() == 0 ? 0 : 1;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int selectOne() throws SQLException {
+        return this.jdbc.queryForInt("select 1");
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.benchmark;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.hasor.dbvisitor.dialect.BoundSql;
+import net.hasor.dbvisitor.dynamic.DynamicParsed;
+import net.hasor.dbvisitor.dynamic.ParsedSqlCache;
+import net.hasor.dbvisitor.dynamic.QueryContext;
+import net.hasor.dbvisitor.dynamic.args.MapSqlArgSource;
+import net.hasor.dbvisitor.dynamic.segment.PlanDynamicSql;
+import net.hasor.dbvisitor.jdbc.core.JdbcQueryContext;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * 动态 SQL：解析（{@link DynamicParsed#getParsedSql(String)}）、带缓存的解析，以及带有 OGNL 规则的 {@link PlanDynamicSql#buildQuery}。
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DynamicSqlBenchmark {
+    private static final String SQL = "select * from wide_entity where col04 = #{id} " //
+            + "@{and, col01 = :name} " //
+            + "@{and, col02 > :age} " //
+            + "@{ifand, name != null && name.length() > 3, col07 like :name} " //
+            + "@{and, col04 in :ids} " //
+            + "order by col05 desc";
+
+    private QueryContext     context;
+    private ParsedSqlCache   sqlCache;
+    private PlanDynamicSql   parsedSql;
+    private MapSqlArgSource  argSource;
+
+    @Setup
+    public void setup() {
+        this.context = new JdbcQueryContext();
+        this.sqlCache = this.context.getParsedSqlCache();
+        this.parsedSql = DynamicParsed.getParsedSql(SQL);
+
+        Map<String, Object> args = new HashMap<>();
+        args.put("id", 12);
+        args.put("name", "dbvisitor");
+        args.put("age", 18);
+        args.put("ids", Arrays.asList(1, 2, 3, 4, 5));
+        this.argSource = new MapSqlArgSource(args);
+    }
+
+    @Benchmark
+    public PlanDynamicSql parse() {
+        return DynamicParsed.getParsedSql(SQL);
+    }
+
+    @Benchmark
+    public PlanDynamicSql parseWithCache() {
+        return this.sqlCache.getParsedSql(SQL);
+    }
+
+    @Benchmark
+    public BoundSql buildQuery() throws SQLException {
+        return this.parsedSql.buildQuery(this.argSource, this.context);
+    }
+}
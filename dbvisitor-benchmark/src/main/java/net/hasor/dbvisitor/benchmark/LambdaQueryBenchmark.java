@@ -0,0 +1,61 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.benchmark;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import net.hasor.dbvisitor.dialect.BoundSql;
+import net.hasor.dbvisitor.lambda.LambdaTemplate;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Lambda 查询：构建条件并生成 SQL（{@code EntityQuery.getBoundSql()}），不访问数据库。
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LambdaQueryBenchmark {
+    private Connection     conn;
+    private LambdaTemplate lambda;
+
+    @Setup
+    public void setup() throws SQLException {
+        this.conn = BenchmarkDb.newConnection(0);
+        this.lambda = new LambdaTemplate(this.conn);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        this.conn.close();
+    }
+
+    @Benchmark
+    public BoundSql getBoundSql() throws SQLException {
+        return this.lambda.query(WideEntity.class)//
+                .eq(WideEntity::getCol01, "abc")//
+                .gt(WideEntity::getCol02, 10)//
+                .rangeBetween(WideEntity::getCol03, 1L, 100L)//
+                .in(WideEntity::getCol04, Arrays.asList(1, 2, 3, 4, 5))//
+                .desc(WideEntity::getCol05)//
+                .getBoundSql();
+    }
+}
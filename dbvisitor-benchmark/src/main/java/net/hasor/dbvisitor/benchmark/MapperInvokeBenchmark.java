@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.benchmark;
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.hasor.dbvisitor.session.Configuration;
+import net.hasor.dbvisitor.session.Session;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Mapper 接口调用：包含代理调用（ExecuteInvocationHandler.invoke）、参数绑定、SQL 执行和结果映射的完整路径。
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperInvokeBenchmark {
+    private Connection      conn;
+    private Session         session;
+    private BenchmarkMapper mapper;
+
+    @Setup
+    public void setup() throws Exception {
+        this.conn = BenchmarkDb.newConnection(100);
+        this.session = new Configuration().newSession(this.conn);
+        this.mapper = this.session.createMapper(BenchmarkMapper.class);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        this.session.close();
+        this.conn.close();
+    }
+
+    @Benchmark
+    public WideEntity selectById() {
+        return this.mapper.selectById(50);
+    }
+
+    @Benchmark
+    public List<WideEntity> selectList() {
+        return this.mapper.selectList(20, null);
+    }
+}
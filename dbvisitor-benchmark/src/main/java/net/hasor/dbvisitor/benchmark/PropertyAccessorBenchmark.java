@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.benchmark;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import net.hasor.cobble.BeanUtils;
+import net.hasor.cobble.function.Property;
+import net.hasor.dbvisitor.mapping.PropertyAccessors;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 对比反射与 {@link PropertyAccessors}（LambdaMetafactory/MethodHandle）两种实体访问方式：创建对象并写入、读取全部 30 个属性。
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertyAccessorBenchmark {
+    @Param({ "reflect", "fast" })
+    private String                backend;
+    private Supplier<WideEntity>  instantiator;
+    private Property[]            properties;
+    private Object[]              values;
+
+    @Setup
+    public void setup() {
+        Map<String, Property> propertyMap = BeanUtils.getPropertyFunc(WideEntity.class);
+        boolean fast = "fast".equals(this.backend);
+
+        this.instantiator = fast ? PropertyAccessors.instantiator(WideEntity.class) : PropertyAccessors.reflectInstantiator(WideEntity.class);
+        this.properties = new Property[propertyMap.size()];
+        this.values = new Object[propertyMap.size()];
+
+        int i = 0;
+        Date now = new Date();
+        for (Map.Entry<String, Property> ent : propertyMap.entrySet()) {
+            Property property = ent.getValue();
+            this.properties[i] = fast ? PropertyAccessors.fastProperty(WideEntity.class, ent.getKey(), property) : property;
+            Class<?> type = BeanUtils.getPropertyType(property);
+            if (type == String.class) {
+                this.values[i] = "value_" + i;
+            } else if (type == Integer.class || type == int.class) {
+                this.values[i] = i;
+            } else if (type == Long.class || type == long.class) {
+                this.values[i] = (long) i;
+            } else {
+                this.values[i] = now;
+            }
+            i++;
+        }
+    }
+
+    @Benchmark
+    public WideEntity hydrate() {
+        WideEntity entity = this.instantiator.get();
+        for (int i = 0; i < this.properties.length; i++) {
+            this.properties[i].set(entity, this.values[i]);
+        }
+        return entity;
+    }
+
+    @Benchmark
+    public void readAll(Blackhole blackhole) {
+        WideEntity entity = this.hydrate();
+        for (Property property : this.properties) {
+            blackhole.consume(property.get(entity));
+        }
+    }
+}
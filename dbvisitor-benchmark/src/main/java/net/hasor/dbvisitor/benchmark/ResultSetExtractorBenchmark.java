@@ -0,0 +1,68 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.benchmark;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.hasor.dbvisitor.jdbc.core.JdbcTemplate;
+import net.hasor.dbvisitor.jdbc.extractor.BeanMappingResultSetExtractor;
+import net.hasor.dbvisitor.jdbc.extractor.ColumnMapResultSetExtractor;
+import net.hasor.dbvisitor.mapping.MappingRegistry;
+import net.hasor.dbvisitor.mapping.def.TableMapping;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * 结果集映射：通过 {@link BeanMappingResultSetExtractor} 将 30 列的结果集映射为实体，以 Map 映射作为对照。
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultSetExtractorBenchmark {
+    @Param({ "100", "1000" })
+    private int                     rows;
+    private Connection              conn;
+    private JdbcTemplate            jdbc;
+    private TableMapping<WideEntity> tableMapping;
+
+    @Setup
+    public void setup() throws SQLException {
+        this.conn = BenchmarkDb.newConnection(this.rows);
+        this.jdbc = new JdbcTemplate(this.conn);
+        this.tableMapping = MappingRegistry.DEFAULT.loadEntityToSpace(WideEntity.class);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        this.conn.close();
+    }
+
+    @Benchmark
+    public List<WideEntity> beanExtractor() throws SQLException {
+        return this.jdbc.query("select * from wide_entity", new BeanMappingResultSetExtractor<>(this.tableMapping));
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> columnMapExtractor() throws SQLException {
+        return this.jdbc.query("select * from wide_entity", new ColumnMapResultSetExtractor());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.benchmark;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import net.hasor.dbvisitor.types.TypeHandler;
+import net.hasor.dbvisitor.types.TypeHandlerRegistry;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * 类型处理器：{@link TypeHandlerRegistry#getTypeHandler} 的查找以及 {@link TypeHandlerRegistry#setParameterValue} 的参数设置。
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeHandlerBenchmark {
+    private TypeHandlerRegistry registry;
+    private Connection          conn;
+    private PreparedStatement   ps;
+    private Object[]            values;
+
+    @Setup
+    public void setup() throws SQLException {
+        this.registry = TypeHandlerRegistry.DEFAULT;
+        this.conn = BenchmarkDb.newConnection(0);
+        this.ps = this.conn.prepareStatement("select ?, ?, ?, ?, ?, ? from dual");
+        this.values = new Object[] { "abc", 123, 456L, new BigDecimal("1.23"), new Date(), null };
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        this.ps.close();
+        this.conn.close();
+    }
+
+    @Benchmark
+    public TypeHandler<?> getTypeHandlerByClass() {
+        return this.registry.getTypeHandler(Long.class);
+    }
+
+    @Benchmark
+    public TypeHandler<?> getTypeHandlerByClassAndJdbcType() {
+        return this.registry.getTypeHandler(String.class, Types.VARCHAR);
+    }
+
+    @Benchmark
+    public PreparedStatement setParameterValue() throws SQLException {
+        for (int i = 0; i < this.values.length; i++) {
+            this.registry.setParameterValue(this.ps, i + 1, this.values[i]);
+        }
+        this.ps.clearParameters();
+        return this.ps;
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.benchmark;
+import java.util.Date;
+import net.hasor.dbvisitor.mapping.Table;
+
+/**
+ * 拥有 30 个属性的宽表实体，用于性能测试
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+@Table("wide_entity")
+public class WideEntity {
+    private String  col01;
+    private Integer col02;
+    private Long    col03;
+    private int     col04;
+    private long    col05;
+    private Date    col06;
+    private String  col07;
+    private Integer col08;
+    private Long    col09;
+    private int     col10;
+    private long    col11;
+    private Date    col12;
+    private String  col13;
+    private Integer col14;
+    private Long    col15;
+    private int     col16;
+    private long    col17;
+    private Date    col18;
+    private String  col19;
+    private Integer col20;
+    private Long    col21;
+    private int     col22;
+    private long    col23;
+    private Date    col24;
+    private String  col25;
+    private Integer col26;
+    private Long    col27;
+    private int     col28;
+    private long    col29;
+    private Date    col30;
+
+    public String getCol01() {
+        return this.col01;
+    }
+
+    public void setCol01(String col01) {
+        this.col01 = col01;
+    }
+
+    public Integer getCol02() {
+        return this.col02;
+    }
+
+    public void setCol02(Integer col02) {
+        this.col02 = col02;
+    }
+
+    public Long getCol03() {
+        return this.col03;
+    }
+
+    public void setCol03(Long col03) {
+        this.col03 = col03;
+    }
+
+    public int getCol04() {
+        return this.col04;
+    }
+
+    public void setCol04(int col04) {
+        this.col04 = col04;
+    }
+
+    public long getCol05() {
+        return this.col05;
+    }
+
+    public void setCol05(long col05) {
+        this.col05 = col05;
+    }
+
+    public Date getCol06() {
+        return this.col06;
+    }
+
+    public void setCol06(Date col06) {
+        this.col06 = col06;
+    }
+
+    public String getCol07() {
+        return this.col07;
+    }
+
+    public void setCol07(String col07) {
+        this.col07 = col07;
+    }
+
+    public Integer getCol08() {
+        return this.col08;
+    }
+
+    public void setCol08(Integer col08) {
+        this.col08 = col08;
+    }
+
+    public Long getCol09() {
+        return this.col09;
+    }
+
+    public void setCol09(Long col09) {
+        this.col09 = col09;
+    }
+
+    public int getCol10() {
+        return this.col10;
+    }
+
+    public void setCol10(int col10) {
+        this.col10 = col10;
+    }
+
+    public long getCol11() {
+        return this.col11;
+    }
+
+    public void setCol11(long col11) {
+        this.col11 = col11;
+    }
+
+    public Date getCol12() {
+        return this.col12;
+    }
+
+    public void setCol12(Date col12) {
+        this.col12 = col12;
+    }
+
+    public String getCol13() {
+        return this.col13;
+    }
+
+    public void setCol13(String col13) {
+        this.col13 = col13;
+    }
+
+    public Integer getCol14() {
+        return this.col14;
+    }
+
+    public void setCol14(Integer col14) {
+        this.col14 = col14;
+    }
+
+    public Long getCol15() {
+        return this.col15;
+    }
+
+    public void setCol15(Long col15) {
+        this.col15 = col15;
+    }
+
+    public int getCol16() {
+        return this.col16;
+    }
+
+    public void setCol16(int col16) {
+        this.col16 = col16;
+    }
+
+    public long getCol17() {
+        return this.col17;
+    }
+
+    public void setCol17(long col17) {
+        this.col17 = col17;
+    }
+
+    public Date getCol18() {
+        return this.col18;
+    }
+
+    public void setCol18(Date col18) {
+        this.col18 = col18;
+    }
+
+    public String getCol19() {
+        return this.col19;
+    }
+
+    public void setCol19(String col19) {
+        this.col19 = col19;
+    }
+
+    public Integer getCol20() {
+        return this.col20;
+    }
+
+    public void setCol20(Integer col20) {
+        this.col20 = col20;
+    }
+
+    public Long getCol21() {
+        return this.col21;
+    }
+
+    public void setCol21(Long col21) {
+        this.col21 = col21;
+    }
+
+    public int getCol22() {
+        return this.col22;
+    }
+
+    public void setCol22(int col22) {
+        this.col22 = col22;
+    }
+
+    public long getCol23() {
+        return this.col23;
+    }
+
+    public void setCol23(long col23) {
+        this.col23 = col23;
+    }
+
+    public Date getCol24() {
+        return this.col24;
+    }
+
+    public void setCol24(Date col24) {
+        this.col24 = col24;
+    }
+
+    public String getCol25() {
+        return this.col25;
+    }
+
+    public void setCol25(String col25) {
+        this.col25 = col25;
+    }
+
+    public Integer getCol26() {
+        return this.col26;
+    }
+
+    public void setCol26(Integer col26) {
+        this.col26 = col26;
+    }
+
+    public Long getCol27() {
+        return this.col27;
+    }
+
+    public void setCol27(Long col27) {
+        this.col27 = col27;
+    }
+
+    public int getCol28() {
+        return this.col28;
+    }
+
+    public void setCol28(int col28) {
+        this.col28 = col28;
+    }
+
+    public long getCol29() {
+        return this.col29;
+    }
+
+    public void setCol29(long col29) {
+        this.col29 = col29;
+    }
+
+    public Date getCol30() {
+        return this.col30;
+    }
+
+    public void setCol30(Date col30) {
+        this.col30 = col30;
+    }
+}
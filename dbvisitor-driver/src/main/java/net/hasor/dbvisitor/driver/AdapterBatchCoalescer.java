@@ -0,0 +1,38 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.driver;
+import java.sql.SQLException;
+
+/**
+ * 批量提交时由适配器提供的钩子，供 {@link AdapterConnection#doBatchRequest(java.util.List, java.util.function.BooleanSupplier, AdapterBatchCoalescer)} 使用。
+ * <p>每次批量提交都会创建新的实例，已合并但尚未提交的条目保存在实例中。</p>
+ * @param <T> 合并提交的条目类型
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public interface AdapterBatchCoalescer<T> {
+    /** 把请求转换为可以合并提交的条目，不能合并时返回 null。转换失败的请求会被单独执行，以便报告准确的错误 */
+    T tryCoalesce(AdapterRequest request, int entryIndex) throws Exception;
+
+    /** 把条目加入待提交的批次，条目不能和已合并的条目一起提交时（例如目标不同或者达到批次上限）返回 false */
+    boolean append(T item);
+
+    /** 提交已合并的条目，并把每个条目的结果写入 updateCounts 和 errors 中对应的位置，没有已合并的条目时不做任何事 */
+    void flush(long[] updateCounts, Throwable[] errors) throws SQLException;
+
+    /** 单独执行不能合并的请求 */
+    void execute(AdapterRequest request, AdapterReceive receive) throws SQLException;
+}
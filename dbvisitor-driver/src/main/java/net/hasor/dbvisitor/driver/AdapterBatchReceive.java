@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.driver;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 批量执行时收集单条请求执行结果的 AdapterReceive，供适配器实现 {@link AdapterConnection#doBatchRequest} 时使用。
+ * <p>只记录第一个错误、是否返回了结果集以及最后一次的影响行数，结果集本身会被直接关闭。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public class AdapterBatchReceive implements AdapterReceive {
+    private Throwable error;
+    private boolean   result;
+    private long      updateCount = Statement.SUCCESS_NO_INFO;
+
+    /** 执行过程中的第一个错误，若请求返回了结果集则返回一个 SQLException */
+    public Throwable getError() {
+        if (this.error == null && this.result) {
+            return new SQLException("batch entry returned a result set.", JdbcErrorCode.SQL_STATE_QUERY_IS_RESULT);
+        }
+        return this.error;
+    }
+
+    /** 执行过程中的第一个错误，与 {@link #getError()} 不同的是返回结果集不被视为错误 */
+    public Throwable getFailure() {
+        return this.error;
+    }
+
+    /** 影响行数，未收到时为 {@link Statement#SUCCESS_NO_INFO} */
+    public long getUpdateCount() {
+        return this.updateCount;
+    }
+
+    @Override
+    public boolean responseFailed(AdapterRequest request, Throwable e) {
+        this.error = this.error == null ? e : this.error;
+        return true;
+    }
+
+    @Override
+    public boolean responseResult(AdapterRequest request, AdapterCursor cursor) {
+        return this.responseResult(request, cursor, null);
+    }
+
+    @Override
+    public boolean responseResult(AdapterRequest request, AdapterCursor cursor, AdapterCursor generatedKeys) {
+        this.result = true;
+        try {
+            cursor.close();
+        } catch (Exception e) {
+            this.error = this.error == null ? e : this.error;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean responseUpdateCount(AdapterRequest request, long updateCount) {
+        this.updateCount = updateCount;
+        return true;
+    }
+
+    @Override
+    public boolean responseUpdateCount(AdapterRequest request, long updateCount, AdapterCursor generatedKeys) {
+        this.updateCount = updateCount;
+        return true;
+    }
+
+    @Override
+    public boolean responseParameter(AdapterRequest request, String paramName, String paramType, Object value) {
+        return true;
+    }
+
+    @Override
+    public boolean responseFinish(AdapterRequest request) {
+        return true;
+    }
+}
@@ -16,14 +16,19 @@
 package net.hasor.dbvisitor.driver;
 import java.io.Closeable;
 import java.io.IOException;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import net.hasor.cobble.concurrent.timer.HashedWheelTimer;
 import net.hasor.cobble.concurrent.timer.Timeout;
 import net.hasor.cobble.concurrent.timer.TimerTask;
@@ -179,6 +184,92 @@ public abstract class AdapterConnection implements Closeable {
 
     public abstract void doRequest(AdapterRequest request, AdapterReceive receive) throws SQLException;
 
+    /**
+     * 以批量方式一次性提交多个更新请求，返回值与请求一一对应的影响行数。
+     * <p>只有声明了 {@link AdapterFeatureKey#BatchRequest} 特性的适配器才会被调用，部分请求失败时应抛出 {@link java.sql.BatchUpdateException}。</p>
+     */
+    public long[] doBatchRequest(List<AdapterRequest> requests) throws SQLException {
+        throw new SQLFeatureNotSupportedException("batch request not supported");
+    }
+
+    /**
+     * 批量提交的模版方法，供适配器实现 {@link #doBatchRequest(List)} 时使用。
+     * <p>依次尝试把请求合并到待提交的批次中，不能合并的请求会先提交已合并的条目然后单独执行，
+     * 全部执行完成后若有请求失败则抛出 {@link BatchUpdateException}。</p>
+     * <p>执行过程中被取消时，已合并但尚未提交的条目以及之后的请求都不再执行，以已经执行的请求的影响行数抛出 {@link BatchUpdateException}。</p>
+     * @param cancelled 执行每条请求之前检查是否已经被取消
+     * @param coalescer 适配器提供的合并与提交钩子
+     */
+    protected <T> long[] doBatchRequest(List<AdapterRequest> requests, BooleanSupplier cancelled, AdapterBatchCoalescer<T> coalescer) throws SQLException {
+        long[] updateCounts = new long[requests.size()];
+        Throwable[] errors = new Throwable[requests.size()];
+        int pendingFrom = -1; // 已合并但尚未提交的第一个条目，任何单独执行的请求之前都会先提交，因此尚未提交的条目总是连续的
+
+        for (int i = 0; i < requests.size(); i++) {
+            if (cancelled.getAsBoolean()) {
+                int executed = pendingFrom < 0 ? i : pendingFrom;
+                throw cancelledBatch(Arrays.copyOf(updateCounts, executed), Arrays.copyOf(errors, executed));
+            }
+
+            AdapterRequest request = requests.get(i);
+            T item;
+            try {
+                item = coalescer.tryCoalesce(request, i);
+            } catch (Exception e) {
+                item = null;
+            }
+
+            if (item != null) {
+                if (!coalescer.append(item)) {
+                    coalescer.flush(updateCounts, errors);
+                    coalescer.append(item);
+                    pendingFrom = -1;
+                }
+                pendingFrom = pendingFrom < 0 ? i : pendingFrom;
+                continue;
+            }
+
+            coalescer.flush(updateCounts, errors);
+            pendingFrom = -1;
+            AdapterBatchReceive receive = new AdapterBatchReceive();
+            try {
+                coalescer.execute(request, receive);
+            } catch (Exception e) {
+                receive.responseFailed(request, e);
+            }
+            errors[i] = receive.getError();
+            updateCounts[i] = receive.getUpdateCount();
+        }
+        coalescer.flush(updateCounts, errors);
+        return checkBatchErrors(updateCounts, errors);
+    }
+
+    /** 批量提交被取消，updateCounts 只包含已经执行的请求，其中出错的请求标记为 {@link Statement#EXECUTE_FAILED} */
+    private static BatchUpdateException cancelledBatch(long[] updateCounts, Throwable[] errors) {
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] != null) {
+                updateCounts[i] = Statement.EXECUTE_FAILED;
+            }
+        }
+        return new BatchUpdateException("Operation cancelled.", JdbcErrorCode.SQL_STATE_IS_CANCELLED, 0, updateCounts, null);
+    }
+
+    /** 将出错的请求标记为 {@link Statement#EXECUTE_FAILED}，存在出错的请求时以第一个错误抛出 {@link BatchUpdateException} */
+    protected static long[] checkBatchErrors(long[] updateCounts, Throwable[] errors) throws BatchUpdateException {
+        Throwable firstError = null;
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] != null) {
+                updateCounts[i] = Statement.EXECUTE_FAILED;
+                firstError = firstError == null ? errors[i] : firstError;
+            }
+        }
+        if (firstError != null) {
+            String sqlState = firstError instanceof SQLException ? ((SQLException) firstError).getSQLState() : JdbcErrorCode.SQL_STATE_GENERAL_ERROR;
+            throw new BatchUpdateException(firstError.getMessage(), sqlState, 0, updateCounts, firstError);
+        }
+        return updateCounts;
+    }
+
     public abstract void cancelRequest();
 
     @Override
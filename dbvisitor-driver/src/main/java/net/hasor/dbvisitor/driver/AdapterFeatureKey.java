@@ -16,4 +16,5 @@
 package net.hasor.dbvisitor.driver;
 public enum AdapterFeatureKey {
     ReturnGeneratedKeys,
+    BatchRequest,
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.driver;
+import java.sql.SQLException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import net.hasor.cobble.function.EFunction;
+
+/**
+ * 命令解析结果的缓存，以命令文本为 key，由同一个适配器的所有连接共享。
+ * <p>缓存的解析结果会被多个线程同时读取，必须是只读的（例如只被 Visitor 遍历的 ANTLR 语法树）。
+ * 超出容量时按照放入的先后顺序淘汰，解析失败的命令不会被缓存。</p>
+ * <p>命令文本本身作为 key 会被缓存持有，超过 maxCommandLength 的命令（例如内联了大量数据的写入命令）每次都重新解析而不放入缓存，
+ * 以免少量的大命令占用大量内存。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public class AdapterParseCache<T> {
+    public static final int                          DEFAULT_CAPACITY           = 1024;
+    public static final int                          DEFAULT_MAX_COMMAND_LENGTH = 16 * 1024;
+    private final       int                          capacity;
+    private final       int                          maxCommandLength;
+    private final       ConcurrentHashMap<String, T> cacheMap;
+    private final       Queue<String>                order;
+    private final       LongAdder                    hitCount;
+    private final       LongAdder                    missCount;
+
+    public AdapterParseCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public AdapterParseCache(int capacity) {
+        this(capacity, DEFAULT_MAX_COMMAND_LENGTH);
+    }
+
+    /**
+     * @param capacity 最多缓存的命令数量
+     * @param maxCommandLength 可以被缓存的命令的最大长度（字符数），更长的命令不放入缓存
+     */
+    public AdapterParseCache(int capacity, int maxCommandLength) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive.");
+        }
+        if (maxCommandLength <= 0) {
+            throw new IllegalArgumentException("maxCommandLength must be positive.");
+        }
+        this.capacity = capacity;
+        this.maxCommandLength = maxCommandLength;
+        this.cacheMap = new ConcurrentHashMap<>(Math.min(capacity, 1024));
+        this.order = new ConcurrentLinkedQueue<>();
+        this.hitCount = new LongAdder();
+        this.missCount = new LongAdder();
+    }
+
+    /** 获取解析结果，不存在时通过 parser 解析并放入缓存（并发时同一条命令可能被解析多次） */
+    public T get(String command, EFunction<String, T, SQLException> parser) throws SQLException {
+        if (command.length() > this.maxCommandLength) {
+            this.missCount.increment();
+            return parser.eApply(command);
+        }
+
+        T result = this.cacheMap.get(command);
+        if (result != null) {
+            this.hitCount.increment();
+            return result;
+        }
+
+        this.missCount.increment();
+        result = parser.eApply(command);
+        if (result == null) {
+            return null;
+        }
+
+        T exist = this.cacheMap.putIfAbsent(command, result);
+        if (exist != null) {
+            return exist;
+        }
+
+        this.order.offer(command);
+        while (this.cacheMap.size() > this.capacity) {
+            String eldest = this.order.poll();
+            if (eldest == null) {
+                break;
+            }
+            this.cacheMap.remove(eldest);
+        }
+        return result;
+    }
+
+    /**
+     * 两阶段解析：先使用快速模式解析（例如 ANTLR 的 SLL 预测模式配合 BailErrorStrategy），快速模式放弃解析时
+     * 再使用完整模式（LL 预测模式）重新解析，以得到准确的结果或错误信息。
+     * <p>ANTLR 被分别重定位打包到各个适配器中，driver 不能引用 ANTLR 的类型，因此解析器的创建和语法规则由调用者提供。</p>
+     * @param bailType 快速模式放弃解析时抛出的异常类型
+     * @param newParser 创建解析器，参数为 true 时创建快速模式的解析器，false 时创建完整模式的解析器
+     * @param rule 使用解析器解析语法规则
+     */
+    public static <P, T> T parseWithFallback(Class<? extends RuntimeException> bailType, EFunction<Boolean, P, SQLException> newParser, EFunction<P, T, SQLException> rule) throws SQLException {
+        try {
+            return rule.eApply(newParser.eApply(true));
+        } catch (RuntimeException e) {
+            if (!bailType.isInstance(e)) {
+                throw e;
+            }
+            return rule.eApply(newParser.eApply(false));
+        }
+    }
+
+    /** 清空缓存 */
+    public void clear() {
+        this.cacheMap.clear();
+        this.order.clear();
+    }
+
+    /** 缓存容量 */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /** 可以被缓存的命令的最大长度（字符数） */
+    public int getMaxCommandLength() {
+        return this.maxCommandLength;
+    }
+
+    /** 当前缓存的条目数量 */
+    public int size() {
+        return this.cacheMap.size();
+    }
+
+    /** 缓存命中次数 */
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    /** 缓存未命中次数 */
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+}
@@ -542,7 +542,29 @@ class JdbcPreparedStatement extends JdbcStatement implements PreparedStatement {
     @Override
     public void addBatch() throws SQLException {
         this.checkOpen();
-        throw new SQLFeatureNotSupportedException("addBatch not supported");
+
+        Map<String, JdbcArg> argMap = new HashMap<>();
+        for (JdbcArg arg : this.parameters.values()) {
+            if (arg.getMode().isOut()) {
+                throw new SQLException("batch does not support out parameter '" + arg.getName() + "'.", JdbcErrorCode.SQL_STATE_ILLEGAL_ARGUMENT);
+            }
+            JdbcArg copy = new JdbcArg(arg.getName(), arg.getMode());
+            copy.setType(arg.getType());
+            copy.setValue(arg.getValue());
+            argMap.put(copy.getName(), copy);
+        }
+
+        AdapterRequest req = this.jdbcConn.adapterConnection().newRequest(this.query);
+        super.configRequest(req, false);
+        req.setArgMap(argMap);
+        this.addBatch(req);
+        this.clearParameters();
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        this.checkOpen();
+        throw new SQLException("addBatch(String) cannot be called on a PreparedStatement.", JdbcErrorCode.SQL_STATE_ILLEGAL_ARGUMENT);
     }
 
     @Override
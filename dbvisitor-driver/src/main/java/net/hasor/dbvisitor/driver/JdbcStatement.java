@@ -17,15 +17,19 @@ package net.hasor.dbvisitor.driver;
 import java.io.Closeable;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import net.hasor.cobble.logging.Logger;
 import net.hasor.cobble.logging.LoggerFactory;
 
 class JdbcStatement implements Statement, Closeable {
-    private static final Logger           logger = LoggerFactory.getLogger(JdbcStatement.class);
-    protected final      JdbcConnection   jdbcConn;
-    protected final      AdapterContainer container;
+    private static final Logger               logger        = LoggerFactory.getLogger(JdbcStatement.class);
+    protected final      JdbcConnection       jdbcConn;
+    protected final      AdapterContainer     container;
+    private final        List<AdapterRequest> batchRequests = new ArrayList<>();
 
     /** Maximum number of rows to return, 0 = unlimited. */
     protected long    maxRows           = 0;
@@ -274,12 +278,22 @@ class JdbcStatement implements Statement, Closeable {
     public synchronized boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
         this.checkOpen();
 
+        AdapterRequest req = this.jdbcConn.adapterConnection().newRequest(sql);
+        this.configRequest(req, Statement.RETURN_GENERATED_KEYS == autoGeneratedKeys);
+        try {
+            return this.executeRequest(req, true);
+        } finally {
+            if (this.closeOnCompletion) {
+                this.close();
+            }
+        }
+    }
+
+    private boolean executeRequest(AdapterRequest req, boolean withHook) throws SQLException {
         if (this.container.getState() != AdapterReceiveState.Ready) {
             throw new SQLException("there is already query in the processing.", JdbcErrorCode.SQL_STATE_QUERY_IS_PENDING);
         }
 
-        AdapterRequest req = this.jdbcConn.adapterConnection().newRequest(sql);
-        this.configRequest(req, Statement.RETURN_GENERATED_KEYS == autoGeneratedKeys);
         try {
             // request and receive
             this.container.prepareReceive(req); // status set to PENDING
@@ -299,10 +313,14 @@ class JdbcStatement implements Statement, Closeable {
                 });
             }
 
-            this.beforeExecute(req, this.container);
+            if (withHook) {
+                this.beforeExecute(req, this.container);
+            }
             this.jdbcConn.adapterConnection().doRequest(req, this.container);
             this.container.waitFor(this.timeoutSec, TimeUnit.SECONDS);
-            this.afterExecute(req, this.container);
+            if (withHook) {
+                this.afterExecute(req, this.container);
+            }
 
             return this.container.firstResult().isResult();
         } catch (UndeclaredThrowableException e) {
@@ -313,10 +331,6 @@ class JdbcStatement implements Statement, Closeable {
             this.container.responseFailed(req, e);
             this.container.onReady();
             throw (SQLException) ((e instanceof SQLException) ? e : new SQLException(e));
-        } finally {
-            if (this.closeOnCompletion) {
-                this.close();
-            }
         }
     }
 
@@ -386,20 +400,96 @@ class JdbcStatement implements Statement, Closeable {
     }
 
     @Override
-    public long[] executeLargeBatch() throws SQLException {
+    public synchronized long[] executeLargeBatch() throws SQLException {
         this.checkOpen();
-        throw new SQLFeatureNotSupportedException("addBatch not supported");
+
+        List<AdapterRequest> requests = new ArrayList<>(this.batchRequests);
+        this.batchRequests.clear();
+        if (requests.isEmpty()) {
+            return new long[0];
+        }
+
+        try {
+            AdapterConnection adapterConn = this.jdbcConn.adapterConnection();
+            if (adapterConn.getFeatures().boolFeatureVal(AdapterFeatureKey.BatchRequest)) {
+                return this.executeBatchByAdapter(adapterConn, requests);
+            } else {
+                return this.executeBatchByRequest(requests);
+            }
+        } finally {
+            if (this.closeOnCompletion) {
+                this.close();
+            }
+        }
+    }
+
+    /** 适配器支持批量提交（例如 Redis 的 pipeline）时，所有请求通过一次 doBatchRequest 调用完成。 */
+    private long[] executeBatchByAdapter(AdapterConnection adapterConn, List<AdapterRequest> requests) throws SQLException {
+        if (this.container.getState() != AdapterReceiveState.Ready) {
+            throw new SQLException("there is already query in the processing.", JdbcErrorCode.SQL_STATE_QUERY_IS_PENDING);
+        }
+
+        String traceId = requests.get(0).getTraceId();
+        if (this.timeoutSec > 0) {
+            adapterConn.startTimer(traceId, this.timeoutSec * 1000, timeout -> {
+                try {
+                    adapterConn.cancelRequest();
+                } catch (Exception e) {
+                    logger.error("cancel batch request failed, traceId: " + traceId + ", " + e.getMessage(), e);
+                }
+            });
+        }
+
+        try {
+            long[] updateCounts = adapterConn.doBatchRequest(requests);
+            if (updateCounts == null || updateCounts.length != requests.size()) {
+                throw new SQLException("batch updateCounts size not match.", JdbcErrorCode.SQL_STATE_GENERAL_ERROR);
+            }
+            return updateCounts;
+        } catch (BatchUpdateException e) {
+            throw e;
+        } catch (SQLException e) {
+            throw new BatchUpdateException(e.getMessage(), e.getSQLState(), e.getErrorCode(), new long[0], e);
+        } finally {
+            if (this.timeoutSec > 0) {
+                adapterConn.stopTimer(traceId);
+            }
+        }
+    }
+
+    /** 适配器不支持批量提交时，逐条执行请求，遇到错误或者返回了结果集时停止执行并抛出 BatchUpdateException。 */
+    private long[] executeBatchByRequest(List<AdapterRequest> requests) throws SQLException {
+        long[] updateCounts = new long[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                if (this.executeRequest(requests.get(i), false)) {
+                    throw new SQLException("batch entry " + i + " returned a result set.", JdbcErrorCode.SQL_STATE_QUERY_IS_RESULT);
+                }
+                updateCounts[i] = this.getLargeUpdateCount();
+            } catch (SQLException e) {
+                throw new BatchUpdateException(e.getMessage(), e.getSQLState(), e.getErrorCode(), Arrays.copyOf(updateCounts, i), e);
+            }
+        }
+        return updateCounts;
     }
 
     @Override
     public void addBatch(String sql) throws SQLException {
         this.checkOpen();
-        throw new SQLFeatureNotSupportedException("addBatch not supported");
+
+        AdapterRequest req = this.jdbcConn.adapterConnection().newRequest(sql);
+        this.configRequest(req, false);
+        this.batchRequests.add(req);
+    }
+
+    protected void addBatch(AdapterRequest request) {
+        this.batchRequests.add(request);
     }
 
     @Override
     public void clearBatch() throws SQLException {
         this.checkOpen();
+        this.batchRequests.clear();
     }
 
     @Override
@@ -0,0 +1,99 @@
+package net.hasor.dbvisitor.driver;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class AdapterBatchRequestTest {
+    /** 以 insert 开头的请求合并提交，其它请求单独执行；执行第 cancelAt 条请求之前被取消 */
+    private static class BatchConnection extends MockAdapterConnection {
+        private final List<Integer> executed = new ArrayList<>();
+        private final int           cancelAt;
+
+        BatchConnection(int cancelAt) {
+            super("jdbc:dbvisitor:mock://localhost", "user");
+            this.cancelAt = cancelAt;
+        }
+
+        long[] batch(String... sqls) throws SQLException {
+            List<AdapterRequest> requests = new ArrayList<>();
+            for (String sql : sqls) {
+                requests.add(this.newRequest(sql));
+            }
+            int[] checked = new int[] { 0 };
+            return this.doBatchRequest(requests, () -> checked[0]++ == this.cancelAt, new AdapterBatchCoalescer<Integer>() {
+                private final List<Integer> pending = new ArrayList<>();
+
+                @Override
+                public Integer tryCoalesce(AdapterRequest request, int entryIndex) {
+                    return ((MockAdapterRequest) request).getSql().startsWith("insert") ? entryIndex : null;
+                }
+
+                @Override
+                public boolean append(Integer item) {
+                    this.pending.add(item);
+                    return true;
+                }
+
+                @Override
+                public void flush(long[] updateCounts, Throwable[] errors) {
+                    for (Integer index : this.pending) {
+                        updateCounts[index] = 1;
+                        executed.add(index);
+                    }
+                    this.pending.clear();
+                }
+
+                @Override
+                public void execute(AdapterRequest request, AdapterReceive receive) {
+                    String sql = ((MockAdapterRequest) request).getSql();
+                    executed.add(Arrays.asList(sqls).indexOf(sql));
+                    if (sql.startsWith("bad")) {
+                        receive.responseFailed(request, new SQLException("bad request."));
+                    } else {
+                        receive.responseUpdateCount(request, 2);
+                    }
+                }
+            });
+        }
+    }
+
+    @Test
+    public void batch_coalesce_1() throws Exception {
+        BatchConnection conn = new BatchConnection(-1);
+        long[] counts = conn.batch("insert 1", "insert 2", "update 3", "insert 4");
+        assertArrayEquals(new long[] { 1, 1, 2, 1 }, counts);
+        assertEquals(Arrays.asList(0, 1, 2, 3), conn.executed);
+    }
+
+    @Test
+    public void batch_cancel_pending_1() throws Exception {
+        // cancelled before the 4th request, the coalesced "insert 3" is not executed.
+        BatchConnection conn = new BatchConnection(3);
+        try {
+            conn.batch("bad 1", "update 2", "insert 3", "insert 4");
+            fail();
+        } catch (BatchUpdateException e) {
+            assertEquals(JdbcErrorCode.SQL_STATE_IS_CANCELLED, e.getSQLState());
+            assertArrayEquals(new long[] { Statement.EXECUTE_FAILED, 2 }, e.getLargeUpdateCounts());
+        }
+        assertEquals(Arrays.asList(0, 1), conn.executed);
+    }
+
+    @Test
+    public void batch_cancel_1() throws Exception {
+        BatchConnection conn = new BatchConnection(2);
+        try {
+            conn.batch("insert 1", "update 2", "update 3");
+            fail();
+        } catch (BatchUpdateException e) {
+            assertArrayEquals(new long[] { 1, 2 }, e.getLargeUpdateCounts());
+        }
+        assertEquals(Arrays.asList(0, 1), conn.executed);
+    }
+}
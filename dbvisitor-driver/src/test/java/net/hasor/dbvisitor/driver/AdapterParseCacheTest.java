@@ -0,0 +1,113 @@
+package net.hasor.dbvisitor.driver;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class AdapterParseCacheTest {
+
+    @Test
+    public void get_cachesResult() throws Exception {
+        AdapterParseCache<String> cache = new AdapterParseCache<>();
+        AtomicInteger parseCount = new AtomicInteger();
+
+        String r1 = cache.get("get k1", cmd -> cmd + "#" + parseCount.incrementAndGet());
+        String r2 = cache.get("get k1", cmd -> cmd + "#" + parseCount.incrementAndGet());
+        assertSame(r1, r2);
+        assertEquals(1, parseCount.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void get_failedNotCached() throws Exception {
+        AdapterParseCache<String> cache = new AdapterParseCache<>();
+        try {
+            cache.get("bad", cmd -> {
+                throw new SQLException("parserFailed.");
+            });
+            fail();
+        } catch (SQLException e) {
+            assertEquals("parserFailed.", e.getMessage());
+        }
+        assertEquals(0, cache.size());
+        assertEquals("ok", cache.get("bad", cmd -> "ok"));
+    }
+
+    @Test
+    public void get_bounded() throws Exception {
+        AdapterParseCache<String> cache = new AdapterParseCache<>(2);
+        cache.get("a", cmd -> cmd);
+        cache.get("b", cmd -> cmd);
+        cache.get("c", cmd -> cmd);
+        assertEquals(2, cache.size());
+
+        AtomicInteger parseCount = new AtomicInteger();
+        cache.get("a", cmd -> cmd + parseCount.incrementAndGet());
+        assertEquals(1, parseCount.get());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void get_longCommandNotCached() throws Exception {
+        AdapterParseCache<String> cache = new AdapterParseCache<>(16, 8);
+        AtomicInteger parseCount = new AtomicInteger();
+        cache.get("set k1 123456789", cmd -> cmd + parseCount.incrementAndGet());
+        cache.get("set k1 123456789", cmd -> cmd + parseCount.incrementAndGet());
+        assertEquals(2, parseCount.get());
+        assertEquals(0, cache.size());
+
+        cache.get("get k1", cmd -> cmd + parseCount.incrementAndGet());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void parseWithFallback_retryFullMode() throws Exception {
+        List<Boolean> modes = new ArrayList<>();
+        String result = AdapterParseCache.parseWithFallback(IllegalStateException.class, fast -> {
+            modes.add(fast);
+            return fast;
+        }, fast -> {
+            if (fast) {
+                throw new IllegalStateException("bail");
+            }
+            return "full";
+        });
+        assertEquals("full", result);
+        assertEquals(Arrays.asList(true, false), modes);
+    }
+
+    @Test
+    public void parseWithFallback_otherError() throws Exception {
+        List<Boolean> modes = new ArrayList<>();
+        try {
+            AdapterParseCache.parseWithFallback(IllegalStateException.class, fast -> {
+                modes.add(fast);
+                return fast;
+            }, fast -> {
+                throw new IllegalArgumentException("syntax error");
+            });
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("syntax error", e.getMessage());
+        }
+        assertEquals(Collections.singletonList(true), modes);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacity_mustBePositive() {
+        new AdapterParseCache<>(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxCommandLength_mustBePositive() {
+        new AdapterParseCache<>(16, 0);
+    }
+}
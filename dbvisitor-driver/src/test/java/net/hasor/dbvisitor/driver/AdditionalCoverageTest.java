@@ -67,21 +67,23 @@ public class AdditionalCoverageTest {
         stmt.executeLargeUpdate("INSERT INTO t VALUES(1)", new String[] { "id" });
     }
 
-    @Test(expected = SQLFeatureNotSupportedException.class)
-    public void executeBatch_unsupported() throws Exception {
+    @Test
+    public void executeBatch_empty() throws Exception {
         Statement stmt = conn.createStatement();
-        stmt.executeBatch();
+        assertEquals(0, stmt.executeBatch().length);
     }
 
-    @Test(expected = SQLFeatureNotSupportedException.class)
-    public void executeLargeBatch_unsupported() throws Exception {
+    @Test
+    public void executeLargeBatch_test() throws Exception {
         Statement stmt = conn.createStatement();
-        stmt.executeLargeBatch();
+        stmt.addBatch("INSERT INTO t VALUES(1)");
+        assertArrayEquals(new long[] { 1 }, stmt.executeLargeBatch());
     }
 
-    @Test(expected = SQLFeatureNotSupportedException.class)
-    public void addBatch_unsupported() throws Exception {
+    @Test(expected = SQLException.class)
+    public void addBatch_closed() throws Exception {
         Statement stmt = conn.createStatement();
+        stmt.close();
         stmt.addBatch("INSERT INTO t VALUES(1)");
     }
 
@@ -169,7 +169,7 @@ public class JdbcDatabaseMetaDataTest {
         assertFalse(md.doesMaxRowSizeIncludeBlobs());
         assertFalse(md.supportsConvert());
         assertFalse(md.supportsConvert(Types.INTEGER, Types.VARCHAR));
-        assertFalse(md.supportsBatchUpdates());
+        assertTrue(md.supportsBatchUpdates());
         assertFalse(md.supportsNamedParameters());
         assertFalse(md.supportsMultipleOpenResults());
         assertFalse(md.supportsSavepoints());
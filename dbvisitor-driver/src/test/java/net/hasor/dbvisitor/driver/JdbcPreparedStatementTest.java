@@ -514,10 +514,37 @@ public class JdbcPreparedStatementTest {
         ps.setRef(1, null);
     }
 
-    @Test(expected = SQLFeatureNotSupportedException.class)
-    public void addBatch_unsupported() throws Exception {
+    @Test
+    public void addBatch_test() throws Exception {
+        MockAdapterConnection mockConn = (MockAdapterConnection) conn.adapterConnection();
+        mockConn.getFeatures().addFeature(AdapterFeatureKey.BatchRequest, true);
+
         PreparedStatement ps = conn.prepareStatement("INSERT INTO test VALUES (?)");
+        ps.setInt(1, 1);
+        ps.addBatch();
+        ps.setInt(1, 2);
         ps.addBatch();
+        assertArrayEquals(new int[] { 1, 1 }, ps.executeBatch());
+
+        assertEquals(2, mockConn.getLastBatch().size());
+        assertEquals(1, mockConn.getLastBatch().get(0).getArgMap().get("arg1").getValue());
+        assertEquals(2, mockConn.getLastBatch().get(1).getArgMap().get("arg1").getValue());
+    }
+
+    @Test
+    public void addBatch_sequential() throws Exception {
+        PreparedStatement ps = conn.prepareStatement("INSERT INTO test VALUES (?)");
+        ps.setInt(1, 1);
+        ps.addBatch();
+        ps.setInt(1, 2);
+        ps.addBatch();
+        assertArrayEquals(new long[] { 1, 1 }, ps.executeLargeBatch());
+    }
+
+    @Test(expected = SQLException.class)
+    public void addBatch_sql_unsupported() throws Exception {
+        PreparedStatement ps = conn.prepareStatement("INSERT INTO test VALUES (?)");
+        ps.addBatch("INSERT INTO test VALUES (1)");
     }
 
     @Test(expected = SQLException.class)
@@ -1,5 +1,6 @@
 package net.hasor.dbvisitor.driver;
 
+import java.sql.BatchUpdateException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
@@ -343,22 +344,64 @@ public class JdbcStatementTest {
         stmt.executeLargeUpdate("INSERT INTO test VALUES (1)", new String[] { "id" });
     }
 
-    @Test(expected = SQLFeatureNotSupportedException.class)
-    public void executeLargeBatch_unsupported() throws Exception {
+    @Test
+    public void executeLargeBatch_empty() throws Exception {
         Statement stmt = conn.createStatement();
-        stmt.executeLargeBatch();
+        assertEquals(0, stmt.executeLargeBatch().length);
     }
 
-    @Test(expected = SQLFeatureNotSupportedException.class)
-    public void addBatch_unsupported() throws Exception {
+    @Test
+    public void addBatch_sequential() throws Exception {
+        Statement stmt = conn.createStatement();
+        stmt.addBatch("INSERT INTO test VALUES (1)");
+        stmt.addBatch("INSERT INTO test VALUES (2)");
+        stmt.addBatch("UPDATE test SET id = 3");
+        assertArrayEquals(new int[] { 1, 1, 1 }, stmt.executeBatch());
+        assertEquals(0, stmt.executeBatch().length);
+    }
+
+    @Test
+    public void addBatch_resultSetFailed() throws Exception {
+        Statement stmt = conn.createStatement();
+        stmt.addBatch("INSERT INTO test VALUES (1)");
+        stmt.addBatch("SELECT id FROM test");
+        stmt.addBatch("INSERT INTO test VALUES (2)");
+        try {
+            stmt.executeBatch();
+            fail("expected BatchUpdateException");
+        } catch (BatchUpdateException e) {
+            assertArrayEquals(new long[] { 1 }, e.getLargeUpdateCounts());
+        }
+    }
+
+    @Test
+    public void addBatch_byAdapter() throws Exception {
+        MockAdapterConnection mockConn = (MockAdapterConnection) conn.adapterConnection();
+        mockConn.getFeatures().addFeature(AdapterFeatureKey.BatchRequest, true);
+
         Statement stmt = conn.createStatement();
         stmt.addBatch("INSERT INTO test VALUES (1)");
+        stmt.addBatch("INSERT INTO test VALUES (2)");
+        assertArrayEquals(new long[] { 1, 1 }, stmt.executeLargeBatch());
+        assertEquals(2, mockConn.getLastBatch().size());
+        assertEquals("INSERT INTO test VALUES (2)", ((MockAdapterRequest) mockConn.getLastBatch().get(1)).getSql());
+
+        stmt.addBatch("INSERT INTO test VALUES (1)");
+        stmt.addBatch("FAIL");
+        try {
+            stmt.executeLargeBatch();
+            fail("expected BatchUpdateException");
+        } catch (BatchUpdateException e) {
+            assertArrayEquals(new long[] { 1, Statement.EXECUTE_FAILED }, e.getLargeUpdateCounts());
+        }
     }
 
     @Test
-    public void clearBatch_noop() throws Exception {
+    public void clearBatch_test() throws Exception {
         Statement stmt = conn.createStatement();
+        stmt.addBatch("INSERT INTO test VALUES (1)");
         stmt.clearBatch();
+        assertEquals(0, stmt.executeBatch().length);
         stmt.close();
     }
 
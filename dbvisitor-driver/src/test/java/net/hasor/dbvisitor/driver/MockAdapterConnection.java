@@ -6,9 +6,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class MockAdapterConnection extends AdapterConnection implements TransactionSupport {
-    private boolean autoCommit = true;
-    private String  catalog    = "default";
-    private String  schema     = "";
+    private boolean              autoCommit = true;
+    private String               catalog    = "default";
+    private String               schema     = "";
+    private List<AdapterRequest> lastBatch;
 
     public MockAdapterConnection(String jdbcUrl, String userName) {
         super(jdbcUrl, userName);
@@ -95,6 +96,26 @@ public class MockAdapterConnection extends AdapterConnection implements Transact
         } else {
             receive.responseUpdateCount(req, 1);
         }
+        receive.responseFinish(req);
+    }
+
+    @Override
+    public long[] doBatchRequest(List<AdapterRequest> requests) throws SQLException {
+        this.lastBatch = new ArrayList<>(requests);
+        long[] result = new long[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            String sql = ((MockAdapterRequest) requests.get(i)).getSql();
+            if (sql.startsWith("FAIL")) {
+                result[i] = java.sql.Statement.EXECUTE_FAILED;
+                throw new java.sql.BatchUpdateException("batch failed.", "S3001", 0, result, null);
+            }
+            result[i] = 1;
+        }
+        return result;
+    }
+
+    public List<AdapterRequest> getLastBatch() {
+        return this.lastBatch;
     }
 
     @Override
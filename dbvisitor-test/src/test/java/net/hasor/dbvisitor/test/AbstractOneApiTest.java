@@ -17,11 +17,13 @@ import org.junit.Rule;
 import org.junit.rules.TestName;
 
 public abstract class AbstractOneApiTest {
-    protected static DataSource     dataSource;
+    protected static DataSource        dataSource;
     @Rule
-    public           TestName       testName = new TestName();
-    protected        JdbcTemplate   jdbcTemplate;
-    protected        LambdaTemplate lambdaTemplate;
+    public           TestName          testName      = new TestName();
+    @Rule
+    public           VirtualThreadRule virtualThread = new VirtualThreadRule();
+    protected        JdbcTemplate      jdbcTemplate;
+    protected        LambdaTemplate    lambdaTemplate;
 
     @Before
     public void setup() throws IOException, SQLException {
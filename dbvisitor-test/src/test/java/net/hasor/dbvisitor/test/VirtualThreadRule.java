@@ -0,0 +1,80 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.test;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicReference;
+import net.hasor.cobble.logging.Logger;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+/**
+ * 设置系统属性 <code>-Ddbvisitor.test.virtualThreads=true</code> 后，在虚拟线程中执行测试方法（包括 @Before/@After）。
+ * <p>虚拟线程通过反射创建，JDK 21 以下的版本会忽略该属性，测试仍在当前线程中执行，因此测试代码可以保持 Java 8 兼容。
+ * 配合 <code>-P virtual-threads</code> 运行时会记录 jdk.VirtualThreadPinned 事件，参考 virtual_threads_report.sh。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public class VirtualThreadRule implements TestRule {
+    private static final Logger logger   = Logger.getLogger(VirtualThreadRule.class);
+    public static final  String PROPERTY = "dbvisitor.test.virtualThreads";
+    private static final Method START_VIRTUAL_THREAD;
+
+    static {
+        Method method = null;
+        if (Boolean.getBoolean(PROPERTY)) {
+            try {
+                method = Thread.class.getMethod("startVirtualThread", Runnable.class);
+            } catch (NoSuchMethodException e) {
+                logger.warn("virtual threads are not supported by this JVM, tests run on platform threads.");
+            }
+        }
+        START_VIRTUAL_THREAD = method;
+    }
+
+    /** 当前是否在虚拟线程中执行测试 */
+    public static boolean isEnabled() {
+        return START_VIRTUAL_THREAD != null;
+    }
+
+    @Override
+    public Statement apply(Statement base, Description description) {
+        if (START_VIRTUAL_THREAD == null) {
+            return base;
+        }
+
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                AtomicReference<Throwable> error = new AtomicReference<>();
+                Runnable task = () -> {
+                    try {
+                        base.evaluate();
+                    } catch (Throwable e) {
+                        error.set(e);
+                    }
+                };
+
+                Thread thread = (Thread) START_VIRTUAL_THREAD.invoke(null, task);
+                thread.setName("vt-" + description.getMethodName());
+                thread.join();
+                if (error.get() != null) {
+                    throw error.get();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+#!/bin/bash
+# ============================================================
+# DBVisitor 虚拟线程测试脚本
+#
+# 功能:
+#   1. 在虚拟线程中执行 dbvisitor-test 的测试 (-P virtual-threads)
+#   2. 通过 JFR 记录 jdk.VirtualThreadPinned 事件
+#   3. 按照栈顶的 dbvisitor 调用位置汇总 pinning 次数，写入 target/virtual-threads-report.txt
+#
+# 用法:
+#   cd dbvisitor/dbvisitor-test && bash virtual_threads_report.sh [额外的 maven 参数]
+#   例如只运行部分测试: bash virtual_threads_report.sh -Dtest='*Transaction*'
+#
+# 前置条件:
+#   - JDK 21+ (jfr 命令位于 $JAVA_HOME/bin)
+#   - Docker (测试数据库已启动)
+# ============================================================
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+PROJECT_ROOT="$(dirname "$SCRIPT_DIR")"
+JFR_FILE="$SCRIPT_DIR/target/virtual-threads.jfr"
+REPORT_FILE="$SCRIPT_DIR/target/virtual-threads-report.txt"
+
+cd "$PROJECT_ROOT"
+
+MVN_CMD="./mvnw"
+[ -f "$MVN_CMD" ] || MVN_CMD="mvn"
+JFR_CMD="jfr"
+if [ -n "${JAVA_HOME:-}" ]; then
+    JFR_CMD="$JAVA_HOME/bin/jfr"
+fi
+
+echo "▶ 在虚拟线程中执行测试..."
+rm -f "$JFR_FILE"
+set +e
+$MVN_CMD test -B -P tests,virtual-threads -pl dbvisitor-test -am -Dmaven.test.failure.ignore=true -Dsurefire.failIfNoSpecifiedTests=false "$@"
+MVN_EXIT=$?
+set -e
+
+if [ ! -f "$JFR_FILE" ]; then
+    echo "✗ 未生成 $JFR_FILE，请确认使用的是 JDK 21+" >&2
+    exit 1
+fi
+
+EVENTS_FILE="$SCRIPT_DIR/target/virtual-threads-events.txt"
+$JFR_CMD print --events jdk.VirtualThreadPinned --stack-depth 32 "$JFR_FILE" > "$EVENTS_FILE"
+PINNED_COUNT=$(grep -c "jdk.VirtualThreadPinned" "$EVENTS_FILE" || true)
+
+{
+    echo "Virtual thread pinning report"
+    echo "JFR file     : $JFR_FILE"
+    echo "Pinned events: $PINNED_COUNT"
+    echo ""
+    echo "Top dbvisitor frames (count frame):"
+    # 每个事件只取第一个 net.hasor.dbvisitor 的栈帧
+    awk '/jdk.VirtualThreadPinned/ { found = 0 } /net\.hasor\.dbvisitor/ && !found { sub(/^[ \t]+/, ""); print; found = 1 }' "$EVENTS_FILE" \
+        | sed 's/line: [0-9]*//' | sort | uniq -c | sort -rn | head -30
+} > "$REPORT_FILE"
+
+cat "$REPORT_FILE"
+echo ""
+echo "✓ 报告: $REPORT_FILE (完整事件: $EVENTS_FILE)"
+exit $MVN_EXIT
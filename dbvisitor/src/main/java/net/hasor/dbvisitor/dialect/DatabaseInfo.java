@@ -0,0 +1,147 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.dialect;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import net.hasor.dbvisitor.jdbc.JdbcHelper;
+
+/**
+ * 数据库信息，包含数据库类型、版本以及常用的能力标记。
+ * <p>由 {@link SqlDialectRegister#findDatabaseInfo(java.sql.Connection)} 按照连接 URL 解析并缓存，
+ * 在查询路径上使用它来代替 {@link DatabaseMetaData} 的调用（某些驱动的元数据方法需要访问数据库）。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public final class DatabaseInfo {
+    private final String  dbType;
+    private final String  url;
+    private final String  driverName;
+    private final String  productName;
+    private final String  productVersion;
+    private final int     majorVersion;
+    private final int     minorVersion;
+    private final boolean supportsBatchUpdates;
+    private final boolean supportsGetGeneratedKeys;
+    private final boolean supportsStoredProcedures;
+    private final boolean supportsSavepoints;
+
+    private DatabaseInfo(DatabaseMetaData metaData, String url, String driverName) {
+        this.url = url;
+        this.driverName = driverName;
+        this.productName = readString(metaData, DatabaseMetaData::getDatabaseProductName);
+        this.productVersion = readString(metaData, DatabaseMetaData::getDatabaseProductVersion);
+        this.dbType = JdbcHelper.getDbType(url, driverName, this.productVersion);
+        this.majorVersion = readInt(metaData, DatabaseMetaData::getDatabaseMajorVersion);
+        this.minorVersion = readInt(metaData, DatabaseMetaData::getDatabaseMinorVersion);
+        this.supportsBatchUpdates = readBool(metaData, DatabaseMetaData::supportsBatchUpdates);
+        this.supportsGetGeneratedKeys = readBool(metaData, DatabaseMetaData::supportsGetGeneratedKeys);
+        this.supportsStoredProcedures = readBool(metaData, DatabaseMetaData::supportsStoredProcedures);
+        this.supportsSavepoints = readBool(metaData, DatabaseMetaData::supportsSavepoints);
+    }
+
+    /** 读取数据库元信息，驱动不支持的项目使用默认值（null、0 或 false） */
+    public static DatabaseInfo of(DatabaseMetaData metaData) throws SQLException {
+        return new DatabaseInfo(metaData, metaData.getURL(), metaData.getDriverName());
+    }
+
+    static DatabaseInfo of(DatabaseMetaData metaData, String url, String driverName) {
+        return new DatabaseInfo(metaData, url, driverName);
+    }
+
+    /** 数据库类型，参考 {@link JdbcHelper} 中的常量，无法识别时为 null */
+    public String getDbType() {
+        return this.dbType;
+    }
+
+    public String getUrl() {
+        return this.url;
+    }
+
+    public String getDriverName() {
+        return this.driverName;
+    }
+
+    public String getProductName() {
+        return this.productName;
+    }
+
+    public String getProductVersion() {
+        return this.productVersion;
+    }
+
+    public int getMajorVersion() {
+        return this.majorVersion;
+    }
+
+    public int getMinorVersion() {
+        return this.minorVersion;
+    }
+
+    /** 数据库版本是否大于等于给定的版本，用于判断和版本有关的特性 */
+    public boolean isVersionAtLeast(int major, int minor) {
+        return this.majorVersion > major || (this.majorVersion == major && this.minorVersion >= minor);
+    }
+
+    public boolean supportsBatchUpdates() {
+        return this.supportsBatchUpdates;
+    }
+
+    public boolean supportsGetGeneratedKeys() {
+        return this.supportsGetGeneratedKeys;
+    }
+
+    public boolean supportsStoredProcedures() {
+        return this.supportsStoredProcedures;
+    }
+
+    public boolean supportsSavepoints() {
+        return this.supportsSavepoints;
+    }
+
+    @Override
+    public String toString() {
+        return "DatabaseInfo [dbType=" + this.dbType + ", product=" + this.productName + " " + this.productVersion + ", driver=" + this.driverName + "]";
+    }
+
+    private interface MetaReader<T> {
+        T read(DatabaseMetaData metaData) throws SQLException;
+    }
+
+    private static String readString(DatabaseMetaData metaData, MetaReader<String> reader) {
+        try {
+            return reader.read(metaData);
+        } catch (SQLException | RuntimeException | AbstractMethodError e) {
+            return null;
+        }
+    }
+
+    private static int readInt(DatabaseMetaData metaData, MetaReader<Integer> reader) {
+        try {
+            Integer value = reader.read(metaData);
+            return value == null ? 0 : value;
+        } catch (SQLException | RuntimeException | AbstractMethodError e) {
+            return 0;
+        }
+    }
+
+    private static boolean readBool(DatabaseMetaData metaData, MetaReader<Boolean> reader) {
+        try {
+            return Boolean.TRUE.equals(reader.read(metaData));
+        } catch (SQLException | RuntimeException | AbstractMethodError e) {
+            return false;
+        }
+    }
+}
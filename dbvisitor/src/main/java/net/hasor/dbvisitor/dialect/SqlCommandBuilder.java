@@ -41,12 +41,24 @@ public interface SqlCommandBuilder extends SqlDialect {
     /** 添加查询条件 */
     void addConditionForIn(ConditionLogic logic, String col, String colTerm, ConditionType type, Object[] values, String valueTerm);
 
+    /**
+     * 添加多列 IN 条件，rows 中每个数组为一行，数组中的值与 cols 一一对应，例如：(k1, k2) IN ((?, ?), (?, ?))
+     * <p>不支持行值 IN 的方言会展开为：(k1 = ? AND k2 = ?) OR (k1 = ? AND k2 = ?)</p>
+     */
+    void addConditionForInRows(ConditionLogic logic, String[] cols, String[] colTerms, Object[][] rows, String[] valueTerms);
+
     /** 添加原生查询条件 */
     void addRawCondition(ConditionLogic logic, BoundSql boundSql);
 
     /** 添加嵌套条件组 */
     void addConditionGroup(ConditionLogic logic, Consumer<SqlCommandBuilder> group);
 
+    /**
+     * 添加 keyset（seek）分页条件，按照 cols 的顺序与 values 比较（升序为大于，降序为小于），例如：(k1, k2) &gt; (?, ?)
+     * <p>不支持行值比较的方言会展开为：k1 &gt;= ? AND (k1 &gt; ? OR (k1 = ? AND k2 &gt; ?))</p>
+     */
+    void addSeekCondition(ConditionLogic logic, String[] cols, String[] colTerms, OrderType orderType, Object[] values, String[] valueTerms);
+
     /** 添加查询列 */
     void addSelect(String col, String colTerm);
 
@@ -91,6 +91,16 @@ public interface SqlDialect {
         return false;
     }
 
+    /** 是否支持多列的行值 IN 条件，例如：(k1, k2) IN ((?, ?), (?, ?))，不支持时展开为等价的 OR/AND 条件 */
+    default boolean supportRowValueIn() {
+        return false;
+    }
+
+    /** 一个 IN 条件中最多的参数个数，数据量超出时由调用者拆分为多次查询（例如 Oracle 的 IN 列表最多 1000 个元素） */
+    default int maxInListSize() {
+        return 1000;
+    }
+
     /**
      * 生成 LIKE 条件 SQL 片段
      * @param likeType LIKE 模式枚举值
@@ -17,14 +17,21 @@ package net.hasor.dbvisitor.dialect;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
 import net.hasor.cobble.ResourcesUtils;
 import net.hasor.cobble.StringUtils;
 import net.hasor.cobble.logging.Logger;
 import net.hasor.cobble.ref.LinkedCaseInsensitiveMap;
 import net.hasor.dbvisitor.dialect.provider.*;
+import net.hasor.dbvisitor.jdbc.ConnectionCallback;
 import net.hasor.dbvisitor.jdbc.JdbcHelper;
+import net.hasor.dbvisitor.jdbc.core.JdbcConnection;
 import net.hasor.dbvisitor.mapping.Options;
+import net.hasor.dbvisitor.transaction.DataSourceUtils;
 
 /**
  * SQL 方言注册管理器
@@ -32,9 +39,13 @@ import net.hasor.dbvisitor.mapping.Options;
  * @version 2020-10-31
  */
 public class SqlDialectRegister {
-    private static final Logger                  log             = Logger.getLogger(SqlDialectRegister.class);
-    private static final Map<String, Class<?>>   dialectAliasMap = new LinkedCaseInsensitiveMap<>();
-    private static final Map<String, SqlDialect> dialectCache    = new LinkedCaseInsensitiveMap<>();
+    private static final Logger                        log             = Logger.getLogger(SqlDialectRegister.class);
+    private static final Map<String, Class<?>>         dialectAliasMap = new LinkedCaseInsensitiveMap<>();
+    private static final Map<String, SqlDialect>       dialectCache    = new LinkedCaseInsensitiveMap<>();
+    // 数据库信息缓存：按照驱动和连接 URL 解析一次（连接池的连接包装对象各不相同，不以连接为 key），DataSource 关联到解析结果后无需再读取元数据
+    // DataSource 使用弱引用，不会因为缓存而无法回收
+    private static final Map<String, DatabaseInfo>     urlInfoCache    = new ConcurrentHashMap<>();
+    private static final Map<DataSource, DatabaseInfo> dsInfoCache     = Collections.synchronizedMap(new WeakHashMap<>());
 
     static {
         registerDialect(JdbcHelper.DB2, Db2Dialect.DEFAULT);
@@ -62,9 +73,11 @@ public class SqlDialectRegister {
         registerDialect(JdbcHelper.MILVUS, MilvusDialect.DEFAULT);
     }
 
-    /** 清空方言缓存 */
+    /** 清空方言缓存以及数据库信息缓存 */
     public static void clearDialectCache() {
         dialectCache.clear();
+        urlInfoCache.clear();
+        dsInfoCache.clear();
     }
 
     /**
@@ -163,22 +176,30 @@ public class SqlDialectRegister {
     }
 
     /**
-     * 根据连接查找分页方言
+     * 根据连接查找分页方言，连接是通过 {@link DataSourceUtils#getConnection(DataSource)} 获取的时候使用 DataSource 上缓存的数据库信息
      * @param conn 数据库连接
      * @return 分页方言实例
      * @throws SQLException 如果获取元数据失败
      */
     public static SqlDialect findDialect(Options option, Connection conn) throws SQLException {
+        return findDialect(option, conn == null ? null : DataSourceUtils.findDataSource(conn), conn);
+    }
+
+    /**
+     * 根据 DataSource 和从它获取的连接查找分页方言，DataSource 已经解析过数据库信息时不再读取连接的元数据
+     * @param dataSource 数据源，可以为 null
+     * @param conn 数据库连接
+     * @return 分页方言实例
+     * @throws SQLException 如果获取元数据失败
+     */
+    public static SqlDialect findDialect(Options option, DataSource dataSource, Connection conn) throws SQLException {
         SqlDialect dialect = getDialectFromOptions(option);
         if (dialect != null) {
             return dialect;
         }
 
         if (conn != null) {
-            DatabaseMetaData metaData = conn.getMetaData();
-            String dbVersion = metaData.getDatabaseProductVersion();
-            String tmpDbType = JdbcHelper.getDbType(metaData.getURL(), metaData.getDriverName(), dbVersion);
-            SqlDialect tempDialect = SqlDialectRegister.findOrCreate(tmpDbType);
+            SqlDialect tempDialect = SqlDialectRegister.findOrCreate(findDatabaseInfo(dataSource, conn).getDbType());
             if (tempDialect != null) {
                 return tempDialect;
             }
@@ -187,4 +208,80 @@ public class SqlDialectRegister {
         log.warn("No SQL dialect is specified, the default dialect is selected");
         return DefaultSqlDialect.DEFAULT;
     }
+
+    /**
+     * 查找 JdbcConnection 所使用的方言。基于 DataSource 时数据库信息会关联到 DataSource 上，之后不再获取连接
+     * @param jdbc 可以为 null，此时只使用配置中的方言
+     * @return 方言实例
+     * @throws SQLException 如果获取元数据失败
+     */
+    public static SqlDialect findDialect(Options option, JdbcConnection jdbc) throws SQLException {
+        SqlDialect dialect = getDialectFromOptions(option);
+        if (dialect != null || jdbc == null) {
+            return dialect != null ? dialect : findDialect(option, (Connection) null);
+        }
+
+        DataSource dataSource = (jdbc.getConnection() == null && jdbc.getDynamic() == null) ? jdbc.getDataSource() : null;
+        DatabaseInfo info = findDatabaseInfo(dataSource);
+        if (info == null) {
+            info = jdbc.execute((ConnectionCallback<DatabaseInfo>) c -> {
+                return findDatabaseInfo(dataSource, c);
+            });
+        }
+        return findOrCreate(info.getDbType());
+    }
+
+    /**
+     * 获取连接对应的数据库信息，相同 URL 和驱动的连接只会解析一次 {@link DatabaseMetaData}
+     * @param conn 数据库连接
+     * @return 数据库信息
+     * @throws SQLException 如果获取元数据失败
+     */
+    public static DatabaseInfo findDatabaseInfo(Connection conn) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        String url = metaData.getURL();
+        String driverName = metaData.getDriverName();
+        if (url == null) {
+            return DatabaseInfo.of(metaData, null, driverName);
+        }
+
+        // 读取元数据可能阻塞，不在 computeIfAbsent 中执行以免长时间占用 ConcurrentHashMap 的锁
+        String cacheKey = driverName + "|" + url;
+        DatabaseInfo info = urlInfoCache.get(cacheKey);
+        if (info == null) {
+            DatabaseInfo newInfo = DatabaseInfo.of(metaData, url, driverName);
+            info = urlInfoCache.putIfAbsent(cacheKey, newInfo);
+            info = info == null ? newInfo : info;
+        }
+        return info;
+    }
+
+    /**
+     * 获取 DataSource 已经缓存的数据库信息，不会创建连接。
+     * @param dataSource 数据源
+     * @return 数据库信息，尚未通过 {@link #findDatabaseInfo(DataSource, Connection)} 解析过时返回 null
+     */
+    public static DatabaseInfo findDatabaseInfo(DataSource dataSource) {
+        return dataSource == null ? null : dsInfoCache.get(dataSource);
+    }
+
+    /**
+     * 通过 DataSource 的连接获取数据库信息，并将结果关联到 DataSource 上。
+     * @param dataSource 数据源
+     * @param conn 从数据源获取的连接
+     * @return 数据库信息
+     * @throws SQLException 如果获取元数据失败
+     */
+    public static DatabaseInfo findDatabaseInfo(DataSource dataSource, Connection conn) throws SQLException {
+        DatabaseInfo info = dataSource == null ? null : dsInfoCache.get(dataSource);
+        if (info != null) {
+            return info;
+        }
+
+        info = findDatabaseInfo(conn);
+        if (dataSource != null) {
+            dsInfoCache.putIfAbsent(dataSource, info);
+        }
+        return info;
+    }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.dialect.features;
+import java.util.List;
+import java.util.Map;
+import net.hasor.dbvisitor.dialect.SqlDialect;
+import net.hasor.dbvisitor.lambda.DuplicateKeyStrategy;
+
+/**
+ * 多行插入的方言接口，一条语句插入多行数据，例如 <code>INSERT INTO t (a, b) VALUES (?, ?), (?, ?)</code> 或 Oracle 的 <code>INSERT INTO t (a, b) SELECT ?, ? FROM DUAL UNION ALL ...</code>。
+ * <p>生成的语句中参数按行依次排列，每行的参数顺序与 columns 一致。语句的行数由调用者根据 {@link #maxBindParameters()} 和 {@link #maxBulkRows()} 计算。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public interface BulkInsertSqlDialect extends SqlDialect {
+    /** 一条语句中允许的最大参数个数 */
+    int maxBindParameters();
+
+    /** 一条语句中最多插入的行数 */
+    default int maxBulkRows() {
+        return 1000;
+    }
+
+    /**
+     * 在给定的插入策略和列的值模版下是否支持多行插入，不支持时将使用单行语句的批处理。
+     * <p>多行语句执行成功时调用者认为其中每一行的影响行数都是 1，因此只有影响行数与行数一致的策略（例如标准 insert into）才能返回 true。</p>
+     */
+    boolean supportBulkInsert(DuplicateKeyStrategy strategy, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms);
+
+    /** 生成 rows 行的插入语句 */
+    String bulkInsert(DuplicateKeyStrategy strategy, boolean useQualifier, String catalog, String schema, String table, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms, int rows);
+}
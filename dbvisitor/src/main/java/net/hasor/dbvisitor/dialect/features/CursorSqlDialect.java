@@ -0,0 +1,31 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.dialect.features;
+import net.hasor.dbvisitor.dialect.SqlDialect;
+
+/**
+ * 游标方式（流式）读取结果集的方言接口，用于告知驱动逐批从服务端获取数据，而不是一次性加载全部结果。
+ * <p>没有实现该接口的方言，直接使用调用者给定的 fetchSize。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public interface CursorSqlDialect extends SqlDialect {
+    /** 游标读取时设置到 Statement 上的 fetchSize，参数为调用者期望的每批条数 */
+    int cursorFetchSize(int fetchSize);
+
+    /** 游标读取期间是否需要关闭连接的 autoCommit（部分驱动只有在事务中才会使用服务端游标） */
+    boolean cursorNeedTransaction();
+}
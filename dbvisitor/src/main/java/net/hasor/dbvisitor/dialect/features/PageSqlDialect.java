@@ -16,6 +16,7 @@
 package net.hasor.dbvisitor.dialect.features;
 import net.hasor.dbvisitor.dialect.BoundSql;
 import net.hasor.dbvisitor.dialect.SqlDialect;
+import net.hasor.dbvisitor.internal.CountSqlRewriter;
 
 /**
  * SQL 分页方言
@@ -28,6 +29,29 @@ public interface PageSqlDialect extends SqlDialect {
         return new BoundSql.BoundSqlObj("SELECT COUNT(*) FROM (" + boundSql.getSqlString() + ") as TEMP_T", boundSql.getArgs());
     }
 
+    /**
+     * 生成简化的 count 查询 SQL（{@link net.hasor.dbvisitor.page.CountStrategy#REWRITE} 策略）。
+     * 去掉顶层的 ORDER BY，若查询列不影响结果行数则直接替换为 COUNT(*)，无法简化的部分仍然交给 {@link #countSql(BoundSql)} 处理。
+     */
+    default BoundSql simpleCountSql(BoundSql boundSql) {
+        String sqlString = CountSqlRewriter.removeOrderBy(boundSql.getSqlString());
+        if (sqlString == null) {
+            return this.countSql(boundSql);
+        }
+
+        String countString = CountSqlRewriter.replaceSelectList(sqlString);
+        if (countString != null) {
+            return new BoundSql.BoundSqlObj(countString, boundSql.getArgs());
+        } else {
+            return this.countSql(new BoundSql.BoundSqlObj(sqlString, boundSql.getArgs()));
+        }
+    }
+
     /** 生成分页查询 SQL（基于 count 的） */
     BoundSql pageSql(BoundSql boundSql, long start, long limit);
+
+    /** keyset（seek）分页时是否可以使用行值比较，例如：(k1, k2) &gt; (?, ?)，不支持时展开为等价的 AND/OR 条件 */
+    default boolean supportRowValueCompare() {
+        return false;
+    }
 }
\ No newline at end of file
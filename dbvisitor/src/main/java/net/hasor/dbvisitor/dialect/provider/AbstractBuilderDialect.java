@@ -17,6 +17,7 @@ package net.hasor.dbvisitor.dialect.provider;
 import net.hasor.dbvisitor.dialect.SqlCommandBuilder;
 import net.hasor.dbvisitor.dialect.features.VectorSqlDialect;
 import net.hasor.dbvisitor.lambda.core.MetricType;
+import net.hasor.dbvisitor.lambda.core.OrderType;
 
 /**
  * 扩展 AbstractDialect 以支持 CommandBuilder 接口
@@ -45,4 +46,59 @@ public abstract class AbstractBuilderDialect extends AbstractDialect implements
             ((VectorSqlDialect) this).addConditionForVectorRange(logic, col, colTerm, vector, vectorTerm, threshold, thresholdTerm, metricType);
         }
     }
+
+    @Override
+    public void addConditionForInRows(ConditionLogic logic, String[] cols, String[] colTerms, Object[][] rows, String[] valueTerms) {
+        if (cols.length == 0 || rows.length == 0) {
+            throw new IllegalArgumentException("the columns and rows of in condition must not be empty.");
+        }
+        if (cols.length == 1) {
+            Object[] values = new Object[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                values[i] = rows[i][0];
+            }
+            this.addConditionForIn(logic, cols[0], colTerms[0], ConditionType.IN, values, valueTerms[0]);
+            return;
+        }
+
+        // (k1 = ? AND k2 = ?) OR (k1 = ? AND k2 = ?) OR ...
+        this.addConditionGroup(logic, or -> {
+            for (Object[] row : rows) {
+                or.addConditionGroup(ConditionLogic.OR, and -> {
+                    for (int i = 0; i < cols.length; i++) {
+                        and.addCondition(ConditionLogic.AND, cols[i], colTerms[i], ConditionType.EQ, row[i], valueTerms[i], null);
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    public void addSeekCondition(ConditionLogic logic, String[] cols, String[] colTerms, OrderType orderType, Object[] values, String[] valueTerms) {
+        if (cols.length == 0 || cols.length != values.length) {
+            throw new IllegalArgumentException("the number of seek columns and values must be the same and not empty.");
+        }
+        ConditionType seekType = orderType == OrderType.DESC ? ConditionType.LT : ConditionType.GT;
+        ConditionType boundType = orderType == OrderType.DESC ? ConditionType.LE : ConditionType.GE;
+        if (cols.length == 1) {
+            this.addCondition(logic, cols[0], colTerms[0], seekType, values[0], valueTerms[0], null);
+            return;
+        }
+
+        // k1 >= ? AND (k1 > ? OR (k1 = ? AND k2 > ?) OR ...), the leading k1 >= ? allows a range scan on k1.
+        this.addConditionGroup(logic, g -> {
+            g.addCondition(ConditionLogic.AND, cols[0], colTerms[0], boundType, values[0], valueTerms[0], null);
+            g.addConditionGroup(ConditionLogic.AND, or -> {
+                for (int i = 0; i < cols.length; i++) {
+                    final int last = i;
+                    or.addConditionGroup(ConditionLogic.OR, and -> {
+                        for (int j = 0; j < last; j++) {
+                            and.addCondition(ConditionLogic.AND, cols[j], colTerms[j], ConditionType.EQ, values[j], valueTerms[j], null);
+                        }
+                        and.addCondition(ConditionLogic.AND, cols[last], colTerms[last], seekType, values[last], valueTerms[last], null);
+                    });
+                }
+            });
+        });
+    }
 }
@@ -428,6 +428,11 @@ public abstract class AbstractElasticDialect extends AbstractBuilderDialect impl
         return new BoundSql.BoundSqlObj("/*+overwrite_find_as_count*/" + boundSql.getSqlString(), boundSql.getArgs());
     }
 
+    @Override
+    public BoundSql simpleCountSql(BoundSql boundSql) {
+        return this.countSql(boundSql); // 非 SQL 语法，无需改写
+    }
+
     @Override
     public BoundSql pageSql(BoundSql boundSql, long start, long limit) {
         StringBuilder sqlBuilder = new StringBuilder("/*+");
@@ -22,6 +22,7 @@ import net.hasor.dbvisitor.dialect.BoundSql;
 import net.hasor.dbvisitor.dialect.SqlCommandBuilder;
 import net.hasor.dbvisitor.dialect.SqlDialect;
 import net.hasor.dbvisitor.dialect.features.InsertSqlDialect;
+import net.hasor.dbvisitor.dialect.features.PageSqlDialect;
 import net.hasor.dbvisitor.lambda.DuplicateKeyStrategy;
 import net.hasor.dbvisitor.lambda.core.OrderNullsStrategy;
 import net.hasor.dbvisitor.lambda.core.OrderType;
@@ -245,6 +246,62 @@ public abstract class AbstractSqlDialect extends AbstractBuilderDialect {
         });
     }
 
+    @Override
+    public void addConditionForInRows(ConditionLogic logic, String[] cols, String[] colTerms, Object[][] rows, String[] valueTerms) {
+        if (cols.length < 2 || rows.length == 0 || !this.supportRowValueIn()) {
+            super.addConditionForInRows(logic, cols, colTerms, rows, valueTerms);
+            return;
+        }
+        if (this.lockWhere) {
+            throw new IllegalStateException("must before (group by/order by) invoke it.");
+        }
+
+        appendConditionLogic(logic);
+        this.whereConditions.addSegment((d, dia) -> {
+            StringBuilder sb = new StringBuilder("(");
+            for (int i = 0; i < cols.length; i++) {
+                sb.append(i > 0 ? ", " : "").append(formatColumn(d, dia, cols[i], colTerms[i]));
+            }
+            sb.append(") IN (");
+            for (int r = 0; r < rows.length; r++) {
+                sb.append(r > 0 ? ", (" : "(");
+                for (int i = 0; i < cols.length; i++) {
+                    sb.append(i > 0 ? ", " : "").append(formatValue(dia, rows[r][i], valueTerms[i]));
+                }
+                sb.append(")");
+            }
+            return sb.append(")").toString();
+        });
+    }
+
+    @Override
+    public void addSeekCondition(ConditionLogic logic, String[] cols, String[] colTerms, OrderType orderType, Object[] values, String[] valueTerms) {
+        boolean rowValue = cols.length > 1 && cols.length == values.length && this instanceof PageSqlDialect && ((PageSqlDialect) this).supportRowValueCompare();
+        if (!rowValue) {
+            super.addSeekCondition(logic, cols, colTerms, orderType, values, valueTerms);
+            return;
+        }
+        if (this.lockWhere) {
+            throw new IllegalStateException("must before (group by/order by) invoke it.");
+        }
+
+        appendConditionLogic(logic);
+        this.whereConditions.addSegment((d, dia) -> {
+            StringBuilder colBuilder = new StringBuilder("(");
+            StringBuilder argBuilder = new StringBuilder("(");
+            for (int i = 0; i < cols.length; i++) {
+                if (i > 0) {
+                    colBuilder.append(", ");
+                    argBuilder.append(", ");
+                }
+                colBuilder.append(formatColumn(d, dia, cols[i], colTerms[i]));
+                argBuilder.append(formatValue(dia, values[i], valueTerms[i]));
+            }
+            String operator = orderType == OrderType.DESC ? " < " : " > ";
+            return colBuilder.append(")") + operator + argBuilder.append(")");
+        });
+    }
+
     protected void appendConditionLogic(ConditionLogic logic) {
         this.hasWhereConditions = true;
 
@@ -563,6 +620,38 @@ public abstract class AbstractSqlDialect extends AbstractBuilderDialect {
         return new BoundSql.BoundSqlObj(sqlString, sqlArgs);
     }
 
+    /** 生成 <code>markString table (a, b) VALUES (?, ?), (?, ?) appendSql</code> 形式的多行插入语句，供 BulkInsertSqlDialect 的实现使用 */
+    protected String buildBulkValues(String markString, boolean useQualifier, String catalog, String schema, String table, List<String> columns, Map<String, String> columnValueTerms, int rows, String appendSql) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(markString);
+        sb.append(tableName(useQualifier, catalog, schema, table));
+        sb.append(" (");
+
+        StringBuilder argBuilder = new StringBuilder("(");
+        for (int i = 0; i < columns.size(); i++) {
+            String colName = columns.get(i);
+            if (i > 0) {
+                sb.append(", ");
+                argBuilder.append(", ");
+            }
+
+            sb.append(fmtName(useQualifier, colName));
+            String valueTerm = columnValueTerms != null ? columnValueTerms.get(colName) : null;
+            argBuilder.append(StringUtils.isNotBlank(valueTerm) ? valueTerm : "?");
+        }
+        argBuilder.append(")");
+
+        sb.append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(argBuilder);
+        }
+        sb.append(appendSql);
+        return sb.toString();
+    }
+
     @Override
     public boolean hasUpdateSet() {
         return !this.updateColumns.isEmpty();
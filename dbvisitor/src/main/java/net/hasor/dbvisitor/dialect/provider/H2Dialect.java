@@ -17,19 +17,22 @@ package net.hasor.dbvisitor.dialect.provider;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import net.hasor.cobble.StringUtils;
 import net.hasor.dbvisitor.dialect.BoundSql;
 import net.hasor.dbvisitor.dialect.SqlCommandBuilder;
 import net.hasor.dbvisitor.dialect.SqlDialect;
+import net.hasor.dbvisitor.dialect.features.BulkInsertSqlDialect;
 import net.hasor.dbvisitor.dialect.features.PageSqlDialect;
 import net.hasor.dbvisitor.dialect.features.SeqSqlDialect;
+import net.hasor.dbvisitor.lambda.DuplicateKeyStrategy;
 
 /**
  * H2 的 SqlDialect 实现
  * @author 赵永春 (zyc@hasor.net)
  * @version 2020-10-31
  */
-public class H2Dialect extends AbstractSqlDialect implements PageSqlDialect, SeqSqlDialect {
+public class H2Dialect extends AbstractSqlDialect implements PageSqlDialect, BulkInsertSqlDialect, SeqSqlDialect {
     public static final SqlDialect DEFAULT = new H2Dialect();
 
     @Override
@@ -66,6 +69,16 @@ public class H2Dialect extends AbstractSqlDialect implements PageSqlDialect, Seq
         return new BoundSql.BoundSqlObj(sb.toString(), paramArrays.toArray());
     }
 
+    @Override
+    public boolean supportRowValueCompare() {
+        return true;
+    }
+
+    @Override
+    public boolean supportRowValueIn() {
+        return true;
+    }
+
     // --- SeqSqlDialect impl ---
 
     @Override
@@ -77,4 +90,21 @@ public class H2Dialect extends AbstractSqlDialect implements PageSqlDialect, Seq
         sb.append(fmtName(useQualifier, seqName));
         return sb.toString();
     }
+
+    // --- BulkInsertSqlDialect impl ---
+
+    @Override
+    public int maxBindParameters() {
+        return 32767; // H2 没有明确的参数个数上限，这里取一个保守值
+    }
+
+    @Override
+    public boolean supportBulkInsert(DuplicateKeyStrategy strategy, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms) {
+        return strategy == null || strategy == DuplicateKeyStrategy.Into;
+    }
+
+    @Override
+    public String bulkInsert(DuplicateKeyStrategy strategy, boolean useQualifier, String catalog, String schema, String table, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms, int rows) {
+        return buildBulkValues("INSERT INTO ", useQualifier, catalog, schema, table, columns, columnValueTerms, rows, "");
+    }
 }
\ No newline at end of file
@@ -17,17 +17,20 @@ package net.hasor.dbvisitor.dialect.provider;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import net.hasor.dbvisitor.dialect.BoundSql;
 import net.hasor.dbvisitor.dialect.SqlCommandBuilder;
 import net.hasor.dbvisitor.dialect.SqlDialect;
+import net.hasor.dbvisitor.dialect.features.BulkInsertSqlDialect;
 import net.hasor.dbvisitor.dialect.features.PageSqlDialect;
+import net.hasor.dbvisitor.lambda.DuplicateKeyStrategy;
 
 /**
  * HSQL 对象名有大小写敏感不敏感的问题
  * @author 赵永春 (zyc@hasor.net)
  * @version 2020-10-31
  */
-public class HSQLDialect extends AbstractSqlDialect implements PageSqlDialect {
+public class HSQLDialect extends AbstractSqlDialect implements PageSqlDialect, BulkInsertSqlDialect {
     public static final SqlDialect DEFAULT = new HSQLDialect();
 
     @Override
@@ -63,4 +66,31 @@ public class HSQLDialect extends AbstractSqlDialect implements PageSqlDialect {
 
         return new BoundSql.BoundSqlObj(sb.toString(), paramArrays.toArray());
     }
+
+    @Override
+    public boolean supportRowValueCompare() {
+        return true;
+    }
+
+    @Override
+    public boolean supportRowValueIn() {
+        return true;
+    }
+
+    // --- BulkInsertSqlDialect impl ---
+
+    @Override
+    public int maxBindParameters() {
+        return 32767; // HSQL 没有明确的参数个数上限，这里取一个保守值
+    }
+
+    @Override
+    public boolean supportBulkInsert(DuplicateKeyStrategy strategy, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms) {
+        return strategy == null || strategy == DuplicateKeyStrategy.Into;
+    }
+
+    @Override
+    public String bulkInsert(DuplicateKeyStrategy strategy, boolean useQualifier, String catalog, String schema, String table, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms, int rows) {
+        return buildBulkValues("INSERT INTO ", useQualifier, catalog, schema, table, columns, columnValueTerms, rows, "");
+    }
 }
\ No newline at end of file
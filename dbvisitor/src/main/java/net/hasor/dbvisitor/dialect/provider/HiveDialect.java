@@ -49,6 +49,11 @@ public class HiveDialect extends AbstractSqlDialect implements PageSqlDialect {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public BoundSql simpleCountSql(BoundSql boundSql) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public BoundSql pageSql(BoundSql boundSql, long start, long limit) {
         throw new UnsupportedOperationException();
@@ -56,6 +56,11 @@ public class MilvusDialect extends AbstractSqlDialect implements PageSqlDialect,
         return new BoundSql.BoundSqlObj("/*+ overwrite_find_as_count=true */ " + boundSql.getSqlString(), boundSql.getArgs());
     }
 
+    @Override
+    public BoundSql simpleCountSql(BoundSql boundSql) {
+        return this.countSql(boundSql); // 非 SQL 语法，无需改写
+    }
+
     @Override
     public BoundSql pageSql(BoundSql boundSql, long start, long limit) {
         StringBuilder sb = new StringBuilder(boundSql.getSqlString());
@@ -415,6 +415,11 @@ public class MongoDialect extends AbstractBuilderDialect implements PageSqlDiale
         return new BoundSql.BoundSqlObj("/*+overwrite_find_as_count*/" + boundSql.getSqlString(), boundSql.getArgs());
     }
 
+    @Override
+    public BoundSql simpleCountSql(BoundSql boundSql) {
+        return this.countSql(boundSql); // 非 SQL 语法，无需改写
+    }
+
     @Override
     public BoundSql pageSql(BoundSql boundSql, long start, long limit) {
         StringBuilder sb = new StringBuilder("/*+");
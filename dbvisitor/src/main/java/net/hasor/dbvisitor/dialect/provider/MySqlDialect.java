@@ -22,8 +22,11 @@ import net.hasor.cobble.StringUtils;
 import net.hasor.dbvisitor.dialect.BoundSql;
 import net.hasor.dbvisitor.dialect.SqlCommandBuilder;
 import net.hasor.dbvisitor.dialect.SqlDialect;
+import net.hasor.dbvisitor.dialect.features.BulkInsertSqlDialect;
+import net.hasor.dbvisitor.dialect.features.CursorSqlDialect;
 import net.hasor.dbvisitor.dialect.features.InsertSqlDialect;
 import net.hasor.dbvisitor.dialect.features.PageSqlDialect;
+import net.hasor.dbvisitor.lambda.DuplicateKeyStrategy;
 import net.hasor.dbvisitor.lambda.core.OrderType;
 
 /**
@@ -31,7 +34,7 @@ import net.hasor.dbvisitor.lambda.core.OrderType;
  * @author 赵永春 (zyc@hasor.net)
  * @version 2020-10-31
  */
-public class MySqlDialect extends AbstractSqlDialect implements PageSqlDialect, InsertSqlDialect {
+public class MySqlDialect extends AbstractSqlDialect implements PageSqlDialect, InsertSqlDialect, BulkInsertSqlDialect, CursorSqlDialect {
     public static final SqlDialect DEFAULT = new MySqlDialect();
 
     @Override
@@ -109,6 +112,16 @@ public class MySqlDialect extends AbstractSqlDialect implements PageSqlDialect,
         return new BoundSql.BoundSqlObj(sb.toString(), paramArrays.toArray());
     }
 
+    @Override
+    public boolean supportRowValueCompare() {
+        return true;
+    }
+
+    @Override
+    public boolean supportRowValueIn() {
+        return true;
+    }
+
     // --- InsertSqlDialect impl ---
 
     @Override
@@ -138,6 +151,10 @@ public class MySqlDialect extends AbstractSqlDialect implements PageSqlDialect,
 
     @Override
     public String insertReplace(boolean useQualifier, String catalog, String schema, String table, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms) {
+        return buildSql("INSERT INTO ", useQualifier, catalog, schema, table, columns, columnValueTerms, buildDuplicateUpdate(useQualifier, columns));
+    }
+
+    protected String buildDuplicateUpdate(boolean useQualifier, List<String> columns) {
         StringBuilder sb = new StringBuilder(" ON DUPLICATE KEY UPDATE ");
         boolean first = true;
         for (String col : columns) {
@@ -149,7 +166,7 @@ public class MySqlDialect extends AbstractSqlDialect implements PageSqlDialect,
             sb.append(colName + "=VALUES(" + colName + ")");
             first = false;
         }
-        return buildSql("INSERT INTO ", useQualifier, catalog, schema, table, columns, columnValueTerms, sb.toString());
+        return sb.toString();
     }
 
     protected String buildSql(String markString, boolean useQualifier, String catalog, String schema, String table, List<String> columns, Map<String, String> columnValueTerms, String appendSql) {
@@ -182,4 +199,35 @@ public class MySqlDialect extends AbstractSqlDialect implements PageSqlDialect,
         sb.append(appendSql);
         return sb.toString();
     }
+
+    // --- BulkInsertSqlDialect impl ---
+
+    @Override
+    public int maxBindParameters() {
+        return 65535; // 协议中参数个数为 2 字节
+    }
+
+    @Override
+    public boolean supportBulkInsert(DuplicateKeyStrategy strategy, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms) {
+        // INSERT IGNORE / ON DUPLICATE KEY UPDATE 的多行语句只返回总的影响行数，无法拆分到每一行上，因此这两种策略使用批处理
+        return strategy == null || strategy == DuplicateKeyStrategy.Into;
+    }
+
+    @Override
+    public String bulkInsert(DuplicateKeyStrategy strategy, boolean useQualifier, String catalog, String schema, String table, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms, int rows) {
+        return buildBulkValues("INSERT INTO ", useQualifier, catalog, schema, table, columns, columnValueTerms, rows, "");
+    }
+
+    // --- CursorSqlDialect impl ---
+
+    @Override
+    public int cursorFetchSize(int fetchSize) {
+        // MySQL Connector/J 只有在 fetchSize 为 Integer.MIN_VALUE 时才会逐行读取结果集（useCursorFetch=false 的默认情况）
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    public boolean cursorNeedTransaction() {
+        return false;
+    }
 }
@@ -23,15 +23,17 @@ import net.hasor.cobble.StringUtils;
 import net.hasor.dbvisitor.dialect.BoundSql;
 import net.hasor.dbvisitor.dialect.SqlCommandBuilder;
 import net.hasor.dbvisitor.dialect.SqlDialect;
+import net.hasor.dbvisitor.dialect.features.BulkInsertSqlDialect;
 import net.hasor.dbvisitor.dialect.features.InsertSqlDialect;
 import net.hasor.dbvisitor.dialect.features.PageSqlDialect;
+import net.hasor.dbvisitor.lambda.DuplicateKeyStrategy;
 
 /**
  * Oracle 的 SqlDialect 实现
  * @author 赵永春 (zyc@hasor.net)
  * @version 2020-10-31
  */
-public class OracleDialect extends AbstractSqlDialect implements PageSqlDialect, InsertSqlDialect {
+public class OracleDialect extends AbstractSqlDialect implements PageSqlDialect, InsertSqlDialect, BulkInsertSqlDialect {
     public static final SqlDialect DEFAULT = new OracleDialect();
 
     @Override
@@ -96,6 +98,16 @@ public class OracleDialect extends AbstractSqlDialect implements PageSqlDialect,
         return true; // oracle 12 开始支持
     }
 
+    @Override
+    public boolean supportRowValueIn() {
+        return true;
+    }
+
+    @Override
+    public int maxInListSize() {
+        return 1000; // ORA-01795: maximum number of expressions in a list is 1000
+    }
+
     // --- PageSqlDialect impl ---
 
     @Override
@@ -189,6 +201,53 @@ public class OracleDialect extends AbstractSqlDialect implements PageSqlDialect,
         return sb.toString();
     }
 
+    // --- BulkInsertSqlDialect impl ---
+
+    @Override
+    public int maxBindParameters() {
+        return 65535; // Oracle 一条语句中绑定变量的个数不能超过 65535
+    }
+
+    @Override
+    public boolean supportBulkInsert(DuplicateKeyStrategy strategy, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms) {
+        // MERGE 的数据源中存在重复主键时行为与逐行执行不同，因此 Ignore/Update 策略仍然逐行执行。
+        // 值模版可能引用序列（seq.NEXTVAL），而 UNION ALL 的查询中不允许使用序列，因此带有值模版时也逐行执行
+        if (columnValueTerms != null && !columnValueTerms.isEmpty()) {
+            return false;
+        }
+        return strategy == null || strategy == DuplicateKeyStrategy.Into;
+    }
+
+    @Override
+    public String bulkInsert(DuplicateKeyStrategy strategy, boolean useQualifier, String catalog, String schema, String table, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms, int rows) {
+        // INSERT INTO t (a, b) SELECT ?, ? FROM DUAL UNION ALL SELECT ?, ? FROM DUAL
+        // 不使用 INSERT ALL：它对整条语句只计算一次序列和自增列的值，所有行会得到相同的主键
+        StringBuilder select = new StringBuilder("SELECT ");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                select.append(", ");
+            }
+            String valueTerm = columnValueTerms != null ? columnValueTerms.get(columns.get(i)) : null;
+            select.append(StringUtils.isNotBlank(valueTerm) ? valueTerm : "?");
+        }
+        select.append(" FROM DUAL");
+
+        StringBuilder sb = new StringBuilder("INSERT INTO ");
+        sb.append(tableName(useQualifier, catalog, schema, table));
+        sb.append(" (");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(fmtName(useQualifier, columns.get(i)));
+        }
+        sb.append(")");
+        for (int i = 0; i < rows; i++) {
+            sb.append(i == 0 ? " " : " UNION ALL ").append(select);
+        }
+        return sb.toString();
+    }
+
     private void buildMergeInfoBasic(boolean useQualifier, String catalog, String schema, String table, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms, StringBuilder sb) {
         sb.append("MERGE INTO ");
         sb.append(tableName(useQualifier, catalog, schema, table));
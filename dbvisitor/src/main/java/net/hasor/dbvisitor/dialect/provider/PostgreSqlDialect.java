@@ -22,10 +22,13 @@ import net.hasor.cobble.StringUtils;
 import net.hasor.dbvisitor.dialect.BoundSql;
 import net.hasor.dbvisitor.dialect.SqlCommandBuilder;
 import net.hasor.dbvisitor.dialect.SqlDialect;
+import net.hasor.dbvisitor.dialect.features.BulkInsertSqlDialect;
+import net.hasor.dbvisitor.dialect.features.CursorSqlDialect;
 import net.hasor.dbvisitor.dialect.features.InsertSqlDialect;
 import net.hasor.dbvisitor.dialect.features.PageSqlDialect;
 import net.hasor.dbvisitor.dialect.features.SeqSqlDialect;
 import net.hasor.dbvisitor.dialect.features.VectorSqlDialect;
+import net.hasor.dbvisitor.lambda.DuplicateKeyStrategy;
 import net.hasor.dbvisitor.lambda.core.MetricType;
 
 /**
@@ -33,7 +36,7 @@ import net.hasor.dbvisitor.lambda.core.MetricType;
  * @author 赵永春 (zyc@hasor.net)
  * @version 2020-10-31
  */
-public class PostgreSqlDialect extends AbstractSqlDialect implements PageSqlDialect, InsertSqlDialect, SeqSqlDialect, VectorSqlDialect {
+public class PostgreSqlDialect extends AbstractSqlDialect implements PageSqlDialect, InsertSqlDialect, BulkInsertSqlDialect, SeqSqlDialect, VectorSqlDialect, CursorSqlDialect {
     public static final SqlDialect DEFAULT = new PostgreSqlDialect();
 
     @Override
@@ -80,6 +83,16 @@ public class PostgreSqlDialect extends AbstractSqlDialect implements PageSqlDial
         return new BoundSql.BoundSqlObj(sb.toString(), paramArrays.toArray());
     }
 
+    @Override
+    public boolean supportRowValueCompare() {
+        return true;
+    }
+
+    @Override
+    public boolean supportRowValueIn() {
+        return true;
+    }
+
     // --- SeqSqlDialect impl ---
 
     @Override
@@ -187,6 +200,25 @@ public class PostgreSqlDialect extends AbstractSqlDialect implements PageSqlDial
         return sb.toString();
     }
 
+    // --- BulkInsertSqlDialect impl ---
+
+    @Override
+    public int maxBindParameters() {
+        return 32767; // 驱动中参数个数为 2 字节有符号数
+    }
+
+    @Override
+    public boolean supportBulkInsert(DuplicateKeyStrategy strategy, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms) {
+        // ON CONFLICT 的多行语句只返回总的影响行数，无法拆分到每一行上；DO UPDATE 遇到重复的主键还会报错（cannot affect row a second time），
+        // 因此 Ignore/Update 策略使用批处理
+        return strategy == null || strategy == DuplicateKeyStrategy.Into;
+    }
+
+    @Override
+    public String bulkInsert(DuplicateKeyStrategy strategy, boolean useQualifier, String catalog, String schema, String table, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms, int rows) {
+        return buildBulkValues("INSERT INTO ", useQualifier, catalog, schema, table, columns, columnValueTerms, rows, "");
+    }
+
     // --- VectorSqlDialect impl ---
 
     @Override
@@ -256,4 +288,15 @@ public class PostgreSqlDialect extends AbstractSqlDialect implements PageSqlDial
             return c + " " + finalOperator + " " + v + " < " + t;
         });
     }
-}
\ No newline at end of file
+
+    @Override
+    public int cursorFetchSize(int fetchSize) {
+        return fetchSize > 0 ? fetchSize : 1000;
+    }
+
+    @Override
+    public boolean cursorNeedTransaction() {
+        // PgJDBC 只有在 autoCommit=false 并且 fetchSize > 0 时才会使用服务端游标
+        return true;
+    }
+}
@@ -17,17 +17,20 @@ package net.hasor.dbvisitor.dialect.provider;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import net.hasor.dbvisitor.dialect.BoundSql;
 import net.hasor.dbvisitor.dialect.SqlCommandBuilder;
 import net.hasor.dbvisitor.dialect.SqlDialect;
+import net.hasor.dbvisitor.dialect.features.BulkInsertSqlDialect;
 import net.hasor.dbvisitor.dialect.features.PageSqlDialect;
+import net.hasor.dbvisitor.lambda.DuplicateKeyStrategy;
 
 /**
  * SqlLite 的 SqlDialect 实现
  * @author 赵永春 (zyc@hasor.net)
  * @version 2020-10-31
  */
-public class SqlLiteDialect extends AbstractSqlDialect implements PageSqlDialect {
+public class SqlLiteDialect extends AbstractSqlDialect implements PageSqlDialect, BulkInsertSqlDialect {
     public static final SqlDialect DEFAULT = new SqlLiteDialect();
 
     @Override
@@ -45,6 +48,11 @@ public class SqlLiteDialect extends AbstractSqlDialect implements PageSqlDialect
         return "`";
     }
 
+    @Override
+    public int maxInListSize() {
+        return 999; // SQLITE_MAX_VARIABLE_NUMBER 在 3.32.0 之前默认为 999
+    }
+
     // --- PageSqlDialect impl ---
 
     @Override
@@ -63,4 +71,21 @@ public class SqlLiteDialect extends AbstractSqlDialect implements PageSqlDialect
 
         return new BoundSql.BoundSqlObj(sqlBuilder.toString(), paramArrays.toArray());
     }
+
+    // --- BulkInsertSqlDialect impl ---
+
+    @Override
+    public int maxBindParameters() {
+        return 999; // SQLITE_MAX_VARIABLE_NUMBER 在 3.32.0 之前默认为 999
+    }
+
+    @Override
+    public boolean supportBulkInsert(DuplicateKeyStrategy strategy, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms) {
+        return strategy == null || strategy == DuplicateKeyStrategy.Into;
+    }
+
+    @Override
+    public String bulkInsert(DuplicateKeyStrategy strategy, boolean useQualifier, String catalog, String schema, String table, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms, int rows) {
+        return buildBulkValues("INSERT INTO ", useQualifier, catalog, schema, table, columns, columnValueTerms, rows, "");
+    }
 }
\ No newline at end of file
@@ -17,18 +17,21 @@ package net.hasor.dbvisitor.dialect.provider;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import net.hasor.cobble.StringUtils;
 import net.hasor.dbvisitor.dialect.BoundSql;
 import net.hasor.dbvisitor.dialect.SqlCommandBuilder;
 import net.hasor.dbvisitor.dialect.SqlDialect;
+import net.hasor.dbvisitor.dialect.features.BulkInsertSqlDialect;
 import net.hasor.dbvisitor.dialect.features.PageSqlDialect;
+import net.hasor.dbvisitor.lambda.DuplicateKeyStrategy;
 
 /**
  * SqlServer2005 的 SqlDialect 实现
  * @author 赵永春 (zyc@hasor.net)
  * @since 2016-11-10
  */
-public class SqlServerDialect extends AbstractSqlDialect implements PageSqlDialect {
+public class SqlServerDialect extends AbstractSqlDialect implements PageSqlDialect, BulkInsertSqlDialect {
     public static final SqlDialect DEFAULT = new SqlServerDialect();
 
     @Override
@@ -68,6 +71,11 @@ public class SqlServerDialect extends AbstractSqlDialect implements PageSqlDiale
         return strBuilder.toString();
     }
 
+    @Override
+    public int maxInListSize() {
+        return 2000; // 一条语句最多 2100 个参数，保留一部分给其它条件
+    }
+
     // --- PageSqlDialect impl ---
 
     private static String getOrderByPart(String sql) {
@@ -134,4 +142,21 @@ public class SqlServerDialect extends AbstractSqlDialect implements PageSqlDiale
 
         return "select top " + recordSize + " " + select + " from " + tableName + " order by newid()";
     }
+
+    // --- BulkInsertSqlDialect impl ---
+
+    @Override
+    public int maxBindParameters() {
+        return 2100; // 一条语句最多 2100 个参数，VALUES 最多 1000 行
+    }
+
+    @Override
+    public boolean supportBulkInsert(DuplicateKeyStrategy strategy, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms) {
+        return strategy == null || strategy == DuplicateKeyStrategy.Into;
+    }
+
+    @Override
+    public String bulkInsert(DuplicateKeyStrategy strategy, boolean useQualifier, String catalog, String schema, String table, List<String> primaryKey, List<String> columns, Map<String, String> columnValueTerms, int rows) {
+        return buildBulkValues("INSERT INTO ", useQualifier, catalog, schema, table, columns, columnValueTerms, rows, "");
+    }
 }
\ No newline at end of file
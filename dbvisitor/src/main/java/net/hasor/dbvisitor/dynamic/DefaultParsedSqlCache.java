@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.dynamic;
+import net.hasor.dbvisitor.dynamic.segment.PlanDynamicSql;
+import net.hasor.dbvisitor.internal.ConcurrentLruCache;
+
+/**
+ * {@link ParsedSqlCache} 的默认实现，容量有上限，读操作无锁，超出容量时按 CLOCK（近似 LRU）淘汰。
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public class DefaultParsedSqlCache implements ParsedSqlCache {
+    public static final int                                        DEFAULT_CAPACITY = 2048;
+    private final       ConcurrentLruCache<String, PlanDynamicSql> cache;
+
+    public DefaultParsedSqlCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DefaultParsedSqlCache(int capacity) {
+        this.cache = new ConcurrentLruCache<>(capacity);
+    }
+
+    @Override
+    public PlanDynamicSql getParsedSql(String originalSql) {
+        if (originalSql == null) {
+            return DynamicParsed.getParsedSql(null);
+        }
+        return this.cache.computeIfAbsent(originalSql, DynamicParsed::getParsedSql);
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.cache.getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.cache.getMissCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.cache.getEvictionCount();
+    }
+
+    @Override
+    public int size() {
+        return this.cache.size();
+    }
+
+    @Override
+    public void clear() {
+        this.cache.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "ParsedSqlCache [size=" + this.size() + ", capacity=" + this.cache.getCapacity() + ", hit=" + this.getHitCount() + ", miss=" + this.getMissCount() + ", eviction=" + this.getEvictionCount() + "]";
+    }
+}
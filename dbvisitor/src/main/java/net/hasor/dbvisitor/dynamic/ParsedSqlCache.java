@@ -0,0 +1,50 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.dynamic;
+import net.hasor.dbvisitor.dynamic.segment.PlanDynamicSql;
+
+/**
+ * SQL 解析结果缓存，缓存 {@link DynamicParsed#getParsedSql(String)} 的解析结果。
+ * <p>缓存中的 {@link PlanDynamicSql} 会被多个线程共享，使用者不应该修改它。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public interface ParsedSqlCache {
+    /** 默认缓存，没有单独配置缓存的 {@link QueryContext} 共享该实例 */
+    ParsedSqlCache DEFAULT = new DefaultParsedSqlCache();
+
+    /**
+     * 获取 SQL 的解析结果，缓存中不存在时解析并放入缓存
+     * @param originalSql 原始 SQL
+     * @return 解析结果
+     */
+    PlanDynamicSql getParsedSql(String originalSql);
+
+    /** 缓存命中次数 */
+    long getHitCount();
+
+    /** 缓存未命中次数 */
+    long getMissCount();
+
+    /** 因容量不足而被淘汰的条目数量 */
+    long getEvictionCount();
+
+    /** 当前缓存的条目数量 */
+    int size();
+
+    /** 清空缓存 */
+    void clear();
+}
@@ -14,8 +14,11 @@
  * limitations under the License.
  */
 package net.hasor.dbvisitor.dynamic;
+import java.util.concurrent.Executor;
+import net.hasor.dbvisitor.dialect.BoundSql;
 import net.hasor.dbvisitor.dynamic.rule.SqlRule;
 import net.hasor.dbvisitor.mapping.Options;
+import net.hasor.dbvisitor.page.CountStrategy;
 import net.hasor.dbvisitor.types.TypeHandlerRegistry;
 
 /**
@@ -57,4 +60,37 @@ public interface QueryContext {
 
     /** 获取配置选项 */
     Options options();
+
+    /** 获取 SQL 解析结果缓存，使用同一个 QueryContext 的 JdbcTemplate 共享该缓存 */
+    default ParsedSqlCache getParsedSqlCache() {
+        return ParsedSqlCache.DEFAULT;
+    }
+
+    /** 分页查询时用于在另外一个连接上并行执行 count 查询的线程池，返回 null 表示 count 与数据查询依次执行（默认） */
+    default Executor getPageCountExecutor() {
+        return null;
+    }
+
+    /** 分页查询时获取总记录数的策略，Page 上的设置优先 */
+    default CountStrategy getCountStrategy() {
+        return CountStrategy.WRAP;
+    }
+
+    /** 获取缓存的分页总记录数，未配置缓存、不存在或已经过期时返回 null */
+    default Long getCachedCount(String statementId, BoundSql countSql) {
+        return null;
+    }
+
+    /** 缓存分页总记录数，未配置缓存时忽略 */
+    default void putCachedCount(String statementId, BoundSql countSql, long count) {
+    }
+
+    /** 是否需要 {@link #tableChanged(String)} 通知（例如配置了结果缓存），返回 false 时 Lambda 写操作不会发出通知 */
+    default boolean isTableChangeTracked() {
+        return false;
+    }
+
+    /** 通过 Lambda 修改了某张表的数据，用于使依赖该表的结果缓存失效 */
+    default void tableChanged(String table) {
+    }
 }
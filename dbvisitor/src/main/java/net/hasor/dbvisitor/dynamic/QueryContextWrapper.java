@@ -0,0 +1,106 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.dynamic;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import net.hasor.dbvisitor.dialect.BoundSql;
+import net.hasor.dbvisitor.dynamic.rule.SqlRule;
+import net.hasor.dbvisitor.mapping.Options;
+import net.hasor.dbvisitor.page.CountStrategy;
+import net.hasor.dbvisitor.types.TypeHandlerRegistry;
+
+/**
+ * QueryContext 的包装类，所有方法都委托给被包装的 QueryContext，子类只需覆盖需要改变的方法。
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public class QueryContextWrapper implements QueryContext {
+    private final QueryContext target;
+
+    public QueryContextWrapper(QueryContext target) {
+        this.target = Objects.requireNonNull(target, "target is null.");
+    }
+
+    /** 被包装的 QueryContext */
+    public QueryContext getTarget() {
+        return this.target;
+    }
+
+    @Override
+    public SqlRule findRule(String ruleName) {
+        return this.target.findRule(ruleName);
+    }
+
+    @Override
+    public DynamicSql findMacro(String name) {
+        return this.target.findMacro(name);
+    }
+
+    @Override
+    public Class<?> loadClass(String typeName) throws ClassNotFoundException {
+        return this.target.loadClass(typeName);
+    }
+
+    @Override
+    public Object createObject(Class<?> clazz) {
+        return this.target.createObject(clazz);
+    }
+
+    @Override
+    public TypeHandlerRegistry getTypeRegistry() {
+        return this.target.getTypeRegistry();
+    }
+
+    @Override
+    public Options options() {
+        return this.target.options();
+    }
+
+    @Override
+    public ParsedSqlCache getParsedSqlCache() {
+        return this.target.getParsedSqlCache();
+    }
+
+    @Override
+    public Executor getPageCountExecutor() {
+        return this.target.getPageCountExecutor();
+    }
+
+    @Override
+    public CountStrategy getCountStrategy() {
+        return this.target.getCountStrategy();
+    }
+
+    @Override
+    public Long getCachedCount(String statementId, BoundSql countSql) {
+        return this.target.getCachedCount(statementId, countSql);
+    }
+
+    @Override
+    public void putCachedCount(String statementId, BoundSql countSql, long count) {
+        this.target.putCachedCount(statementId, countSql, count);
+    }
+
+    @Override
+    public boolean isTableChangeTracked() {
+        return this.target.isTableChangeTracked();
+    }
+
+    @Override
+    public void tableChanged(String table) {
+        this.target.tableChanged(table);
+    }
+}
@@ -96,6 +96,12 @@ public class ArgRule implements SqlRule {
     /** 执行参数规则 */
     @Override
     public void executeRule(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder, String activeExpr, String ruleValue) throws SQLException {
+        this.executeRule(data, context, sqlBuilder, this.prepareRule(activeExpr, ruleValue));
+    }
+
+    /** 预解析参数配置，生成 {@link ArgPlan} */
+    @Override
+    public ArgPlan prepareRule(String activeExpr, String ruleValue) {
         String[] testSplit = DynamicParsed.splitByComma(ruleValue);
         if (testSplit.length > 6 || testSplit.length == 0) {
             throw new IllegalArgumentException("analysisSQL failed, format error -> '#{valueExpr [,mode= IN|OUT|INOUT] [,jdbcType=INT] [,javaType=java.lang.String] [,typeHandler=YouTypeHandlerClassName]}'");
@@ -104,42 +110,48 @@ public class ArgRule implements SqlRule {
         boolean noExpr = StringUtils.contains(testSplit[0], "=");
         String expr = noExpr ? "" : testSplit[0];
         Map<String, String> config = ArgRule.INSTANCE.parserConfig(testSplit, noExpr ? 0 : 1, testSplit.length);
+        return new ArgPlan(expr, config);
+    }
 
-        this.executeRule(data, context, sqlBuilder, expr, config);
+    /** 执行参数规则 */
+    @Override
+    public void executeRule(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder, String activeExpr, String ruleValue, Object prepared) throws SQLException {
+        ArgPlan plan = prepared instanceof ArgPlan ? (ArgPlan) prepared : this.prepareRule(activeExpr, ruleValue);
+        this.executeRule(data, context, sqlBuilder, plan);
     }
 
     /** 执行参数规则 */
     public void executeRule(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder, String expr, Map<String, String> config) throws SQLException {
-        SqlMode sqlMode = this.convertSqlMode((config != null) ? config.get(CFG_KEY_MODE) : null);
-        Integer jdbcType = this.convertJdbcType((config != null) ? config.get(CFG_KEY_JDBC_TYPE) : null);
-        Class<?> javaType = this.convertJavaType(context, (config != null) ? config.get(CFG_KEY_JAVA_TYPE) : null);
-        String handlerType = (config != null) ? config.get(CFG_KEY_TYPE_HANDLER) : null;
-        Object argValue = (sqlMode != null && !sqlMode.isIn() && sqlMode.isOut()) ? null : OgnlUtils.evalOgnl(expr, data);
-        String asName = (config != null) ? config.getOrDefault(CFG_KEY_NAME, null) : null;
-        String typeName = (config != null) ? config.getOrDefault(CFG_KEY_TYPE_NAME, null) : null;
-        Integer scale = this.convertInteger((config != null) ? config.get(CFG_KEY_SCALE) : null);
-        Class<?> extractor = this.convertJavaType(context, (config != null) ? config.get(CFG_KEY_EXTRACTOR) : null);
-        Class<?> rowHandler = this.convertJavaType(context, (config != null) ? config.get(CFG_KEY_ROW_HANDLER) : null);
-        Class<?> rowMapper = this.convertJavaType(context, (config != null) ? config.get(CFG_KEY_ROW_MAPPER) : null);
+        this.executeRule(data, context, sqlBuilder, new ArgPlan(expr, config));
+    }
 
+    /** 使用预解析的参数配置执行参数规则，执行阶段只计算参数值 */
+    public void executeRule(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder, ArgPlan plan) throws SQLException {
+        SqlMode sqlMode = plan.sqlMode;
+        Object argValue = (sqlMode != null && !sqlMode.isIn() && sqlMode.isOut()) ? null : OgnlUtils.evalOgnl(plan.expr, data);
         if (argValue instanceof SqlArg) {
             sqlBuilder.appendSql("?", argValue);
             return;
         }
 
-        TypeHandler<?> typeHandler = this.createTypeHandler(context, javaType, handlerType, argValue);
-        SqlArg arg = new SqlArg(expr, argValue, sqlMode, jdbcType, javaType, typeHandler);
-        arg.setAsName(asName);
-        arg.setJdbcTypeName(typeName);
-        arg.setScale(scale);
-        arg.setExtractor(this.createObject(context, extractor));
-        arg.setRowHandler(this.createObject(context, rowHandler));
-        arg.setRowMapper(this.createObject(context, rowMapper));
+        ArgTypes types = plan.resolveTypes(context);
+        TypeHandler<?> typeHandler = types.typeHandler;
+        if (typeHandler == null && types.valueDependent) {
+            typeHandler = this.createTypeHandler(context, types.javaType, plan.handlerType, argValue);
+        }
+
+        SqlArg arg = new SqlArg(plan.expr, argValue, sqlMode, plan.jdbcType, types.javaType, typeHandler);
+        arg.setAsName(plan.asName);
+        arg.setJdbcTypeName(plan.typeName);
+        arg.setScale(plan.scale);
+        arg.setExtractor(this.createObject(context, types.extractor));
+        arg.setRowHandler(this.createObject(context, types.rowHandler));
+        arg.setRowMapper(this.createObject(context, types.rowMapper));
 
         sqlBuilder.appendSql("?", arg);
     }
 
-    private SqlMode convertSqlMode(String sqlMode) {
+    private static SqlMode convertSqlMode(String sqlMode) {
         if (StringUtils.isNotBlank(sqlMode)) {
             for (SqlMode mode : SqlMode.values()) {
                 if (mode.name().equalsIgnoreCase(sqlMode)) {
@@ -150,7 +162,7 @@ public class ArgRule implements SqlRule {
         return null;
     }
 
-    private Integer convertJdbcType(String jdbcType) {
+    private static Integer convertJdbcType(String jdbcType) {
         if (NumberUtils.isNumber(jdbcType)) {
             return NumberUtils.createInteger(jdbcType);
         }
@@ -161,14 +173,14 @@ public class ArgRule implements SqlRule {
         return null;
     }
 
-    private Integer convertInteger(String jdbcType) {
+    private static Integer convertInteger(String jdbcType) {
         if (NumberUtils.isNumber(jdbcType)) {
             return NumberUtils.createInteger(jdbcType);
         }
         return null;
     }
 
-    private Class<?> convertJavaType(QueryContext context, String javaType) {
+    private static Class<?> convertJavaType(QueryContext context, String javaType) {
         try {
             if (StringUtils.isNotBlank(javaType)) {
                 return context.loadClass(javaType);
@@ -219,4 +231,108 @@ public class ArgRule implements SqlRule {
     public String toString() {
         return "arg [" + this.hashCode() + "]";
     }
+
+    /**
+     * 预解析的参数配置，在 SQL 解析阶段生成。
+     * 与 QueryContext 有关的类型（javaType、typeHandler 等）在首次执行时解析，并按 QueryContext 缓存。
+     */
+    public static class ArgPlan {
+        private final    String   expr;
+        private final    SqlMode  sqlMode;
+        private final    Integer  jdbcType;
+        private final    Integer  scale;
+        private final    String   asName;
+        private final    String   typeName;
+        private final    String   javaTypeName;
+        private final    String   handlerType;
+        private final    String   extractorName;
+        private final    String   rowHandlerName;
+        private final    String   rowMapperName;
+        private final    boolean  hasTypes;
+        private volatile ArgTypes types;
+
+        public ArgPlan(String expr, Map<String, String> config) {
+            this.expr = expr;
+            this.sqlMode = convertSqlMode((config != null) ? config.get(CFG_KEY_MODE) : null);
+            this.jdbcType = convertJdbcType((config != null) ? config.get(CFG_KEY_JDBC_TYPE) : null);
+            this.scale = convertInteger((config != null) ? config.get(CFG_KEY_SCALE) : null);
+            this.asName = (config != null) ? config.getOrDefault(CFG_KEY_NAME, null) : null;
+            this.typeName = (config != null) ? config.getOrDefault(CFG_KEY_TYPE_NAME, null) : null;
+            this.javaTypeName = (config != null) ? config.get(CFG_KEY_JAVA_TYPE) : null;
+            this.handlerType = (config != null) ? config.get(CFG_KEY_TYPE_HANDLER) : null;
+            this.extractorName = (config != null) ? config.get(CFG_KEY_EXTRACTOR) : null;
+            this.rowHandlerName = (config != null) ? config.get(CFG_KEY_ROW_HANDLER) : null;
+            this.rowMapperName = (config != null) ? config.get(CFG_KEY_ROW_MAPPER) : null;
+            this.hasTypes = StringUtils.isNotBlank(this.javaTypeName) || StringUtils.isNotBlank(this.handlerType) //
+                    || StringUtils.isNotBlank(this.extractorName) || StringUtils.isNotBlank(this.rowHandlerName) //
+                    || StringUtils.isNotBlank(this.rowMapperName);
+            this.types = this.hasTypes ? null : ArgTypes.EMPTY;
+        }
+
+        /** 获取参数表达式 */
+        public String getExpr() {
+            return this.expr;
+        }
+
+        /** 获取参数模式 */
+        public SqlMode getSqlMode() {
+            return this.sqlMode;
+        }
+
+        /** 获取 JDBC 类型 */
+        public Integer getJdbcType() {
+            return this.jdbcType;
+        }
+
+        private ArgTypes resolveTypes(QueryContext context) throws SQLException {
+            ArgTypes types = this.types;
+            if (!this.hasTypes || (types != null && types.context == context)) {
+                return types;
+            }
+
+            Class<?> javaType = convertJavaType(context, this.javaTypeName);
+            Class<?> extractor = convertJavaType(context, this.extractorName);
+            Class<?> rowHandler = convertJavaType(context, this.rowHandlerName);
+            Class<?> rowMapper = convertJavaType(context, this.rowMapperName);
+
+            // when javaType is absent and the handler is not registered, the handler depends on the type of argument value.
+            TypeHandler<?> typeHandler = null;
+            boolean valueDependent = false;
+            if (StringUtils.isNotBlank(this.handlerType)) {
+                typeHandler = context.getTypeRegistry().getHandlerByHandlerType(this.handlerType);
+                if (typeHandler == null) {
+                    if (javaType != null) {
+                        typeHandler = INSTANCE.createTypeHandler(context, javaType, this.handlerType, null);
+                    } else {
+                        valueDependent = true;
+                    }
+                }
+            }
+
+            types = new ArgTypes(context, javaType, typeHandler, valueDependent, extractor, rowHandler, rowMapper);
+            this.types = types;
+            return types;
+        }
+    }
+
+    private static class ArgTypes {
+        private static final ArgTypes       EMPTY = new ArgTypes(null, null, null, false, null, null, null);
+        private final        QueryContext   context;
+        private final        Class<?>       javaType;
+        private final        TypeHandler<?> typeHandler;
+        private final        boolean        valueDependent;
+        private final        Class<?>       extractor;
+        private final        Class<?>       rowHandler;
+        private final        Class<?>       rowMapper;
+
+        ArgTypes(QueryContext context, Class<?> javaType, TypeHandler<?> typeHandler, boolean valueDependent, Class<?> extractor, Class<?> rowHandler, Class<?> rowMapper) {
+            this.context = context;
+            this.javaType = javaType;
+            this.typeHandler = typeHandler;
+            this.valueDependent = valueDependent;
+            this.extractor = extractor;
+            this.rowHandler = rowHandler;
+            this.rowMapper = rowMapper;
+        }
+    }
 }
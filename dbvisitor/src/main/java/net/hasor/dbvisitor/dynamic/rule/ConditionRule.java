@@ -82,26 +82,30 @@ public abstract class ConditionRule implements SqlRule {
     /** 执行规则 */
     @Override
     public void executeRule(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder, String activeExpr, String ruleValue) throws SQLException {
-        String expr = "";
-        if (this.usingIf) {
-            expr = (StringUtils.isBlank(ruleValue) ? "" : ruleValue);
-        } else {
-            if (activeExpr != null) {
-                expr += activeExpr;
-                if (StringUtils.isNotBlank(ruleValue)) {
-                    expr += ",";
-                }
-            }
+        this.executeRule(data, context, sqlBuilder, activeExpr, ruleValue, this.prepareRule(activeExpr, ruleValue));
+    }
 
-            if (ruleValue != null) {
-                expr += ruleValue;
+    /** 预解析条件语句 */
+    @Override
+    public Object prepareRule(String activeExpr, String ruleValue) {
+        String expr = this.buildExpr(activeExpr, ruleValue);
+        return StringUtils.isBlank(expr) ? null : DynamicParsed.getParsedSql(expr);
+    }
+
+    /** 执行规则 */
+    @Override
+    public void executeRule(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder, String activeExpr, String ruleValue, Object prepared) throws SQLException {
+        PlanDynamicSql parsedSql;
+        if (prepared instanceof PlanDynamicSql) {
+            parsedSql = (PlanDynamicSql) prepared;
+        } else {
+            String expr = this.buildExpr(activeExpr, ruleValue);
+            if (StringUtils.isBlank(expr)) {
+                return;
             }
-        }
-        if (StringUtils.isBlank(expr)) {
-            return;
+            parsedSql = DynamicParsed.getParsedSql(expr);
         }
 
-        PlanDynamicSql parsedSql = DynamicParsed.getParsedSql(expr);
         SqlBuilder tmp = parsedSql.buildQuery(data, context);
         String sqlString = tmp.getSqlString();
         Object[] sqlArgs = tmp.getArgs();
@@ -137,6 +141,25 @@ public abstract class ConditionRule implements SqlRule {
         sqlBuilder.appendSql(sqlString, sqlArgs);
     }
 
+    private String buildExpr(String activeExpr, String ruleValue) {
+        String expr = "";
+        if (this.usingIf) {
+            expr = (StringUtils.isBlank(ruleValue) ? "" : ruleValue);
+        } else {
+            if (activeExpr != null) {
+                expr += activeExpr;
+                if (StringUtils.isNotBlank(ruleValue)) {
+                    expr += ",";
+                }
+            }
+
+            if (ruleValue != null) {
+                expr += ruleValue;
+            }
+        }
+        return expr;
+    }
+
     @Override
     public String toString() {
         return this.name() + " [" + this.hashCode() + "]";
@@ -20,6 +20,7 @@ import net.hasor.dbvisitor.dynamic.DynamicParsed;
 import net.hasor.dbvisitor.dynamic.QueryContext;
 import net.hasor.dbvisitor.dynamic.SqlArgSource;
 import net.hasor.dbvisitor.dynamic.SqlBuilder;
+import net.hasor.dbvisitor.dynamic.segment.PlanDynamicSql;
 import net.hasor.dbvisitor.internal.OgnlUtils;
 
 /**
@@ -57,7 +58,20 @@ public class IfRule implements SqlRule {
      */
     @Override
     public void executeRule(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder, String activeExpr, String ruleValue) throws SQLException {
-        if (ruleValue != null) {
+        this.executeRule(data, context, sqlBuilder, activeExpr, ruleValue, this.prepareRule(activeExpr, ruleValue));
+    }
+
+    /** 预解析规则值(要构建的SQL片段) */
+    @Override
+    public Object prepareRule(String activeExpr, String ruleValue) {
+        return ruleValue == null ? null : DynamicParsed.getParsedSql(ruleValue);
+    }
+
+    @Override
+    public void executeRule(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder, String activeExpr, String ruleValue, Object prepared) throws SQLException {
+        if (prepared instanceof PlanDynamicSql) {
+            ((PlanDynamicSql) prepared).buildQuery(data, context, sqlBuilder);
+        } else if (ruleValue != null) {
             DynamicParsed.getParsedSql(ruleValue).buildQuery(data, context, sqlBuilder);
         }
     }
@@ -20,6 +20,7 @@ import java.util.Iterator;
 import net.hasor.cobble.StringUtils;
 import net.hasor.dbvisitor.dynamic.*;
 import net.hasor.dbvisitor.dynamic.args.ArraySqlArgSource;
+import net.hasor.dbvisitor.dynamic.segment.PlanDynamicSql;
 import net.hasor.dbvisitor.internal.OgnlUtils;
 import net.hasor.dbvisitor.types.SqlArg;
 import net.hasor.dbvisitor.types.TypeHandler;
@@ -64,26 +65,31 @@ public class InRule implements SqlRule {
     /** 执行IN规则 */
     @Override
     public void executeRule(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder, String activeExpr, String ruleValue) throws SQLException {
-        String expr = "";
-        if (this.usingIf) {
-            expr = (StringUtils.isBlank(ruleValue) ? "" : ruleValue);
-        } else {
-            if (activeExpr != null) {
-                expr += activeExpr;
-                if (ruleValue != null) {
-                    expr += ",";
-                }
-            }
+        this.executeRule(data, context, sqlBuilder, activeExpr, ruleValue, this.prepareRule(activeExpr, ruleValue));
+    }
 
-            if (ruleValue != null) {
-                expr += ruleValue;
+    /** 预解析IN语句 */
+    @Override
+    public Object prepareRule(String activeExpr, String ruleValue) {
+        String expr = this.buildExpr(activeExpr, ruleValue);
+        return StringUtils.isBlank(expr) ? null : DynamicParsed.getParsedSql(expr);
+    }
+
+    /** 执行IN规则 */
+    @Override
+    public void executeRule(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder, String activeExpr, String ruleValue, Object prepared) throws SQLException {
+        PlanDynamicSql parsedSql;
+        if (prepared instanceof PlanDynamicSql) {
+            parsedSql = (PlanDynamicSql) prepared;
+        } else {
+            String expr = this.buildExpr(activeExpr, ruleValue);
+            if (StringUtils.isBlank(expr)) {
+                return;
             }
-        }
-        if (StringUtils.isBlank(expr)) {
-            return;
+            parsedSql = DynamicParsed.getParsedSql(expr);
         }
 
-        SqlBuilder tmp = DynamicParsed.getParsedSql(expr).buildQuery(data, context);
+        SqlBuilder tmp = parsedSql.buildQuery(data, context);
         String sqlString = tmp.getSqlString();
         Object[] sqlArgs = tmp.getArgs();
 
@@ -109,6 +115,25 @@ public class InRule implements SqlRule {
         }
     }
 
+    private String buildExpr(String activeExpr, String ruleValue) {
+        String expr = "";
+        if (this.usingIf) {
+            expr = (StringUtils.isBlank(ruleValue) ? "" : ruleValue);
+        } else {
+            if (activeExpr != null) {
+                expr += activeExpr;
+                if (ruleValue != null) {
+                    expr += ",";
+                }
+            }
+
+            if (ruleValue != null) {
+                expr += ruleValue;
+            }
+        }
+        return expr;
+    }
+
     private static void buildIn(final SqlBuilder sqlBuilder, final Object value) {
         String name = null;
         Object tmpValue = null;
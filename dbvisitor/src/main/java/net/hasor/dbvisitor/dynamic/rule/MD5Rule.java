@@ -23,6 +23,7 @@ import net.hasor.dbvisitor.dynamic.DynamicParsed;
 import net.hasor.dbvisitor.dynamic.QueryContext;
 import net.hasor.dbvisitor.dynamic.SqlArgSource;
 import net.hasor.dbvisitor.dynamic.SqlBuilder;
+import net.hasor.dbvisitor.dynamic.segment.PlanDynamicSql;
 import net.hasor.dbvisitor.types.SqlArg;
 import net.hasor.dbvisitor.types.TypeHandler;
 import net.hasor.dbvisitor.types.TypeHandlerRegistry;
@@ -55,14 +56,26 @@ public class MD5Rule implements SqlRule {
     /** 执行宏规则 */
     @Override
     public void executeRule(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder, String activeExpr, String ruleValue) throws SQLException {
+        this.executeRule(data, context, sqlBuilder, activeExpr, ruleValue, this.prepareRule(activeExpr, ruleValue));
+    }
+
+    /** 预解析参数表达式 */
+    @Override
+    public Object prepareRule(String activeExpr, String ruleValue) {
         String expr = "";
         if (activeExpr != null) {
             expr += activeExpr;
             expr += ",";
         }
         expr += (StringUtils.isBlank(ruleValue) ? "" : ruleValue);
+        return DynamicParsed.getParsedSql(expr);
+    }
 
-        SqlBuilder builder = DynamicParsed.getParsedSql(expr).buildQuery(data, context);
+    /** 执行宏规则 */
+    @Override
+    public void executeRule(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder, String activeExpr, String ruleValue, Object prepared) throws SQLException {
+        PlanDynamicSql parsedSql = (PlanDynamicSql) (prepared instanceof PlanDynamicSql ? prepared : this.prepareRule(activeExpr, ruleValue));
+        SqlBuilder builder = parsedSql.buildQuery(data, context);
         Object[] args = builder.getArgs();
         if (args.length != 1) {
             throw new SQLException("role MD5 args error, require 1, but " + args.length);
@@ -44,4 +44,28 @@ public interface SqlRule {
      * @param ruleValue 规则值
      */
     void executeRule(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder, String activeExpr, String ruleValue) throws SQLException;
+
+    /**
+     * 预解析规则内容，在 SQL 解析阶段调用一次，返回值会在每次执行时传递给
+     * {@link #executeRule(SqlArgSource, QueryContext, SqlBuilder, String, String, Object)}。
+     * @param activeExpr 规则表达式
+     * @param ruleValue 规则值
+     * @return 预解析结果，默认不做预解析返回 null
+     */
+    default Object prepareRule(String activeExpr, String ruleValue) {
+        return null;
+    }
+
+    /**
+     * 使用预解析结果执行规则逻辑，默认忽略预解析结果。
+     * @param data 参数数据源
+     * @param context 查询上下文
+     * @param sqlBuilder SQL构建器
+     * @param activeExpr 规则表达式
+     * @param ruleValue 规则值
+     * @param prepared {@link #prepareRule(String, String)} 的返回值，可能为 null
+     */
+    default void executeRule(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder, String activeExpr, String ruleValue, Object prepared) throws SQLException {
+        this.executeRule(data, context, sqlBuilder, activeExpr, ruleValue);
+    }
 }
@@ -34,6 +34,7 @@ import net.hasor.dbvisitor.dynamic.rule.ArgRule;
 public class NamedSqlSegment implements SqlSegment {
     private final String              exprString;
     private final Map<String, String> config;
+    private final ArgRule.ArgPlan     argPlan;
 
     /**
      * 构造函数
@@ -51,6 +52,7 @@ public class NamedSqlSegment implements SqlSegment {
     public NamedSqlSegment(String exprString, Map<String, String> config) {
         this.exprString = exprString;
         this.config = config;
+        this.argPlan = new ArgRule.ArgPlan(exprString, config);
     }
 
     /** 获取表达式字符串 */
@@ -66,7 +68,7 @@ public class NamedSqlSegment implements SqlSegment {
     /** 构建 SQL 查询 */
     @Override
     public void buildQuery(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder) throws SQLException {
-        ArgRule.INSTANCE.executeRule(data, context, sqlBuilder, this.exprString, this.config);
+        ArgRule.INSTANCE.executeRule(data, context, sqlBuilder, this.argPlan);
     }
 
     /** 克隆当前对象，返回新的 {@link NamedSqlSegment} 实例 */
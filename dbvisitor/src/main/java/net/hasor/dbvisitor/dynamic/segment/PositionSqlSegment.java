@@ -31,7 +31,8 @@ import net.hasor.dbvisitor.dynamic.rule.ArgRule;
  * @version 2024-09-25
  */
 public class PositionSqlSegment implements SqlSegment {
-    private final int position;
+    private final int             position;
+    private final ArgRule.ArgPlan argPlan;
 
     /**
      * 构造函数
@@ -39,6 +40,7 @@ public class PositionSqlSegment implements SqlSegment {
      */
     public PositionSqlSegment(int position) {
         this.position = position;
+        this.argPlan = new ArgRule.ArgPlan("arg" + position, Collections.emptyMap());
     }
 
     /** 获取参数位置 */
@@ -49,7 +51,7 @@ public class PositionSqlSegment implements SqlSegment {
     /** 构建 SQL 查询 */
     @Override
     public void buildQuery(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder) throws SQLException {
-        ArgRule.INSTANCE.executeRule(data, context, sqlBuilder, "arg" + position, Collections.emptyMap());
+        ArgRule.INSTANCE.executeRule(data, context, sqlBuilder, this.argPlan);
     }
 
     /** 克隆当前对象，返回新的 {@link PositionSqlSegment} 实例 */
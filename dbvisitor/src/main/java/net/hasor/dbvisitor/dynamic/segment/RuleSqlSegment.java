@@ -16,6 +16,7 @@
 package net.hasor.dbvisitor.dynamic.segment;
 import java.sql.SQLException;
 import net.hasor.dbvisitor.dynamic.QueryContext;
+import net.hasor.dbvisitor.dynamic.RuleRegistry;
 import net.hasor.dbvisitor.dynamic.SqlArgSource;
 import net.hasor.dbvisitor.dynamic.SqlBuilder;
 import net.hasor.dbvisitor.dynamic.rule.SqlRule;
@@ -30,10 +31,11 @@ import net.hasor.dbvisitor.dynamic.rule.SqlRule;
  * @version 2024-09-25
  */
 public class RuleSqlSegment implements SqlSegment {
-    private final String ruleExpr;
-    private final String ruleName;
-    private final String activeExpr;
-    private final String ruleValue;
+    private final    String       ruleExpr;
+    private final    String       ruleName;
+    private final    String       activeExpr;
+    private final    String       ruleValue;
+    private volatile PreparedRule prepared;
 
     /**
      * 构造函数
@@ -47,6 +49,27 @@ public class RuleSqlSegment implements SqlSegment {
         this.ruleName = ruleName;
         this.activeExpr = activeExpr;
         this.ruleValue = ruleValue;
+        this.prepared = prepareRule(RuleRegistry.DEFAULT.findRule(ruleName), activeExpr, ruleValue);
+    }
+
+    private RuleSqlSegment(RuleSqlSegment segment) {
+        this.ruleExpr = segment.ruleExpr;
+        this.ruleName = segment.ruleName;
+        this.activeExpr = segment.activeExpr;
+        this.ruleValue = segment.ruleValue;
+        this.prepared = segment.prepared;
+    }
+
+    /** 使用内置规则预解析规则值，失败时推迟到执行阶段处理（保持原有的报错时机） */
+    private static PreparedRule prepareRule(SqlRule rule, String activeExpr, String ruleValue) {
+        if (rule == null) {
+            return null;
+        }
+        try {
+            return new PreparedRule(rule, rule.prepareRule(activeExpr, ruleValue));
+        } catch (RuntimeException e) {
+            return null;
+        }
     }
 
     /** 获取规则表达式 */
@@ -77,18 +100,34 @@ public class RuleSqlSegment implements SqlSegment {
             throw new UnsupportedOperationException("rule `" + this.ruleName + "` Unsupported.");
         }
         if (ruleByName.test(data, context, this.activeExpr)) {
-            ruleByName.executeRule(data, context, sqlBuilder, this.activeExpr, this.ruleValue);
+            // the prepared value belongs to a specific rule instance, custom registry may replace the builtin rule.
+            PreparedRule prepared = this.prepared;
+            if (prepared == null || prepared.rule != ruleByName) {
+                prepared = new PreparedRule(ruleByName, ruleByName.prepareRule(this.activeExpr, this.ruleValue));
+                this.prepared = prepared;
+            }
+            ruleByName.executeRule(data, context, sqlBuilder, this.activeExpr, this.ruleValue, prepared.value);
         }
     }
 
     /** 克隆当前对象，返回新的 {@link RuleSqlSegment} 实例 */
     @Override
     public RuleSqlSegment clone() {
-        return new RuleSqlSegment(this.ruleExpr, this.ruleName, this.activeExpr, this.ruleValue);
+        return new RuleSqlSegment(this);
     }
 
     @Override
     public String toString() {
         return "Rule [" + this.ruleName + ", body=" + this.ruleValue + "]";
     }
+
+    private static class PreparedRule {
+        private final SqlRule rule;
+        private final Object  value;
+
+        PreparedRule(SqlRule rule, Object value) {
+            this.rule = rule;
+            this.value = value;
+        }
+    }
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.internal;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 有容量上限的并发缓存，淘汰算法为 CLOCK（近似 LRU）。
+ * <p>读操作不加锁，只在条目上设置访问标记；写入新条目且超出容量时，在淘汰锁内按时钟顺序扫描，
+ * 跳过并清除带有访问标记的条目，淘汰第一个未被访问的条目。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public class ConcurrentLruCache<K, V> {
+    private final int                              capacity;
+    private final ConcurrentHashMap<K, Node<K, V>> cacheMap;
+    private final ArrayDeque<Node<K, V>>           clock;
+    private final ReentrantLock                    evictionLock;
+    private final LongAdder                        hitCount;
+    private final LongAdder                        missCount;
+    private final LongAdder                        evictionCount;
+    private final BiConsumer<K, V>                 evictionListener;
+
+    public ConcurrentLruCache(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * 构造函数
+     * @param capacity 缓存容量
+     * @param evictionListener 条目被淘汰或移除时的回调，可以为 null
+     */
+    public ConcurrentLruCache(int capacity, BiConsumer<K, V> evictionListener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive.");
+        }
+        this.capacity = capacity;
+        this.cacheMap = new ConcurrentHashMap<>(Math.min(capacity, 1024));
+        this.clock = new ArrayDeque<>();
+        this.evictionLock = new ReentrantLock();
+        this.hitCount = new LongAdder();
+        this.missCount = new LongAdder();
+        this.evictionCount = new LongAdder();
+        this.evictionListener = evictionListener;
+    }
+
+    /** 获取缓存值，不存在时返回 null */
+    public V get(K key) {
+        Node<K, V> node = this.cacheMap.get(key);
+        if (node == null) {
+            this.missCount.increment();
+            return null;
+        }
+
+        if (!node.visited) {
+            node.visited = true;
+        }
+        this.hitCount.increment();
+        return node.value;
+    }
+
+    /** 获取缓存值，不存在时通过 loader 加载并放入缓存（loader 在锁外执行，并发时可能被调用多次） */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V value = this.get(key);
+        if (value != null) {
+            return value;
+        }
+
+        value = loader.apply(key);
+        if (value == null) {
+            return null;
+        }
+
+        Node<K, V> node = new Node<>(key, value);
+        Node<K, V> exist = this.cacheMap.putIfAbsent(key, node);
+        if (exist != null) {
+            return exist.value;
+        }
+
+        this.addToClock(node);
+        return value;
+    }
+
+    /** 放入缓存，返回旧值 */
+    public V put(K key, V value) {
+        Node<K, V> node = new Node<>(key, value);
+        Node<K, V> old = this.cacheMap.put(key, node);
+        if (old != null) {
+            old.removed = true;
+            if (this.evictionListener != null && old.value != value) {
+                this.evictionListener.accept(old.key, old.value);
+            }
+        }
+
+        this.addToClock(node);
+        return old == null ? null : old.value;
+    }
+
+    /** 移除缓存，返回被移除的值 */
+    public V remove(K key) {
+        Node<K, V> node = this.cacheMap.remove(key);
+        if (node == null) {
+            return null;
+        }
+        node.removed = true;
+        if (this.evictionListener != null) {
+            this.evictionListener.accept(node.key, node.value);
+        }
+        return node.value;
+    }
+
+    /** 清空缓存，不重置统计数据 */
+    public void clear() {
+        this.evictionLock.lock();
+        try {
+            for (Node<K, V> node : this.cacheMap.values()) {
+                if (this.cacheMap.remove(node.key, node)) {
+                    node.removed = true;
+                    if (this.evictionListener != null) {
+                        this.evictionListener.accept(node.key, node.value);
+                    }
+                }
+            }
+            this.clock.clear();
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private void addToClock(Node<K, V> node) {
+        this.evictionLock.lock();
+        try {
+            this.clock.addLast(node);
+            if (this.clock.size() > this.capacity * 2) {
+                this.clock.removeIf(n -> n.removed); // drop the nodes that removed by remove/put
+            }
+
+            while (this.cacheMap.size() > this.capacity) {
+                Node<K, V> hand = this.clock.pollFirst();
+                if (hand == null) {
+                    break;
+                }
+                if (hand.removed) {
+                    continue;
+                }
+
+                if (hand.visited) {
+                    hand.visited = false;
+                    this.clock.addLast(hand);
+                } else if (this.cacheMap.remove(hand.key, hand)) {
+                    hand.removed = true;
+                    this.evictionCount.increment();
+                    if (this.evictionListener != null) {
+                        this.evictionListener.accept(hand.key, hand.value);
+                    }
+                }
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    /** 缓存容量 */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /** 当前缓存的条目数量 */
+    public int size() {
+        return this.cacheMap.size();
+    }
+
+    /** 缓存命中次数 */
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    /** 缓存未命中次数 */
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    /** 因容量不足而被淘汰的条目数量 */
+    public long getEvictionCount() {
+        return this.evictionCount.sum();
+    }
+
+    /** 重置统计数据 */
+    public void resetStats() {
+        this.hitCount.reset();
+        this.missCount.reset();
+        this.evictionCount.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentLruCache [size=" + this.size() + ", capacity=" + this.capacity + ", hit=" + this.getHitCount() + ", miss=" + this.getMissCount() + ", eviction=" + this.getEvictionCount() + "]";
+    }
+
+    private static class Node<K, V> {
+        private final    K       key;
+        private final    V       value;
+        private volatile boolean visited;
+        private volatile boolean removed;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.internal;
+import java.util.Locale;
+
+/**
+ * count 查询的改写工具，只分析 SQL 的最外层（跳过引号、注释以及括号内的内容）。
+ * <ul>
+ *   <li>{@link #removeOrderBy(String)}：去掉顶层的 ORDER BY</li>
+ *   <li>{@link #replaceSelectList(String)}：将简单查询的查询列直接替换为 COUNT(*)</li>
+ * </ul>
+ * 任何无法确认安全的情况都返回 null，由调用者退化为子查询包装的方式。
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public final class CountSqlRewriter {
+    private final String  sql;
+    private       int     firstToken  = -1; // 第一个关键字的位置
+    private       String  firstWord;
+    private       String  secondWord;       // SELECT 之后的第一个关键字
+    private       int     fromPos     = -1;
+    private       int     orderPos    = -1;
+    private       int     firstParam  = -1; // 第一个 ? 出现的位置
+    private       int     lastParam   = -1; // 最后一个 ? 出现的位置
+    private       int     selectParen = -1; // 查询列中第一个括号出现的位置
+    private       boolean unsupported;      // 含有集合运算、LIMIT 等无法改写的结构
+    private       boolean aggregate;        // 含有 DISTINCT、GROUP BY、HAVING 等影响行数的结构
+
+    private CountSqlRewriter(String sql) {
+        this.sql = sql;
+    }
+
+    /** 去掉顶层的 ORDER BY，没有 ORDER BY 时返回原始 SQL，无法确认安全时返回 null */
+    public static String removeOrderBy(String sql) {
+        CountSqlRewriter parser = parse(sql);
+        if (parser == null || parser.unsupported) {
+            return null;
+        }
+        if (parser.orderPos < 0) {
+            return sql;
+        }
+        if (parser.lastParam > parser.orderPos) {
+            return null; // ORDER BY 中含有参数，去掉后参数位置会错乱
+        }
+        return sql.substring(0, parser.orderPos).trim();
+    }
+
+    /** 将 SELECT 列表替换为 COUNT(*)，SQL 中不能含有 ORDER BY 以及影响行数的结构，无法确认安全时返回 null */
+    public static String replaceSelectList(String sql) {
+        CountSqlRewriter parser = parse(sql);
+        if (parser == null || parser.unsupported || parser.aggregate || parser.orderPos >= 0) {
+            return null;
+        }
+        if (!"SELECT".equals(parser.firstWord) || parser.fromPos < 0) {
+            return null;
+        }
+        if (parser.selectParen >= 0) {
+            return null; // 查询列中含有函数（可能是聚合函数）或子查询
+        }
+        if (parser.firstParam >= 0 && parser.firstParam < parser.fromPos) {
+            return null; // 查询列中含有参数
+        }
+        return "SELECT COUNT(*) " + sql.substring(parser.fromPos);
+    }
+
+    private static CountSqlRewriter parse(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        CountSqlRewriter parser = new CountSqlRewriter(sql);
+        return parser.scan() ? parser : null;
+    }
+
+    private boolean scan() {
+        int length = this.sql.length();
+        int depth = 0;
+        String lastWord = null;
+        int i = 0;
+        while (i < length) {
+            char c = this.sql.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                i = skipQuote(i, c);
+            } else if (c == '[') {
+                i = skipQuote(i, ']');
+            } else if (c == '-' && i + 1 < length && this.sql.charAt(i + 1) == '-') {
+                int end = this.sql.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+            } else if (c == '/' && i + 1 < length && this.sql.charAt(i + 1) == '*') {
+                int end = this.sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (c == '(') {
+                if (depth == 0 && this.fromPos < 0 && this.selectParen < 0) {
+                    this.selectParen = i;
+                }
+                depth++;
+                i++;
+            } else if (c == ')') {
+                depth--;
+                if (depth < 0) {
+                    return false;
+                }
+                i++;
+            } else if (c == '?') {
+                this.firstParam = this.firstParam < 0 ? i : this.firstParam;
+                this.lastParam = i;
+                i++;
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < length && isWordPart(this.sql.charAt(i))) {
+                    i++;
+                }
+                if (depth == 0) {
+                    String word = this.sql.substring(start, i).toUpperCase(Locale.ROOT);
+                    this.onWord(word, lastWord, start);
+                    lastWord = word;
+                }
+            } else if (c == ';') {
+                return false;
+            } else {
+                i++;
+            }
+            if (i < 0) {
+                return false;
+            }
+        }
+        return depth == 0;
+    }
+
+    private void onWord(String word, String lastWord, int start) {
+        if (this.firstToken < 0) {
+            this.firstToken = start;
+            this.firstWord = word;
+            return;
+        }
+        if (this.secondWord == null && "SELECT".equals(this.firstWord)) {
+            this.secondWord = word;
+            if ("DISTINCT".equals(word) || "UNIQUE".equals(word) || "TOP".equals(word)) {
+                this.aggregate = true;
+            }
+        }
+
+        switch (word) {
+            case "FROM":
+                if (this.fromPos < 0) {
+                    this.fromPos = start;
+                }
+                break;
+            case "BY":
+                if ("ORDER".equals(lastWord) && this.orderPos < 0) {
+                    this.orderPos = this.findWordStart(start);
+                } else if ("GROUP".equals(lastWord)) {
+                    this.aggregate = true;
+                }
+                break;
+            case "HAVING":
+            case "WINDOW":
+            case "QUALIFY":
+            case "CONNECT":
+                this.aggregate = true;
+                break;
+            case "SELECT":
+                if ("SELECT".equals(this.firstWord)) {
+                    this.unsupported = true; // WITH 子句之外不应出现第二个顶层 SELECT
+                }
+                break;
+            case "UNION":
+            case "INTERSECT":
+            case "EXCEPT":
+            case "MINUS":
+            case "LIMIT":
+            case "OFFSET":
+            case "FETCH":
+            case "TOP":
+            case "FOR":
+            case "INTO":
+                this.unsupported = true;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /** 从 BY 的位置向前找到 ORDER 关键字的开始位置 */
+    private int findWordStart(int byStart) {
+        int i = byStart - 1;
+        while (i >= 0 && !isWordPart(this.sql.charAt(i))) {
+            i--;
+        }
+        while (i >= 0 && isWordPart(this.sql.charAt(i))) {
+            i--;
+        }
+        return i + 1;
+    }
+
+    private int skipQuote(int start, char close) {
+        int length = this.sql.length();
+        int i = start + 1;
+        while (i < length) {
+            char c = this.sql.charAt(i);
+            if (c == close) {
+                if (i + 1 < length && this.sql.charAt(i + 1) == close && close != ']') {
+                    i += 2; // escaped quote
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private static boolean isWordPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+}
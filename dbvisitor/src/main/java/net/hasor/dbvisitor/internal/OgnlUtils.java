@@ -14,18 +14,32 @@
  * limitations under the License.
  */
 package net.hasor.dbvisitor.internal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import net.hasor.cobble.ExceptionUtils;
 import net.hasor.dbvisitor.dynamic.SqlArgSource;
 import ognl.Ognl;
 import ognl.OgnlContext;
+import ognl.OgnlException;
 import ognl.OgnlRuntime;
 
 /**
  * OGNL 执行工具。
+ * <p>表达式解析结果（语法树）会被缓存起来，同一个表达式只会解析一次。缓存有容量上限，
+ * 超出上限之后新的表达式不再进入缓存（每次重新解析），已缓存的热点表达式不受影响。</p>
+ * <p>OgnlContext 按线程复用，嵌套求值时会临时创建新的 OgnlContext。</p>
  * @author 赵永春 (zyc@hasor.net)
  * @version 2021-06-05
  */
 public class OgnlUtils {
+    /** 表达式缓存的最大容量 */
+    public static final  int                        MAX_CACHE_SIZE = 4096;
+    private static final Map<String, Object>        EXPR_CACHE     = new ConcurrentHashMap<>();
+    private static final LongAdder                  CACHE_HITS     = new LongAdder();
+    private static final LongAdder                  CACHE_MISSES   = new LongAdder();
+    private static final OgnlMemberAccess           MEMBER_ACCESS  = new OgnlMemberAccess(true);
+    private static final ThreadLocal<ContextHolder> CONTEXT_LOCAL  = ThreadLocal.withInitial(ContextHolder::new);
 
     static {
         OgnlRuntime.setPropertyAccessor(SqlArgSource.class, new OgnlSqlArgSourceAccessor());
@@ -33,8 +47,20 @@ public class OgnlUtils {
 
     public static Object evalOgnl(String exprString, Object root) {
         try {
-            OgnlContext context = new OgnlContext(null, null, new OgnlMemberAccess(true));
-            return Ognl.getValue(exprString, context, root);
+            Object tree = parseExpression(exprString);
+            ContextHolder holder = CONTEXT_LOCAL.get();
+            if (holder.inUse) {
+                return Ognl.getValue(tree, newContext(root), root);
+            }
+
+            holder.inUse = true;
+            try {
+                holder.context.setRoot(root);
+                return Ognl.getValue(tree, holder.context, root);
+            } finally {
+                holder.context.clear();
+                holder.inUse = false;
+            }
         } catch (Exception e) {
             throw ExceptionUtils.toRuntime(e);
         }
@@ -42,10 +68,73 @@ public class OgnlUtils {
 
     public static void writeByExpr(String exprString, Object root, Object value) {
         try {
-            OgnlContext context = new OgnlContext(null, null, new OgnlMemberAccess(true));
-            Ognl.setValue(exprString, context, root, value);
+            Object tree = parseExpression(exprString);
+            ContextHolder holder = CONTEXT_LOCAL.get();
+            if (holder.inUse) {
+                Ognl.setValue(tree, newContext(root), root, value);
+                return;
+            }
+
+            holder.inUse = true;
+            try {
+                holder.context.setRoot(root);
+                Ognl.setValue(tree, holder.context, root, value);
+            } finally {
+                holder.context.clear();
+                holder.inUse = false;
+            }
         } catch (Exception e) {
             throw ExceptionUtils.toRuntime(e);
         }
     }
+
+    /** 解析表达式，优先使用缓存中的语法树 */
+    public static Object parseExpression(String exprString) throws OgnlException {
+        Object tree = EXPR_CACHE.get(exprString);
+        if (tree != null) {
+            CACHE_HITS.increment();
+            return tree;
+        }
+
+        CACHE_MISSES.increment();
+        tree = Ognl.parseExpression(exprString);
+        if (EXPR_CACHE.size() < MAX_CACHE_SIZE) {
+            Object exist = EXPR_CACHE.putIfAbsent(exprString, tree);
+            return exist != null ? exist : tree;
+        }
+        return tree;
+    }
+
+    /** 表达式缓存命中次数 */
+    public static long getCacheHits() {
+        return CACHE_HITS.sum();
+    }
+
+    /** 表达式缓存未命中次数 */
+    public static long getCacheMisses() {
+        return CACHE_MISSES.sum();
+    }
+
+    /** 当前缓存的表达式数量 */
+    public static int getCacheSize() {
+        return EXPR_CACHE.size();
+    }
+
+    /** 清空表达式缓存和计数器 */
+    public static void clearCache() {
+        EXPR_CACHE.clear();
+        CACHE_HITS.reset();
+        CACHE_MISSES.reset();
+    }
+
+    private static OgnlContext newContext(Object root) {
+        OgnlContext context = new OgnlContext(null, null, MEMBER_ACCESS);
+        context.setRoot(root);
+        return context;
+    }
+
+    private static class ContextHolder {
+        private final OgnlContext context = new OgnlContext(null, null, MEMBER_ACCESS);
+        private       boolean     inUse   = false;
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.jdbc;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import net.hasor.cobble.function.ESupplier;
+
+/**
+ * JDBC 异步操作接口，所有方法都返回 {@link CompletableFuture}，多个相互独立的查询（例如 count 与分页数据）可以同时发起再合并结果。
+ * <p>只有基于 DataSource 且调用线程没有持有连接（例如不在事务中）时才会提交到 {@link #getExecutor()} 上执行，
+ * 否则在调用线程上同步执行并返回一个已完成的 Future，以保证事务中的语句始终使用同一个连接。</p>
+ * <p>执行过程中抛出的 {@link SQLException} 会原样作为 Future 的异常结果。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public interface AsyncJdbcOperations {
+    /** 执行异步任务所使用的线程池 */
+    Executor getExecutor();
+
+    /** 当前调用是否会提交到线程池上执行，返回 false 表示将在调用线程上同步执行 */
+    boolean isAsync();
+
+    /**
+     * 异步执行任意的数据库操作，例如 Session 或 LambdaTemplate 上的查询。
+     * @param action 数据库操作
+     */
+    <T> CompletableFuture<T> supply(ESupplier<T, SQLException> action);
+
+    /**
+     * 异步执行一个 JDBC 操作，这个操作使用的是一个数据库连接。
+     * @see JdbcOperations#execute(ConnectionCallback)
+     */
+    <T> CompletableFuture<T> execute(ConnectionCallback<T> action);
+
+    /**
+     * 异步执行一个静态 SQL 语句
+     * @see JdbcOperations#execute(String)
+     */
+    CompletableFuture<Void> execute(String sql);
+
+    /**
+     * 异步查询一个列表，结果集每一行映射为 elementType 类型的对象。
+     * @see JdbcOperations#queryForList(String, Object, Class)
+     */
+    <T> CompletableFuture<List<T>> queryForList(String sql, Object args, Class<T> elementType);
+
+    /**
+     * 异步查询一个列表，结果集每一行映射为一个 Map。
+     * @see JdbcOperations#queryForList(String, Object)
+     */
+    CompletableFuture<List<Map<String, Object>>> queryForList(String sql, Object args);
+
+    /**
+     * 异步查询一个对象，结果集应当只有一行。
+     * @see JdbcOperations#queryForObject(String, Object, Class)
+     */
+    <T> CompletableFuture<T> queryForObject(String sql, Object args, Class<T> requiredType);
+
+    /**
+     * 异步查询一行数据并映射为 Map。
+     * @see JdbcOperations#queryForMap(String, Object)
+     */
+    CompletableFuture<Map<String, Object>> queryForMap(String sql, Object args);
+
+    /**
+     * 异步查询一个 long 值，常用于 count 查询。
+     * @see JdbcOperations#queryForLong(String, Object)
+     */
+    CompletableFuture<Long> queryForLong(String sql, Object args);
+
+    /**
+     * 异步查询一个 int 值。
+     * @see JdbcOperations#queryForInt(String, Object)
+     */
+    CompletableFuture<Integer> queryForInt(String sql, Object args);
+
+    /**
+     * 异步执行 insert 或 update、delete 语句，返回受影响的行数。
+     * @see JdbcOperations#executeUpdate(String, Object)
+     */
+    CompletableFuture<Integer> executeUpdate(String sql, Object args);
+
+    /**
+     * 异步批量执行 insert 或 update、delete 语句，返回每条语句受影响的行数。
+     * @see JdbcOperations#executeBatch(String, Object[])
+     */
+    CompletableFuture<int[]> executeBatch(String sql, Object[] batchArgs);
+}
@@ -14,11 +14,11 @@
  * limitations under the License.
  */
 package net.hasor.dbvisitor.jdbc;
-import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
 import net.hasor.cobble.StringUtils;
+import net.hasor.dbvisitor.dialect.SqlDialectRegister;
 
 /**
  * 工具类来自于 druid-1.1.23.jar
@@ -203,9 +203,7 @@ public class JdbcHelper {
      * @return 数据库类型标识字符串
      */
     public static String getDbType(Statement c) throws SQLException {
-        DatabaseMetaData metaData = c.getConnection().getMetaData();
-        String dbVersion = metaData.getDatabaseProductVersion();
-        return JdbcHelper.getDbType(metaData.getURL(), metaData.getDriverName(), dbVersion);
+        return SqlDialectRegister.findDatabaseInfo(c.getConnection()).getDbType();
     }
 
     /**
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.jdbc.core;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import net.hasor.cobble.function.ESupplier;
+import net.hasor.cobble.logging.Logger;
+import net.hasor.cobble.logging.LoggerFactory;
+import net.hasor.dbvisitor.jdbc.AsyncJdbcOperations;
+import net.hasor.dbvisitor.jdbc.ConnectionCallback;
+import net.hasor.dbvisitor.transaction.DataSourceUtils;
+
+/**
+ * {@link AsyncJdbcOperations} 的默认实现，将操作委托给一个 {@link JdbcTemplate}。
+ * <p>JdbcTemplate 基于 Connection/DynamicConnection 创建，或者调用线程已经持有该 DataSource 的连接（例如处于事务中）时，
+ * 在调用线程上同步执行，这样事务中的语句不会被转移到其它线程上使用另外的连接执行。</p>
+ * <p>未指定线程池时使用 {@link #defaultExecutor()}：运行在 JDK 21+ 上时为每个任务创建一个虚拟线程，否则使用一个守护线程的缓存线程池。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public class AsyncJdbcTemplate implements AsyncJdbcOperations {
+    private static final    Logger       logger = LoggerFactory.getLogger(AsyncJdbcTemplate.class);
+    private static volatile Executor     defaultExecutor;
+    private final           JdbcTemplate jdbc;
+    private final           Executor     executor;
+
+    public AsyncJdbcTemplate(JdbcTemplate jdbc) {
+        this(jdbc, null);
+    }
+
+    public AsyncJdbcTemplate(JdbcTemplate jdbc, Executor executor) {
+        this.jdbc = Objects.requireNonNull(jdbc, "jdbc is null.");
+        this.executor = executor == null ? defaultExecutor() : executor;
+    }
+
+    /** 被委托的 JdbcTemplate */
+    public JdbcTemplate getJdbc() {
+        return this.jdbc;
+    }
+
+    @Override
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    @Override
+    public boolean isAsync() {
+        if (this.jdbc.getConnection() != null || this.jdbc.getDynamic() != null) {
+            return false;
+        }
+        DataSource dataSource = this.jdbc.getDataSource();
+        return dataSource != null && !DataSourceUtils.hasLocalConnection(dataSource);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> supply(ESupplier<T, SQLException> action) {
+        Objects.requireNonNull(action, "action is null.");
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (!this.isAsync()) {
+            complete(future, action);
+            return future;
+        }
+
+        try {
+            this.executor.execute(() -> complete(future, action));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e); // e.g. RejectedExecutionException
+        }
+        return future;
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, ESupplier<T, SQLException> action) {
+        try {
+            future.complete(action.eGet());
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> execute(ConnectionCallback<T> action) {
+        return this.supply(() -> this.jdbc.execute(action));
+    }
+
+    @Override
+    public CompletableFuture<Void> execute(String sql) {
+        return this.supply(() -> {
+            this.jdbc.execute(sql);
+            return null;
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> queryForList(String sql, Object args, Class<T> elementType) {
+        return this.supply(() -> this.jdbc.queryForList(sql, args, elementType));
+    }
+
+    @Override
+    public CompletableFuture<List<Map<String, Object>>> queryForList(String sql, Object args) {
+        return this.supply(() -> this.jdbc.queryForList(sql, args));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> queryForObject(String sql, Object args, Class<T> requiredType) {
+        return this.supply(() -> this.jdbc.queryForObject(sql, args, requiredType));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> queryForMap(String sql, Object args) {
+        return this.supply(() -> this.jdbc.queryForMap(sql, args));
+    }
+
+    @Override
+    public CompletableFuture<Long> queryForLong(String sql, Object args) {
+        return this.supply(() -> this.jdbc.queryForLong(sql, args));
+    }
+
+    @Override
+    public CompletableFuture<Integer> queryForInt(String sql, Object args) {
+        return this.supply(() -> this.jdbc.queryForInt(sql, args));
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeUpdate(String sql, Object args) {
+        return this.supply(() -> this.jdbc.executeUpdate(sql, args));
+    }
+
+    @Override
+    public CompletableFuture<int[]> executeBatch(String sql, Object[] batchArgs) {
+        return this.supply(() -> this.jdbc.executeBatch(sql, batchArgs));
+    }
+
+    /** 默认的线程池：JDK 21+ 上为每个任务创建一个虚拟线程，否则使用守护线程的缓存线程池。 */
+    public static Executor defaultExecutor() {
+        Executor executor = defaultExecutor;
+        if (executor == null) {
+            synchronized (AsyncJdbcTemplate.class) {
+                executor = defaultExecutor;
+                if (executor == null) {
+                    executor = createDefaultExecutor();
+                    defaultExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static Executor createDefaultExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (NoSuchMethodException e) {
+            // JDK 21 以下没有虚拟线程
+        } catch (Exception e) {
+            logger.warn("create virtual thread executor failed, fallback to cached thread pool. " + e.getMessage(), e);
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "dbvisitor-async-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
@@ -130,6 +130,19 @@ public class JdbcConnection extends JdbcAccessor {
     public <T> T execute(final ConnectionCallback<T> action) throws SQLException {
         Objects.requireNonNull(action, "Callback object must not be null");
 
+        ConnectionLease lease = this.leaseConnection();
+        try {
+            return action.doInConnection(lease.getConnection());
+        } finally {
+            lease.release();
+        }
+    }
+
+    /**
+     * 获取一个数据库连接，连接在 {@link ConnectionLease#release()} 被调用之前一直有效。
+     * <p>用于连接的使用超出了方法调用范围的场景（例如游标方式读取结果集），其它情况请使用 execute 方法。</p>
+     */
+    protected ConnectionLease leaseConnection() throws SQLException {
         Connection localConn = this.getConnection();
         DataSource localDS = this.getDataSource();
         DynamicConnection localDynamic = this.getDynamic();
@@ -155,18 +168,7 @@ public class JdbcConnection extends JdbcAccessor {
             oriConn = DataSourceUtils.getConnection(localDS);// 通过资源管理器创建 Connection
             useConn = oriConn;
         }
-
-        try {
-            return action.doInConnection(useConn);
-        } finally {
-            if (usingDynamic) {
-                localDynamic.releaseConnection(oriConn);
-            } else if (usingDS) {
-                oriConn.close();
-            } else {
-                // don't do anything
-            }
-        }
+        return new ConnectionLease(oriConn, useConn, usingDynamic ? localDynamic : null, usingDS);
     }
 
     public <T> T execute(final StatementCallback<T> action) throws SQLException {
@@ -225,6 +227,43 @@ public class JdbcConnection extends JdbcAccessor {
         }
     }
 
+    /** 通过 {@link #leaseConnection()} 获取的数据库连接，使用完毕之后必须调用 release 方法。 */
+    protected static final class ConnectionLease {
+        private final Connection        oriConn;
+        private final Connection        useConn;
+        private final DynamicConnection dynamic;
+        private final boolean           usingDS;
+        private       boolean           released;
+
+        private ConnectionLease(Connection oriConn, Connection useConn, DynamicConnection dynamic, boolean usingDS) {
+            this.oriConn = oriConn;
+            this.useConn = useConn;
+            this.dynamic = dynamic;
+            this.usingDS = usingDS;
+        }
+
+        /** 可供使用的连接 */
+        public Connection getConnection() {
+            return this.useConn;
+        }
+
+        /** 释放连接，重复调用时不做任何处理 */
+        public void release() throws SQLException {
+            if (this.released) {
+                return;
+            }
+            this.released = true;
+
+            if (this.dynamic != null) {
+                this.dynamic.releaseConnection(this.oriConn);
+            } else if (this.usingDS) {
+                this.oriConn.close();
+            } else {
+                // don't do anything
+            }
+        }
+    }
+
     /** 获取与本地线程绑定的数据库连接，JDBC 框架会维护这个连接的事务。开发者不必关心该连接的事务管理，以及资源释放操作。 */
     private ConnectionProxy newProxyConnection(final Connection target) {
         Objects.requireNonNull(target, "Connection is null.");
@@ -14,11 +14,9 @@
  * limitations under the License.
  */
 package net.hasor.dbvisitor.jdbc.core;
+import java.util.Objects;
 import net.hasor.cobble.ClassUtils;
-import net.hasor.dbvisitor.dynamic.DynamicSql;
-import net.hasor.dbvisitor.dynamic.MacroRegistry;
-import net.hasor.dbvisitor.dynamic.QueryContext;
-import net.hasor.dbvisitor.dynamic.RuleRegistry;
+import net.hasor.dbvisitor.dynamic.*;
 import net.hasor.dbvisitor.dynamic.rule.SqlRule;
 import net.hasor.dbvisitor.mapping.Options;
 import net.hasor.dbvisitor.types.TypeHandlerRegistry;
@@ -28,6 +26,7 @@ public class JdbcQueryContext implements QueryContext {
     private MacroRegistry       macroRegistry = MacroRegistry.DEFAULT;
     private RuleRegistry        ruleRegistry  = RuleRegistry.DEFAULT;
     private Options             options       = Options.of();
+    private ParsedSqlCache      sqlCache      = ParsedSqlCache.DEFAULT;
 
     public MacroRegistry getMacroRegistry() {
         return this.macroRegistry;
@@ -57,6 +56,15 @@ public class JdbcQueryContext implements QueryContext {
         this.options = options;
     }
 
+    @Override
+    public ParsedSqlCache getParsedSqlCache() {
+        return this.sqlCache;
+    }
+
+    public void setParsedSqlCache(ParsedSqlCache sqlCache) {
+        this.sqlCache = Objects.requireNonNull(sqlCache, "sqlCache is null.");
+    }
+
     @Override
     public SqlRule findRule(String ruleName) {
         return this.ruleRegistry.findRule(ruleName);
@@ -19,6 +19,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import javax.sql.DataSource;
 import net.hasor.cobble.ArrayUtils;
@@ -29,7 +30,8 @@ import net.hasor.cobble.io.IOUtils;
 import net.hasor.cobble.logging.Logger;
 import net.hasor.cobble.logging.LoggerFactory;
 import net.hasor.cobble.ref.LinkedCaseInsensitiveMap;
-import net.hasor.dbvisitor.dynamic.DynamicParsed;
+import net.hasor.dbvisitor.dialect.DatabaseInfo;
+import net.hasor.dbvisitor.dialect.SqlDialectRegister;
 import net.hasor.dbvisitor.dynamic.QueryContext;
 import net.hasor.dbvisitor.dynamic.SqlArgSource;
 import net.hasor.dbvisitor.dynamic.SqlBuilder;
@@ -157,6 +159,16 @@ public class JdbcTemplate extends JdbcConnection implements JdbcOperations {
         this.resultsCaseInsensitive = resultsCaseInsensitive;
     }
 
+    /** 异步操作接口，使用默认的线程池（JDK 21+ 上为虚拟线程） */
+    public AsyncJdbcOperations async() {
+        return new AsyncJdbcTemplate(this);
+    }
+
+    /** 异步操作接口，使用指定的线程池执行 */
+    public AsyncJdbcOperations async(Executor executor) {
+        return new AsyncJdbcTemplate(this, executor);
+    }
+
     public MappingRegistry getRegistry() {
         return this.registry;
     }
@@ -360,7 +372,7 @@ public class JdbcTemplate extends JdbcConnection implements JdbcOperations {
         if (args instanceof CallableStatementSetter) {
             throw new UnsupportedOperationException("please use method call(String, CallableStatementSetter, CallableStatementCallback<T>).");
         } else {
-            PlanDynamicSql parsedSql = DynamicParsed.getParsedSql(callString);
+            PlanDynamicSql parsedSql = this.getParsedSql(callString);
             SqlBuilder buildSql = parsedSql.buildQuery(toSqlArgSource(args), this.buildContext);
 
             CallableStatementCreator creator = this.getCallableStatementCreator(buildSql.getSqlString(), null);
@@ -385,7 +397,7 @@ public class JdbcTemplate extends JdbcConnection implements JdbcOperations {
         if (args instanceof PreparedStatementSetter) {
             return this.multipleExecute(sql, (PreparedStatementSetter) args);
         } else {
-            PlanDynamicSql parsedSql = DynamicParsed.getParsedSql(sql);
+            PlanDynamicSql parsedSql = this.getParsedSql(sql);
             SqlArgSource argSource = toSqlArgSource(args);
             SqlBuilder buildSql = parsedSql.buildQuery(argSource, this.buildContext);
 
@@ -428,7 +440,7 @@ public class JdbcTemplate extends JdbcConnection implements JdbcOperations {
         if (args instanceof PreparedStatementSetter) {
             return this.query(sql, (PreparedStatementSetter) args, rse);
         } else {
-            PlanDynamicSql parsedSql = DynamicParsed.getParsedSql(sql);
+            PlanDynamicSql parsedSql = this.getParsedSql(sql);
             SqlArgSource argSource = toSqlArgSource(args);
             return this.executeCreator(this.getPreparedStatementCreator(parsedSql, argSource), rse);
         }
@@ -450,7 +462,7 @@ public class JdbcTemplate extends JdbcConnection implements JdbcOperations {
         if (args instanceof PreparedStatementSetter) {
             this.query(sql, (PreparedStatementSetter) args, rch);
         } else {
-            PlanDynamicSql parsedSql = DynamicParsed.getParsedSql(sql);
+            PlanDynamicSql parsedSql = this.getParsedSql(sql);
             SqlArgSource argSource = toSqlArgSource(args);
             PreparedStatementCreator psc = getPreparedStatementCreator(parsedSql, argSource);
             this.executeCreator(psc, new RowCallbackHandlerResultSetExtractor(rch));
@@ -473,7 +485,7 @@ public class JdbcTemplate extends JdbcConnection implements JdbcOperations {
         if (args instanceof PreparedStatementSetter) {
             return this.queryForList(sql, (PreparedStatementSetter) args, rowMapper);
         } else {
-            PlanDynamicSql parsedSql = DynamicParsed.getParsedSql(sql);
+            PlanDynamicSql parsedSql = this.getParsedSql(sql);
             SqlArgSource argSource = toSqlArgSource(args);
             PreparedStatementCreator psc = getPreparedStatementCreator(parsedSql, argSource);
             return this.executeCreator(psc, new RowMapperResultSetExtractor<>(rowMapper));
@@ -486,6 +498,77 @@ public class JdbcTemplate extends JdbcConnection implements JdbcOperations {
         return this.executeCreator(psc, new RowMapperResultSetExtractor<>(rowMapper));
     }
 
+    /**
+     * 游标方式执行查询，返回的迭代器在迭代期间保持 ResultSet 打开并逐行映射，不会一次性加载全部结果。
+     * <p>迭代器使用完毕后必须关闭（推荐 try-with-resources），关闭时释放 Statement 和数据库连接。</p>
+     * @param fetchSize 设置到 Statement 上的 fetchSize，为 0 时保持 JdbcTemplate 的设置（允许负数，例如 MySQL 的 Integer.MIN_VALUE）
+     */
+    public <T> ResultSetIterator<T> queryForIterator(final String sql, final Object args, final RowMapper<T> rowMapper, final int fetchSize) throws SQLException {
+        return this.queryForIterator(sql, args, rowMapper, fetchSize, false);
+    }
+
+    /**
+     * 游标方式执行查询，返回的迭代器在迭代期间保持 ResultSet 打开并逐行映射，不会一次性加载全部结果。
+     * <p>迭代器使用完毕后必须关闭（推荐 try-with-resources），关闭时释放 Statement 和数据库连接。</p>
+     * @param fetchSize 设置到 Statement 上的 fetchSize，为 0 时保持 JdbcTemplate 的设置（允许负数，例如 MySQL 的 Integer.MIN_VALUE）
+     * @param disableAutoCommit 是否在游标打开期间关闭连接的 autoCommit（例如 PostgreSQL 只有在事务中才使用服务端游标），关闭游标时恢复
+     */
+    public <T> ResultSetIterator<T> queryForIterator(final String sql, final Object args, final RowMapper<T> rowMapper, final int fetchSize, final boolean disableAutoCommit) throws SQLException {
+        Objects.requireNonNull(rowMapper, "RowMapper must not be null.");
+        PreparedStatementCreator psc;
+        if (args instanceof PreparedStatementSetter) {
+            psc = this.getPreparedStatementCreator(sql, (PreparedStatementSetter) args);
+        } else {
+            psc = this.getPreparedStatementCreator(this.getParsedSql(sql), toSqlArgSource(args));
+        }
+        if (logger.isDebugEnabled()) {
+            logger.trace("Executing SQL cursor [" + getSql(psc) + "].");
+        }
+
+        ConnectionLease lease = this.leaseConnection();
+        boolean restoreAutoCommit = false;
+        PreparedStatement ps = null;
+        ResultSetIterator<T> iterator = null;
+        try {
+            Connection con = lease.getConnection();
+            if (disableAutoCommit && con.getAutoCommit()) {
+                con.setAutoCommit(false);
+                restoreAutoCommit = true;
+            }
+
+            ps = psc.createPreparedStatement(con);
+            applyStatementSettings(ps);
+            if (fetchSize != 0) {
+                ps.setFetchSize(fetchSize);
+            }
+            ResultSet rs = ps.executeQuery();
+            handleWarnings(ps);
+            iterator = new ResultSetIterator<>(lease, ps, rs, rowMapper, restoreAutoCommit);
+            return iterator;
+        } catch (SQLException ex) {
+            if (this.isPrintStmtError()) {
+                logger.error("Failed SQL statement [" + getSql(psc) + "].", ex);
+            }
+            throw new UncategorizedSQLException(getSql(psc), ex.getMessage(), ex);
+        } finally {
+            if (psc instanceof SqlArgDisposer) {
+                ((SqlArgDisposer) psc).cleanupParameters();
+            }
+            if (iterator == null) {
+                try {
+                    if (ps != null) {
+                        ps.close();
+                    }
+                    if (restoreAutoCommit) {
+                        lease.getConnection().setAutoCommit(true);
+                    }
+                } finally {
+                    lease.release();
+                }
+            }
+        }
+    }
+
     @Override
     public <T> List<T> queryForList(final String sql, final Class<T> elementType) throws SQLException {
         return this.queryForList(sql, ArrayUtils.EMPTY_OBJECT_ARRAY, elementType);
@@ -496,7 +579,7 @@ public class JdbcTemplate extends JdbcConnection implements JdbcOperations {
         if (args instanceof PreparedStatementSetter) {
             return this.queryForList(sql, (PreparedStatementSetter) args, elementType);
         } else {
-            PlanDynamicSql parsedSql = DynamicParsed.getParsedSql(sql);
+            PlanDynamicSql parsedSql = this.getParsedSql(sql);
             SqlArgSource argSource = toSqlArgSource(args);
             PreparedStatementCreator psc = getPreparedStatementCreator(parsedSql, argSource);
             return this.executeCreator(psc, this.createBeanResultSetExtractor(elementType));
@@ -519,7 +602,7 @@ public class JdbcTemplate extends JdbcConnection implements JdbcOperations {
         if (args instanceof PreparedStatementSetter) {
             return this.queryForList(sql, (PreparedStatementSetter) args);
         } else {
-            PlanDynamicSql parsedSql = DynamicParsed.getParsedSql(sql);
+            PlanDynamicSql parsedSql = this.getParsedSql(sql);
             SqlArgSource argSource = toSqlArgSource(args);
             PreparedStatementCreator psc = getPreparedStatementCreator(parsedSql, argSource);
             return this.executeCreator(psc, new RowMapperResultSetExtractor<>(this.createMapRowMapper()));
@@ -542,7 +625,7 @@ public class JdbcTemplate extends JdbcConnection implements JdbcOperations {
         if (args instanceof PreparedStatementSetter) {
             return this.queryForObject(sql, (PreparedStatementSetter) args, rowMapper);
         } else {
-            PlanDynamicSql parsedSql = DynamicParsed.getParsedSql(sql);
+            PlanDynamicSql parsedSql = this.getParsedSql(sql);
             SqlArgSource argSource = toSqlArgSource(args);
             PreparedStatementCreator psc = getPreparedStatementCreator(parsedSql, argSource);
             List<T> result = this.executeCreator(psc, new RowMapperResultSetExtractor<>(rowMapper, 1));
@@ -663,7 +746,7 @@ public class JdbcTemplate extends JdbcConnection implements JdbcOperations {
         if (args instanceof PreparedStatementSetter) {
             return this.executeUpdate(sql, (PreparedStatementSetter) args);
         } else {
-            PlanDynamicSql parsedSql = DynamicParsed.getParsedSql(sql);
+            PlanDynamicSql parsedSql = this.getParsedSql(sql);
             SqlArgSource argSource = toSqlArgSource(args);
             PreparedStatementCreator psc = getPreparedStatementCreator(parsedSql, argSource);
             return this.executeCreator(psc, (PreparedStatementCallback<Integer>) PreparedStatement::executeUpdate);
@@ -788,9 +871,9 @@ public class JdbcTemplate extends JdbcConnection implements JdbcOperations {
 
             @Override
             public int[] doInStatement(final Statement stmt) throws SQLException {
-                DatabaseMetaData dbmd = stmt.getConnection().getMetaData();
+                DatabaseInfo dbInfo = SqlDialectRegister.findDatabaseInfo(stmt.getConnection());
                 int[] rowsAffected = new int[sql.length];
-                if (dbmd.supportsBatchUpdates()) {
+                if (dbInfo.supportsBatchUpdates()) {
                     /*连接支持批处理*/
                     for (String sqlStmt : sql) {
                         this.currSql = sqlStmt;
@@ -857,8 +940,8 @@ public class JdbcTemplate extends JdbcConnection implements JdbcOperations {
 
             String prepareSql = "";
             Object[][] prepareArgs = new Object[batchArgs.length][];
+            PlanDynamicSql parsedSql = this.getParsedSql(sql);
             for (int i = 0; i < batchArgs.length; i++) {
-                PlanDynamicSql parsedSql = DynamicParsed.getParsedSql(sql);
                 SqlBuilder sqlBuilder = parsedSql.buildQuery(toSqlArgSource(batchArgs[i]), this.buildContext);
 
                 if (i == 0) {
@@ -902,8 +985,8 @@ public class JdbcTemplate extends JdbcConnection implements JdbcOperations {
         return this.executeCreator(getPreparedStatementCreator(sql), (PreparedStatementCallback<int[]>) ps -> {
             try {
                 int batchSize = pss.getBatchSize();
-                DatabaseMetaData dbMetaData = ps.getConnection().getMetaData();
-                if (dbMetaData.supportsBatchUpdates()) {
+                DatabaseInfo dbInfo = SqlDialectRegister.findDatabaseInfo(ps.getConnection());
+                if (dbInfo.supportsBatchUpdates()) {
                     for (int i = 0; i < batchSize; i++) {
                         pss.setValues(ps, i);
                         if (pss.isBatchExhausted(i)) {
@@ -1009,7 +1092,7 @@ public class JdbcTemplate extends JdbcConnection implements JdbcOperations {
 
         @Override
         public CallableStatement createCallableStatement(Connection con) throws SQLException {
-            if (!con.getMetaData().supportsStoredProcedures()) {
+            if (!SqlDialectRegister.findDatabaseInfo(con).supportsStoredProcedures()) {
                 throw new UnsupportedOperationException("target DataSource Unsupported.");
             }
             CallableStatement cs = con.prepareCall(this.sql);
@@ -1074,20 +1157,10 @@ public class JdbcTemplate extends JdbcConnection implements JdbcOperations {
         }
     }
 
-    /* Map of original SQL String to ParsedSql representation */
-    private final Map<String, PlanDynamicSql> parsedSqlCache = new HashMap<>();
-
-    /* Obtain a parsed representation of the given SQL statement.*/
+    /* Obtain a parsed representation of the given SQL statement, the result is shared by templates which using the same QueryContext. */
     protected PlanDynamicSql getParsedSql(String originalSql) throws SQLException {
         try {
-            synchronized (this.parsedSqlCache) {
-                PlanDynamicSql parsedSql = this.parsedSqlCache.get(originalSql);
-                if (parsedSql == null) {
-                    parsedSql = DynamicParsed.getParsedSql(originalSql);
-                    this.parsedSqlCache.put(originalSql, parsedSql);
-                }
-                return parsedSql;
-            }
+            return this.buildContext.getParsedSqlCache().getParsedSql(originalSql);
         } catch (RuntimeSQLException e) {
             throw e.toSQLException();
         }
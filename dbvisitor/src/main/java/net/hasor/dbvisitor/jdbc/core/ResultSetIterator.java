@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.jdbc.core;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import net.hasor.cobble.ExceptionUtils;
+import net.hasor.cobble.logging.Logger;
+import net.hasor.cobble.logging.LoggerFactory;
+import net.hasor.dbvisitor.jdbc.RowMapper;
+
+/**
+ * 游标方式读取结果集：在迭代期间保持 ResultSet 打开，每次调用 next 时才映射一行数据。
+ * <p>迭代到末尾或者发生异常时会自动关闭，提前结束迭代时必须调用 {@link #close()} 来释放 ResultSet、Statement 以及数据库连接。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public class ResultSetIterator<T> implements Iterator<T>, AutoCloseable {
+    private static final Logger                          logger = LoggerFactory.getLogger(ResultSetIterator.class);
+    private final        JdbcConnection.ConnectionLease lease;
+    private final        Statement                       statement;
+    private final        ResultSet                       resultSet;
+    private final        RowMapper<T>                    rowMapper;
+    private final        boolean                         restoreAutoCommit;
+    private              int                             rowNum;
+    private              Boolean                         hasNext;
+    private              boolean                         closed;
+
+    ResultSetIterator(JdbcConnection.ConnectionLease lease, Statement statement, ResultSet resultSet, RowMapper<T> rowMapper, boolean restoreAutoCommit) {
+        this.lease = lease;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.rowMapper = rowMapper;
+        this.restoreAutoCommit = restoreAutoCommit;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.closed) {
+            return false;
+        }
+        if (this.hasNext == null) {
+            try {
+                this.hasNext = this.resultSet.next();
+            } catch (SQLException e) {
+                this.closeQuietly();
+                throw ExceptionUtils.toRuntime(e);
+            }
+            if (!this.hasNext) {
+                this.closeQuietly();
+            }
+        }
+        return this.hasNext;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        this.hasNext = null;
+        try {
+            return this.rowMapper.mapRow(this.resultSet, this.rowNum++);
+        } catch (SQLException e) {
+            this.closeQuietly();
+            throw ExceptionUtils.toRuntime(e);
+        }
+    }
+
+    /** 是否已经关闭 */
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    /** 转换为 Stream，关闭 Stream 时会同时关闭游标 */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(this::closeQuietly);
+    }
+
+    /** 关闭 ResultSet、Statement，若在打开游标时修改过 autoCommit 则恢复它，最后释放数据库连接。重复调用时不做任何处理。 */
+    @Override
+    public void close() throws SQLException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.hasNext = false;
+
+        SQLException error = null;
+        try {
+            this.resultSet.close();
+        } catch (SQLException e) {
+            error = e;
+        }
+        try {
+            this.statement.close();
+        } catch (SQLException e) {
+            error = error == null ? e : error;
+        }
+        if (this.restoreAutoCommit) {
+            try {
+                Connection conn = this.lease.getConnection();
+                conn.setAutoCommit(true);
+            } catch (SQLException e) {
+                error = error == null ? e : error;
+            }
+        }
+        try {
+            this.lease.release();
+        } catch (SQLException e) {
+            error = error == null ? e : error;
+        }
+
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            this.close();
+        } catch (SQLException e) {
+            logger.warn("close ResultSetIterator failed, " + e.getMessage(), e);
+        }
+    }
+}
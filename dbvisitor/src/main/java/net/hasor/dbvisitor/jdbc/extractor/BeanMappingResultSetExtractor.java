@@ -15,12 +15,12 @@
  */
 package net.hasor.dbvisitor.jdbc.extractor;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import net.hasor.dbvisitor.jdbc.ResultSetExtractor;
 import net.hasor.dbvisitor.jdbc.mapper.AbstractMapping;
+import net.hasor.dbvisitor.jdbc.mapper.RowMappingPlan;
 import net.hasor.dbvisitor.mapping.MappingRegistry;
 import net.hasor.dbvisitor.mapping.def.TableMapping;
 
@@ -70,17 +70,12 @@ public class BeanMappingResultSetExtractor<T> extends AbstractMapping<T> impleme
 
     @Override
     public List<T> extractData(final ResultSet rs) throws SQLException {
-        ResultSetMetaData rsmd = rs.getMetaData();
-        int nrOfColumns = rsmd.getColumnCount();
-        List<String> columnList = new ArrayList<>();
-        for (int i = 1; i <= nrOfColumns; i++) {
-            columnList.add(lookupColumnName(rsmd, i));
-        }
+        RowMappingPlan plan = this.getMappingPlan(lookupColumnNames(rs.getMetaData()));
 
         List<T> results = this.rowsExpected > 0 ? new ArrayList<>(this.rowsExpected) : new ArrayList<>();
         int rowNum = 0;
         while (rs.next()) {
-            T mapRow = this.extractRow(columnList, rs, rowNum++);
+            T mapRow = this.extractRow(plan, rs, rowNum++);
             if (testRow(mapRow)) {
                 results.add(mapRow);
                 if (this.rowsExpected > 0 && results.size() >= this.rowsExpected) {
@@ -91,14 +86,6 @@ public class BeanMappingResultSetExtractor<T> extends AbstractMapping<T> impleme
         return results;
     }
 
-    private static String lookupColumnName(final ResultSetMetaData resultSetMetaData, final int columnIndex) throws SQLException {
-        String name = resultSetMetaData.getColumnLabel(columnIndex);
-        if (name == null || name.isEmpty()) {
-            name = resultSetMetaData.getColumnName(columnIndex);
-        }
-        return name;
-    }
-
     protected boolean testRow(T mapRow) {
         return true;
     }
@@ -15,7 +15,6 @@
  */
 package net.hasor.dbvisitor.jdbc.extractor;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -24,8 +23,8 @@ import java.util.Map;
 import net.hasor.cobble.ref.LinkedCaseInsensitiveMap;
 import net.hasor.dbvisitor.jdbc.ResultSetExtractor;
 import net.hasor.dbvisitor.jdbc.mapper.AbstractMapping;
+import net.hasor.dbvisitor.jdbc.mapper.RowMappingPlan;
 import net.hasor.dbvisitor.mapping.MappingRegistry;
-import net.hasor.dbvisitor.mapping.def.ColumnMapping;
 import net.hasor.dbvisitor.mapping.def.TableMapping;
 import net.hasor.dbvisitor.types.TypeHandler;
 
@@ -66,50 +65,30 @@ public class MapMappingResultSetExtractor extends AbstractMapping<Map<String, Ob
 
     @Override
     public List<Map<String, Object>> extractData(final ResultSet rs) throws SQLException {
-        ResultSetMetaData rsmd = rs.getMetaData();
-        int nrOfColumns = rsmd.getColumnCount();
-        List<String> columnList = new ArrayList<>();
-        for (int i = 1; i <= nrOfColumns; i++) {
-            columnList.add(lookupColumnName(rsmd, i));
-        }
+        RowMappingPlan plan = this.getMappingPlan(lookupColumnNames(rs.getMetaData()));
 
         List<Map<String, Object>> results = new ArrayList<>();
         int rowNum = 0;
         while (rs.next()) {
-            results.add(this.extractRow(columnList, rs, rowNum++));
+            results.add(this.extractRow(plan, rs, rowNum++));
         }
         return results;
     }
 
-    private static String lookupColumnName(final ResultSetMetaData resultSetMetaData, final int columnIndex) throws SQLException {
-        String name = resultSetMetaData.getColumnLabel(columnIndex);
-        if (name == null || name.length() < 1) {
-            name = resultSetMetaData.getColumnName(columnIndex);
-        }
-        return name;
-    }
-
-    protected Map<String, Object> extractRow(List<String> columns, ResultSet rs, int rowNum) throws SQLException {
-        Map<String, Object> target = this.createColumnMap(columns.size());
-
-        for (int i = 0; i < columns.size(); i++) {
-            String column = columns.get(i);
+    @Override
+    protected Map<String, Object> extractRow(RowMappingPlan plan, ResultSet rs, int rowNum) throws SQLException {
+        Map<String, Object> target = this.createColumnMap(plan.getColumns().length);
 
-            List<ColumnMapping> list = this.tableMapping.getPropertyByColumn(column);
-            if (list == null || list.isEmpty()) {
-                Object result = rs.getObject(column);
-                target.put(column, result);
+        for (int i = 0; i < plan.size(); i++) {
+            TypeHandler<?> realHandler = plan.getTypeHandler(i);
+            if (realHandler == null) {
+                String column = plan.getColumnName(i);
+                target.put(column, rs.getObject(column));
                 continue;
             }
-            for (ColumnMapping mapping : list) {
-                if (mapping == null || mapping.getHandler().isReadOnly()) {
-                    continue;
-                }
 
-                TypeHandler<?> realHandler = mapping.getTypeHandler();
-                Object result = realHandler.getResult(rs, i + 1);
-                target.put(mapping.getProperty(), result);
-            }
+            Object result = realHandler.getResult(rs, plan.getColumnIndex(i));
+            target.put(plan.getMapping(i).getProperty(), result);
         }
         return target;
     }
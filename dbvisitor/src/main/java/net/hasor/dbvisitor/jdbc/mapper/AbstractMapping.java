@@ -14,22 +14,29 @@
  * limitations under the License.
  */
 package net.hasor.dbvisitor.jdbc.mapper;
+import java.lang.ref.WeakReference;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import net.hasor.dbvisitor.internal.ConcurrentLruCache;
 import net.hasor.dbvisitor.mapping.MappingRegistry;
-import net.hasor.dbvisitor.mapping.def.ColumnMapping;
 import net.hasor.dbvisitor.mapping.def.TableMapping;
 import net.hasor.dbvisitor.types.TypeHandler;
 
 /**
  * 用于 POJO 的 RowMapper，带有 ORM 能力
+ * <p>结果集的映射计划（{@link RowMappingPlan}）以 TableMapping 和列名为 key 进行缓存，
+ * 同一个 ResultSet 的后续行不再读取 ResultSetMetaData。</p>
  * @author 赵永春 (zyc@hasor.net)
  * @version 2020-10-31
  */
 public abstract class AbstractMapping<T> {
-    protected final TableMapping<?> tableMapping;
+    private static final ConcurrentLruCache<PlanKey, RowMappingPlan> PLAN_CACHE = new ConcurrentLruCache<>(1024);
+    protected final      TableMapping<?>                             tableMapping;
+    private volatile     CurrentPlan                                 currentPlan;
 
     /**
      * 创建 {@link AbstractMapping} 对象
@@ -56,32 +63,105 @@ public abstract class AbstractMapping<T> {
         this.tableMapping = Objects.requireNonNull(tableMapping, "tableMapping is null.");
     }
 
+    /** 映射结果时使用的 TableMapping */
+    public TableMapping<?> getTableMapping() {
+        return this.tableMapping;
+    }
+
+    /** 获取 ResultSet 的映射计划，同一个 ResultSet 在逐行映射时只会读取一次 ResultSetMetaData */
+    protected RowMappingPlan getMappingPlan(ResultSet rs) throws SQLException {
+        CurrentPlan current = this.currentPlan;
+        if (current != null && current.resultSet.get() == rs) {
+            return current.plan;
+        }
+
+        RowMappingPlan plan = this.getMappingPlan(lookupColumnNames(rs.getMetaData()));
+        this.currentPlan = new CurrentPlan(rs, plan);
+        return plan;
+    }
+
+    /** 根据列名获取映射计划 */
+    protected RowMappingPlan getMappingPlan(String[] columns) {
+        return PLAN_CACHE.computeIfAbsent(new PlanKey(this.tableMapping, columns), k -> RowMappingPlan.build(k.tableMapping, k.columns));
+    }
+
     protected T extractRow(List<String> columns, ResultSet rs, int rowNum) throws SQLException {
+        return this.extractRow(this.getMappingPlan(columns.toArray(new String[0])), rs, rowNum);
+    }
+
+    protected T extractRow(RowMappingPlan plan, ResultSet rs, int rowNum) throws SQLException {
         T target;
         try {
-            target = (T) this.tableMapping.entityType().newInstance();
+            target = (T) this.tableMapping.newInstance();
         } catch (Exception e) {
             throw new SQLException("newInstance " + this.tableMapping.entityType().getName() + " failed.", e);
         }
 
-        for (int i = 0; i < columns.size(); i++) {
-            String column = columns.get(i);
-
-            List<ColumnMapping> list = this.tableMapping.getPropertyByColumn(column);
-            if (list == null) {
+        for (int i = 0; i < plan.size(); i++) {
+            TypeHandler<?> realHandler = plan.getTypeHandler(i);
+            if (realHandler == null) {
                 continue;
             }
 
-            for (ColumnMapping mapping : list) {
-                if (mapping == null || mapping.getHandler().isReadOnly()) {
-                    continue;
-                }
+            Object result = realHandler.getResult(rs, plan.getColumnIndex(i));
+            plan.getSetter(i).set(target, result);
+        }
+        return target;
+    }
 
-                TypeHandler<?> realHandler = mapping.getTypeHandler();
-                Object result = realHandler.getResult(rs, i + 1);
-                mapping.getHandler().set(target, result);
+    protected static String[] lookupColumnNames(final ResultSetMetaData resultSetMetaData) throws SQLException {
+        int nrOfColumns = resultSetMetaData.getColumnCount();
+        String[] columns = new String[nrOfColumns];
+        for (int i = 1; i <= nrOfColumns; i++) {
+            columns[i - 1] = lookupColumnName(resultSetMetaData, i);
+        }
+        return columns;
+    }
+
+    protected static String lookupColumnName(final ResultSetMetaData resultSetMetaData, final int columnIndex) throws SQLException {
+        String name = resultSetMetaData.getColumnLabel(columnIndex);
+        if (name == null || name.isEmpty()) {
+            name = resultSetMetaData.getColumnName(columnIndex);
+        }
+        return name;
+    }
+
+    private static class CurrentPlan {
+        private final WeakReference<ResultSet> resultSet;
+        private final RowMappingPlan           plan;
+
+        CurrentPlan(ResultSet resultSet, RowMappingPlan plan) {
+            this.resultSet = new WeakReference<>(resultSet);
+            this.plan = plan;
+        }
+    }
+
+    private static class PlanKey {
+        private final TableMapping<?> tableMapping;
+        private final String[]        columns;
+        private final int             hashCode;
+
+        PlanKey(TableMapping<?> tableMapping, String[] columns) {
+            this.tableMapping = tableMapping;
+            this.columns = columns;
+            this.hashCode = 31 * System.identityHashCode(tableMapping) + Arrays.hashCode(columns);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PlanKey)) {
+                return false;
             }
+            PlanKey planKey = (PlanKey) o;
+            return this.tableMapping == planKey.tableMapping && Arrays.equals(this.columns, planKey.columns);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
         }
-        return target;
     }
 }
@@ -15,10 +15,7 @@
  */
 package net.hasor.dbvisitor.jdbc.mapper;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.List;
 import net.hasor.dbvisitor.jdbc.RowMapper;
 import net.hasor.dbvisitor.mapping.MappingRegistry;
 import net.hasor.dbvisitor.mapping.def.TableMapping;
@@ -55,21 +52,6 @@ public class BeanMappingRowMapper<T> extends AbstractMapping<T> implements RowMa
 
     @Override
     public T mapRow(ResultSet rs, int rowNum) throws SQLException {
-        ResultSetMetaData rsmd = rs.getMetaData();
-        int nrOfColumns = rsmd.getColumnCount();
-        List<String> columnList = new ArrayList<>();
-        for (int i = 1; i <= nrOfColumns; i++) {
-            columnList.add(lookupColumnName(rsmd, i));
-        }
-
-        return this.extractRow(columnList, rs, rowNum);
-    }
-
-    private static String lookupColumnName(final ResultSetMetaData resultSetMetaData, final int columnIndex) throws SQLException {
-        String name = resultSetMetaData.getColumnLabel(columnIndex);
-        if (name == null || name.length() < 1) {
-            name = resultSetMetaData.getColumnName(columnIndex);
-        }
-        return name;
+        return this.extractRow(this.getMappingPlan(rs), rs, rowNum);
     }
 }
@@ -15,16 +15,12 @@
  */
 package net.hasor.dbvisitor.jdbc.mapper;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 import net.hasor.cobble.ref.LinkedCaseInsensitiveMap;
 import net.hasor.dbvisitor.jdbc.RowMapper;
 import net.hasor.dbvisitor.mapping.MappingRegistry;
-import net.hasor.dbvisitor.mapping.def.ColumnMapping;
 import net.hasor.dbvisitor.mapping.def.TableMapping;
 import net.hasor.dbvisitor.types.TypeHandler;
 
@@ -65,40 +61,21 @@ public class MapMappingRowMapper extends AbstractMapping<Map<String, Object>> im
 
     @Override
     public Map<String, Object> mapRow(ResultSet rs, int rowNum) throws SQLException {
-        ResultSetMetaData rsmd = rs.getMetaData();
-        int nrOfColumns = rsmd.getColumnCount();
-        List<String> columnList = new ArrayList<>();
-        for (int i = 1; i <= nrOfColumns; i++) {
-            columnList.add(lookupColumnName(rsmd, i));
-        }
-
-        return this.extractRow(columnList, rs, rowNum);
-    }
-
-    private static String lookupColumnName(final ResultSetMetaData resultSetMetaData, final int columnIndex) throws SQLException {
-        String name = resultSetMetaData.getColumnLabel(columnIndex);
-        if (name == null || name.length() < 1) {
-            name = resultSetMetaData.getColumnName(columnIndex);
-        }
-        return name;
+        return this.extractRow(this.getMappingPlan(rs), rs, rowNum);
     }
 
-    protected Map<String, Object> extractRow(List<String> columns, ResultSet rs, int rowNum) throws SQLException {
-        Map<String, Object> target = this.createColumnMap(columns.size());
-
-        for (int i = 0; i < columns.size(); i++) {
-            String column = columns.get(i);
-
-            List<ColumnMapping> list = this.tableMapping.getPropertyByColumn(column);
-            for (ColumnMapping mapping : list) {
-                if (mapping == null || mapping.getHandler().isReadOnly()) {
-                    continue;
-                }
+    @Override
+    protected Map<String, Object> extractRow(RowMappingPlan plan, ResultSet rs, int rowNum) throws SQLException {
+        Map<String, Object> target = this.createColumnMap(plan.getColumns().length);
 
-                TypeHandler<?> realHandler = mapping.getTypeHandler();
-                Object result = realHandler.getResult(rs, i + 1);
-                target.put(mapping.getProperty(), result);
+        for (int i = 0; i < plan.size(); i++) {
+            TypeHandler<?> realHandler = plan.getTypeHandler(i);
+            if (realHandler == null) {
+                continue;
             }
+
+            Object result = realHandler.getResult(rs, plan.getColumnIndex(i));
+            target.put(plan.getMapping(i).getProperty(), result);
         }
         return target;
     }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.jdbc.mapper;
+import java.util.ArrayList;
+import java.util.List;
+import net.hasor.cobble.function.Property;
+import net.hasor.dbvisitor.mapping.def.ColumnMapping;
+import net.hasor.dbvisitor.mapping.def.TableMapping;
+import net.hasor.dbvisitor.types.TypeHandler;
+
+/**
+ * 结果集到 TableMapping 的映射计划，对于同一种结果集结构只需计算一次。
+ * <p>计划按照列的顺序保存（列序号 → ColumnMapping、TypeHandler、Property），只读属性会被剔除。
+ * 没有映射的列以 mapping 为 null 的形式保留，由使用者决定是否读取。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public final class RowMappingPlan {
+    private final String[]         columns;
+    private final int[]            columnIndexes;
+    private final String[]         columnNames;
+    private final ColumnMapping[]  mappings;
+    private final TypeHandler<?>[] typeHandlers;
+    private final Property[]       setters;
+
+    private RowMappingPlan(String[] columns, List<Integer> indexes, List<String> names, List<ColumnMapping> mappings) {
+        int size = indexes.size();
+        this.columns = columns;
+        this.columnIndexes = new int[size];
+        this.columnNames = names.toArray(new String[0]);
+        this.mappings = mappings.toArray(new ColumnMapping[0]);
+        this.typeHandlers = new TypeHandler<?>[size];
+        this.setters = new Property[size];
+        for (int i = 0; i < size; i++) {
+            this.columnIndexes[i] = indexes.get(i);
+            ColumnMapping mapping = this.mappings[i];
+            if (mapping != null) {
+                this.typeHandlers[i] = mapping.getTypeHandler();
+                this.setters[i] = mapping.getHandler();
+            }
+        }
+    }
+
+    /** 根据结果集的列名计算映射计划 */
+    public static RowMappingPlan build(TableMapping<?> tableMapping, String[] columns) {
+        List<Integer> indexes = new ArrayList<>(columns.length);
+        List<String> names = new ArrayList<>(columns.length);
+        List<ColumnMapping> mappings = new ArrayList<>(columns.length);
+
+        for (int i = 0; i < columns.length; i++) {
+            String column = columns[i];
+            List<ColumnMapping> list = tableMapping.getPropertyByColumn(column);
+            if (list == null || list.isEmpty()) {
+                indexes.add(i + 1);
+                names.add(column);
+                mappings.add(null);
+                continue;
+            }
+
+            for (ColumnMapping mapping : list) {
+                if (mapping == null || mapping.getHandler().isReadOnly()) {
+                    continue;
+                }
+                indexes.add(i + 1);
+                names.add(column);
+                mappings.add(mapping);
+            }
+        }
+        return new RowMappingPlan(columns, indexes, names, mappings);
+    }
+
+    /** 结果集的列名 */
+    public String[] getColumns() {
+        return this.columns;
+    }
+
+    /** 计划中的条目数量 */
+    public int size() {
+        return this.columnIndexes.length;
+    }
+
+    /** 条目对应的列序号，从 1 开始 */
+    public int getColumnIndex(int i) {
+        return this.columnIndexes[i];
+    }
+
+    /** 条目对应的列名 */
+    public String getColumnName(int i) {
+        return this.columnNames[i];
+    }
+
+    /** 条目对应的属性映射，列没有映射时为 null */
+    public ColumnMapping getMapping(int i) {
+        return this.mappings[i];
+    }
+
+    public TypeHandler<?> getTypeHandler(int i) {
+        return this.typeHandlers[i];
+    }
+
+    public Property getSetter(int i) {
+        return this.setters[i];
+    }
+}
@@ -52,7 +52,11 @@ public abstract class AbstractDelete<R, T, P> extends BasicQueryCompare<R, T, P>
             logger.trace("Executing SQL statement [" + sqlString + "].");
         }
 
-        return this.jdbc.executeUpdate(sqlString, boundSql.getArgs());
+        try {
+            return this.jdbc.executeUpdate(sqlString, boundSql.getArgs());
+        } finally {
+            this.tableChanged();
+        }
     }
 
     @Override
@@ -16,6 +16,7 @@
 package net.hasor.dbvisitor.lambda.core;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.*;
@@ -23,14 +24,17 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import net.hasor.cobble.StringUtils;
 import net.hasor.dbvisitor.dialect.BoundSql;
+import net.hasor.dbvisitor.dialect.features.BulkInsertSqlDialect;
 import net.hasor.dbvisitor.dynamic.QueryContext;
 import net.hasor.dbvisitor.error.RuntimeSQLException;
+import net.hasor.dbvisitor.jdbc.ConnectionCallback;
 import net.hasor.dbvisitor.jdbc.core.JdbcTemplate;
 import net.hasor.dbvisitor.lambda.DuplicateKeyStrategy;
 import net.hasor.dbvisitor.mapping.GeneratedKeyHandler;
 import net.hasor.dbvisitor.mapping.MappingRegistry;
 import net.hasor.dbvisitor.mapping.def.ColumnMapping;
 import net.hasor.dbvisitor.mapping.def.TableMapping;
+import net.hasor.dbvisitor.types.SqlArg;
 import net.hasor.dbvisitor.types.TypeHandlerRegistry;
 
 /**
@@ -164,6 +168,86 @@ public abstract class AbstractInsert<R, T, P> extends BasicLambda<R, P> implemen
         return boundSql.getSqlString();
     }
 
+    /**
+     * 当方言支持多行插入（{@link BulkInsertSqlDialect}）时，返回一条语句最多插入的行数，不支持时返回 0。
+     * <p>需要通过 getGeneratedKeys 回填主键时，多行语句返回的主键顺序无法保证，因此不使用多行插入。</p>
+     * <p>是否支持由方言根据插入策略决定（{@link BulkInsertSqlDialect#supportBulkInsert}），目前各方言都只在标准 insert into 时使用多行插入。</p>
+     */
+    protected int bulkInsertRows(List<String> insertColumns) {
+        if (!(this.cmdBuilder instanceof BulkInsertSqlDialect) || insertColumns.isEmpty() || !this.fillAfterProperties.isEmpty()) {
+            return 0;
+        }
+        BulkInsertSqlDialect dialect = (BulkInsertSqlDialect) this.cmdBuilder;
+        if (!dialect.supportBulkInsert(this.insertStrategy, this.forBuildPrimaryKeys, insertColumns, this.forBuildInsertColumnTerms)) {
+            return 0;
+        }
+
+        int rows = Math.min(dialect.maxBulkRows(), dialect.maxBindParameters() / insertColumns.size());
+        return rows > 1 ? rows : 0;
+    }
+
+    /**
+     * 使用多行插入语句执行，每 bulkRows 行数据生成一条语句，返回每行数据的执行结果。
+     * <p>只用于标准 insert into，语句执行成功时其中的每一行都已插入，因此每行的结果为 1。</p>
+     * @param con 数据库连接
+     * @param insertColumns 插入的列
+     * @param insertColumnTerms 列的值模版
+     * @param batchArgs 每行数据的参数，参数顺序与 insertColumns 一致
+     * @param bulkRows 一条语句最多插入的行数，参考 {@link #bulkInsertRows(List)}
+     */
+    protected int[] executeBulkValues(Connection con, List<String> insertColumns, Map<String, String> insertColumnTerms, Object[][] batchArgs, int bulkRows, TypeHandlerRegistry typeRegistry) throws SQLException {
+        BulkInsertSqlDialect dialect = (BulkInsertSqlDialect) this.cmdBuilder;
+        TableMapping<?> tableMapping = this.getTableMapping();
+        int[] result = new int[batchArgs.length];
+
+        PreparedStatement fullPs = null; // 行数为 bulkRows 的语句可以重复使用
+        try {
+            for (int start = 0; start < batchArgs.length; start += bulkRows) {
+                int rows = Math.min(bulkRows, batchArgs.length - start);
+                PreparedStatement ps;
+                if (rows == bulkRows && fullPs != null) {
+                    ps = fullPs;
+                    ps.clearParameters();
+                } else {
+                    String sql = dialect.bulkInsert(this.insertStrategy, isQualifier(), tableMapping.getCatalog(), tableMapping.getSchema(), tableMapping.getTable(), this.forBuildPrimaryKeys, insertColumns, insertColumnTerms, rows);
+                    if (logger.isTraceEnabled()) {
+                        logger.trace("Executing SQL bulk statement [" + sql + "].");
+                    }
+                    ps = createPrepareStatement(con, sql);
+                    if (rows == bulkRows) {
+                        fullPs = ps;
+                    }
+                }
+
+                try {
+                    int idx = 1;
+                    for (int i = start; i < start + rows; i++) {
+                        for (Object value : batchArgs[i]) {
+                            if (value == null) {
+                                ps.setObject(idx, null);
+                            } else {
+                                typeRegistry.setParameterValue(ps, idx, value);
+                            }
+                            idx++;
+                        }
+                    }
+
+                    ps.executeUpdate();
+                    Arrays.fill(result, start, start + rows, 1);
+                } finally {
+                    if (ps != fullPs) {
+                        ps.close();
+                    }
+                }
+            }
+        } finally {
+            if (fullPs != null) {
+                fullPs.close();
+            }
+        }
+        return result;
+    }
+
     protected PreparedStatement createPrepareStatement(Connection con, String sqlString) throws SQLException {
         if (this.getTableMapping().useGeneratedKey()) {
             return con.prepareStatement(sqlString, Statement.RETURN_GENERATED_KEYS);
@@ -184,6 +268,234 @@ public abstract class AbstractInsert<R, T, P> extends BasicLambda<R, P> implemen
         }
     }
 
+    /**
+     * 回填 onAfter 类型的主键生成器（例如自增 ID），entityList 与 ResultSet 中的行按顺序对应。
+     * @return ResultSet 中的数据已经读完时返回 false
+     */
+    protected boolean processKeySeqHolderAfter(ResultSet rs, List<?> entityList, boolean isMap) throws SQLException {
+        for (Object obj : entityList) {
+            if (rs != null && !rs.next()) {
+                return false;
+            }
+            for (int i = 0; i < this.fillAfterProperties.size(); i++) {
+                ColumnMapping mapping = this.fillAfterProperties.get(i);
+                if (mapping.getKeySeqHolder() != null) {
+                    Object value = mapping.getKeySeqHolder().afterApply(rs, obj, i, mapping);
+                    if (isMap && value != null) {
+                        ((Map) obj).put(mapping.getProperty(), value);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /** 构建一行数据的插入语句和参数 */
+    @FunctionalInterface
+    protected interface BulkRowBuilder {
+        BoundSql buildRow(Connection con, Object entity) throws SQLException;
+    }
+
+    /**
+     * 分块流式批量插入，逐行构建参数并加入批处理，每满 batchRows 行或 batchBytes 字节执行一次。相邻两行的 SQL 不同时也会提前执行。
+     * @param entities 数据
+     * @param options 配置，为 null 时使用默认配置
+     * @param rowBuilder 构建一行数据的插入语句和参数
+     * @param isMap 数据是否为 Map（用于主键回填）
+     */
+    protected BulkResult executeBulk(Iterable<?> entities, BulkOptions options, BulkRowBuilder rowBuilder, boolean isMap) throws SQLException {
+        Objects.requireNonNull(this.jdbc, "Connection unavailable, JdbcTemplate is required.");
+        Objects.requireNonNull(entities, "entities is null.");
+        BulkOptions bulkOptions = options == null ? BulkOptions.of() : options;
+        boolean supportBatch = this.dialect().supportBatch();
+        TypeHandlerRegistry typeRegistry = this.jdbc.getRegistry().getTypeRegistry();
+
+        try {
+            return this.jdbc.execute((ConnectionCallback<BulkResult>) con -> {
+                // 连接已经处于事务中时，由事务负责提交
+                boolean manageCommit = bulkOptions.isCommitEachChunk() && con.getAutoCommit();
+                if (manageCommit) {
+                    con.setAutoCommit(false);
+                }
+
+                BulkWriter writer = new BulkWriter(con, bulkOptions, supportBatch, manageCommit, isMap, typeRegistry);
+                try {
+                    for (Object entity : entities) {
+                        writer.write(rowBuilder.buildRow(con, entity), entity);
+                    }
+                    writer.flush(null);
+                    return writer.result;
+                } catch (SQLException | RuntimeException e) {
+                    if (manageCommit) {
+                        con.rollback(); // 未完成的分块
+                    }
+                    throw e;
+                } finally {
+                    writer.closeStatement();
+                    if (manageCommit) {
+                        con.setAutoCommit(true);
+                    }
+                }
+            });
+        } finally {
+            this.tableChanged();
+        }
+    }
+
+    /** 估算一行参数的字节数 */
+    protected static long estimateBytes(Object[] args) {
+        long bytes = 0;
+        for (Object arg : args) {
+            Object value = arg instanceof SqlArg ? ((SqlArg) arg).getValue() : arg;
+            if (value == null) {
+                bytes += 1;
+            } else if (value instanceof CharSequence) {
+                bytes += ((CharSequence) value).length() * 2L;
+            } else if (value instanceof byte[]) {
+                bytes += ((byte[]) value).length;
+            } else if (value instanceof Number || value instanceof Boolean || value instanceof Date) {
+                bytes += 8;
+            } else {
+                bytes += 16;
+            }
+        }
+        return bytes;
+    }
+
+    private class BulkWriter {
+        private final Connection          con;
+        private final BulkOptions         options;
+        private final boolean             supportBatch;
+        private final boolean             manageCommit;
+        private final boolean             isMap;
+        private final TypeHandlerRegistry typeRegistry;
+        private final List<Object>        pending;
+        private final List<Integer>       pendingResult; // 不支持批处理时逐行执行的结果
+        private final BulkResult          result;
+        private       PreparedStatement   ps;
+        private       String              sqlString;
+        private       long                bytes;
+        private       long                firstRow;
+        private       int                 chunkIndex;
+
+        BulkWriter(Connection con, BulkOptions options, boolean supportBatch, boolean manageCommit, boolean isMap, TypeHandlerRegistry typeRegistry) {
+            this.con = con;
+            this.options = options;
+            this.supportBatch = supportBatch;
+            this.manageCommit = manageCommit;
+            this.isMap = isMap;
+            this.typeRegistry = typeRegistry;
+            this.pending = new ArrayList<>();
+            this.pendingResult = new ArrayList<>();
+            this.result = new BulkResult();
+        }
+
+        void write(BoundSql row, Object entity) throws SQLException {
+            String rowSql = row.getSqlString();
+            if (this.ps != null && !rowSql.equals(this.sqlString)) {
+                this.flush(null);
+                this.closeStatement();
+            }
+            if (this.ps == null) {
+                this.ps = createPrepareStatement(this.con, rowSql);
+                this.sqlString = rowSql;
+            }
+
+            Object[] args = row.getArgs();
+            applyPreparedStatement(this.ps, args, this.typeRegistry);
+            this.pending.add(entity);
+            this.bytes += estimateBytes(args);
+
+            if (this.supportBatch) {
+                this.ps.addBatch();
+            } else {
+                try {
+                    this.pendingResult.add(this.ps.executeUpdate());
+                    this.fillBack(Collections.singletonList(entity));
+                } catch (SQLException e) {
+                    this.flush(e);
+                    return;
+                }
+            }
+
+            long batchBytes = this.options.getBatchBytes();
+            if (this.pending.size() >= this.options.getBatchRows() || (batchBytes > 0 && this.bytes >= batchBytes)) {
+                this.flush(null);
+            }
+        }
+
+        void flush(SQLException rowError) throws SQLException {
+            if (this.pending.isEmpty()) {
+                return;
+            }
+
+            int[] chunkResult = null;
+            SQLException error = rowError;
+            if (error == null) {
+                try {
+                    if (this.supportBatch) {
+                        chunkResult = this.ps.executeBatch();
+                        this.fillBack(this.pending);
+                    } else {
+                        chunkResult = this.pendingResult.stream().mapToInt(Integer::intValue).toArray();
+                    }
+                    if (this.manageCommit) {
+                        this.con.commit();
+                    }
+                } catch (SQLException e) {
+                    error = e;
+                }
+            }
+            if (error != null) {
+                chunkResult = null;
+                if (this.supportBatch) {
+                    this.ps.clearBatch();
+                }
+                if (this.manageCommit) {
+                    this.con.rollback();
+                }
+            }
+
+            BulkChunk chunk = new BulkChunk(this.chunkIndex++, this.firstRow, this.pending.size(), this.bytes, chunkResult, error);
+            this.result.addChunk(chunk);
+            this.firstRow += this.pending.size();
+            this.pending.clear();
+            this.pendingResult.clear();
+            this.bytes = 0;
+
+            if (this.options.getListener() != null) {
+                this.options.getListener().onChunk(chunk);
+            }
+            if (error != null && !this.options.isContinueOnError()) {
+                throw error;
+            }
+        }
+
+        private void fillBack(List<Object> entities) throws SQLException {
+            if (!hasKeySeqHolderColumn || fillAfterProperties.isEmpty()) {
+                return;
+            }
+            if (getTableMapping().useGeneratedKey()) {
+                try (ResultSet rs = this.ps.getGeneratedKeys()) {
+                    processKeySeqHolderAfter(rs, entities, this.isMap);
+                }
+            } else {
+                processKeySeqHolderAfter(null, entities, this.isMap);
+            }
+        }
+
+        void closeStatement() throws SQLException {
+            if (this.ps != null) {
+                try {
+                    this.ps.close();
+                } finally {
+                    this.ps = null;
+                    this.sqlString = null;
+                }
+            }
+        }
+    }
+
     protected static class InsertEntity {
         public List<?> objList;
         public boolean isMap;
@@ -16,17 +16,25 @@
 package net.hasor.dbvisitor.lambda.core;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import net.hasor.cobble.ExceptionUtils;
 import net.hasor.cobble.StringUtils;
 import net.hasor.dbvisitor.dialect.BoundSql;
+import net.hasor.dbvisitor.dialect.SqlDialect;
+import net.hasor.dbvisitor.dialect.features.CursorSqlDialect;
 import net.hasor.dbvisitor.dialect.features.PageSqlDialect;
 import net.hasor.dbvisitor.dynamic.QueryContext;
 import net.hasor.dbvisitor.jdbc.ResultSetExtractor;
 import net.hasor.dbvisitor.jdbc.RowCallbackHandler;
 import net.hasor.dbvisitor.jdbc.RowMapper;
+import net.hasor.dbvisitor.jdbc.core.AsyncJdbcTemplate;
 import net.hasor.dbvisitor.jdbc.core.JdbcTemplate;
+import net.hasor.dbvisitor.jdbc.core.ResultSetIterator;
 import net.hasor.dbvisitor.jdbc.extractor.BeanMappingResultSetExtractor;
 import net.hasor.dbvisitor.jdbc.extractor.MapMappingResultSetExtractor;
 import net.hasor.dbvisitor.jdbc.extractor.PairsResultSetExtractor;
@@ -36,7 +44,10 @@ import net.hasor.dbvisitor.jdbc.mapper.MapMappingRowMapper;
 import net.hasor.dbvisitor.mapping.MappingRegistry;
 import net.hasor.dbvisitor.mapping.def.ColumnMapping;
 import net.hasor.dbvisitor.mapping.def.TableMapping;
+import net.hasor.dbvisitor.page.CountStrategy;
+import net.hasor.dbvisitor.page.KeysetPage;
 import net.hasor.dbvisitor.page.Page;
+import net.hasor.dbvisitor.page.PageResult;
 
 /**
  * 提供 lambda query 基础能力。
@@ -44,7 +55,8 @@ import net.hasor.dbvisitor.page.Page;
  * @version 2020-10-27
  */
 public abstract class AbstractSelect<R, T, P> extends BasicQueryCompare<R, T, P> implements QueryFunc<R, T, P> {
-    private final Page pageInfo = new PageObjectForFetchCount(0, this::queryForLargeCount);
+    private final PageObjectForFetchCount pageInfo = new PageObjectForFetchCount(0, this::queryForLargeCount);
+    private       KeysetPage              keysetPage;
 
     public AbstractSelect(Class<?> exampleType, TableMapping<?> tableMapping, MappingRegistry registry, JdbcTemplate jdbc, QueryContext ctx) {
         super(exampleType, tableMapping, registry, jdbc, ctx);
@@ -54,6 +66,7 @@ public abstract class AbstractSelect<R, T, P> extends BasicQueryCompare<R, T, P>
     public R reset() {
         super.reset();
         this.initPage(-1, 0);
+        this.keysetPage = null;
         return this.getSelf();
     }
 
@@ -226,11 +239,13 @@ public abstract class AbstractSelect<R, T, P> extends BasicQueryCompare<R, T, P>
 
     @Override
     public R usePage(Page pageInfo) {
-        Page page = this.pageInfo();
+        PageObjectForFetchCount page = this.pageInfo;
         page.setPageSize(pageInfo.getPageSize());
         page.setTotalCount(pageInfo.getTotalCount());
+        page.setRefreshTotalCount(pageInfo.isRefreshTotalCount());
         page.setPageNumberOffset(pageInfo.getPageNumberOffset());
         page.setCurrentPage(pageInfo.getCurrentPage());
+        page.setCountStrategy(pageInfo.getCountStrategy());
         return this.getSelf();
     }
 
@@ -248,6 +263,59 @@ public abstract class AbstractSelect<R, T, P> extends BasicQueryCompare<R, T, P>
         return this.getSelf();
     }
 
+    @Override
+    public R seekAfter(KeysetPage page) {
+        Objects.requireNonNull(page, "keyset page is null.");
+        Object[] cursor = page.getCursor();
+        if (cursor != null) {
+            this.addConditionForSeek(page.getKeys(), page.getOrderType(), cursor);
+        }
+        this.addOrderBy(page.getOrderType(), page.getKeys(), null);
+
+        Page pageInfo = pageInfo();
+        pageInfo.setPageNumberOffset(0);
+        pageInfo.setPageSize(page.getPageSize());
+        pageInfo.setCurrentPage(0);
+        this.keysetPage = page;
+        return this.getSelf();
+    }
+
+    /** 使用 keyset 分页时，以最后一行的 keys 值作为下一页的游标 */
+    private void updateKeysetCursor(List<?> result) {
+        KeysetPage page = this.keysetPage;
+        if (page == null) {
+            return;
+        }
+        if (result == null || result.isEmpty()) {
+            page.setNextCursor(null, false);
+            return;
+        }
+
+        Object lastRow = result.get(result.size() - 1);
+        List<String> keys = page.getKeys();
+        Object[] nextCursor = new Object[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            nextCursor[i] = this.readKeysetValue(lastRow, keys.get(i));
+        }
+        page.setNextCursor(nextCursor, page.getPageSize() > 0 && result.size() >= page.getPageSize());
+    }
+
+    private Object readKeysetValue(Object row, String property) {
+        ColumnMapping mapping = this.findPropertyByName(property);
+        if (row instanceof Map) {
+            Map<?, ?> rowMap = (Map<?, ?>) row;
+            if (rowMap.containsKey(property) || mapping == null) {
+                return rowMap.get(property);
+            } else {
+                return rowMap.get(mapping.getColumn());
+            }
+        }
+        if (mapping == null) {
+            throw new IllegalStateException("keyset property '" + property + "' not found in " + this.getTableMapping().entityType().getName());
+        }
+        return mapping.getHandler().get(row);
+    }
+
     @Override
     public void query(RowCallbackHandler rch) throws SQLException {
         Objects.requireNonNull(this.jdbc, "Connection unavailable, JdbcTemplate is required.");
@@ -267,14 +335,116 @@ public abstract class AbstractSelect<R, T, P> extends BasicQueryCompare<R, T, P>
     @Override
     public List<T> queryForList() throws SQLException {
         Objects.requireNonNull(this.jdbc, "Connection unavailable, JdbcTemplate is required.");
-        BoundSql boundSql = getBoundSql();
 
         if (Map.class == this.exampleType() || isFreedom()) {
             return (List<T>) this.queryForMapList();
         } else {
-            ResultSetExtractor<List<T>> extractor = new BeanMappingResultSetExtractor<>(this.getTableMapping());
-            return this.jdbc.query(boundSql.getSqlString(), boundSql.getArgs(), extractor);
+            List<T> result = this.fetchList(getBoundSql());
+            this.updateKeysetCursor(result);
+            return result;
+        }
+    }
+
+    private List<T> fetchList(BoundSql boundSql) throws SQLException {
+        ResultSetExtractor<?> extractor;
+        if (Map.class == this.exampleType() || isFreedom()) {
+            extractor = new MapMappingResultSetExtractor(this.getTableMapping());
+        } else {
+            extractor = new BeanMappingResultSetExtractor<>(this.getTableMapping());
         }
+        return (List<T>) this.jdbc.query(boundSql.getSqlString(), boundSql.getArgs(), extractor);
+    }
+
+    /**
+     * 分页查询，总记录数的获取方式与 Mapper 的分页查询一致：按照 CountStrategy（Page 上的设置优先）生成 count 查询并使用 QueryContext 的 count 缓存，
+     * HAS_NEXT 策略不执行 count 而是多查询一条记录。只有启用了 parallelPageCount 并且基于 DataSource、不在事务中时 count 才会在另外一个连接上并行执行。
+     */
+    @Override
+    public PageResult<T> queryForPage() throws SQLException {
+        Objects.requireNonNull(this.jdbc, "Connection unavailable, JdbcTemplate is required.");
+
+        PageObjectForFetchCount page = this.pageInfo;
+        long pageSize = page.getPageSize();
+        if (pageSize <= 0) {
+            List<T> data = this.queryForList();
+            return this.toPageResult(page, data.size(), data);
+        }
+
+        PageSqlDialect dialect = (PageSqlDialect) this.dialect();
+        BoundSql oriSql = this.buildBoundSqlWithoutPage();
+        long position = page.getFirstRecordPosition();
+        CountStrategy strategy = page.getCountStrategy();
+        if (strategy == null) {
+            strategy = this.queryContext == null ? CountStrategy.WRAP : this.queryContext.getCountStrategy();
+        }
+
+        // HAS_NEXT：多读取一条记录判断是否存在下一页，总记录数为已知的下限
+        if (strategy == CountStrategy.HAS_NEXT) {
+            List<T> data = this.fetchList(dialect.pageSql(oriSql, position, pageSize + 1));
+            boolean hasNext = data.size() > pageSize;
+            if (hasNext) {
+                data = new ArrayList<>(data.subList(0, (int) pageSize));
+            }
+            this.updateKeysetCursor(data);
+            return this.toPageResult(page, position + data.size() + (hasNext ? 1 : 0), data);
+        }
+
+        // 要求刷新或者总数未知时 count，要求刷新时不读取缓存，结果仍然写入缓存
+        long totalCount = page.knownTotalCount();
+        CompletableFuture<Long> countFuture = null;
+        if (page.isRefreshTotalCount() || totalCount <= 0) {
+            BoundSql countSql = strategy == CountStrategy.REWRITE ? dialect.simpleCountSql(oriSql) : dialect.countSql(oriSql);
+            String countId = "lambda." + this.getTableMapping().entityType().getName();
+            Long cached = (page.isRefreshTotalCount() || this.queryContext == null) ? null : this.queryContext.getCachedCount(countId, countSql);
+            Executor executor = this.queryContext == null ? null : this.queryContext.getPageCountExecutor();
+            AsyncJdbcTemplate asyncJdbc = executor == null ? null : new AsyncJdbcTemplate(this.jdbc, executor);
+            if (cached != null) {
+                totalCount = cached;
+            } else if (asyncJdbc != null && asyncJdbc.isAsync()) {
+                countFuture = asyncJdbc.supply(() -> this.queryCount(countId, countSql));
+            } else {
+                totalCount = this.queryCount(countId, countSql);
+            }
+        }
+
+        List<T> data;
+        try {
+            data = this.fetchList(dialect.pageSql(oriSql, position, pageSize));
+        } catch (SQLException | RuntimeException e) {
+            if (countFuture != null) {
+                countFuture.cancel(false);
+            }
+            throw e;
+        }
+        this.updateKeysetCursor(data);
+
+        if (countFuture != null) {
+            try {
+                totalCount = countFuture.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    throw (SQLException) cause;
+                }
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+            }
+        }
+        return this.toPageResult(page, totalCount, data);
+    }
+
+    private long queryCount(String countId, BoundSql countSql) throws SQLException {
+        long count = this.jdbc.queryForLong(countSql.getSqlString(), countSql.getArgs());
+        if (this.queryContext != null) {
+            this.queryContext.putCachedCount(countId, countSql, count);
+        }
+        return count;
+    }
+
+    private PageResult<T> toPageResult(Page page, long totalCount, List<T> data) {
+        PageResult<T> result = new PageResult<>(page.getCurrentPage(), page.getPageSize(), totalCount, data);
+        result.setPageNumberOffset(page.getPageNumberOffset());
+        result.setCountStrategy(page.getCountStrategy());
+        return result;
     }
 
     @Override
@@ -299,7 +469,9 @@ public abstract class AbstractSelect<R, T, P> extends BasicQueryCompare<R, T, P>
 
         BoundSql boundSql = getBoundSql();
         ResultSetExtractor<List<Map<String, Object>>> extractor = new MapMappingResultSetExtractor(this.getTableMapping());
-        return this.jdbc.query(boundSql.getSqlString(), boundSql.getArgs(), extractor);
+        List<Map<String, Object>> result = this.jdbc.query(boundSql.getSqlString(), boundSql.getArgs(), extractor);
+        this.updateKeysetCursor(result);
+        return result;
     }
 
     @Override
@@ -426,6 +598,28 @@ public abstract class AbstractSelect<R, T, P> extends BasicQueryCompare<R, T, P>
         return new StreamIterator<>(-1, pageInfo, this, transform, null);
     }
 
+    @Override
+    public ResultSetIterator<T> iteratorForCursor(int fetchSize) throws SQLException {
+        Objects.requireNonNull(this.jdbc, "Connection unavailable, JdbcTemplate is required.");
+
+        RowMapper<T> rowMapper;
+        if (Map.class == this.exampleType() || isFreedom()) {
+            rowMapper = (RowMapper<T>) new MapMappingRowMapper(this.getTableMapping());
+        } else {
+            rowMapper = new BeanMappingRowMapper<>(this.getTableMapping());
+        }
+
+        BoundSql boundSql = getBoundSql();
+        SqlDialect dialect = this.dialect();
+        if (dialect instanceof CursorSqlDialect) {
+            CursorSqlDialect cursorDialect = (CursorSqlDialect) dialect;
+            int cursorFetchSize = cursorDialect.cursorFetchSize(fetchSize);
+            return this.jdbc.queryForIterator(boundSql.getSqlString(), boundSql.getArgs(), rowMapper, cursorFetchSize, cursorDialect.cursorNeedTransaction());
+        } else {
+            return this.jdbc.queryForIterator(boundSql.getSqlString(), boundSql.getArgs(), rowMapper, fetchSize);
+        }
+    }
+
     private static class StreamIterator<R, T, P, D> implements Iterator<D> {
         private final Page                    pageInfo;
         private final AbstractSelect<R, T, P> wrapper;
@@ -434,7 +628,8 @@ public abstract class AbstractSelect<R, T, P> extends BasicQueryCompare<R, T, P>
         private       Iterator<T>             currentIterator;
         private final Function<T, D>          transform;
         private final AtomicLong              limitCounter;
-        private       boolean                 eof = false;
+        private final ReentrantLock           lock = new ReentrantLock(); // 翻页查询期间不钉住虚拟线程
+        private       boolean                 eof  = false;
 
         public StreamIterator(long limit, Page pageInfo, AbstractSelect<R, T, P> wrapper, Function<T, D> transform, RowMapper<T> rowMapper) {
             this.limitCounter = limit < 0 ? null : new AtomicLong(limit);
@@ -444,7 +639,7 @@ public abstract class AbstractSelect<R, T, P> extends BasicQueryCompare<R, T, P>
             this.rowMapper = rowMapper;
         }
 
-        private synchronized void fetchData() {
+        private void fetchData() {
             try {
                 this.wrapper.usePage(this.pageInfo);
                 List<T> queryResult;
@@ -465,35 +660,45 @@ public abstract class AbstractSelect<R, T, P> extends BasicQueryCompare<R, T, P>
         }
 
         @Override
-        public synchronized boolean hasNext() {
-            if (this.limitCounter != null && this.limitCounter.get() <= 0) {
-                return false;
-            }
+        public boolean hasNext() {
+            this.lock.lock();
+            try {
+                if (this.limitCounter != null && this.limitCounter.get() <= 0) {
+                    return false;
+                }
 
-            if (this.currentIterator == null) {
-                this.fetchData();
-            }
+                if (this.currentIterator == null) {
+                    this.fetchData();
+                }
 
-            if (this.currentIterator.hasNext()) {
-                return true;
-            } else if (!this.eof) {
-                this.pageInfo.nextPage();
-                this.fetchData();
-                return this.currentIterator.hasNext();
-            } else {
-                return false;
+                if (this.currentIterator.hasNext()) {
+                    return true;
+                } else if (!this.eof) {
+                    this.pageInfo.nextPage();
+                    this.fetchData();
+                    return this.currentIterator.hasNext();
+                } else {
+                    return false;
+                }
+            } finally {
+                this.lock.unlock();
             }
         }
 
         @Override
-        public synchronized D next() {
-            if (this.hasNext()) {
-                if (this.limitCounter != null) {
-                    this.limitCounter.decrementAndGet();
+        public D next() {
+            this.lock.lock();
+            try {
+                if (this.hasNext()) {
+                    if (this.limitCounter != null) {
+                        this.limitCounter.decrementAndGet();
+                    }
+                    return this.transform.apply(this.currentIterator.next());
+                } else {
+                    throw new NoSuchElementException();
                 }
-                return this.transform.apply(this.currentIterator.next());
-            } else {
-                throw new NoSuchElementException();
+            } finally {
+                this.lock.unlock();
             }
         }
     }
@@ -98,7 +98,11 @@ public abstract class AbstractUpdate<R, T, P> extends BasicQueryCompare<R, T, P>
         }
 
         Objects.requireNonNull(this.jdbc, "Connection unavailable, JdbcTemplate is required.");
-        return this.jdbc.executeUpdate(sqlString, boundSql.getArgs());
+        try {
+            return this.jdbc.executeUpdate(sqlString, boundSql.getArgs());
+        } finally {
+            this.tableChanged();
+        }
     }
 
     @Override
@@ -16,6 +16,7 @@
 package net.hasor.dbvisitor.lambda.core;
 import java.sql.SQLException;
 import java.util.*;
+import javax.sql.DataSource;
 import net.hasor.cobble.StringUtils;
 import net.hasor.cobble.logging.Logger;
 import net.hasor.cobble.logging.LoggerFactory;
@@ -26,11 +27,11 @@ import net.hasor.dbvisitor.dialect.SqlDialect;
 import net.hasor.dbvisitor.dialect.SqlDialectRegister;
 import net.hasor.dbvisitor.dialect.provider.DefaultSqlDialect;
 import net.hasor.dbvisitor.dynamic.QueryContext;
-import net.hasor.dbvisitor.jdbc.ConnectionCallback;
 import net.hasor.dbvisitor.jdbc.core.JdbcTemplate;
 import net.hasor.dbvisitor.mapping.MappingRegistry;
 import net.hasor.dbvisitor.mapping.def.ColumnMapping;
 import net.hasor.dbvisitor.mapping.def.TableMapping;
+import net.hasor.dbvisitor.transaction.DataSourceUtils;
 
 /**
  * 所有 SQL 执行器必要的公共属性
@@ -57,24 +58,12 @@ public abstract class BasicLambda<R, P> {
         this.jdbc = jdbc;
         this.queryContext = ctx;
 
-        SqlDialect dialect = null;
-        if (jdbc != null) {
-            try {
-                dialect = this.jdbc.execute((ConnectionCallback<SqlDialect>) c -> {
-                    return SqlDialectRegister.findDialect(registry.getGlobalOptions(), c);
-                });
-            } catch (Exception e) {
-                logger.error("find dialect error.", e);
-            }
-        }
-
-        if (dialect == null) {
-            try {
-                dialect = SqlDialectRegister.findDialect(registry.getGlobalOptions(), null);
-            } catch (SQLException e) {
-                logger.error("find dialect error.", e);
-                dialect = DefaultSqlDialect.DEFAULT;
-            }
+        SqlDialect dialect;
+        try {
+            dialect = SqlDialectRegister.findDialect(registry.getGlobalOptions(), jdbc);
+        } catch (Exception e) {
+            logger.error("find dialect error.", e);
+            dialect = DefaultSqlDialect.DEFAULT;
         }
 
         this.dialect = dialect;
@@ -90,6 +79,25 @@ public abstract class BasicLambda<R, P> {
         return this.tableMapping;
     }
 
+    /** 通知 QueryContext 当前表的数据已经被修改，事务中的修改在事务结束之后会再通知一次（同一个事务中每张表只通知一次） */
+    protected void tableChanged() {
+        if (this.queryContext == null || !this.queryContext.isTableChangeTracked()) {
+            return;
+        }
+        String table = this.tableMapping.getTable();
+        this.queryContext.tableChanged(table);
+
+        DataSource dataSource = this.jdbc == null ? null : this.jdbc.getDataSource();
+        if (dataSource != null && this.jdbc.getConnection() == null) {
+            try {
+                QueryContext context = this.queryContext;
+                DataSourceUtils.registerCompletion(dataSource, Arrays.asList(context, table), () -> context.tableChanged(table));
+            } catch (SQLException e) {
+                logger.warn("register tableChanged after transaction failed, " + e.getMessage(), e);
+            }
+        }
+    }
+
     protected boolean isQualifier() {
         return this.tableMapping.useDelimited();
     }
@@ -562,6 +562,50 @@ public abstract class BasicQueryCompare<R, T, P> extends BasicLambda<R, P> imple
         this.nextLogic = ConditionLogic.AND;
     }
 
+    protected void addConditionForInRows(List<String> properties, Collection<Object[]> rows) {
+        String[] colNames = new String[properties.size()];
+        String[] colTerms = new String[properties.size()];
+        String[] valTerms = new String[properties.size()];
+        for (int i = 0; i < properties.size(); i++) {
+            ColumnMapping mapping = this.findPropertyByName(properties.get(i));
+            colNames[i] = mapping != null ? mapping.getColumn() : properties.get(i);
+            colTerms[i] = mapping != null ? mapping.getWhereColTemplate() : null;
+            valTerms[i] = mapping != null ? mapping.getWhereValueTemplate() : null;
+        }
+
+        Object[][] values = new Object[rows.size()][];
+        int r = 0;
+        for (Object[] row : rows) {
+            ObjectUtils.assertTrue(row != null && row.length == properties.size(), "the number of row values and properties must be the same.");
+            values[r] = new Object[row.length];
+            for (int i = 0; i < row.length; i++) {
+                values[r][i] = wrapValue(properties.get(i), row[i]);
+            }
+            r++;
+        }
+
+        this.cmdBuilder.addConditionForInRows(this.nextLogic, colNames, colTerms, values, valTerms);
+        this.nextLogic = ConditionLogic.AND;
+    }
+
+    protected void addConditionForSeek(List<String> properties, OrderType orderType, Object[] values) {
+        String[] colNames = new String[properties.size()];
+        String[] colTerms = new String[properties.size()];
+        String[] valTerms = new String[properties.size()];
+        Object[] seekValues = new Object[properties.size()];
+        for (int i = 0; i < properties.size(); i++) {
+            String propertyName = properties.get(i);
+            ColumnMapping mapping = this.findPropertyByName(propertyName);
+            colNames[i] = mapping != null ? mapping.getColumn() : propertyName;
+            colTerms[i] = mapping != null ? mapping.getWhereColTemplate() : null;
+            valTerms[i] = mapping != null ? mapping.getWhereValueTemplate() : null;
+            seekValues[i] = wrapValue(propertyName, values[i]);
+        }
+
+        this.cmdBuilder.addSeekCondition(this.nextLogic, colNames, colTerms, orderType, seekValues, valTerms);
+        this.nextLogic = ConditionLogic.AND;
+    }
+
     protected void addConditionForVectorRange(String propertyName, Object vector, Number threshold, MetricType metricType) {
         ColumnMapping mapping = this.findPropertyByName(propertyName);
         String colName = mapping != null ? mapping.getColumn() : propertyName;
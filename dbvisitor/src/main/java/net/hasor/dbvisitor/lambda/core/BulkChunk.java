@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.lambda.core;
+import java.sql.SQLException;
+
+/**
+ * 分块批量插入中一个分块的执行情况
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public class BulkChunk {
+    private final int          index;
+    private final long         firstRow;
+    private final int          rows;
+    private final long         bytes;
+    private final int[]        result;
+    private final SQLException error;
+
+    public BulkChunk(int index, long firstRow, int rows, long bytes, int[] result, SQLException error) {
+        this.index = index;
+        this.firstRow = firstRow;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.result = result;
+        this.error = error;
+    }
+
+    /** 分块序号，从 0 开始 */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /** 分块中第一行数据在整个数据集中的位置，从 0 开始 */
+    public long getFirstRow() {
+        return this.firstRow;
+    }
+
+    /** 分块中的行数 */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /** 分块参数的估算字节数 */
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    /** 分块的执行结果，失败时为 null */
+    public int[] getResult() {
+        return this.result;
+    }
+
+    /** 分块执行失败时的异常 */
+    public SQLException getError() {
+        return this.error;
+    }
+
+    public boolean isSuccess() {
+        return this.error == null;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkChunk [index=" + this.index + ", firstRow=" + this.firstRow + ", rows=" + this.rows + ", bytes=" + this.bytes + ", success=" + this.isSuccess() + "]";
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.lambda.core;
+/**
+ * 分块批量插入的进度回调
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+@FunctionalInterface
+public interface BulkListener {
+    /** 分块执行完成（成功或失败）时调用，失败时可以通过 {@link BulkChunk#getError()} 获取异常 */
+    void onChunk(BulkChunk chunk);
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.lambda.core;
+/**
+ * 分块批量插入的配置
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public class BulkOptions {
+    private int          batchRows       = 1000;
+    private long         batchBytes      = 0;
+    private boolean      commitEachChunk = false;
+    private boolean      continueOnError = false;
+    private BulkListener listener;
+
+    public static BulkOptions of() {
+        return new BulkOptions();
+    }
+
+    /** 每个分块最多包含的行数，默认 1000 */
+    public int getBatchRows() {
+        return this.batchRows;
+    }
+
+    public void setBatchRows(int batchRows) {
+        if (batchRows <= 0) {
+            throw new IllegalArgumentException("batchRows must be positive.");
+        }
+        this.batchRows = batchRows;
+    }
+
+    public BulkOptions batchRows(int batchRows) {
+        setBatchRows(batchRows);
+        return this;
+    }
+
+    /** 每个分块参数的最大估算字节数，小于等于 0 表示不限制（默认） */
+    public long getBatchBytes() {
+        return this.batchBytes;
+    }
+
+    public void setBatchBytes(long batchBytes) {
+        this.batchBytes = batchBytes;
+    }
+
+    public BulkOptions batchBytes(long batchBytes) {
+        setBatchBytes(batchBytes);
+        return this;
+    }
+
+    /** 每个分块执行后是否提交，只有连接处于 autoCommit 状态时生效（已经在事务中的连接由事务管理提交） */
+    public boolean isCommitEachChunk() {
+        return this.commitEachChunk;
+    }
+
+    public void setCommitEachChunk(boolean commitEachChunk) {
+        this.commitEachChunk = commitEachChunk;
+    }
+
+    public BulkOptions commitEachChunk(boolean commitEachChunk) {
+        setCommitEachChunk(commitEachChunk);
+        return this;
+    }
+
+    /** 分块执行失败时是否继续执行后续分块，默认 false 失败时抛出异常 */
+    public boolean isContinueOnError() {
+        return this.continueOnError;
+    }
+
+    public void setContinueOnError(boolean continueOnError) {
+        this.continueOnError = continueOnError;
+    }
+
+    public BulkOptions continueOnError(boolean continueOnError) {
+        setContinueOnError(continueOnError);
+        return this;
+    }
+
+    /** 每个分块执行完成（成功或失败）时的回调 */
+    public BulkListener getListener() {
+        return this.listener;
+    }
+
+    public void setListener(BulkListener listener) {
+        this.listener = listener;
+    }
+
+    public BulkOptions listener(BulkListener listener) {
+        setListener(listener);
+        return this;
+    }
+}
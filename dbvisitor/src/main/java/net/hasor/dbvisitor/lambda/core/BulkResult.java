@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.lambda.core;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 分块批量插入的执行结果
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public class BulkResult {
+    private       long            rows;
+    private       long            affected;
+    private       int             chunks;
+    private final List<BulkChunk> failures = new ArrayList<>();
+
+    void addChunk(BulkChunk chunk) {
+        this.rows += chunk.getRows();
+        this.chunks++;
+        if (chunk.isSuccess()) {
+            for (int v : chunk.getResult()) {
+                if (v == Statement.SUCCESS_NO_INFO) {
+                    this.affected++;
+                } else if (v > 0) {
+                    this.affected += v;
+                }
+            }
+        } else {
+            this.failures.add(chunk);
+        }
+    }
+
+    /** 处理的总行数（包含失败分块中的行） */
+    public long getRows() {
+        return this.rows;
+    }
+
+    /** 成功分块影响的行数，驱动返回 SUCCESS_NO_INFO 时按 1 行计算 */
+    public long getAffected() {
+        return this.affected;
+    }
+
+    /** 执行的分块数量 */
+    public int getChunks() {
+        return this.chunks;
+    }
+
+    /** 执行失败的分块 */
+    public List<BulkChunk> getFailures() {
+        return Collections.unmodifiableList(this.failures);
+    }
+
+    public boolean isSuccess() {
+        return this.failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "BulkResult [rows=" + this.rows + ", affected=" + this.affected + ", chunks=" + this.chunks + ", failures=" + this.failures.size() + "]";
+    }
+}
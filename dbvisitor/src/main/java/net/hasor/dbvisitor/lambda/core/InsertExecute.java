@@ -18,8 +18,10 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 import net.hasor.dbvisitor.lambda.DuplicateKeyStrategy;
 
 /**
@@ -45,6 +47,22 @@ public interface InsertExecute<R, T> extends BasicFunc<R>, BoundSqlBuilder {
     /** 执行插入，并返回所有结果 */
     int[] executeGetResult() throws SQLException;
 
+    /**
+     * 分块流式批量插入：逐行构建参数，每满 batchRows 行或 batchBytes 字节执行一次批处理，生成的主键在每个分块完成后回填。
+     * <p>只处理 entities 中的数据，不会使用通过 applyEntity/applyMap 加入的数据。</p>
+     * @param entities 数据
+     * @param options 分块配置，为 null 时使用默认配置
+     */
+    BulkResult executeBulk(Iterable<? extends T> entities, BulkOptions options) throws SQLException;
+
+    /** 分块流式批量插入，参考 {@link #executeBulk(Iterable, BulkOptions)}，执行结束后会关闭 Stream */
+    default BulkResult executeBulk(Stream<? extends T> entities, BulkOptions options) throws SQLException {
+        try (Stream<? extends T> stream = entities) {
+            Iterator<? extends T> iterator = stream.iterator();
+            return this.executeBulk(() -> (Iterator<T>) iterator, options);
+        }
+    }
+
     /** insert 策略，默认策略是 {@link DuplicateKeyStrategy#Into} */
     R onDuplicateStrategy(DuplicateKeyStrategy strategy);
 
@@ -55,6 +55,11 @@ class PageObjectForFetchCount extends PageObject {
         return super.getTotalCount();
     }
 
+    /** 已知的记录总数，不会触发 count 查询 */
+    long knownTotalCount() {
+        return super.getTotalCount();
+    }
+
     public void setTotalCount(long totalCount) {
         super.setTotalCount(totalCount);
         this.totalCountInited.set(true);
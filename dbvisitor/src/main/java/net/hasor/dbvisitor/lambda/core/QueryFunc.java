@@ -19,10 +19,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Stream;
 import net.hasor.dbvisitor.jdbc.ResultSetExtractor;
 import net.hasor.dbvisitor.jdbc.RowCallbackHandler;
 import net.hasor.dbvisitor.jdbc.RowMapper;
+import net.hasor.dbvisitor.jdbc.core.ResultSetIterator;
+import net.hasor.dbvisitor.page.KeysetPage;
 import net.hasor.dbvisitor.page.Page;
+import net.hasor.dbvisitor.page.PageResult;
 
 /**
  * Query 复杂操作构造器。
@@ -240,6 +244,13 @@ public interface QueryFunc<R, T, P> extends BasicFunc<R>, BoundSqlBuilder {
     /** 生成分页对象 */
     R initPage(int pageSize, int pageNumber);
 
+    /**
+     * keyset（seek）分页：根据游标添加条件 (k1, k2) &gt; (?, ?)、按照 keys 排序并且只查询 pageSize 条，不使用 offset。
+     * <p>查询（queryForList/queryForMapList）之后 page 的 nextCursor 会被更新为最后一行的 keys 值。</p>
+     * <p>与其它条件一样必须在 groupBy/orderBy 之前调用，追加的 orderBy 会排在 keys 之后。</p>
+     */
+    R seekAfter(KeysetPage page);
+
     /** 执行查询，并通过 RowCallbackHandler 处理结果集。 */
     void query(RowCallbackHandler rch) throws SQLException;
 
@@ -249,6 +260,12 @@ public interface QueryFunc<R, T, P> extends BasicFunc<R>, BoundSqlBuilder {
     /** 执行查询，并结果将被映射到一个列表(一个条目为每一行)的对象，列表中每一条记录都是<code>elementType</code>参数指定的类型对象。 */
     List<T> queryForList() throws SQLException;
 
+    /**
+     * 按照 usePage/initPage 设置的分页信息查询一页数据，并返回带有总记录数的分页结果。
+     * <p>分页信息要求刷新总数或者总数未知时执行 count 查询，启用并行 count 时 count 会在另外一个连接上与数据查询同时执行。</p>
+     */
+    PageResult<T> queryForPage() throws SQLException;
+
     /** 执行查询，并结果将结果映射到对象。 */
     <V> List<V> queryForList(Class<V> asType) throws SQLException;
 
@@ -307,4 +324,22 @@ public interface QueryFunc<R, T, P> extends BasicFunc<R>, BoundSqlBuilder {
 
     /** 分页方式 获取每一条数据,并通过 transform 对变换 */
     <D> Iterator<D> iteratorByBatch(int batchSize, Function<T, D> transform);
+
+    /** 游标方式获取全部数据（只执行一次查询，逐行映射），每批从数据库读取 200 条，使用完毕后必须关闭迭代器。 */
+    default ResultSetIterator<T> iteratorForCursor() throws SQLException {
+        return this.iteratorForCursor(200);
+    }
+
+    /** 游标方式获取全部数据（只执行一次查询，逐行映射），fetchSize 表示每批从数据库读取的条数（部分方言会调整该值），使用完毕后必须关闭迭代器。 */
+    ResultSetIterator<T> iteratorForCursor(int fetchSize) throws SQLException;
+
+    /** 游标方式获取全部数据，每批从数据库读取 200 条，使用完毕后必须关闭 Stream（推荐 try-with-resources）。 */
+    default Stream<T> queryForStream() throws SQLException {
+        return this.iteratorForCursor(200).stream();
+    }
+
+    /** 游标方式获取全部数据，fetchSize 表示每批从数据库读取的条数，使用完毕后必须关闭 Stream（推荐 try-with-resources）。 */
+    default Stream<T> queryForStream(int fetchSize) throws SQLException {
+        return this.iteratorForCursor(fetchSize).stream();
+    }
 }
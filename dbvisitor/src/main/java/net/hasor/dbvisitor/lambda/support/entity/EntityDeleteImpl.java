@@ -15,6 +15,7 @@
  */
 package net.hasor.dbvisitor.lambda.support.entity;
 import java.util.Collection;
+import java.util.List;
 import net.hasor.cobble.BeanUtils;
 import net.hasor.cobble.ObjectUtils;
 import net.hasor.cobble.reflect.SFunction;
@@ -185,6 +186,15 @@ public class EntityDeleteImpl<T> extends AbstractDelete<EntityDelete<T>, T, SFun
         return this.getSelf();
     }
 
+    @Override
+    public EntityDelete<T> inRows(boolean test, List<String> properties, Collection<Object[]> rows) {
+        if (test) {
+            ObjectUtils.assertTrue(!properties.isEmpty() && !rows.isEmpty(), "build inRows failed, properties or rows is empty.");
+            this.addConditionForInRows(properties, rows);
+        }
+        return this.getSelf();
+    }
+
     @Override
     public EntityDelete<T> notIn(boolean test, String property, Collection<?> value) {
         if (test) {
@@ -25,6 +25,7 @@ import net.hasor.cobble.reflect.SFunction;
 import net.hasor.dbvisitor.dialect.BatchBoundSql.BatchBoundSqlObj;
 import net.hasor.dbvisitor.dialect.BoundSql;
 import net.hasor.dbvisitor.dialect.SqlDialect;
+import net.hasor.dbvisitor.dialect.SqlDialectRegister;
 import net.hasor.dbvisitor.dynamic.QueryContext;
 import net.hasor.dbvisitor.jdbc.ConnectionCallback;
 import net.hasor.dbvisitor.jdbc.core.JdbcTemplate;
@@ -32,6 +33,8 @@ import net.hasor.dbvisitor.lambda.EntityInsert;
 import net.hasor.dbvisitor.lambda.Insert;
 import net.hasor.dbvisitor.lambda.MapInsert;
 import net.hasor.dbvisitor.lambda.core.AbstractInsert;
+import net.hasor.dbvisitor.lambda.core.BulkOptions;
+import net.hasor.dbvisitor.lambda.core.BulkResult;
 import net.hasor.dbvisitor.lambda.support.map.MapInsertImpl;
 import net.hasor.dbvisitor.mapping.GeneratedKeyHandler;
 import net.hasor.dbvisitor.mapping.MappingRegistry;
@@ -93,25 +96,32 @@ public class EntityInsertImpl<T> extends AbstractInsert<Insert<T>, T, SFunction<
 
             TypeHandlerRegistry typeRegistry = this.jdbc.getRegistry().getTypeRegistry();
 
-            if (this.insertValuesCount.get() > 1) {
+            int bulkRows = this.insertValuesCount.get() > 1 ? this.bulkInsertRows(useColumns) : 0;
+            if (bulkRows > 1) {
+                return this.jdbc.execute((ConnectionCallback<int[]>) con -> {
+                    SqlArg[][] batchBoundSql = buildInsertArgs(useColumns, true, con);
+                    return executeBulkValues(con, useColumns, this.forBuildInsertColumnTerms, batchBoundSql, bulkRows, typeRegistry);
+                });
+            } else if (this.insertValuesCount.get() > 1) {
                 if (dialect.supportBatch()) {
                     return this.jdbc.execute((ConnectionCallback<int[]>) con -> {
-                        boolean supportGetGeneratedKeys = con != null && con.getMetaData().supportsGetGeneratedKeys();
+                        boolean supportGetGeneratedKeys = con != null && SqlDialectRegister.findDatabaseInfo(con).supportsGetGeneratedKeys();
                         SqlArg[][] batchBoundSql = buildInsertArgs(useColumns, supportGetGeneratedKeys, con);
 
-                        PreparedStatement ps = createPrepareStatement(con, insertSql);
-                        for (Object[] batchItem : batchBoundSql) {
-                            applyPreparedStatement(ps, batchItem, typeRegistry);
-                            ps.addBatch();
-                        }
+                        try (PreparedStatement ps = createPrepareStatement(con, insertSql)) {
+                            for (Object[] batchItem : batchBoundSql) {
+                                applyPreparedStatement(ps, batchItem, typeRegistry);
+                                ps.addBatch();
+                            }
 
-                        int[] res = ps.executeBatch();
-                        processKeySeqHolderAfter(ps);
-                        return res;
+                            int[] res = ps.executeBatch();
+                            processKeySeqHolderAfter(ps);
+                            return res;
+                        }
                     });
                 } else {
                     return this.jdbc.execute((ConnectionCallback<int[]>) con -> {
-                        boolean supportGetGeneratedKeys = con != null && con.getMetaData().supportsGetGeneratedKeys();
+                        boolean supportGetGeneratedKeys = con != null && SqlDialectRegister.findDatabaseInfo(con).supportsGetGeneratedKeys();
                         SqlArg[][] batchBoundSql = buildInsertArgs(useColumns, supportGetGeneratedKeys, con);
                         int[] res = new int[batchBoundSql.length];
 
@@ -127,20 +137,41 @@ public class EntityInsertImpl<T> extends AbstractInsert<Insert<T>, T, SFunction<
                 }
             } else {
                 return this.jdbc.execute((ConnectionCallback<int[]>) con -> {
-                    boolean supportsGetGeneratedKeys = con != null && con.getMetaData().supportsGetGeneratedKeys();
+                    boolean supportsGetGeneratedKeys = con != null && SqlDialectRegister.findDatabaseInfo(con).supportsGetGeneratedKeys();
                     SqlArg[][] batchBoundSql = buildInsertArgs(useColumns, supportsGetGeneratedKeys, con);
 
-                    PreparedStatement ps = createPrepareStatement(con, insertSql);
-                    applyPreparedStatement(ps, batchBoundSql[0], typeRegistry);
+                    try (PreparedStatement ps = createPrepareStatement(con, insertSql)) {
+                        applyPreparedStatement(ps, batchBoundSql[0], typeRegistry);
 
-                    int res = ps.executeUpdate();
-                    processKeySeqHolderAfter(ps);
-                    return new int[] { res };
+                        int res = ps.executeUpdate();
+                        processKeySeqHolderAfter(ps);
+                        return new int[] { res };
+                    }
                 });
             }
         } finally {
             this.reset();
+            this.tableChanged();
+        }
+    }
+
+    @Override
+    public BulkResult executeBulk(Iterable<? extends T> entities, BulkOptions options) throws SQLException {
+        String insertSql = super.buildInsert(this.forBuildPrimaryKeys, this.forBuildInsertColumns, this.forBuildInsertColumnTerms);
+        List<ColumnMapping> mappings = this.findColumnMappings(this.forBuildInsertColumns);
+        if (logger.isDebugEnabled()) {
+            logger.trace("Executing SQL bulk statement [" + insertSql + "].");
         }
+
+        return super.executeBulk(entities, options, (con, entity) -> {
+            SqlArg[] args;
+            if (entity instanceof Map) {
+                args = this.buildArgsForMap((Map) entity, mappings, true, con);
+            } else {
+                args = this.buildArgsForEntity(entity, mappings, true, con);
+            }
+            return new BoundSql.BoundSqlObj(insertSql, args);
+        }, this.exampleIsMap());
     }
 
     @Override
@@ -187,17 +218,7 @@ public class EntityInsertImpl<T> extends AbstractInsert<Insert<T>, T, SFunction<
             this.fillBackEntityList.addAll(this.insertValues);
         }
 
-        TableMapping<?> tableMapping = this.getTableMapping();
-        List<ColumnMapping> mappings = new ArrayList<>();
-        for (String column : useColumns) {
-            ColumnMapping primary = tableMapping.getPrimaryPropertyByColumn(column);
-            if (primary == null) {
-                List<ColumnMapping> properties = tableMapping.getPropertyByColumn(column);
-                throw new SQLException("conflict, there are " + properties.size() + " properties mapping the same column '" + column + "', and not declare primary.");
-            }
-            mappings.add(primary);
-        }
-
+        List<ColumnMapping> mappings = this.findColumnMappings(useColumns);
         SqlArg[][] batchArgs = new SqlArg[this.insertValuesCount.get()][];
         int i = 0;
         for (InsertEntity entity : this.insertValues) {
@@ -213,6 +234,20 @@ public class EntityInsertImpl<T> extends AbstractInsert<Insert<T>, T, SFunction<
         return batchArgs;
     }
 
+    private List<ColumnMapping> findColumnMappings(List<String> useColumns) throws SQLException {
+        TableMapping<?> tableMapping = this.getTableMapping();
+        List<ColumnMapping> mappings = new ArrayList<>();
+        for (String column : useColumns) {
+            ColumnMapping primary = tableMapping.getPrimaryPropertyByColumn(column);
+            if (primary == null) {
+                List<ColumnMapping> properties = tableMapping.getPropertyByColumn(column);
+                throw new SQLException("conflict, there are " + properties.size() + " properties mapping the same column '" + column + "', and not declare primary.");
+            }
+            mappings.add(primary);
+        }
+        return mappings;
+    }
+
     protected SqlArg[] buildArgsForMap(Map entity, List<ColumnMapping> mappings, boolean forExecute, Connection executeConn) throws SQLException {
         SqlArg[] args = new SqlArg[mappings.size()];
         for (int j = 0; j < mappings.size(); j++) {
@@ -289,19 +324,8 @@ public class EntityInsertImpl<T> extends AbstractInsert<Insert<T>, T, SFunction<
         }
 
         for (InsertEntity entity : this.fillBackEntityList) {
-            for (Object obj : entity.objList) {
-                if (rs != null && !rs.next()) {
-                    break;
-                }
-                for (int i = 0; i < this.fillAfterProperties.size(); i++) {
-                    ColumnMapping mapping = this.fillAfterProperties.get(i);
-                    if (mapping.getKeySeqHolder() != null) {
-                        Object value = mapping.getKeySeqHolder().afterApply(rs, obj, i, mapping);
-                        if (entity.isMap && value != null) {
-                            ((Map) obj).put(mapping.getProperty(), value);
-                        }
-                    }
-                }
+            if (!this.processKeySeqHolderAfter(rs, entity.objList, entity.isMap)) {
+                break;
             }
         }
     }
@@ -15,6 +15,7 @@
  */
 package net.hasor.dbvisitor.lambda.support.entity;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * 动态拼条件。
@@ -221,6 +222,19 @@ public interface EntityQueryCompare<R> {
      */
     R in(boolean test, String property, Collection<?> value);
 
+    /**
+     * 多列 in 条件，rows 中每个数组为一行，数组中的值与 properties 一一对应，类似：'(col1, col2) in ((?,?),(?,?))'
+     * <p>数据库不支持行值 in 时展开为：'(col1 = ? and col2 = ?) or (col1 = ? and col2 = ?)'</p>
+     */
+    default R inRows(List<String> properties, Collection<Object[]> rows) {
+        return this.inRows(true, properties, rows);
+    }
+
+    /**
+     * 当 test 条件为真时才使用多列 in 条件，类似：'if test then (col1, col2) in ((?,?),(?,?))'
+     */
+    R inRows(boolean test, List<String> properties, Collection<Object[]> rows);
+
     /**
      * not in 条件，类似：'col not in (?,?,?)'
      */
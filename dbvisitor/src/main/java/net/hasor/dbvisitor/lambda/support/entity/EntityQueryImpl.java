@@ -281,6 +281,15 @@ public class EntityQueryImpl<T> extends AbstractSelect<EntityQuery<T>, T, SFunct
         return this.getSelf();
     }
 
+    @Override
+    public EntityQuery<T> inRows(boolean test, List<String> properties, Collection<Object[]> rows) {
+        if (test) {
+            ObjectUtils.assertTrue(!properties.isEmpty() && !rows.isEmpty(), "build inRows failed, properties or rows is empty.");
+            this.addConditionForInRows(properties, rows);
+        }
+        return this.getSelf();
+    }
+
     @Override
     public EntityQuery<T> notIn(boolean test, String property, Collection<?> value) {
         if (test) {
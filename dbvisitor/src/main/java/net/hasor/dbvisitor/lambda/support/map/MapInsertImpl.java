@@ -29,6 +29,8 @@ import net.hasor.dbvisitor.jdbc.core.JdbcTemplate;
 import net.hasor.dbvisitor.lambda.Insert;
 import net.hasor.dbvisitor.lambda.MapInsert;
 import net.hasor.dbvisitor.lambda.core.AbstractInsert;
+import net.hasor.dbvisitor.lambda.core.BulkOptions;
+import net.hasor.dbvisitor.lambda.core.BulkResult;
 import net.hasor.dbvisitor.mapping.MappingRegistry;
 import net.hasor.dbvisitor.mapping.def.ColumnMapping;
 import net.hasor.dbvisitor.mapping.def.TableMapping;
@@ -84,22 +86,54 @@ public class MapInsertImpl extends AbstractInsert<Insert<Map<String, Object>>, M
         try {
             return this.jdbc.execute((ConnectionCallback<int[]>) con -> {
                 final TypeHandlerRegistry typeRegistry = this.registry.getTypeRegistry();
-                int[] result = new int[this.insertValuesCount.get()];
-
-                int i = 0;
+                List<Map> rows = new ArrayList<>(this.insertValuesCount.get());
                 for (InsertEntity entity : this.insertValues) {
                     for (Object obj : entity.objList) {
-                        result[i] = executeOne(con, (Map) obj, typeRegistry);
-                        i++;
+                        rows.add((Map) obj);
+                    }
+                }
+
+                // 相邻且插入列相同的多行数据，在方言支持时使用多行插入语句
+                int[] result = new int[rows.size()];
+                int i = 0;
+                while (i < rows.size()) {
+                    Map<String, String> keysMap = this.extractKeysMap(rows.get(i));
+                    List<String> columns = new ArrayList<>(keysMap.values());
+                    List<Map.Entry<String, String>> keys = new ArrayList<>(keysMap.entrySet());
+                    int bulkRows = rows.size() > 1 ? this.bulkInsertRows(columns) : 0;
+                    int end = i + 1;
+                    if (bulkRows > 1) {
+                        while (end < rows.size() && keys.equals(new ArrayList<>(this.extractKeysMap(rows.get(end)).entrySet()))) {
+                            end++;
+                        }
+                    }
+
+                    if (end - i > 1) {
+                        Object[][] batchArgs = new Object[end - i][];
+                        for (int j = i; j < end; j++) {
+                            batchArgs[j - i] = this.buildArgs(rows.get(j), keysMap);
+                        }
+                        int[] res = executeBulkValues(con, columns, this.forBuildInsertColumnTerms, batchArgs, bulkRows, typeRegistry);
+                        System.arraycopy(res, 0, result, i, res.length);
+                    } else {
+                        result[i] = executeOne(con, rows.get(i), typeRegistry);
                     }
+                    i = end;
                 }
                 return result;
             });
         } finally {
             this.reset();
+            this.tableChanged();
         }
     }
 
+    @Override
+    public BulkResult executeBulk(Iterable<? extends Map<String, Object>> entities, BulkOptions options) throws SQLException {
+        // 每行的 SQL 取决于 Map 中的 key，相邻行的 SQL 相同时才会合并到同一个批处理中
+        return super.executeBulk(entities, options, (con, entity) -> this.buildBoundSql((Map) entity), true);
+    }
+
     private int executeOne(Connection con, Map ent, TypeHandlerRegistry typeRegistry) throws SQLException {
         BoundSqlObj boundSqlObj = this.buildBoundSql(ent);
         String sqlString = boundSqlObj.getSqlString();
@@ -120,15 +154,18 @@ public class MapInsertImpl extends AbstractInsert<Insert<Map<String, Object>>, M
         });
 
         String insertSql = buildInsert(this.forBuildPrimaryKeys, insertColumns, this.forBuildInsertColumnTerms);
-        SqlArg[] args = new SqlArg[entityKeyMap.size()];
+        return new BoundSqlObj(insertSql, this.buildArgs(entity, entityKeyMap));
+    }
 
-        for (int i = 0; i < insertProperties.size(); i++) {
-            Object arg = entity.get(insertProperties.get(i));
+    protected SqlArg[] buildArgs(Map entity, Map<String, String> entityKeyMap) {
+        SqlArg[] args = new SqlArg[entityKeyMap.size()];
+        int i = 0;
+        for (String property : entityKeyMap.keySet()) {
+            Object arg = entity.get(property);
             Integer jdbcType = arg == null ? null : TypeHandlerRegistry.toSqlType(arg.getClass());
-            args[i] = (arg == null) ? null : new SqlArg(arg, jdbcType, null);
+            args[i++] = (arg == null) ? null : new SqlArg(arg, jdbcType, null);
         }
-
-        return new BoundSqlObj(insertSql, args);
+        return args;
     }
 
     protected Map<String, String> extractKeysMap(Map entity) {
@@ -240,6 +240,7 @@ public interface BaseMapper<T> extends Mapper {
 
     /**
      * 根据 ID 批量删除。联合主键表的批量删除需要使用 {@link #deleteList(List)} 或 {@link #deleteListByMap(List)} 或 {@link #delete()}
+     * <p>使用 IN 条件，ID 数量超出方言的 IN 列表上限时会拆分为多条语句依次执行。</p>
      * @param idList 主键IDs
      */
     int deleteByIds(List<? extends Serializable> idList) throws RuntimeSQLException;
@@ -252,9 +253,20 @@ public interface BaseMapper<T> extends Mapper {
 
     /**
      * 根据 ID 批量查询。联合主键表的查询需要使用 {@link #loadListBy(List)} 或 {@link #query()}
+     * <p>使用 IN 条件，ID 数量超出方言的 IN 列表上限时会拆分为多次查询再合并结果，
+     * 配置了 {@link net.hasor.dbvisitor.session.Configuration#setParallelExecutor} 时各次查询并行执行。</p>
      * @param idList 主键值列表
      */
-    List<T> selectByIds(List<? extends Serializable> idList) throws RuntimeSQLException;
+    default List<T> selectByIds(List<? extends Serializable> idList) throws RuntimeSQLException {
+        return this.selectByIds(idList, false);
+    }
+
+    /**
+     * 根据 ID 批量查询，参考 {@link #selectByIds(List)}
+     * @param idList 主键值列表
+     * @param keepOrder 为 true 时按照 idList 的顺序返回结果（不存在的 ID 会被忽略，重复的 ID 只返回一次，主键值与传入的 ID 无法对应的记录追加在最后）
+     */
+    List<T> selectByIds(List<? extends Serializable> idList, boolean keepOrder) throws RuntimeSQLException;
 
     /**
      * 根据参考对象加载数据库记录，参考对象必须包含主键字段。
@@ -266,9 +278,19 @@ public interface BaseMapper<T> extends Mapper {
     /**
      * 根据参考对象加载数据库记录，参考对象必须包含主键字段。
      * 与 {@link #selectByIds(List)} 方法的区别在于，该方法会自动提取参考对象中的主键字段作为查询条件。参考对象可以是 Map、实体对象或其它类型。
+     * <p>单一主键使用 IN 条件，联合主键使用行值 IN 条件（方言不支持时展开为 OR 条件），数据较多时的处理方式与 {@link #selectByIds(List)} 相同。</p>
      * @param refDataList 参考对象
      */
-    List<T> loadListBy(List<?> refDataList) throws RuntimeSQLException;
+    default List<T> loadListBy(List<?> refDataList) throws RuntimeSQLException {
+        return this.loadListBy(refDataList, false);
+    }
+
+    /**
+     * 根据参考对象加载数据库记录，参考 {@link #loadListBy(List)}
+     * @param refDataList 参考对象
+     * @param keepOrder 为 true 时按照 refDataList 的顺序返回结果（不存在的记录会被忽略，重复的主键只返回一次，主键值与传入的值无法对应的记录追加在最后）
+     */
+    List<T> loadListBy(List<?> refDataList, boolean keepOrder) throws RuntimeSQLException;
 
     /**
      * 根据 entity 条件，作为样本 null 将不会被列入条件。
@@ -295,7 +317,7 @@ public interface BaseMapper<T> extends Mapper {
      * 使用参考对象作为查询条件，进行分页查询。参考对象可以是 Map、实体对象或其它类型。
      * 注意：如果想匹配 null 值需要使用 queryByCondition 方法
      * @param sample 参考对象可以是 Map、实体对象或其它类型。
-     * @param page 分页参数对象
+     * @param page 分页参数对象，使用 {@link net.hasor.dbvisitor.page.KeysetPage} 时以 keyset 方式分页，查询之后可通过它获取下一页的游标
      */
     default PageResult<T> pageBySample(Object sample, Page page) throws RuntimeSQLException {
         return this.pageBySample(sample, page, Collections.emptyMap(), Collections.emptyMap());
@@ -319,6 +341,7 @@ public interface BaseMapper<T> extends Mapper {
      * @param page 分页参数对象
      * @param orderBy 排序字段和排序方式。
      * @param nulls 排序字段的 NULL 值排序方式。
+     * @see net.hasor.dbvisitor.page.KeysetPage
      */
     PageResult<T> pageBySample(Object sample, Page page, Map<String, OrderType> orderBy, Map<String, OrderNullsStrategy> nulls) throws RuntimeSQLException;
 
@@ -95,4 +95,18 @@ public @interface Query {
      * @return 用于绑定输出参数的参数名数组，默认值为空数组
      */
     String[] bindOut() default {};
+
+    /**
+     * 是否使用结果缓存，需要同时为 Configuration 配置 ResultCache。
+     * 缓存以最终执行的 SQL 和参数为 key，相关的表被 Mapper 的 insert/update/delete 语句或 BaseMapper 修改后缓存失效。
+     * @return 是否使用结果缓存，默认为 false
+     */
+    boolean useCache() default false;
+
+    /**
+     * 结果缓存依赖的表，这些表的数据被修改后缓存失效。
+     * 不配置时从执行的 SQL 中识别 from/join 之后的表名。
+     * @return 结果缓存依赖的表名数组，默认值为空数组
+     */
+    String[] cacheTables() default {};
 }
@@ -36,6 +36,8 @@ public interface ConfigKeys {
     String RESULT_ROW_MAPPER    = "resultRowMapper";    // 行映射器
     String RESULT_TYPE_HANDLER  = "resultTypeHandler";  // 结果类型处理器
     String BIND_OUT             = "bindOut";            // 输出参数绑定
+    String USE_CACHE            = "useCache";           // 是否使用结果缓存
+    String CACHE_TABLES         = "cacheTables";        // 结果缓存依赖的表
 
     // 插入(INSERT)相关配置键
     String KEY_GENERATED = "useGeneratedKeys";          // 是否使用生成键
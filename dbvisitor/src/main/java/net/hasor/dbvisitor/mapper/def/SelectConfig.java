@@ -15,6 +15,8 @@
  */
 package net.hasor.dbvisitor.mapper.def;
 import java.util.function.Function;
+import net.hasor.cobble.ArrayUtils;
+import net.hasor.cobble.StringUtils;
 import net.hasor.dbvisitor.dynamic.logic.ArrayDynamicSql;
 
 /**
@@ -23,6 +25,9 @@ import net.hasor.dbvisitor.dynamic.logic.ArrayDynamicSql;
  * @version 2021-06-19
  */
 public class SelectConfig extends DqlConfig {
+    private boolean  useCache    = false;                         // 是否使用结果缓存
+    private String[] cacheTables = ArrayUtils.EMPTY_STRING_ARRAY; // 结果缓存依赖的表，为空表示从 SQL 中识别
+
     /**
      * 构造函数
      * @param target 动态SQL构建目标对象
@@ -30,6 +35,11 @@ public class SelectConfig extends DqlConfig {
      */
     public SelectConfig(ArrayDynamicSql target, Function<String, String> config) {
         super(target, config);
+
+        if (config != null) {
+            this.useCache = Boolean.parseBoolean(config.apply(USE_CACHE));
+            this.cacheTables = config.andThen(s -> StringUtils.isNotBlank(s) ? StringUtils.split(s, ",") : ArrayUtils.EMPTY_STRING_ARRAY).apply(CACHE_TABLES);
+        }
     }
 
     /**
@@ -40,4 +50,20 @@ public class SelectConfig extends DqlConfig {
     public QueryType getType() {
         return QueryType.Select;
     }
+
+    public boolean isUseCache() {
+        return this.useCache;
+    }
+
+    public void setUseCache(boolean useCache) {
+        this.useCache = useCache;
+    }
+
+    public String[] getCacheTables() {
+        return this.cacheTables;
+    }
+
+    public void setCacheTables(String[] cacheTables) {
+        this.cacheTables = cacheTables;
+    }
 }
\ No newline at end of file
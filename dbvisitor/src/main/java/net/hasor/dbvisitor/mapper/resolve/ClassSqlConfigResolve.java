@@ -146,6 +146,8 @@ public class ClassSqlConfigResolve implements SqlConfigResolve<Method>, ConfigKe
             }
 
             cfg.put(BIND_OUT, StringUtils.join(((Query) annotation).bindOut(), ","));
+            cfg.put(USE_CACHE, String.valueOf(((Query) annotation).useCache()));
+            cfg.put(CACHE_TABLES, StringUtils.join(((Query) annotation).cacheTables(), ","));
 
             ArrayDynamicSql dynamicSql = new ArrayDynamicSql();
             dynamicSql.addChildNode(new PlanDynamicSql(StringUtils.join(((Query) annotation).value(), " ")));
@@ -94,6 +94,8 @@ public class XmlSqlConfigResolve implements SqlConfigResolve<Node>, ConfigKeys {
                 cfg.put(RESULT_ROW_MAPPER, getNodeAttributeValue(config, "resultRowMapper"));
                 cfg.put(RESULT_TYPE_HANDLER, getNodeAttributeValue(config, "resultTypeHandler"));
                 cfg.put(BIND_OUT, getNodeAttributeValue(config, "bindOut"));
+                cfg.put(USE_CACHE, getNodeAttributeValue(config, "useCache"));
+                cfg.put(CACHE_TABLES, getNodeAttributeValue(config, "cacheTables"));
                 return new SelectConfig(dynamicSql, cfg::get);
             }
             case Segment: {
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.mapping;
+import java.lang.invoke.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import net.hasor.cobble.ExceptionUtils;
+import net.hasor.cobble.StringUtils;
+import net.hasor.cobble.function.Property;
+import net.hasor.cobble.logging.Logger;
+
+/**
+ * 实体属性的快速访问器，在 TableMapping 加载期间为实体生成实例化函数以及属性的读写函数。
+ * <ul>
+ *   <li>公开的类和方法，通过 LambdaMetafactory 生成函数（原始类型参数的 setter 除外）</li>
+ *   <li>其它情况通过 MethodHandle 访问</li>
+ *   <li>以上都不可用时，使用原有的反射方式（{@link net.hasor.cobble.BeanUtils#getPropertyFunc(Class)}）</li>
+ * </ul>
+ * 通过系统属性 <code>-Ddbvisitor.accessor=reflect</code> 可以关闭快速访问器。
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public final class PropertyAccessors {
+    private static final Logger               logger  = Logger.getLogger(PropertyAccessors.class);
+    private static final boolean              ENABLED = !"reflect".equalsIgnoreCase(System.getProperty("dbvisitor.accessor"));
+    private static final MethodHandles.Lookup LOOKUP  = MethodHandles.lookup();
+    private static final MethodType           GETTER  = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType           SETTER  = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private PropertyAccessors() {
+    }
+
+    /** 快速访问器是否可用 */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * 为反射方式的 Property 创建快速访问器，无法创建时返回原始 Property。
+     * @param beanType 属性所属的类型
+     * @param name 属性名
+     * @param property 通过反射获取的 Property
+     */
+    public static Property fastProperty(Class<?> beanType, String name, Property property) {
+        if (!ENABLED || property == null || beanType == null || Map.class.isAssignableFrom(beanType) || property instanceof FastProperty) {
+            return property;
+        }
+
+        try {
+            return createProperty(beanType, name, property);
+        } catch (Throwable e) {
+            logger.debug("create fast property '" + beanType.getName() + "." + name + "' failed, using reflect. " + e.getMessage());
+            return property;
+        }
+    }
+
+    /**
+     * 创建实体类型的实例化函数，优先使用 LambdaMetafactory，其次 MethodHandle，最后使用反射。
+     * @param beanType 实体类型
+     */
+    public static <T> Supplier<T> instantiator(Class<T> beanType) {
+        if (ENABLED && !beanType.isInterface() && !Modifier.isAbstract(beanType.getModifiers())) {
+            try {
+                return createInstantiator(beanType);
+            } catch (Throwable e) {
+                logger.debug("create fast instantiator for '" + beanType.getName() + "' failed, using reflect. " + e.getMessage());
+            }
+        }
+        return reflectInstantiator(beanType);
+    }
+
+    /** 使用反射的实例化函数 */
+    public static <T> Supplier<T> reflectInstantiator(Class<T> beanType) {
+        return () -> {
+            try {
+                return beanType.newInstance();
+            } catch (Exception e) {
+                throw ExceptionUtils.toRuntime(e);
+            }
+        };
+    }
+
+    private static <T> Supplier<T> createInstantiator(Class<T> beanType) throws Throwable {
+        Constructor<T> constructor = beanType.getDeclaredConstructor();
+        if (isPublic(constructor.getModifiers(), beanType) && isVisible(beanType)) {
+            MethodHandle target = LOOKUP.findConstructor(beanType, MethodType.methodType(void.class));
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get",        //
+                    MethodType.methodType(Supplier.class),                     //
+                    MethodType.methodType(Object.class),                       //
+                    target,                                                    //
+                    MethodType.methodType(beanType));
+            return (Supplier<T>) site.getTarget().invoke();
+        }
+
+        constructor.setAccessible(true);
+        MethodHandle handle = LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+        return () -> {
+            try {
+                return (T) handle.invokeExact();
+            } catch (Throwable e) {
+                throw ExceptionUtils.toRuntime(e);
+            }
+        };
+    }
+
+    private static Property createProperty(Class<?> beanType, String name, Property property) throws Throwable {
+        // 与 BeanUtils.getPropertyFunc 的规则保持一致：get/is 前缀为 reader，set 前缀为 writer，若存在多个候选则不做处理。
+        List<Method> readers = new ArrayList<>();
+        List<Method> writers = new ArrayList<>();
+        for (Method method : beanType.getMethods()) {
+            if (method.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            String methodName = method.getName();
+            if (methodName.startsWith("get") && name.equals(StringUtils.firstCharToLowerCase(methodName.substring(3)))) {
+                readers.add(method);
+            } else if (methodName.startsWith("is") && name.equals(StringUtils.firstCharToLowerCase(methodName.substring(2)))) {
+                readers.add(method);
+            } else if (methodName.startsWith("set") && name.equals(StringUtils.firstCharToLowerCase(methodName.substring(3)))) {
+                writers.add(method);
+            }
+        }
+        if (readers.size() > 1 || writers.size() > 1) {
+            return property;
+        }
+
+        Field field = property.getField();
+        Method reader = readers.isEmpty() ? null : readers.get(0);
+        Method writer = writers.isEmpty() ? null : writers.get(0);
+        if (reader != null && (reader.getParameterCount() != 0 || Modifier.isStatic(reader.getModifiers()))) {
+            return property;
+        }
+        if (writer != null && (writer.getParameterCount() != 1 || Modifier.isStatic(writer.getModifiers()))) {
+            return property;
+        }
+        if (field != null && (Modifier.isFinal(field.getModifiers()) || Modifier.isStatic(field.getModifiers()))) {
+            return property;
+        }
+        if (property.isReadOnly() != (writer == null && field == null)) {
+            return property;
+        }
+
+        Function<Object, Object> getter = null;
+        if (reader != null) {
+            getter = createGetter(beanType, reader);
+        } else if (field != null) {
+            getter = handleGetter(LOOKUP.unreflectGetter(accessible(field)));
+        }
+
+        BiConsumer<Object, Object> setter = null;
+        if (writer != null) {
+            setter = createSetter(beanType, writer);
+        } else if (field != null) {
+            setter = handleSetter(LOOKUP.unreflectSetter(accessible(field)));
+        }
+
+        return new FastProperty(property, getter, setter);
+    }
+
+    private static Function<Object, Object> createGetter(Class<?> beanType, Method reader) throws Throwable {
+        Class<?> returnType = reader.getReturnType();
+        if (isPublic(reader.getModifiers(), reader.getDeclaringClass()) && !returnType.isPrimitive() && isVisible(beanType, reader.getDeclaringClass(), returnType)) {
+            MethodHandle target = LOOKUP.unreflect(reader);
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply",      //
+                    MethodType.methodType(Function.class),                     //
+                    MethodType.methodType(Object.class, Object.class),         //
+                    target,                                                    //
+                    MethodType.methodType(returnType, beanType));
+            return (Function<Object, Object>) site.getTarget().invoke();
+        }
+        return handleGetter(LOOKUP.unreflect(accessible(reader)));
+    }
+
+    private static BiConsumer<Object, Object> createSetter(Class<?> beanType, Method writer) throws Throwable {
+        Class<?> paramType = writer.getParameterTypes()[0];
+        if (isPublic(writer.getModifiers(), writer.getDeclaringClass()) && !paramType.isPrimitive() && isVisible(beanType, writer.getDeclaringClass(), paramType)) {
+            MethodHandle target = LOOKUP.unreflect(writer);
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept",     //
+                    MethodType.methodType(BiConsumer.class),                   //
+                    MethodType.methodType(void.class, Object.class, Object.class), //
+                    target,                                                    //
+                    MethodType.methodType(void.class, beanType, paramType));
+            return (BiConsumer<Object, Object>) site.getTarget().invoke();
+        }
+        // primitive parameter using MethodHandle, it supports unboxing and widening like Method.invoke
+        return handleSetter(LOOKUP.unreflect(accessible(writer)));
+    }
+
+    private static Function<Object, Object> handleGetter(MethodHandle handle) {
+        MethodHandle getter = handle.asType(GETTER);
+        return bean -> {
+            try {
+                return getter.invokeExact(bean);
+            } catch (Throwable e) {
+                throw ExceptionUtils.toRuntime(e);
+            }
+        };
+    }
+
+    private static BiConsumer<Object, Object> handleSetter(MethodHandle handle) {
+        MethodHandle setter = handle.asType(SETTER);
+        return (bean, value) -> {
+            try {
+                setter.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw ExceptionUtils.toRuntime(e);
+            }
+        };
+    }
+
+    private static <T extends java.lang.reflect.AccessibleObject> T accessible(T object) {
+        if (!object.isAccessible()) {
+            object.setAccessible(true);
+        }
+        return object;
+    }
+
+    private static boolean isPublic(int modifiers, Class<?> declaringClass) {
+        return Modifier.isPublic(modifiers) && Modifier.isPublic(declaringClass.getModifiers());
+    }
+
+    /** LambdaMetafactory 生成的类由 dbVisitor 的 ClassLoader 定义，要求相关的类型对其可见 */
+    private static boolean isVisible(Class<?>... types) {
+        ClassLoader loader = PropertyAccessors.class.getClassLoader();
+        for (Class<?> type : types) {
+            if (type.isPrimitive()) {
+                continue;
+            }
+            try {
+                if (Class.forName(type.getName(), false, loader) != type) {
+                    return false;
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 与 SimpleProperty 的行为保持一致：读写期间发生的异常会被忽略 */
+    private static class FastProperty implements Property {
+        private final Property                   origin;
+        private final Function<Object, Object>   getter;
+        private final BiConsumer<Object, Object> setter;
+
+        FastProperty(Property origin, Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+            this.origin = origin;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public boolean isReadOnly() {
+            return this.origin.isReadOnly();
+        }
+
+        @Override
+        public Field getField() {
+            return this.origin.getField();
+        }
+
+        @Override
+        public Object get(Object instance) {
+            if (this.getter == null) {
+                return null;
+            }
+            try {
+                return this.getter.apply(instance);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        @Override
+        public void set(Object instance, Object value) {
+            if (this.setter == null) {
+                return;
+            }
+            try {
+                this.setter.accept(instance, value);
+            } catch (Exception e) {
+                // same as SimpleProperty
+            }
+        }
+    }
+}
@@ -15,11 +15,13 @@
  */
 package net.hasor.dbvisitor.mapping.def;
 import java.util.*;
+import java.util.function.Supplier;
 import net.hasor.cobble.StringUtils;
 import net.hasor.cobble.ref.LinkedCaseInsensitiveMap;
 import net.hasor.cobble.reflect.Annotations;
 import net.hasor.dbvisitor.mapping.KeyType;
 import net.hasor.dbvisitor.mapping.Primary;
+import net.hasor.dbvisitor.mapping.PropertyAccessors;
 
 /**
  * 一个实体的映射信息
@@ -31,6 +33,7 @@ public class TableDef<T> implements TableMapping<T> {
     private       String                           schema;
     private       String                           table;
     private final Class<T>                         entityType;
+    private final Supplier<T>                      instantiator;
     private       Annotations                      annotations;
     private final boolean                          autoProperty;
     private final boolean                          useDelimited;
@@ -58,6 +61,7 @@ public class TableDef<T> implements TableMapping<T> {
         this.useDelimited = useDelimited;
         this.caseInsensitive = caseInsensitive;
         this.mapBased = Map.class.isAssignableFrom(entityType);
+        this.instantiator = this.mapBased ? PropertyAccessors.reflectInstantiator(entityType) : PropertyAccessors.instantiator(entityType);
         this.useGeneratedKey = false;
         this.columnMappings = new ArrayList<>();
         this.mapByProperty = (caseInsensitive && Map.class.isAssignableFrom(entityType)) ? new LinkedCaseInsensitiveMap<>() : new LinkedHashMap<>();
@@ -100,6 +104,11 @@ public class TableDef<T> implements TableMapping<T> {
         return this.entityType;
     }
 
+    @Override
+    public T newInstance() {
+        return this.instantiator.get();
+    }
+
     @Override
     public Annotations getAnnotations() {
         return this.annotations;
@@ -16,6 +16,7 @@
 package net.hasor.dbvisitor.mapping.def;
 import java.util.Collection;
 import java.util.List;
+import net.hasor.cobble.ExceptionUtils;
 import net.hasor.cobble.reflect.Annotations;
 
 /**
@@ -36,6 +37,15 @@ public interface TableMapping<T> {
     /** 获取映射的实体类类型 */
     Class<T> entityType();
 
+    /** 创建实体类型的对象，默认通过反射调用无参构造方法 */
+    default T newInstance() {
+        try {
+            return this.entityType().newInstance();
+        } catch (Exception e) {
+            throw ExceptionUtils.toRuntime(e);
+        }
+    }
+
     /** 获取表/实体类上的注解信息 */
     Annotations getAnnotations();
 
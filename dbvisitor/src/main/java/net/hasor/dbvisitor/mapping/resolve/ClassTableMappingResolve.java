@@ -265,7 +265,7 @@ public class ClassTableMappingResolve extends AbstractTableMappingResolve<Class<
                 typeHandler = typeRegistry.createTypeHandler(typeHandlerType, type);
             }
 
-            colDef = new ColumnDef(column, name, jdbcType, javaType, typeHandler, handler);
+            colDef = new ColumnDef(column, name, jdbcType, javaType, typeHandler, PropertyAccessors.fastProperty(def.entityType(), name, handler));
             colDef.setAnnotations(propertyAnno);
         } else if (def.isAutoProperty()) {
             String column = hump2Line(name, def.isMapUnderscoreToCamelCase());
@@ -273,7 +273,7 @@ public class ClassTableMappingResolve extends AbstractTableMappingResolve<Class<
             int jdbcType = TypeHandlerRegistry.toSqlType(javaType);
             TypeHandler<?> typeHandler = registry.getTypeRegistry().getTypeHandler(javaType);
 
-            colDef = new ColumnDef(column, name, jdbcType, javaType, typeHandler, handler);
+            colDef = new ColumnDef(column, name, jdbcType, javaType, typeHandler, PropertyAccessors.fastProperty(def.entityType(), name, handler));
             colDef.setAnnotations(propertyAnno);
         } else {
             return;
@@ -198,7 +198,7 @@ public class XmlTableMappingResolve extends AbstractTableMappingResolve<Node> {
         Class<?> columnJavaType = resolveJavaType(xmlNode, javaType, propertyHandler, classLoader);
         Integer columnJdbcType = resolveJdbcType(jdbcType, columnJavaType, typeRegistry);
         TypeHandler<?> columnTypeHandler = resolveTypeHandler(columnJavaType, columnJdbcType, classLoader, typeHandler, typeRegistry);
-        ColumnDef colDef = new ColumnDef(column, property, columnJdbcType, columnJavaType, columnTypeHandler, propertyHandler);
+        ColumnDef colDef = new ColumnDef(column, property, columnJdbcType, columnJavaType, columnTypeHandler, PropertyAccessors.fastProperty(tableDef.entityType(), property, propertyHandler));
 
         if (isEntity) {
             String insertStr = MappingHelper.readAttribute("insert", xmlAttr);
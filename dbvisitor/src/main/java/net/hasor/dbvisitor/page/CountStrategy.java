@@ -0,0 +1,29 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.page;
+/**
+ * 分页查询时获取总记录数的策略
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public enum CountStrategy {
+    /** 将原始 SQL 作为子查询包装为 SELECT COUNT(*) FROM (...)，默认策略 */
+    WRAP,
+    /** 改写 count 查询：去掉顶层的 ORDER BY，在不影响结果的情况下以 COUNT(*) 直接替换查询列，无法改写时退化为 WRAP */
+    REWRITE,
+    /** 不执行 count 查询，多查询一条记录用来判断是否存在下一页，此时总记录数只是一个下限（已读取的记录数，若存在下一页再加 1） */
+    HAS_NEXT,
+}
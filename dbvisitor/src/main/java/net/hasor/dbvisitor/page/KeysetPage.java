@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.page;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import net.hasor.dbvisitor.lambda.core.OrderType;
+
+/**
+ * keyset（seek）分页，翻页时不使用 offset，而是以上一页最后一行的排序列值作为游标：WHERE (k1, k2) &gt; (?, ?) ORDER BY k1, k2 LIMIT ?
+ * <p>keys 为排序用的属性名，它们的组合必须唯一（通常以主键结尾），并且对应的值不能为 null。游标为 null 时表示第一页。
+ * 每次查询之后 nextCursor 会被设置为本页最后一行的 keys 值，调用 {@link #nextPage()} 移动到下一页。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public class KeysetPage extends PageObject {
+    /** 排序用的属性名 */
+    private final List<String> keys;
+    /** 排序方向 */
+    private final OrderType    orderType;
+    /** 当前页的游标（上一页最后一行的 keys 值），null 表示第一页 */
+    private       Object[]     cursor;
+    /** 下一页的游标（本页最后一行的 keys 值） */
+    private       Object[]     nextCursor;
+    /** 是否还有下一页 */
+    private       boolean      hasNext;
+
+    public KeysetPage(long pageSize, String... keys) {
+        this(pageSize, OrderType.ASC, keys);
+    }
+
+    public KeysetPage(long pageSize, OrderType orderType, String... keys) {
+        super(0, pageSize, 0);
+        if (keys == null || keys.length == 0) {
+            throw new IllegalArgumentException("keyset page keys is empty.");
+        }
+        this.keys = Collections.unmodifiableList(Arrays.asList(keys));
+        this.orderType = orderType == OrderType.DESC ? OrderType.DESC : OrderType.ASC;
+        this.setRefreshTotalCount(false);
+        this.hasNext = true;
+    }
+
+    /** 排序用的属性名 */
+    public List<String> getKeys() {
+        return this.keys;
+    }
+
+    /** 排序方向 */
+    public OrderType getOrderType() {
+        return this.orderType;
+    }
+
+    /** 当前页的游标，null 表示第一页 */
+    public Object[] getCursor() {
+        return this.cursor;
+    }
+
+    /** 设置当前页的游标（例如由客户端传回的上一页 nextCursor），null 表示第一页 */
+    public void setCursor(Object[] cursor) {
+        if (cursor != null && cursor.length != this.keys.size()) {
+            throw new IllegalArgumentException("cursor length " + cursor.length + " does not match the keys " + this.keys);
+        }
+        this.cursor = cursor;
+    }
+
+    /** 下一页的游标，查询之后可用，没有数据时为 null */
+    public Object[] getNextCursor() {
+        return this.nextCursor;
+    }
+
+    /** 设置下一页的游标和是否还有下一页，由查询执行后调用 */
+    public void setNextCursor(Object[] nextCursor, boolean hasNext) {
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext && nextCursor != null;
+    }
+
+    /** 是否还有下一页（本页数据量达到 pageSize 时认为还有下一页） */
+    public boolean hasNextPage() {
+        return this.hasNext;
+    }
+
+    /** keyset 分页不使用 offset */
+    @Override
+    public long getFirstRecordPosition() {
+        return 0;
+    }
+
+    /** 移动到第一页 */
+    @Override
+    public void firstPage() {
+        super.firstPage();
+        this.cursor = null;
+        this.nextCursor = null;
+        this.hasNext = true;
+    }
+
+    /** 以 nextCursor 作为游标移动到下一页 */
+    @Override
+    public void nextPage() {
+        super.nextPage();
+        this.cursor = this.nextCursor;
+        this.nextCursor = null;
+    }
+
+    /** keyset 分页只能顺序翻页 */
+    @Override
+    public void previousPage() {
+        throw new UnsupportedOperationException("keyset page does not support previousPage.");
+    }
+
+    /** keyset 分页只能顺序翻页 */
+    @Override
+    public void lastPage() {
+        throw new UnsupportedOperationException("keyset page does not support lastPage.");
+    }
+
+    @Override
+    public Map<String, Object> toPageInfo() {
+        Map<String, Object> pageInfo = super.toPageInfo();
+        pageInfo.put("keys", this.keys);
+        pageInfo.put("cursor", this.cursor == null ? null : Arrays.asList(this.cursor));
+        pageInfo.put("nextCursor", this.nextCursor == null ? null : Arrays.asList(this.nextCursor));
+        pageInfo.put("hasNext", this.hasNext);
+        return pageInfo;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetPage [keys=" + this.keys + ", orderType=" + this.orderType + ", pageSize=" + this.getPageSize() + ", cursor=" + Arrays.toString(this.cursor) + ", nextCursor=" + Arrays.toString(this.nextCursor) + "]";
+    }
+}
@@ -59,6 +59,11 @@ public interface Page {
     /** 获取是否刷新总记录数 */
     boolean isRefreshTotalCount();
 
+    /** 获取总记录数的策略，返回 null 时使用 Configuration 中的全局配置 */
+    default CountStrategy getCountStrategy() {
+        return null;
+    }
+
     /** 移动到第一页 */
     default void firstPage() {
         setCurrentPage(0);
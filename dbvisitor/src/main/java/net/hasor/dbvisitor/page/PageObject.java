@@ -21,15 +21,17 @@ package net.hasor.dbvisitor.page;
  */
 public class PageObject implements Page {
     /** 满足条件的总记录数 */
-    private long    totalCount        = 0;
+    private long          totalCount        = 0;
     /** 每页记录数（-1表示无限大） */
-    private long    pageSize          = 0;
+    private long          pageSize          = 0;
     /** 当前页号 */
-    private long    currentPage       = 0;
+    private long          currentPage       = 0;
     /** 起始页码的偏移量 */
-    private long    pageNumberOffset  = 0;
+    private long          pageNumberOffset  = 0;
     /** 是否刷新总记录数 */
-    private boolean refreshTotalCount = false;
+    private boolean       refreshTotalCount = false;
+    /** 总记录数的策略，为 null 时使用全局配置 */
+    private CountStrategy countStrategy;
 
     public PageObject() {
     }
@@ -130,6 +132,17 @@ public class PageObject implements Page {
         this.setRefreshTotalCount(true);
     }
 
+    /** 获取总记录数的策略 */
+    @Override
+    public CountStrategy getCountStrategy() {
+        return this.countStrategy;
+    }
+
+    /** 设置总记录数的策略，为 null 时使用全局配置 */
+    public void setCountStrategy(CountStrategy countStrategy) {
+        this.countStrategy = countStrategy;
+    }
+
     /** 获取本页第一个记录的索引位置 */
     public long getFirstRecordPosition() {
         long pgSize = getPageSize();
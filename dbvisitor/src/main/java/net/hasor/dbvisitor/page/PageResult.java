@@ -52,6 +52,7 @@ public class PageResult<T> extends PageObject {
     public PageResult(Page pageInfo, List<T> data) {
         super(pageInfo.getCurrentPage(), pageInfo.getPageSize(), pageInfo.getTotalCount());
         this.setPageNumberOffset(pageInfo.getPageNumberOffset());
+        this.setCountStrategy(pageInfo.getCountStrategy());
         this.data = data == null ? new ArrayList<>() : data;
     }
 
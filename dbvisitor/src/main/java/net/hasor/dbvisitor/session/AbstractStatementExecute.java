@@ -15,10 +15,13 @@
  */
 package net.hasor.dbvisitor.session;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import net.hasor.cobble.ArrayUtils;
 import net.hasor.cobble.ExceptionUtils;
 import net.hasor.cobble.StringUtils;
@@ -29,20 +32,25 @@ import net.hasor.dbvisitor.dialect.BoundSql;
 import net.hasor.dbvisitor.dialect.SqlDialectRegister;
 import net.hasor.dbvisitor.dialect.features.PageSqlDialect;
 import net.hasor.dbvisitor.dynamic.SqlBuilder;
+import net.hasor.dbvisitor.jdbc.RowMapper;
 import net.hasor.dbvisitor.jdbc.extractor.BeanMappingResultSetExtractor;
 import net.hasor.dbvisitor.jdbc.extractor.ColumnMapResultSetExtractor;
 import net.hasor.dbvisitor.jdbc.extractor.RowCallbackHandlerResultSetExtractor;
 import net.hasor.dbvisitor.jdbc.extractor.RowMapperResultSetExtractor;
+import net.hasor.dbvisitor.jdbc.mapper.AbstractMapping;
 import net.hasor.dbvisitor.jdbc.mapper.TypeHandlerColumnRowMapper;
 import net.hasor.dbvisitor.mapper.StatementDef;
 import net.hasor.dbvisitor.mapper.def.DmlConfig;
 import net.hasor.dbvisitor.mapper.def.DqlConfig;
 import net.hasor.dbvisitor.mapper.def.ExecuteConfig;
 import net.hasor.dbvisitor.mapper.def.InsertConfig;
+import net.hasor.dbvisitor.mapper.def.SelectConfig;
 import net.hasor.dbvisitor.mapper.def.SqlConfig;
 import net.hasor.dbvisitor.mapping.MappingHelper;
+import net.hasor.dbvisitor.page.CountStrategy;
 import net.hasor.dbvisitor.page.Page;
 import net.hasor.dbvisitor.page.PageResult;
+import net.hasor.dbvisitor.transaction.DataSourceUtils;
 import net.hasor.dbvisitor.types.TypeHandler;
 import net.hasor.dbvisitor.types.TypeHandlerRegistry;
 
@@ -79,6 +87,10 @@ public abstract class AbstractStatementExecute {
     }
 
     public final Object execute(Connection conn, StatementDef def, Map<String, Object> data, Page pageInfo, boolean pageResult) throws SQLException {
+        return this.execute(conn, def, data, pageInfo, pageResult, null);
+    }
+
+    final Object execute(Connection conn, StatementDef def, Map<String, Object> data, Page pageInfo, boolean pageResult, ParallelCount parallelCount) throws SQLException {
         SqlConfig config = def.getConfig();
         this.doCheck(conn, config, data, pageInfo);
 
@@ -97,30 +109,57 @@ public abstract class AbstractStatementExecute {
 
         // prepare page
         long resultCount = 0L;
+        boolean usingHasNext = false;
         if (SessionHelper.usingPage(pageInfo)) {
             PageSqlDialect dialect = (PageSqlDialect) SqlDialectRegister.findDialect(this.registry.options(), conn);
+            CountStrategy strategy = pageInfo.getCountStrategy() != null ? pageInfo.getCountStrategy() : this.registry.getCountStrategy();
             long position = pageInfo.getFirstRecordPosition();
             long pageSize = pageInfo.getPageSize();
-            execSql = dialect.pageSql(oriSql, position, pageSize);
 
-            if (pageInfo.isRefreshTotalCount() || pageInfo.getTotalCount() <= 0) {
-                countSql = dialect.countSql(oriSql);
+            if (strategy == CountStrategy.HAS_NEXT && pageResult) {
+                execSql = dialect.pageSql(oriSql, position, pageSize + 1); // one more row to detect the next page, skip count.
+                usingHasNext = true;
+            } else {
+                execSql = dialect.pageSql(oriSql, position, pageSize);
+                if (pageInfo.isRefreshTotalCount() || pageInfo.getTotalCount() <= 0) {
+                    countSql = strategy == CountStrategy.REWRITE ? dialect.simpleCountSql(oriSql) : dialect.countSql(oriSql);
+                }
             }
 
             resultCount = pageInfo.getTotalCount(); // old value
         }
 
-        // query count
+        // result cache
+        ResultCache resultCache = this.registry.getResultCache();
+        ResultCacheKey cacheKey = null;
+        ResultCopier cacheCopier = null;
+        String[] cacheTables = null;
+        long[] cacheSnapshot = null;
+        if (resultCache != null && !pageResult && this.usingResultCache(conn, def)) {
+            cacheKey = new ResultCacheKey(def.getConfigNamespace() + "." + def.getConfigId(), execSql.getSqlString(), execSql.getArgs());
+            cacheCopier = this.resultCopier(def);
+            CachedResult cached = resultCache.get(cacheKey);
+            Object cachedValue = cached == null ? ResultCopier.UNCOPYABLE : cacheCopier.copy(cached.getValue());
+            if (cachedValue != ResultCopier.UNCOPYABLE) {
+                return cachedValue;
+            }
+
+            String[] declared = ((SelectConfig) config).getCacheTables();
+            cacheTables = ResultCache.normalizeTables(declared.length > 0 ? declared : SqlTableExtractor.extract(execSql.getSqlString()));
+            cacheSnapshot = resultCache.snapshot(cacheTables);
+        }
+
+        // query count, 并行时 count 在另外一个连接上与数据查询同时执行
+        CompletableFuture<Long> countFuture = null;
         if (countSql != null && pageResult) {
-            try (PreparedStatement stat = conn.prepareStatement(countSql.getSqlString())) {
-                if (logger.isTraceEnabled()) {
-                    logger.trace(SessionHelper.fmtBoundSql(countSql).toString());
-                }
-                this.configStatement(stat, config);
-                resultCount = this.executeCount(stat, countSql.getArgs());
-            } catch (SQLException e) {
-                logger.error("executeCount failed, " + ExceptionUtils.getRootCauseMessage(e) + ", " + SessionHelper.fmtBoundSql(countSql), e);
-                throw e;
+            Long cached = pageInfo.isRefreshTotalCount() ? null : this.cachedCount(def, countSql); // 要求刷新时重新 count，结果仍然写入缓存
+            if (cached != null) {
+                resultCount = cached;
+            } else if (parallelCount != null) {
+                BoundSql parallelSql = countSql;
+                countFuture = parallelCount.submit(c -> this.queryCount(c, def, parallelSql));
+            } else {
+                resultCount = this.queryCount(conn, def, countSql);
             }
         }
 
@@ -134,6 +173,22 @@ public abstract class AbstractStatementExecute {
 
             boolean retVal = this.executeQuery(stat, config, execSql);
             Object result = this.fetchResult(retVal, stat, def, oriSql, dataCtx, pageInfo, resultCount, pageResult);
+            if (usingHasNext && result instanceof PageResult) {
+                this.trimHasNext((PageResult<?>) result, pageInfo);
+            }
+            if (countFuture != null) {
+                long count = ParallelCount.join(countFuture);
+                countFuture = null;
+                if (result instanceof PageResult) {
+                    ((PageResult<?>) result).setTotalCount(count);
+                }
+            }
+            if (cacheKey != null) {
+                Object cacheValue = cacheCopier.copy(result);
+                if (cacheValue != ResultCopier.UNCOPYABLE) {
+                    resultCache.put(cacheKey, cacheValue, cacheTables, cacheSnapshot);
+                }
+            }
 
             // useGeneratedKeys：将生成的键值从 MergedMap 回写到原始参数 Map（MergedMap 不污染源，需显式拷贝）
             if (!(data instanceof MergedMap) && data != null && def.getConfig() instanceof InsertConfig) {
@@ -152,6 +207,13 @@ public abstract class AbstractStatementExecute {
         } catch (SQLException e) {
             logger.error("executeQuery failed, " + ExceptionUtils.getRootCauseMessage(e) + ", " + SessionHelper.fmtBoundSql(countSql), e);
             throw e;
+        } finally {
+            if (countFuture != null) {
+                countFuture.cancel(false); // 数据查询失败，不再等待 count 结果
+            }
+            if (resultCache != null) {
+                this.invalidateResultCache(conn, resultCache, config, execSql);
+            }
         }
     }
 
@@ -166,6 +228,98 @@ public abstract class AbstractStatementExecute {
         }
     }
 
+    /** 只有开启了 useCache 的查询语句，并且连接不在事务中时才使用结果缓存 */
+    private boolean usingResultCache(Connection conn, StatementDef def) throws SQLException {
+        if (!(def.getConfig() instanceof SelectConfig)) {
+            return false;
+        }
+        SelectConfig selectConfig = (SelectConfig) def.getConfig();
+        if (!selectConfig.isUseCache() || selectConfig.getBindOut().length > 0 || def.getResultRowCallback() != null) {
+            return false;
+        }
+        return conn.getAutoCommit();
+    }
+
+    /**
+     * 写操作使所涉及表的缓存失效，无法确定影响范围的 execute 语句使全部缓存失效。
+     * 事务中的写操作在事务提交或回滚之后会再失效一次，因为事务结束之前其它连接读到的旧数据可能已经被重新缓存。
+     */
+    private void invalidateResultCache(Connection conn, ResultCache resultCache, SqlConfig config, BoundSql execSql) {
+        Runnable invalidate;
+        Object invalidateKey;
+        if (config instanceof DmlConfig) {
+            String[] tables = SqlTableExtractor.extract(execSql.getSqlString());
+            invalidate = () -> resultCache.invalidate(tables);
+            invalidateKey = Arrays.asList(resultCache, Arrays.asList(tables));
+        } else if (config instanceof ExecuteConfig) {
+            invalidate = resultCache::invalidateAll;
+            invalidateKey = Collections.singletonList(resultCache);
+        } else {
+            return;
+        }
+
+        invalidate.run();
+        try {
+            if (!conn.getAutoCommit() && !DataSourceUtils.registerCompletion(conn, invalidateKey, invalidate)) {
+                logger.debug("the connection is not managed by DataSourceUtils, result cache cannot be invalidated after the transaction completes.");
+            }
+        } catch (SQLException e) {
+            logger.warn("register result cache invalidation failed, " + e.getMessage(), e);
+        }
+    }
+
+    /** 缓存的结果在放入和取出时都会深拷贝，只有由 TableMapping 映射的实体对象才会按映射重新创建，其它无法复制的结果不缓存 */
+    private ResultCopier resultCopier(StatementDef def) {
+        if (def.getResultExtractor() != null || def.getResultTypeHandler() != null || def.getResultTypeHandlerType() != null) {
+            return new ResultCopier(null);
+        } else if (def.getResultRowMapper() != null) {
+            RowMapper<?> rowMapper = def.getResultRowMapper();
+            return new ResultCopier(rowMapper instanceof AbstractMapping ? ((AbstractMapping<?>) rowMapper).getTableMapping() : null);
+        } else if (def.getResultType() != null) {
+            return new ResultCopier(new BeanMappingResultSetExtractor<>(def.getResultType(), this.registry.getMappingRegistry()).getTableMapping());
+        } else {
+            return new ResultCopier(null);
+        }
+    }
+
+    private Long cachedCount(StatementDef def, BoundSql countSql) {
+        CountCache countCache = this.registry.getCountCache();
+        if (countCache == null) {
+            return null;
+        }
+        return countCache.get(def.getConfigNamespace() + "." + def.getConfigId(), countSql);
+    }
+
+    private long queryCount(Connection conn, StatementDef def, BoundSql countSql) throws SQLException {
+        CountCache countCache = this.registry.getCountCache();
+        String statementId = def.getConfigNamespace() + "." + def.getConfigId();
+        try (PreparedStatement stat = conn.prepareStatement(countSql.getSqlString())) {
+            if (logger.isTraceEnabled()) {
+                logger.trace(SessionHelper.fmtBoundSql(countSql).toString());
+            }
+            this.configStatement(stat, def.getConfig());
+            long count = this.executeCount(stat, countSql.getArgs());
+            if (countCache != null && count >= 0) {
+                countCache.put(statementId, countSql, count);
+            }
+            return count;
+        } catch (SQLException e) {
+            logger.error("executeCount failed, " + ExceptionUtils.getRootCauseMessage(e) + ", " + SessionHelper.fmtBoundSql(countSql), e);
+            throw e;
+        }
+    }
+
+    /** HAS_NEXT 策略：去掉多读取的一条记录，总记录数为已知的下限（存在下一页时比已读取的记录数多 1） */
+    private <T> void trimHasNext(PageResult<T> result, Page pageInfo) {
+        List<T> data = result.getData();
+        long pageSize = pageInfo.getPageSize();
+        boolean hasNext = data.size() > pageSize;
+        if (hasNext) {
+            result.setData(new ArrayList<>(data.subList(0, (int) pageSize)));
+        }
+        result.setTotalCount(pageInfo.getFirstRecordPosition() + result.getData().size() + (hasNext ? 1 : 0));
+    }
+
     private long executeCount(PreparedStatement cntStat, Object[] args) throws SQLException {
         for (int j = 0; j < args.length; j++) {
             TypeHandlerRegistry.DEFAULT.setParameterValue(cntStat, j + 1, args[j]);
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.session;
+import java.io.Serializable;
+
+/**
+ * 缓存的查询结果，同时记录了查询开始前所依赖表的版本，用于判断结果是否已经失效。
+ * <p>使用外部存储时查询结果需要能够被序列化。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public final class CachedResult implements Serializable {
+    private static final long     serialVersionUID = 1L;
+    private final        Object   value;
+    private final        String[] tables;
+    private final        long[]   versions;
+    private final        long     expireAt;
+
+    public CachedResult(Object value, String[] tables, long[] versions, long expireAt) {
+        this.value = value;
+        this.tables = tables;
+        this.versions = versions;
+        this.expireAt = expireAt;
+    }
+
+    /** 查询结果 */
+    public Object getValue() {
+        return this.value;
+    }
+
+    /** 依赖的表（已经规范化） */
+    public String[] getTables() {
+        return this.tables;
+    }
+
+    /** 查询开始前的版本号，第一个元素为全局版本，之后依次为 tables 中每张表的版本 */
+    public long[] getVersions() {
+        return this.versions;
+    }
+
+    /** 过期时间（毫秒） */
+    public long getExpireAt() {
+        return this.expireAt;
+    }
+}
@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.Map;
 import net.hasor.cobble.ArrayUtils;
 import net.hasor.dbvisitor.dialect.BoundSql;
+import net.hasor.dbvisitor.dialect.SqlDialectRegister;
 import net.hasor.dbvisitor.dynamic.SqlBuilder;
 import net.hasor.dbvisitor.jdbc.extractor.CallableMultipleResultSetExtractor;
 import net.hasor.dbvisitor.mapper.ResultSetType;
@@ -42,7 +43,7 @@ public class CallableStatementExecute extends AbstractStatementExecute {
     @Override
     protected void doCheck(Connection conn, SqlConfig config, Map<String, Object> data, Page pageInfo) throws SQLException {
         super.doCheck(conn, config, data, pageInfo);
-        if (!conn.getMetaData().supportsStoredProcedures()) {
+        if (!SqlDialectRegister.findDatabaseInfo(conn).supportsStoredProcedures()) {
             throw new UnsupportedOperationException("procedure DataSource Unsupported.");
         }
         if (SessionHelper.usingPage(pageInfo)) {
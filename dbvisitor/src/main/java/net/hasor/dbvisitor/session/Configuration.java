@@ -16,14 +16,15 @@
 package net.hasor.dbvisitor.session;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 import javax.sql.DataSource;
 import net.hasor.cobble.ClassUtils;
-import net.hasor.dbvisitor.dynamic.DynamicSql;
-import net.hasor.dbvisitor.dynamic.MacroRegistry;
-import net.hasor.dbvisitor.dynamic.QueryContext;
-import net.hasor.dbvisitor.dynamic.RuleRegistry;
+import net.hasor.dbvisitor.dialect.BoundSql;
+import net.hasor.dbvisitor.dynamic.*;
 import net.hasor.dbvisitor.dynamic.rule.SqlRule;
 import net.hasor.dbvisitor.jdbc.DynamicConnection;
+import net.hasor.dbvisitor.jdbc.core.AsyncJdbcTemplate;
 import net.hasor.dbvisitor.jdbc.core.JdbcTemplate;
 import net.hasor.dbvisitor.lambda.LambdaTemplate;
 import net.hasor.dbvisitor.mapper.MapperRegistry;
@@ -31,6 +32,7 @@ import net.hasor.dbvisitor.mapper.StatementDef;
 import net.hasor.dbvisitor.mapping.MappingRegistry;
 import net.hasor.dbvisitor.mapping.Options;
 import net.hasor.dbvisitor.mapping.def.TableMapping;
+import net.hasor.dbvisitor.page.CountStrategy;
 import net.hasor.dbvisitor.types.TypeHandlerRegistry;
 
 /**
@@ -46,6 +48,13 @@ public class Configuration implements QueryContext {
     private       RuleRegistry        ruleRegistry;
     private       MappingRegistry     mappingRegistry;
     private       MapperRegistry      mapperRegistry;
+    private       ParsedSqlCache      parsedSqlCache = new DefaultParsedSqlCache();
+    private       CountStrategy       countStrategy  = CountStrategy.WRAP;
+    private       CountCache          countCache;
+    private       ResultCache         resultCache;
+    private       Executor            parallelExecutor;
+    private       boolean             parallelPageCount;
+    private       boolean             identityCache;
     private final SessionPrototype    prototype;
 
     public Configuration() {
@@ -192,6 +201,11 @@ public class Configuration implements QueryContext {
         return this.mappingRegistry.findBySpace(space, entityType);
     }
 
+    @Override
+    public ParsedSqlCache getParsedSqlCache() {
+        return this.parsedSqlCache;
+    }
+
     @Override
     public TypeHandlerRegistry getTypeRegistry() {
         return this.typeRegistry;
@@ -246,6 +260,101 @@ public class Configuration implements QueryContext {
         this.mappingRegistry = mappingRegistry;
     }
 
+    public void setParsedSqlCache(ParsedSqlCache parsedSqlCache) {
+        this.parsedSqlCache = Objects.requireNonNull(parsedSqlCache, "parsedSqlCache is null.");
+    }
+
+    /** 分页查询时获取总记录数的策略，Page 上的设置优先 */
+    @Override
+    public CountStrategy getCountStrategy() {
+        return this.countStrategy;
+    }
+
+    public void setCountStrategy(CountStrategy countStrategy) {
+        this.countStrategy = Objects.requireNonNull(countStrategy, "countStrategy is null.");
+    }
+
+    /** 分页查询总记录数的缓存，为 null 表示不缓存（默认） */
+    public CountCache getCountCache() {
+        return this.countCache;
+    }
+
+    public void setCountCache(CountCache countCache) {
+        this.countCache = countCache;
+    }
+
+    @Override
+    public Long getCachedCount(String statementId, BoundSql countSql) {
+        return this.countCache == null ? null : this.countCache.get(statementId, countSql);
+    }
+
+    @Override
+    public void putCachedCount(String statementId, BoundSql countSql, long count) {
+        if (this.countCache != null && count >= 0) {
+            this.countCache.put(statementId, countSql, count);
+        }
+    }
+
+    /** Mapper 查询语句的二级结果缓存，为 null 表示不缓存（默认）。只有通过 useCache 开启的查询语句才会使用它 */
+    public ResultCache getResultCache() {
+        return this.resultCache;
+    }
+
+    public void setResultCache(ResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    @Override
+    public boolean isTableChangeTracked() {
+        return this.resultCache != null;
+    }
+
+    @Override
+    public void tableChanged(String table) {
+        if (this.resultCache != null) {
+            this.resultCache.invalidate(table);
+        }
+    }
+
+    /** 用于并行执行相互独立的查询（例如 selectByIds 拆分后的各个分块），为 null 表示不并行（默认）。只有基于 DataSource 且不在事务中时才会并行执行，同时也是 Session.async() 所使用的线程池 */
+    public Executor getParallelExecutor() {
+        return this.parallelExecutor;
+    }
+
+    public void setParallelExecutor(Executor parallelExecutor) {
+        this.parallelExecutor = parallelExecutor;
+    }
+
+    /**
+     * 分页查询（pageStatement、返回 PageResult 的 Mapper 方法、pageBySample 以及 lambda 的 queryForPage）是否在另外一个连接上并行执行 count 查询，默认为 false。
+     * 只有基于 DataSource 且不在事务中时才会并行，否则仍然在同一个连接上依次执行。
+     */
+    public boolean isParallelPageCount() {
+        return this.parallelPageCount;
+    }
+
+    public void setParallelPageCount(boolean parallelPageCount) {
+        this.parallelPageCount = parallelPageCount;
+    }
+
+    /** 新创建的 Session 是否启用一级缓存（{@link IdentityCache}），默认为 false。启用后同一个 Session 中按主键重复加载的对象直接从内存中返回 */
+    public boolean isIdentityCache() {
+        return this.identityCache;
+    }
+
+    public void setIdentityCache(boolean identityCache) {
+        this.identityCache = identityCache;
+    }
+
+    /** 启用 parallelPageCount 时使用 parallelExecutor，未配置时使用默认线程池（JDK 21+ 上为虚拟线程） */
+    @Override
+    public Executor getPageCountExecutor() {
+        if (!this.parallelPageCount) {
+            return null;
+        }
+        return this.parallelExecutor != null ? this.parallelExecutor : AsyncJdbcTemplate.defaultExecutor();
+    }
+
     public ClassLoader getClassLoader() {
         return this.classLoader;
     }
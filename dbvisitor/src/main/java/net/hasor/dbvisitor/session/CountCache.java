@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.session;
+import java.util.Arrays;
+import java.util.Objects;
+import net.hasor.dbvisitor.dialect.BoundSql;
+import net.hasor.dbvisitor.internal.ConcurrentLruCache;
+
+/**
+ * 分页查询总记录数的缓存，以 (statement, count SQL, 参数) 为 key，在有效期内相同的 count 查询不再访问数据库。
+ * <p>缓存不会感知数据变化，总记录数最多会滞后 ttl 时间，适用于对总数精确度要求不高的列表查询。</p>
+ * <p>分页参数要求刷新总记录数（{@link net.hasor.dbvisitor.page.Page#isRefreshTotalCount()}，例如通过 {@code new PageObject(pageNumber, pageSize)} 创建）时，
+ * 不读取缓存而是重新 count，新的结果仍然会写入缓存。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public class CountCache {
+    private final long                                 ttlMillis;
+    private final ConcurrentLruCache<CountKey, Entry> cache;
+
+    /**
+     * 构造函数
+     * @param ttlMillis 有效期（毫秒）
+     * @param capacity 缓存容量
+     */
+    public CountCache(long ttlMillis, int capacity) {
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("ttlMillis must be positive.");
+        }
+        this.ttlMillis = ttlMillis;
+        this.cache = new ConcurrentLruCache<>(capacity);
+    }
+
+    /** 获取缓存的总记录数，不存在或已经过期时返回 null */
+    public Long get(String statementId, BoundSql countSql) {
+        CountKey key = new CountKey(statementId, countSql.getSqlString(), countSql.getArgs());
+        Entry entry = this.cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expireAt < System.currentTimeMillis()) {
+            this.cache.remove(key);
+            return null;
+        }
+        return entry.count;
+    }
+
+    /** 缓存总记录数 */
+    public void put(String statementId, BoundSql countSql, long count) {
+        CountKey key = new CountKey(statementId, countSql.getSqlString(), countSql.getArgs());
+        this.cache.put(key, new Entry(count, System.currentTimeMillis() + this.ttlMillis));
+    }
+
+    /** 清空缓存，在批量修改数据之后可以调用它使总记录数立刻刷新 */
+    public void clear() {
+        this.cache.clear();
+    }
+
+    /** 有效期（毫秒） */
+    public long getTtlMillis() {
+        return this.ttlMillis;
+    }
+
+    /** 当前缓存的条目数量 */
+    public int size() {
+        return this.cache.size();
+    }
+
+    @Override
+    public String toString() {
+        return "CountCache [ttl=" + this.ttlMillis + "ms, " + this.cache + "]";
+    }
+
+    private static class Entry {
+        private final long count;
+        private final long expireAt;
+
+        Entry(long count, long expireAt) {
+            this.count = count;
+            this.expireAt = expireAt;
+        }
+    }
+
+    private static class CountKey {
+        private final String   statementId;
+        private final String   sqlString;
+        private final Object[] args;
+        private final int      hashCode;
+
+        CountKey(String statementId, String sqlString, Object[] args) {
+            this.statementId = statementId;
+            this.sqlString = sqlString;
+            this.args = args == null ? new Object[0] : args;
+            this.hashCode = Objects.hash(statementId, sqlString) * 31 + Arrays.deepHashCode(this.args);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CountKey)) {
+                return false;
+            }
+            CountKey that = (CountKey) o;
+            return this.hashCode == that.hashCode && Objects.equals(this.statementId, that.statementId) //
+                    && Objects.equals(this.sqlString, that.sqlString) && Arrays.deepEquals(this.args, that.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+}
@@ -15,14 +15,21 @@
  */
 package net.hasor.dbvisitor.session;
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import net.hasor.cobble.BeanUtils;
 import net.hasor.cobble.function.Property;
+import net.hasor.dbvisitor.dialect.SqlDialect;
+import net.hasor.dbvisitor.dialect.SqlDialectRegister;
 import net.hasor.dbvisitor.error.RuntimeSQLException;
 import net.hasor.dbvisitor.jdbc.JdbcOperations;
+import net.hasor.dbvisitor.jdbc.core.JdbcTemplate;
 import net.hasor.dbvisitor.lambda.EntityDelete;
 import net.hasor.dbvisitor.lambda.EntityQuery;
 import net.hasor.dbvisitor.lambda.EntityUpdate;
@@ -32,9 +39,11 @@ import net.hasor.dbvisitor.lambda.core.OrderType;
 import net.hasor.dbvisitor.mapper.BaseMapper;
 import net.hasor.dbvisitor.mapping.def.ColumnMapping;
 import net.hasor.dbvisitor.mapping.def.TableMapping;
+import net.hasor.dbvisitor.page.KeysetPage;
 import net.hasor.dbvisitor.page.Page;
 import net.hasor.dbvisitor.page.PageObject;
 import net.hasor.dbvisitor.page.PageResult;
+import net.hasor.dbvisitor.transaction.DataSourceUtils;
 
 /**
  * BaseMapper 接口的实现类。
@@ -479,17 +488,18 @@ class DefaultBaseMapper implements BaseMapper<Object> {
             throw new UnsupportedOperationException("does not support composite primary key, please use deleteList/deleteListByMap.");
         }
 
+        List<Object[]> keys = this.distinctKeys(idList.stream().filter(Objects::nonNull).map(id -> new Object[] { id }).collect(Collectors.toList()));
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
         try {
-            AtomicInteger counter = new AtomicInteger();
-            EntityDelete<Object> delete = this.delete();
-            for (Object obj : idList) {
-                if (obj != null) {
-                    counter.incrementAndGet();
-                    delete.eq(pks.get(0).getProperty(), obj).or();
-                }
+            // 删除操作按顺序执行，不使用并行
+            int count = 0;
+            for (List<Object[]> chunk : this.splitChunks(pks, keys)) {
+                count += this.delete().inRows(propertyNames(pks), chunk).doDelete();
             }
-
-            return counter.get() == 0 ? 0 : delete.doDelete();
+            return count;
         } catch (SQLException e) {
             throw new RuntimeSQLException(e);
         }
@@ -507,15 +517,27 @@ class DefaultBaseMapper implements BaseMapper<Object> {
             throw new UnsupportedOperationException("does not support composite primary key, please use deleteList/deleteListByMap.");
         }
 
+        IdentityCache identity = this.session.getIdentityCache();
+        Object key = normalizeValue(id);
+        Object cached = identity == null ? null : identity.get(this.tabMapping, key);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
-            return this.query().eq(pks.get(0).getProperty(), id).queryForObject();
+            Object result = this.query().eq(pks.get(0).getProperty(), id).queryForObject();
+            if (identity != null) {
+                identity.put(this.tabMapping, key, result);
+                this.session.clearIdentityCacheOnCompletion();
+            }
+            return result;
         } catch (SQLException e) {
             throw new RuntimeSQLException(e);
         }
     }
 
     @Override
-    public List<Object> selectByIds(List<? extends Serializable> idList) throws RuntimeSQLException {
+    public List<Object> selectByIds(List<? extends Serializable> idList, boolean keepOrder) throws RuntimeSQLException {
         if (idList == null) {
             throw new NullPointerException("idList is null.");
         }
@@ -526,20 +548,8 @@ class DefaultBaseMapper implements BaseMapper<Object> {
             throw new UnsupportedOperationException("does not support composite primary key, please use deleteList/deleteListByMap.");
         }
 
-        try {
-            AtomicInteger counter = new AtomicInteger();
-            EntityQuery<Object> query = this.query();
-            for (Object obj : idList) {
-                if (obj != null) {
-                    counter.incrementAndGet();
-                    query.eq(pks.get(0).getProperty(), obj).or();
-                }
-            }
-
-            return counter.get() == 0 ? Collections.emptyList() : query.queryForList();
-        } catch (SQLException e) {
-            throw new RuntimeSQLException(e);
-        }
+        List<Object[]> keys = idList.stream().filter(Objects::nonNull).map(id -> new Object[] { id }).collect(Collectors.toList());
+        return this.selectByKeys(pks, keys, keepOrder);
     }
 
     @Override
@@ -553,12 +563,15 @@ class DefaultBaseMapper implements BaseMapper<Object> {
         }
 
         EntityQuery<Object> query = this.query();
+        Object[] key = new Object[pks.size()];
         if (refData instanceof Map) {
             boolean missingPrimary = false;
-            for (ColumnMapping pk : pks) {
+            for (int i = 0; i < pks.size(); i++) {
+                ColumnMapping pk = pks.get(i);
                 Map<?, ?> refMap = (Map<?, ?>) refData;
                 if (refMap.containsKey(pk.getProperty())) {
-                    query.eq(pk.getProperty(), ((Map<?, ?>) refData).get(pk.getProperty()));
+                    key[i] = ((Map<?, ?>) refData).get(pk.getProperty());
+                    query.eq(pk.getProperty(), key[i]);
                 } else {
                     missingPrimary = true;
                     break;
@@ -568,15 +581,19 @@ class DefaultBaseMapper implements BaseMapper<Object> {
                 throw new UnsupportedOperationException(entityType() + " missing primary key.");
             }
         } else if (this.entityType.isInstance(refData)) {
-            for (ColumnMapping pk : pks) {
-                query.eq(pk.getProperty(), pk.getHandler().get(refData));
+            for (int i = 0; i < pks.size(); i++) {
+                ColumnMapping pk = pks.get(i);
+                key[i] = pk.getHandler().get(refData);
+                query.eq(pk.getProperty(), key[i]);
             }
         } else {
             Map<String, Property> funcMap = BeanUtils.getPropertyFunc(refData.getClass());
             boolean missingPrimary = false;
-            for (ColumnMapping pk : pks) {
+            for (int i = 0; i < pks.size(); i++) {
+                ColumnMapping pk = pks.get(i);
                 if (funcMap.containsKey(pk.getProperty())) {
-                    query.eq(pk.getProperty(), funcMap.get(pk.getProperty()).get(refData));
+                    key[i] = funcMap.get(pk.getProperty()).get(refData);
+                    query.eq(pk.getProperty(), key[i]);
                 } else {
                     missingPrimary = true;
                     break;
@@ -587,15 +604,26 @@ class DefaultBaseMapper implements BaseMapper<Object> {
             }
         }
 
+        IdentityCache identity = this.session.getIdentityCache();
+        Object cached = identity == null ? null : identity.get(this.tabMapping, normalizeKey(key));
+        if (cached != null) {
+            return cached;
+        }
+
         try {
-            return query.queryForObject();
+            Object result = query.queryForObject();
+            if (identity != null) {
+                identity.put(this.tabMapping, normalizeKey(key), result);
+                this.session.clearIdentityCacheOnCompletion();
+            }
+            return result;
         } catch (SQLException e) {
             throw new RuntimeSQLException(e);
         }
     }
 
     @Override
-    public List<Object> loadListBy(List<?> refList) throws RuntimeSQLException {
+    public List<Object> loadListBy(List<?> refList, boolean keepOrder) throws RuntimeSQLException {
         if (refList == null) {
             throw new NullPointerException("refList is null.");
         }
@@ -604,58 +632,211 @@ class DefaultBaseMapper implements BaseMapper<Object> {
             throw new UnsupportedOperationException(entityType() + " missing primary key.");
         }
 
-        AtomicInteger counter = new AtomicInteger();
-        EntityQuery<Object> query = this.query();
+        List<Object[]> keys = new ArrayList<>();
         for (Object refData : refList) {
             if (refData == null) {
                 continue;
-            } else {
-                counter.incrementAndGet();
             }
 
-            query.or(c -> {
-                if (refData instanceof Map) {
-                    Map<?, ?> refMap = (Map<?, ?>) refData;
-                    boolean missingPrimary = false;
-                    for (ColumnMapping pk : pks) {
-                        if (refMap.containsKey(pk.getProperty())) {
-                            c.eq(pk.getProperty(), ((Map<?, ?>) refData).get(pk.getProperty()));
-                        } else {
-                            missingPrimary = true;
-                            break;
-                        }
-                    }
-
-                    if (missingPrimary) {
+            Object[] key = new Object[pks.size()];
+            if (refData instanceof Map) {
+                Map<?, ?> refMap = (Map<?, ?>) refData;
+                for (int i = 0; i < pks.size(); i++) {
+                    String property = pks.get(i).getProperty();
+                    if (!refMap.containsKey(property)) {
                         throw new UnsupportedOperationException(refMap.getClass() + " missing primary key.");
                     }
-                } else if (this.entityType.isInstance(refData)) {
-                    for (ColumnMapping pk : pks) {
-                        c.eq(pk.getProperty(), pk.getHandler().get(refData));
-                    }
-                } else {
-                    boolean missingPrimary = false;
-                    Map<String, Property> funcMap = BeanUtils.getPropertyFunc(refData.getClass());
-                    for (ColumnMapping pk : pks) {
-                        if (funcMap.containsKey(pk.getProperty())) {
-                            c.eq(pk.getProperty(), funcMap.get(pk.getProperty()).get(refData));
-                        } else {
-                            missingPrimary = true;
-                            break;
-                        }
-                    }
-                    if (missingPrimary) {
+                    key[i] = refMap.get(property);
+                }
+            } else if (this.entityType.isInstance(refData)) {
+                for (int i = 0; i < pks.size(); i++) {
+                    key[i] = pks.get(i).getHandler().get(refData);
+                }
+            } else {
+                Map<String, Property> funcMap = BeanUtils.getPropertyFunc(refData.getClass());
+                for (int i = 0; i < pks.size(); i++) {
+                    String property = pks.get(i).getProperty();
+                    if (!funcMap.containsKey(property)) {
                         throw new UnsupportedOperationException(entityType() + " missing primary key.");
                     }
+                    key[i] = funcMap.get(property).get(refData);
+                }
+            }
+            keys.add(key);
+        }
+
+        return this.selectByKeys(pks, keys, keepOrder);
+    }
+
+    /** 主键属性名 */
+    private static List<String> propertyNames(List<ColumnMapping> pks) {
+        return pks.stream().map(ColumnMapping::getProperty).collect(Collectors.toList());
+    }
+
+    /** 用于比较主键值的 key，数值类型统一为 BigDecimal 以避免 Integer 和 Long 等类型不一致，联合主键使用 List */
+    private static Object normalizeKey(Object[] key) {
+        if (key.length == 1) {
+            return normalizeValue(key[0]);
+        }
+        List<Object> list = new ArrayList<>(key.length);
+        for (Object value : key) {
+            list.add(normalizeValue(value));
+        }
+        return list;
+    }
+
+    private static Object normalizeValue(Object value) {
+        if (value instanceof Number) {
+            try {
+                return new BigDecimal(value.toString()).stripTrailingZeros();
+            } catch (NumberFormatException e) {
+                return value; // NaN or Infinity
+            }
+        }
+        return value;
+    }
+
+    /** 去除重复的主键值，保留首次出现的顺序 */
+    private List<Object[]> distinctKeys(List<Object[]> keys) {
+        Map<Object, Object[]> distinct = new LinkedHashMap<>();
+        for (Object[] key : keys) {
+            distinct.putIfAbsent(normalizeKey(key), key);
+        }
+        return new ArrayList<>(distinct.values());
+    }
+
+    /** 按照方言的 IN 列表上限拆分主键值，联合主键时每一行占用多个参数 */
+    private List<List<Object[]>> splitChunks(List<ColumnMapping> pks, List<Object[]> keys) {
+        SqlDialect dialect;
+        try {
+            dialect = SqlDialectRegister.findDialect(this.session.getConfiguration().options(), this.session.jdbc());
+        } catch (SQLException e) {
+            throw new RuntimeSQLException(e);
+        }
+        int chunkSize = Math.max(1, dialect.maxInListSize() / pks.size());
+        List<List<Object[]>> chunks = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i += chunkSize) {
+            chunks.add(keys.subList(i, Math.min(i + chunkSize, keys.size())));
+        }
+        return chunks;
+    }
+
+    private List<Object> selectByKeys(List<ColumnMapping> pks, List<Object[]> keys, boolean keepOrder) {
+        keys = this.distinctKeys(keys);
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // 一级缓存中已经存在的对象不再查询
+        IdentityCache identity = this.session.getIdentityCache();
+        List<Object> cached = new ArrayList<>();
+        List<Object[]> queryKeys = keys;
+        if (identity != null) {
+            queryKeys = new ArrayList<>();
+            for (Object[] key : keys) {
+                Object entity = identity.get(this.tabMapping, normalizeKey(key));
+                if (entity != null) {
+                    cached.add(entity);
+                } else {
+                    queryKeys.add(key);
                 }
-            });
+            }
         }
 
+        List<String> properties = propertyNames(pks);
+        List<List<Object[]>> chunks = this.splitChunks(pks, queryKeys);
+        List<Object> result;
         try {
-            return counter.get() == 0 ? Collections.emptyList() : query.queryForList();
+            if (chunks.size() > 1 && this.useParallel()) {
+                result = this.queryParallel(properties, chunks);
+            } else {
+                result = new ArrayList<>();
+                for (List<Object[]> chunk : chunks) {
+                    result.addAll(this.query().inRows(properties, chunk).queryForList());
+                }
+            }
         } catch (SQLException e) {
             throw new RuntimeSQLException(e);
         }
+
+        if (identity != null) {
+            for (Object row : result) {
+                identity.put(this.tabMapping, normalizeKey(rowKey(pks, row)), row);
+            }
+            this.session.clearIdentityCacheOnCompletion();
+            cached.addAll(result);
+            result = cached;
+        }
+
+        if (!keepOrder || result.size() < 2) {
+            return result;
+        }
+
+        // 传入的主键值与数据库返回的类型不一致时（例如 String 类型的 "1" 与 INT 主键）无法匹配，这些行按照查询结果的顺序追加在最后而不是丢弃
+        Map<Object, List<Object>> rowMap = new LinkedHashMap<>();
+        for (Object row : result) {
+            rowMap.computeIfAbsent(normalizeKey(rowKey(pks, row)), k -> new ArrayList<>(1)).add(row);
+        }
+        List<Object> ordered = new ArrayList<>(result.size());
+        for (Object[] key : keys) {
+            List<Object> rows = rowMap.remove(normalizeKey(key));
+            if (rows != null) {
+                ordered.addAll(rows);
+            }
+        }
+        rowMap.values().forEach(ordered::addAll);
+        return ordered;
+    }
+
+    /** 读取一行数据的主键值 */
+    private static Object[] rowKey(List<ColumnMapping> pks, Object row) {
+        Object[] key = new Object[pks.size()];
+        for (int i = 0; i < pks.size(); i++) {
+            ColumnMapping pk = pks.get(i);
+            key[i] = (row instanceof Map) ? ((Map<?, ?>) row).get(pk.getProperty()) : pk.getHandler().get(row);
+        }
+        return key;
+    }
+
+    /** 配置了并行执行器，并且基于 DataSource 且当前线程未持有连接（例如不在事务中）时才可以并行查询 */
+    private boolean useParallel() {
+        if (this.session.getConfiguration().getParallelExecutor() == null) {
+            return false;
+        }
+        JdbcTemplate jdbc = this.session.jdbc();
+        if (jdbc.getConnection() != null || jdbc.getDynamic() != null || jdbc.getDataSource() == null) {
+            return false;
+        }
+        return !DataSourceUtils.hasLocalConnection(jdbc.getDataSource());
+    }
+
+    private List<Object> queryParallel(List<String> properties, List<List<Object[]>> chunks) throws SQLException {
+        Executor executor = this.session.getConfiguration().getParallelExecutor();
+        List<CompletableFuture<List<Object>>> futures = new ArrayList<>(chunks.size());
+        for (List<Object[]> chunk : chunks) {
+            EntityQuery<Object> query = this.query().inRows(properties, chunk);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return query.queryForList();
+                } catch (SQLException e) {
+                    throw new RuntimeSQLException(e);
+                }
+            }, executor));
+        }
+
+        List<Object> result = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<Object>> future : futures) {
+                result.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeSQLException && cause.getCause() instanceof SQLException) {
+                throw (SQLException) cause.getCause();
+            }
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+        }
+        return result;
     }
 
     protected EntityQuery<Object> buildQueryBySample(Object sample) {
@@ -724,15 +905,27 @@ class DefaultBaseMapper implements BaseMapper<Object> {
     @Override
     public PageResult<Object> pageBySample(Object sample, Page page, Map<String, OrderType> orderBy, Map<String, OrderNullsStrategy> nulls) throws RuntimeSQLException {
         try {
-            EntityQuery<Object> usedPage = this.buildQueryBySample(sample).usePage(page);
+            EntityQuery<Object> usedPage = this.buildQueryBySample(sample);
+            if (page instanceof KeysetPage) {
+                usedPage.seekAfter((KeysetPage) page);
+            } else {
+                usedPage.usePage(page);
+            }
             if (orderBy != null) {
+                List<String> keys = (page instanceof KeysetPage) ? ((KeysetPage) page).getKeys() : Collections.emptyList();
                 orderBy.forEach((property, orderType) -> {
+                    if (keys.contains(property)) {
+                        return; // already ordered by seekAfter
+                    }
                     OrderNullsStrategy nullsStrategy = (nulls == null) ? OrderNullsStrategy.DEFAULT : nulls.getOrDefault(property, OrderNullsStrategy.DEFAULT);
                     OrderType orderStrategy = orderBy.getOrDefault(property, OrderType.DEFAULT);
                     usedPage.orderBy(orderStrategy, nullsStrategy, property);
                 });
             }
-            return new PageResult<>(page, usedPage.queryForList());
+            if (page instanceof KeysetPage) {
+                return new PageResult<>(page, usedPage.queryForList());
+            }
+            return usedPage.queryForPage();
         } catch (SQLException e) {
             throw new RuntimeSQLException(e);
         }
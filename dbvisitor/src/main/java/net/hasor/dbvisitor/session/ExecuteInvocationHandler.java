@@ -34,6 +34,7 @@ import net.hasor.dbvisitor.mapper.BaseMapper;
 import net.hasor.dbvisitor.mapper.Param;
 import net.hasor.dbvisitor.mapper.Segment;
 import net.hasor.dbvisitor.mapper.StatementDef;
+import net.hasor.dbvisitor.mapper.def.DqlConfig;
 import net.hasor.dbvisitor.mapping.MappingHelper;
 import net.hasor.dbvisitor.page.Page;
 import net.hasor.dbvisitor.page.PageResult;
@@ -195,10 +196,17 @@ class ExecuteInvocationHandler implements InvocationHandler {
     private Object executeByMapper(String dynamicId, FacadeStatement execute, Method method, Object[] objects) throws SQLException {
         Page page = extractPage(dynamicId, objects);
         boolean pageResult = method.getReturnType() == PageResult.class;
+        ParallelCount parallelCount = pageResult ? ParallelCount.of(this.session.getConfiguration(), this.session.jdbc()) : null;
 
-        return this.session.jdbc().execute((ConnectionCallback<Object>) con -> {
-            return execute.execute(con, extractData(dynamicId, objects), page, pageResult);
-        });
+        try {
+            return this.session.jdbc().execute((ConnectionCallback<Object>) con -> {
+                return execute.execute(con, extractData(dynamicId, objects), page, pageResult, parallelCount);
+            });
+        } finally {
+            if (!(execute.getStatementDef().getConfig() instanceof DqlConfig)) {
+                this.session.clearIdentityCache();
+            }
+        }
     }
 
     private Object processResult(Object result, Class<?> returnType) throws SQLException {
@@ -74,12 +74,20 @@ class FacadeStatement {
         }
     }
 
+    public StatementDef getStatementDef() {
+        return this.statementDef;
+    }
+
     public Object execute(Connection conn, Map<String, Object> data, Page pageInfo, boolean pageResult) throws SQLException {
+        return this.execute(conn, data, pageInfo, pageResult, null);
+    }
+
+    public Object execute(Connection conn, Map<String, Object> data, Page pageInfo, boolean pageResult, ParallelCount parallelCount) throws SQLException {
         if (this.selectKeyExecute != null) {
             this.selectKeyExecute.processBefore(conn, data);
         }
 
-        Object result = this.statementExecute.execute(conn, this.statementDef, data, pageInfo, pageResult);
+        Object result = this.statementExecute.execute(conn, this.statementDef, data, pageInfo, pageResult, parallelCount);
 
         if (this.selectKeyExecute != null) {
             this.selectKeyExecute.processAfter(conn, data);
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.session;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import net.hasor.dbvisitor.mapping.def.TableMapping;
+
+/**
+ * Session 级别的一级缓存（identity map），以 (TableMapping, 主键) 为 key 保存 BaseMapper 按主键加载的对象。
+ * <p>同一个 Session 中重复的 selectById、selectByIds、loadBy、loadListBy 直接返回内存中的同一个对象，
+ * 通过该 Session 的 Lambda、BaseMapper 或 Mapper 语句进行写操作时会失效。</p>
+ * <p>事务中放入缓存的对象会在事务结束（提交或回滚）之后被清空，仅限于基于 DataSource 或者使用 DataSourceUtils 获取连接的 Session。</p>
+ * <p>限制：通过 Session.jdbc() 或者其它 Session 修改的数据不会被感知。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public class IdentityCache {
+    private final Map<TableMapping<?>, Map<Object, Object>> entities = new ConcurrentHashMap<>();
+
+    /** 获取缓存的对象，不存在时返回 null */
+    public Object get(TableMapping<?> mapping, Object key) {
+        Map<Object, Object> map = this.entities.get(mapping);
+        return map == null ? null : map.get(key);
+    }
+
+    /** 缓存对象，key 或 entity 为 null 时忽略 */
+    public void put(TableMapping<?> mapping, Object key, Object entity) {
+        if (key == null || entity == null) {
+            return;
+        }
+        this.entities.computeIfAbsent(mapping, m -> new ConcurrentHashMap<>()).put(key, entity);
+    }
+
+    /** 使某张表的缓存失效 */
+    public void invalidate(String table) {
+        String name = ResultCache.normalizeTable(table);
+        this.entities.keySet().removeIf(mapping -> Objects.equals(ResultCache.normalizeTable(mapping.getTable()), name));
+    }
+
+    /** 清空缓存 */
+    public void clear() {
+        this.entities.clear();
+    }
+
+    /** 当前缓存的对象数量 */
+    public int size() {
+        int size = 0;
+        for (Map<Object, Object> map : this.entities.values()) {
+            size += map.size();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.session;
+import net.hasor.dbvisitor.internal.ConcurrentLruCache;
+
+/**
+ * 进程内的结果缓存存储，容量有上限，超出容量时淘汰最近最少访问的条目。
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public class LruResultCacheStore implements ResultCacheStore {
+    private final ConcurrentLruCache<ResultCacheKey, CachedResult> cache;
+
+    public LruResultCacheStore(int capacity) {
+        this.cache = new ConcurrentLruCache<>(capacity);
+    }
+
+    @Override
+    public CachedResult get(ResultCacheKey key) {
+        return this.cache.get(key);
+    }
+
+    @Override
+    public void put(ResultCacheKey key, CachedResult result) {
+        this.cache.put(key, result);
+    }
+
+    @Override
+    public void remove(ResultCacheKey key) {
+        this.cache.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        this.cache.clear();
+    }
+
+    @Override
+    public int size() {
+        return this.cache.size();
+    }
+
+    @Override
+    public String toString() {
+        return "LruResultCacheStore " + this.cache;
+    }
+}
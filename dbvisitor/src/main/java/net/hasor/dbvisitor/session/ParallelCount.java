@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.session;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import javax.sql.DataSource;
+import net.hasor.dbvisitor.jdbc.ConnectionCallback;
+import net.hasor.dbvisitor.jdbc.core.JdbcTemplate;
+import net.hasor.dbvisitor.transaction.DataSourceUtils;
+
+/**
+ * 分页查询时在另外一个数据库连接上执行 count 查询，与数据查询同时进行。
+ * <p>需要在获取数据查询所用的连接之前通过 {@link #of(Configuration, JdbcTemplate)} 创建，此时才能判断调用线程是否处于事务中。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+final class ParallelCount {
+    private final DataSource dataSource;
+    private final Executor   executor;
+
+    private ParallelCount(DataSource dataSource, Executor executor) {
+        this.dataSource = dataSource;
+        this.executor = executor;
+    }
+
+    /** 启用了 parallelPageCount、基于 DataSource 并且当前线程未持有连接（例如不在事务中）时才可以并行，否则返回 null */
+    static ParallelCount of(Configuration config, JdbcTemplate jdbc) {
+        Executor executor = config.getPageCountExecutor();
+        if (executor == null) {
+            return null;
+        }
+        if (jdbc.getConnection() != null || jdbc.getDynamic() != null || jdbc.getDataSource() == null) {
+            return null;
+        }
+        if (DataSourceUtils.hasLocalConnection(jdbc.getDataSource())) {
+            return null;
+        }
+        return new ParallelCount(jdbc.getDataSource(), executor);
+    }
+
+    /** 在线程池上使用一个新的连接执行 count 查询 */
+    CompletableFuture<Long> submit(ConnectionCallback<Long> callback) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        try {
+            this.executor.execute(() -> {
+                try {
+                    future.complete(new JdbcTemplate(this.dataSource).execute(callback));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e); // e.g. RejectedExecutionException
+        }
+        return future;
+    }
+
+    /** 等待 count 查询完成，SQLException 会原样抛出 */
+    static long join(CompletableFuture<Long> future) throws SQLException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.session;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mapper 查询语句的二级结果缓存，以 (statement, 最终执行的 SQL, 参数) 为 key，需要在语句上通过 useCache 显式开启。
+ * <p>每张表维护一个版本号，通过 Mapper 的 insert/update/delete 语句、BaseMapper 以及 Lambda 的写操作会递增所涉及表的版本号，
+ * 缓存的结果在读取时会与查询开始前记录的版本号比对，版本不一致或者超过有效期的结果视为失效。</p>
+ * <p>缓存的结果在放入和取出时都会深拷贝，调用者对结果的修改不会影响缓存；无法复制的结果（例如自定义 RowMapper 返回的对象）不会被缓存。</p>
+ * <p>限制：直接通过 JdbcTemplate 或其它途径修改的数据不会被感知，需要调用 {@link #invalidate(String...)} 手动失效；
+ * 事务中的查询不使用缓存；事务中的写操作在事务提交或回滚之后会再次使所涉及表的缓存失效，
+ * 这需要连接来自 DataSource（例如通过 DataSource 创建 Session 或者使用事务管理器），直接传入 Connection 并自行提交事务时无法感知事务的结束。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public class ResultCache {
+    private final long                    ttlMillis;
+    private final ResultCacheStore        store;
+    private final AtomicLong              epoch     = new AtomicLong();
+    private final Map<String, AtomicLong> versions  = new ConcurrentHashMap<>();
+    private final AtomicLong              hitCount  = new AtomicLong();
+    private final AtomicLong              missCount = new AtomicLong();
+
+    /**
+     * 构造函数，使用进程内的 LRU 存储
+     * @param ttlMillis 有效期（毫秒）
+     * @param capacity 缓存容量
+     */
+    public ResultCache(long ttlMillis, int capacity) {
+        this(ttlMillis, new LruResultCacheStore(capacity));
+    }
+
+    /**
+     * 构造函数
+     * @param ttlMillis 有效期（毫秒）
+     * @param store 缓存存储
+     */
+    public ResultCache(long ttlMillis, ResultCacheStore store) {
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("ttlMillis must be positive.");
+        }
+        this.ttlMillis = ttlMillis;
+        this.store = Objects.requireNonNull(store, "store is null.");
+    }
+
+    /** 在查询开始前记录所依赖表的版本号，查询结束后与结果一起交给 {@link #put(ResultCacheKey, Object, String[], long[])} */
+    public long[] snapshot(String[] tables) {
+        long[] snapshot = new long[tables.length + 1];
+        snapshot[0] = this.epoch.get();
+        for (int i = 0; i < tables.length; i++) {
+            AtomicLong version = this.versions.get(tables[i]);
+            snapshot[i + 1] = version == null ? 0L : version.get();
+        }
+        return snapshot;
+    }
+
+    /** 获取缓存的查询结果，不存在、已经过期或者依赖的表发生过修改时返回 null */
+    public CachedResult get(ResultCacheKey key) {
+        CachedResult result = this.store.get(key);
+        if (result == null) {
+            this.missCount.incrementAndGet();
+            return null;
+        }
+        if (result.getExpireAt() < System.currentTimeMillis() || !this.isCurrent(result)) {
+            this.store.remove(key);
+            this.missCount.incrementAndGet();
+            return null;
+        }
+        this.hitCount.incrementAndGet();
+        return result;
+    }
+
+    /** 缓存查询结果，查询期间依赖的表如果已经发生修改则不缓存 */
+    public void put(ResultCacheKey key, Object value, String[] tables, long[] snapshot) {
+        CachedResult result = new CachedResult(value, tables, snapshot, System.currentTimeMillis() + this.ttlMillis);
+        if (this.isCurrent(result)) {
+            this.store.put(key, result);
+        }
+    }
+
+    private boolean isCurrent(CachedResult result) {
+        long[] snapshot = result.getVersions();
+        String[] tables = result.getTables();
+        if (snapshot.length != tables.length + 1 || snapshot[0] != this.epoch.get()) {
+            return false;
+        }
+        for (int i = 0; i < tables.length; i++) {
+            AtomicLong version = this.versions.get(tables[i]);
+            if ((version == null ? 0L : version.get()) != snapshot[i + 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 使依赖这些表的缓存结果失效 */
+    public void invalidate(String... tables) {
+        if (tables == null) {
+            return;
+        }
+        for (String table : tables) {
+            String name = normalizeTable(table);
+            if (!name.isEmpty()) {
+                this.versions.computeIfAbsent(name, k -> new AtomicLong()).incrementAndGet();
+            }
+        }
+    }
+
+    /** 使全部缓存结果失效，用于无法确定影响范围的写操作（例如存储过程） */
+    public void invalidateAll() {
+        this.epoch.incrementAndGet();
+        this.store.clear();
+    }
+
+    /** 清空缓存以及统计数据 */
+    public void clear() {
+        this.invalidateAll();
+        this.hitCount.set(0);
+        this.missCount.set(0);
+    }
+
+    /** 有效期（毫秒） */
+    public long getTtlMillis() {
+        return this.ttlMillis;
+    }
+
+    /** 缓存存储 */
+    public ResultCacheStore getStore() {
+        return this.store;
+    }
+
+    /** 当前缓存的条目数量，存储无法统计时返回 -1 */
+    public int size() {
+        return this.store.size();
+    }
+
+    /** 命中次数 */
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    /** 未命中次数（包含过期和失效） */
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    /** 批量规范化表名，并去掉空白的表名 */
+    public static String[] normalizeTables(String[] tables) {
+        Set<String> result = new LinkedHashSet<>();
+        if (tables != null) {
+            for (String table : tables) {
+                String name = normalizeTable(table);
+                if (!name.isEmpty()) {
+                    result.add(name);
+                }
+            }
+        }
+        return result.toArray(new String[0]);
+    }
+
+    /** 表名规范化：去掉引号以及 schema 前缀并转换为小写 */
+    public static String normalizeTable(String table) {
+        if (table == null) {
+            return "";
+        }
+        String name = table.trim();
+        int dot = name.lastIndexOf('.');
+        if (dot >= 0) {
+            name = name.substring(dot + 1);
+        }
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '"' && c != '`' && c != '[' && c != ']') {
+                sb.append(c);
+            }
+        }
+        return sb.toString().trim().toLowerCase();
+    }
+
+    @Override
+    public String toString() {
+        return "ResultCache [ttl=" + this.ttlMillis + "ms, hit=" + this.hitCount.get() + ", miss=" + this.missCount.get() + ", " + this.store + "]";
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.session;
+import java.util.Arrays;
+import java.util.Objects;
+import net.hasor.dbvisitor.types.SqlArg;
+
+/**
+ * 结果缓存的 key，由 statement、最终执行的 SQL 以及参数值组成。
+ * <p>外部存储可以使用 {@link #toString()} 作为字符串 key。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public final class ResultCacheKey {
+    private final String   statementId;
+    private final String   sqlString;
+    private final Object[] args;
+    private final int      hashCode;
+
+    public ResultCacheKey(String statementId, String sqlString, Object[] args) {
+        this.statementId = Objects.requireNonNull(statementId, "statementId is null.");
+        this.sqlString = Objects.requireNonNull(sqlString, "sqlString is null.");
+        this.args = new Object[args == null ? 0 : args.length];
+        for (int i = 0; i < this.args.length; i++) {
+            this.args[i] = args[i] instanceof SqlArg ? ((SqlArg) args[i]).getValue() : args[i];
+        }
+        this.hashCode = Objects.hash(this.statementId, this.sqlString) * 31 + Arrays.deepHashCode(this.args);
+    }
+
+    public String getStatementId() {
+        return this.statementId;
+    }
+
+    public String getSqlString() {
+        return this.sqlString;
+    }
+
+    public Object[] getArgs() {
+        return this.args.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ResultCacheKey)) {
+            return false;
+        }
+        ResultCacheKey that = (ResultCacheKey) o;
+        return this.hashCode == that.hashCode && this.statementId.equals(that.statementId) //
+                && this.sqlString.equals(that.sqlString) && Arrays.deepEquals(this.args, that.args);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return this.statementId + ":" + this.sqlString + ":" + Arrays.deepToString(this.args);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.session;
+/**
+ * 结果缓存的存储 SPI，默认为进程内的 {@link LruResultCacheStore}，也可以实现为 Redis 等外部存储。
+ * <p>存储只负责保存数据，过期和失效的判断由 {@link ResultCache} 完成。实现必须是线程安全的。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+public interface ResultCacheStore {
+    /** 读取缓存，不存在时返回 null */
+    CachedResult get(ResultCacheKey key);
+
+    /** 写入缓存 */
+    void put(ResultCacheKey key, CachedResult result);
+
+    /** 移除缓存 */
+    void remove(ResultCacheKey key);
+
+    /** 清空缓存 */
+    void clear();
+
+    /** 当前缓存的条目数量，无法统计时返回 -1 */
+    default int size() {
+        return -1;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.session;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import net.hasor.cobble.function.Property;
+import net.hasor.cobble.ref.LinkedCaseInsensitiveMap;
+import net.hasor.dbvisitor.mapping.def.ColumnMapping;
+import net.hasor.dbvisitor.mapping.def.TableMapping;
+
+/**
+ * 结果缓存的深拷贝工具，放入缓存和从缓存中取出时都会复制一份，调用者对结果的修改不会影响缓存以及其它调用者。
+ * <p>支持：不可变的值类型（String、包装类型、BigDecimal、枚举、java.time 等），Date 与数组，List / Map，
+ * 以及通过 TableMapping 映射的实体对象（按映射的属性重新创建）。其它类型视为无法复制，这样的结果不会被缓存。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+final class ResultCopier {
+    /** 无法复制的结果 */
+    static final Object          UNCOPYABLE = new Object();
+    private final TableMapping<?> tableMapping;
+
+    /**
+     * 构造函数
+     * @param tableMapping 映射结果时使用的 TableMapping，结果不是由 TableMapping 映射的（例如自定义 RowMapper）时为 null
+     */
+    ResultCopier(TableMapping<?> tableMapping) {
+        this.tableMapping = tableMapping;
+    }
+
+    /** 复制查询结果（或结果中的一个值），无法复制时返回 {@link #UNCOPYABLE} */
+    Object copy(Object value) {
+        if (value == null || isImmutable(value.getClass())) {
+            return value;
+        } else if (value instanceof Date) {
+            return ((Date) value).clone();
+        } else if (value.getClass().isArray()) {
+            return this.copyArray(value);
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object item : list) {
+                Object itemCopy = this.copy(item);
+                if (itemCopy == UNCOPYABLE) {
+                    return UNCOPYABLE;
+                }
+                copy.add(itemCopy);
+            }
+            return copy;
+        } else if (value instanceof Map) {
+            return this.copyMap((Map<?, ?>) value);
+        } else {
+            return this.copyEntity(value);
+        }
+    }
+
+    private Object copyArray(Object array) {
+        Class<?> componentType = array.getClass().getComponentType();
+        int length = Array.getLength(array);
+        if (componentType.isPrimitive() || isImmutable(componentType)) {
+            Object copy = Array.newInstance(componentType, length);
+            System.arraycopy(array, 0, copy, 0, length);
+            return copy;
+        }
+
+        Object copy = Array.newInstance(componentType, length);
+        for (int i = 0; i < length; i++) {
+            Object itemCopy = this.copy(Array.get(array, i));
+            if (itemCopy == UNCOPYABLE) {
+                return UNCOPYABLE;
+            }
+            Array.set(copy, i, itemCopy);
+        }
+        return copy;
+    }
+
+    private Object copyMap(Map<?, ?> map) {
+        Map<Object, Object> copy;
+        if (map instanceof LinkedCaseInsensitiveMap) {
+            copy = new LinkedCaseInsensitiveMap(map.size());
+        } else if (map instanceof SortedMap) {
+            copy = new TreeMap<>(((SortedMap) map).comparator());
+        } else if (map instanceof LinkedHashMap) {
+            copy = new LinkedHashMap<>(map.size());
+        } else {
+            copy = new HashMap<>(map.size());
+        }
+
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            Object valueCopy = this.copy(entry.getValue());
+            if (valueCopy == UNCOPYABLE) {
+                return UNCOPYABLE;
+            }
+            copy.put(entry.getKey(), valueCopy);
+        }
+        return copy;
+    }
+
+    /** 实体对象按照结果映射时使用的 TableMapping 重新创建，只复制映射的属性（与 ResultSet 映射时写入的属性一致） */
+    private Object copyEntity(Object entity) {
+        if (this.tableMapping == null || this.tableMapping.isMapEntity() || entity.getClass() != this.tableMapping.entityType()) {
+            return UNCOPYABLE;
+        }
+
+        Object copy = this.tableMapping.newInstance();
+        for (ColumnMapping mapping : this.tableMapping.getProperties()) {
+            Property handler = mapping.getHandler();
+            if (handler.isReadOnly()) {
+                continue;
+            }
+            Object valueCopy = this.copy(handler.get(entity));
+            if (valueCopy == UNCOPYABLE) {
+                return UNCOPYABLE;
+            }
+            handler.set(copy, valueCopy);
+        }
+        return copy;
+    }
+
+    private static boolean isImmutable(Class<?> type) {
+        return type == String.class || type == Integer.class || type == Long.class || type == Short.class || type == Byte.class//
+                || type == Double.class || type == Float.class || type == Boolean.class || type == Character.class//
+                || type == BigDecimal.class || type == BigInteger.class || type == UUID.class || type == Class.class//
+                || Enum.class.isAssignableFrom(type) || type.getName().startsWith("java.time.");
+    }
+}
@@ -25,6 +25,7 @@ import java.util.Objects;
 import javax.sql.DataSource;
 import net.hasor.cobble.io.IOUtils;
 import net.hasor.cobble.reflect.resolvable.ResolvableType;
+import net.hasor.dbvisitor.jdbc.AsyncJdbcOperations;
 import net.hasor.dbvisitor.jdbc.ConnectionCallback;
 import net.hasor.dbvisitor.jdbc.DynamicConnection;
 import net.hasor.dbvisitor.jdbc.core.JdbcAccessor;
@@ -34,6 +35,7 @@ import net.hasor.dbvisitor.mapper.BaseMapper;
 import net.hasor.dbvisitor.mapping.def.TableMapping;
 import net.hasor.dbvisitor.page.Page;
 import net.hasor.dbvisitor.page.PageResult;
+import net.hasor.dbvisitor.transaction.DataSourceUtils;
 
 /**
  * 基础数据库操作接口
@@ -45,12 +47,14 @@ public class Session extends JdbcAccessor implements Closeable {
     private final SessionPrototype prototype;
     private final LambdaTemplate   lambda;
     private final JdbcTemplate     jdbc;
+    private final IdentityCache    identityCache;
 
     public Session(Connection conn, SessionPrototype prototype) throws SQLException {
         this.setConnection(Objects.requireNonNull(conn, "connection is null."));
         this.prototype = Objects.requireNonNull(prototype, "prototype is null.");
         this.configuration = Objects.requireNonNull(prototype.getConfiguration(), "configuration is null.");
-        this.lambda = this.configuration.newLambda(conn);
+        this.identityCache = this.configuration.isIdentityCache() ? new IdentityCache() : null;
+        this.lambda = this.identityCache == null ? this.configuration.newLambda(conn) : new LambdaTemplate(conn, this.configuration.getMappingRegistry(), new SessionQueryContext(this.configuration, this.identityCache));
         this.jdbc = this.lambda.jdbc();
     }
 
@@ -58,7 +62,8 @@ public class Session extends JdbcAccessor implements Closeable {
         this.setDynamic(Objects.requireNonNull(dc, "dynamicConnection is null."));
         this.prototype = Objects.requireNonNull(prototype, "prototype is null.");
         this.configuration = Objects.requireNonNull(prototype.getConfiguration(), "configuration is null.");
-        this.lambda = this.configuration.newLambda(dc);
+        this.identityCache = this.configuration.isIdentityCache() ? new IdentityCache() : null;
+        this.lambda = this.identityCache == null ? this.configuration.newLambda(dc) : new LambdaTemplate(dc, this.configuration.getMappingRegistry(), new SessionQueryContext(this.configuration, this.identityCache));
         this.jdbc = this.lambda.jdbc();
     }
 
@@ -66,7 +71,8 @@ public class Session extends JdbcAccessor implements Closeable {
         this.setDataSource(Objects.requireNonNull(ds, "dataSource is null."));
         this.prototype = Objects.requireNonNull(prototype, "prototype is null.");
         this.configuration = Objects.requireNonNull(prototype.getConfiguration(), "configuration is null.");
-        this.lambda = this.configuration.newLambda(ds);
+        this.identityCache = this.configuration.isIdentityCache() ? new IdentityCache() : null;
+        this.lambda = this.identityCache == null ? this.configuration.newLambda(ds) : new LambdaTemplate(ds, this.configuration.getMappingRegistry(), new SessionQueryContext(this.configuration, this.identityCache));
         this.jdbc = this.lambda.jdbc();
     }
 
@@ -90,14 +96,61 @@ public class Session extends JdbcAccessor implements Closeable {
         return this.jdbc;
     }
 
+    /**
+     * 异步操作接口，使用 {@link Configuration#getParallelExecutor()} 执行，未配置时使用默认线程池（JDK 21+ 上为虚拟线程）。
+     * 可以通过 supply 方法异步执行 Session 上的任意操作，例如 <code>async().supply(() -&gt; session.pageStatement(...))</code>。
+     */
+    public AsyncJdbcOperations async() {
+        return this.jdbc.async(this.configuration.getParallelExecutor());
+    }
+
     public Configuration getConfiguration() {
         return this.configuration;
     }
 
+    /** Session 的一级缓存，未启用时返回 null，参考 {@link Configuration#setIdentityCache(boolean)} */
+    public IdentityCache getIdentityCache() {
+        return this.identityCache;
+    }
+
+    /** 清空一级缓存，例如在事务回滚或者通过 jdbc() 修改数据之后 */
+    public void clearIdentityCache() {
+        if (this.identityCache != null) {
+            this.identityCache.clear();
+        }
+    }
+
+    /**
+     * 事务中放入一级缓存的对象可能包含未提交的数据，在事务结束（提交或回滚）之后清空一级缓存。
+     * 只有基于 DataSource 或者使用 DataSourceUtils 获取的连接时才能感知事务的结束。
+     */
+    void clearIdentityCacheOnCompletion() {
+        IdentityCache cache = this.identityCache;
+        if (cache == null) {
+            return;
+        }
+        try {
+            Connection conn = this.getConnection();
+            if (conn != null) {
+                if (!conn.getAutoCommit()) {
+                    DataSourceUtils.registerCompletion(conn, cache, cache::clear);
+                }
+            } else if (this.getDataSource() != null) {
+                DataSourceUtils.registerCompletion(this.getDataSource(), cache, cache::clear);
+            }
+        } catch (SQLException e) {
+            cache.clear(); // 无法确定事务状态，不保留可能过期的对象
+        }
+    }
+
     public Object executeStatement(String stId, Object parameter) throws SQLException {
-        return this.jdbc.execute((ConnectionCallback<Object>) con -> {
-            return prototype.executeStatement(con, stId, parameter);
-        });
+        try {
+            return this.jdbc.execute((ConnectionCallback<Object>) con -> {
+                return prototype.executeStatement(con, stId, parameter);
+            });
+        } finally {
+            this.clearIdentityCache(); // 无法确定语句类型，视为写操作
+        }
     }
 
     public <E> List<E> queryStatement(String stId, Object parameter) throws SQLException {
@@ -113,8 +166,9 @@ public class Session extends JdbcAccessor implements Closeable {
     }
 
     public <E> PageResult<E> pageStatement(String stId, Object parameter, Page page) throws SQLException {
+        ParallelCount parallelCount = ParallelCount.of(this.configuration, this.jdbc);
         return this.jdbc.execute((ConnectionCallback<PageResult<E>>) con -> {
-            return prototype.pageStatement(con, stId, parameter, page);
+            return prototype.pageStatement(con, stId, parameter, page, parallelCount);
         });
     }
 
@@ -85,7 +85,15 @@ public class SessionPrototype {
         return (PageResult<E>) executeStatement(conn, stId, parameter, page, true);
     }
 
+    <E> PageResult<E> pageStatement(Connection conn, String stId, Object parameter, Page page, ParallelCount parallelCount) throws SQLException {
+        return (PageResult<E>) executeStatement(conn, stId, parameter, page, true, parallelCount);
+    }
+
     private Object executeStatement(Connection conn, String stId, Object parameter, Page page, boolean pageResult) throws SQLException {
+        return executeStatement(conn, stId, parameter, page, pageResult, null);
+    }
+
+    private Object executeStatement(Connection conn, String stId, Object parameter, Page page, boolean pageResult, ParallelCount parallelCount) throws SQLException {
         FacadeStatement proxy = this.cache.computeIfAbsent(stId, s -> {
             String space = "";
             String dynamicId = stId;
@@ -98,7 +106,7 @@ public class SessionPrototype {
         });
 
         Map<String, Object> mapData = extractData(parameter);
-        return proxy.execute(conn, mapData, page, pageResult);
+        return proxy.execute(conn, mapData, page, pageResult, parallelCount);
     }
 
     protected static <E> List<E> asList(Object result) {
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.session;
+import net.hasor.dbvisitor.dynamic.QueryContextWrapper;
+
+/**
+ * Session 的 QueryContext，委托给 Configuration，并且在 Lambda 写操作时使 Session 的一级缓存失效。
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+class SessionQueryContext extends QueryContextWrapper {
+    private final IdentityCache identityCache;
+
+    SessionQueryContext(Configuration configuration, IdentityCache identityCache) {
+        super(configuration);
+        this.identityCache = identityCache;
+    }
+
+    @Override
+    public boolean isTableChangeTracked() {
+        return true;
+    }
+
+    @Override
+    public void tableChanged(String table) {
+        this.identityCache.invalidate(table);
+        super.tableChanged(table);
+    }
+}
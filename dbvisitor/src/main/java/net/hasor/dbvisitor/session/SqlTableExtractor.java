@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.session;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 从 SQL 中粗略地提取涉及的表名，用于结果缓存的依赖登记和失效。
+ * <p>只识别 FROM / JOIN / INTO / UPDATE 之后的标识符以及 FROM、UPDATE（例如 MySQL 的多表 UPDATE）之后以逗号分隔的表列表，多提取出来的名字只会让缓存多失效一次，不影响正确性。
+ * 无法识别的表（例如存储过程中访问的表）需要通过 cacheTables 显式声明。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+final class SqlTableExtractor {
+    private SqlTableExtractor() {
+    }
+
+    /** 提取 SQL 中涉及的表名（已经规范化） */
+    static String[] extract(String sqlString) {
+        Set<String> tables = new LinkedHashSet<>();
+        if (sqlString == null) {
+            return new String[0];
+        }
+
+        int len = sqlString.length();
+        int i = 0;
+        String prevWord = null;
+        boolean inFromList = false;
+        while (i < len) {
+            char c = sqlString.charAt(i);
+            if (c == '\'') {
+                i = skipQuoted(sqlString, i, '\'');
+                prevWord = null;
+                continue;
+            }
+            if (c == '-' && i + 1 < len && sqlString.charAt(i + 1) == '-') {
+                while (i < len && sqlString.charAt(i) != '\n') {
+                    i++;
+                }
+                continue;
+            }
+            if (c == '/' && i + 1 < len && sqlString.charAt(i + 1) == '*') {
+                int end = sqlString.indexOf("*/", i + 2);
+                i = end < 0 ? len : end + 2;
+                continue;
+            }
+            if (c == ',') {
+                prevWord = inFromList ? "from" : null;
+                i++;
+                continue;
+            }
+            if (c == '(' || c == ')' || c == ';') {
+                inFromList = false;
+                prevWord = null;
+                i++;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+
+            // 读取一个标识符（可能带有 schema 前缀以及引号）
+            int start = i;
+            while (i < len) {
+                char ch = sqlString.charAt(i);
+                if (ch == '"' || ch == '`') {
+                    i = skipQuoted(sqlString, i, ch);
+                } else if (ch == '[') {
+                    int end = sqlString.indexOf(']', i);
+                    i = end < 0 ? len : end + 1;
+                } else if (Character.isLetterOrDigit(ch) || ch == '_' || ch == '.' || ch == '$') {
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            if (i == start) {
+                i++; // 运算符等其它字符
+                prevWord = null;
+                continue;
+            }
+
+            String word = sqlString.substring(start, i);
+            String lower = word.toLowerCase();
+            if (prevWord != null && isTableKeyword(prevWord)) {
+                if (!isReservedWord(lower)) {
+                    String table = ResultCache.normalizeTable(word);
+                    if (!table.isEmpty()) {
+                        tables.add(table);
+                    }
+                }
+                inFromList = prevWord.equals("from") || prevWord.equals("update");
+                if (!lower.equals("only") && !lower.equals("ignore")) {
+                    prevWord = lower; // UPDATE IGNORE t、FROM ONLY t 的表名在修饰词之后
+                }
+                continue;
+            }
+
+            if (lower.equals("where") || lower.equals("on") || lower.equals("set") || lower.equals("values") || lower.equals("group") || lower.equals("order") || lower.equals("having") || lower.equals("limit") || lower.equals("union")) {
+                inFromList = false;
+            }
+            prevWord = lower;
+        }
+        return tables.toArray(new String[0]);
+    }
+
+    private static boolean isTableKeyword(String word) {
+        return word.equals("from") || word.equals("join") || word.equals("into") || word.equals("update") || word.equals("table");
+    }
+
+    private static boolean isReservedWord(String word) {
+        return word.equals("select") || word.equals("lateral") || word.equals("only") || word.equals("ignore") || word.equals("dual");
+    }
+
+    private static int skipQuoted(String sqlString, int start, char quote) {
+        int i = start + 1;
+        int len = sqlString.length();
+        while (i < len) {
+            char c = sqlString.charAt(i);
+            if (c == quote) {
+                if (i + 1 < len && sqlString.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return len;
+    }
+}
@@ -103,7 +103,24 @@ public interface ConnectionHolder {
         }
 
         if (!conn.getAutoCommit()) {
-            conn.setAutoCommit(true);
+            conn.setAutoCommit(true); // 切换回自动提交时会提交当前事务
+            this.triggerCompletion();
         }
     }
+
+    /**
+     * 注册一个在当前事务结束（提交或回滚）之后执行的回调，回调只执行一次。同一个事务中 key 相同的回调只保留第一个
+     * @param key 回调的标识，用于去重
+     * @param callback 回调
+     * @return 是否注册成功，不支持时返回 false（默认），此时调用者需要自行处理，例如立即执行
+     */
+    default boolean registerCompletion(Object key, Runnable callback) {
+        return false;
+    }
+
+    /**
+     * 当前事务结束（提交或回滚）之后调用，执行并清空已注册的回调
+     */
+    default void triggerCompletion() {
+    }
 }
\ No newline at end of file
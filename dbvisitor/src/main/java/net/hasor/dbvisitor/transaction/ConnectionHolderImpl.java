@@ -17,7 +17,13 @@ package net.hasor.dbvisitor.transaction;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.sql.DataSource;
+import net.hasor.cobble.logging.Logger;
+import net.hasor.cobble.logging.LoggerFactory;
+import net.hasor.dbvisitor.dialect.SqlDialectRegister;
 import net.hasor.dbvisitor.transaction.support.SavepointManager;
 
 /**
@@ -26,35 +32,59 @@ import net.hasor.dbvisitor.transaction.support.SavepointManager;
  * @version 2014-3-29
  */
 class ConnectionHolderImpl implements ConnectionHolder, SavepointManager {
-    private       int        referenceCount;
-    private final DataSource dataSource;
-    private       Connection connection;
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionHolderImpl.class);
+    // 使用 ReentrantLock 而不是 synchronized，获取或关闭连接期间阻塞时不会钉住（pin）虚拟线程的载体线程
+    private final ReentrantLock  lock = new ReentrantLock();
+    private       int            referenceCount;
+    private final DataSource     dataSource;
+    private       Connection     connection;
+    private       StatementCache statementCache;
+    private       Map<Object, Runnable> completions;
 
     ConnectionHolderImpl(final DataSource dataSource) {
         this.dataSource = dataSource;
     }
 
     /** 增加引用计数,一个因为持有人已被请求 */
-    public synchronized void requested() {
-        this.referenceCount++;
+    public void requested() {
+        this.lock.lock();
+        try {
+            this.referenceCount++;
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     /** 减少引用计数,一个因为持有人已被释放 */
-    public synchronized void released() throws SQLException {
-        if (this.referenceCount == 0) {
-            DataSourceUtils.triggerClose(this.dataSource);
-            return;
-        }
-
-        this.referenceCount--;
-        if (!this.isOpen() && this.connection != null) {
-            try {
-                this.savepointCounter = 0;
-                this.connection.close();
+    public void released() throws SQLException {
+        this.lock.lock();
+        try {
+            if (this.referenceCount == 0) {
                 DataSourceUtils.triggerClose(this.dataSource);
-            } finally {
-                this.connection = null;
+                return;
+            }
+
+            this.referenceCount--;
+            if (!this.isOpen()) {
+                if (this.connection == null) {
+                    DataSourceUtils.triggerClose(this.dataSource); // 未曾真正获取过连接
+                    return;
+                }
+                try {
+                    this.savepointCounter = 0;
+                    if (this.statementCache != null) {
+                        this.statementCache.close();
+                    }
+                    this.connection.close();
+                    DataSourceUtils.triggerClose(this.dataSource);
+                } finally {
+                    this.connection = null;
+                    this.statementCache = null;
+                    this.triggerCompletion(); // 连接关闭时未提交的事务也随之结束
+                }
             }
+        } finally {
+            this.lock.unlock();
         }
     }
 
@@ -64,14 +94,64 @@ class ConnectionHolderImpl implements ConnectionHolder, SavepointManager {
     }
 
     /** 获取数据库连接 */
-    public synchronized Connection getConnection() throws SQLException {
-        if (!this.isOpen()) {
-            return null;
+    public Connection getConnection() throws SQLException {
+        this.lock.lock();
+        try {
+            if (!this.isOpen()) {
+                return null;
+            }
+            if (this.connection == null) {
+                this.connection = this.dataSource.getConnection();
+                StatementCacheStats stats = DataSourceUtils.getStatementCacheStats(this.dataSource);
+                if (stats != null) {
+                    this.statementCache = new StatementCache(this.connection, stats);
+                }
+            }
+            return this.connection;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /** 获取当前连接的 PreparedStatement 缓存，数据源未启用缓存时返回 null */
+    StatementCache getStatementCache() {
+        return this.statementCache;
+    }
+
+    @Override
+    public boolean registerCompletion(Object key, Runnable callback) {
+        this.lock.lock();
+        try {
+            if (this.completions == null) {
+                this.completions = new LinkedHashMap<>();
+            }
+            this.completions.putIfAbsent(key, callback);
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void triggerCompletion() {
+        Map<Object, Runnable> callbacks;
+        this.lock.lock();
+        try {
+            callbacks = this.completions;
+            this.completions = null;
+        } finally {
+            this.lock.unlock();
         }
-        if (this.connection == null) {
-            this.connection = this.dataSource.getConnection();
+
+        if (callbacks != null) {
+            for (Runnable callback : callbacks.values()) {
+                try {
+                    callback.run();
+                } catch (RuntimeException e) {
+                    logger.error("transaction completion callback failed, " + e.getMessage(), e);
+                }
+            }
         }
-        return this.connection;
     }
 
     /** 则表示当前数据库连接是否被打开，被打开的连接一定有引用 */
@@ -102,7 +182,7 @@ class ConnectionHolderImpl implements ConnectionHolder, SavepointManager {
         if (conn == null) {
             throw new IllegalStateException("connection is close.");
         }
-        return conn.getMetaData().supportsSavepoints();
+        return SqlDialectRegister.findDatabaseInfo(conn).supportsSavepoints();
     }
 
     /** 使用一个全新的名称创建一个保存点 */
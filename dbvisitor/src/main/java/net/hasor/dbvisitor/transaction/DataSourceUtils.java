@@ -20,6 +20,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -32,34 +34,63 @@ import javax.sql.DataSource;
  * @version 2013-10-30
  */
 public abstract class DataSourceUtils {
-    protected final static ThreadLocal<Map<DataSource, ConnectionHolder>> holderMap = ThreadLocal.withInitial(ConcurrentHashMap::new);
+    // Holder 只会被所属线程访问，因此无需任何同步
+    protected final static ThreadLocal<Map<DataSource, ConnectionHolder>> holderMap      = ThreadLocal.withInitial(HashMap::new);
+    private final static   Map<DataSource, StatementCacheStats>           statementCache = new ConcurrentHashMap<>();
 
     /** 获取或创建 数据源的当前本地连接 Holder */
-    private static synchronized ConnectionHolderImpl createOrGetHolder(final DataSource dataSource) {
+    private static ConnectionHolderImpl createOrGetHolder(final DataSource dataSource) {
         Objects.requireNonNull(dataSource);
 
-        synchronized (holderMap) {
-            Map<DataSource, ConnectionHolder> localMap = holderMap.get();
-            return (ConnectionHolderImpl) localMap.computeIfAbsent(dataSource, ConnectionHolderImpl::new);
+        Map<DataSource, ConnectionHolder> localMap = holderMap.get();
+        ConnectionHolder holder = localMap.get(dataSource);
+        if (holder == null) {
+            holder = new ConnectionHolderImpl(dataSource);
+            localMap.put(dataSource, holder);
         }
+        return (ConnectionHolderImpl) holder;
     }
 
     protected static void triggerClose(DataSource dataSource) {
-        synchronized (holderMap) {
-            Map<DataSource, ConnectionHolder> dsMap = holderMap.get();
-            if (dsMap.containsKey(dataSource)) {
-                if (dsMap.get(dataSource).getRefCount() == 0) {
-                    dsMap.remove(dataSource);
-                }
-            }
+        Map<DataSource, ConnectionHolder> dsMap = holderMap.get();
+        ConnectionHolder holder = dsMap.get(dataSource);
+        if (holder != null && holder.getRefCount() == 0) {
+            dsMap.remove(dataSource);
         }
     }
 
     /** 获取或创建 数据源的当前本地连接 Holder */
-    public static synchronized ConnectionHolder getHolder(final DataSource dataSource) {
+    public static ConnectionHolder getHolder(final DataSource dataSource) {
         return createOrGetHolder(dataSource);
     }
 
+    /** 当前线程是否持有数据源的本地连接（例如处于事务中），该方法不会创建 Holder */
+    public static boolean hasLocalConnection(final DataSource dataSource) {
+        ConnectionHolder holder = holderMap.get().get(Objects.requireNonNull(dataSource));
+        return holder != null && holder.getRefCount() > 0;
+    }
+
+    /**
+     * 为数据源启用或关闭 PreparedStatement 缓存，默认不启用。
+     * <p>缓存属于 Holder 持有的物理连接，在连接被持有期间（例如事务中）相同 SQL 的 PreparedStatement 会被复用，连接释放时全部关闭。
+     * 适用于连接池或驱动本身不缓存 PreparedStatement 的场景。</p>
+     * @param dataSource 数据源
+     * @param cacheSize 每个连接最多缓存的数量，小于等于 0 表示关闭缓存
+     */
+    public static void setStatementCacheSize(final DataSource dataSource, int cacheSize) {
+        Objects.requireNonNull(dataSource);
+        if (cacheSize <= 0) {
+            statementCache.remove(dataSource);
+        } else {
+            statementCache.put(dataSource, new StatementCacheStats(cacheSize));
+        }
+    }
+
+    /** 获取数据源 PreparedStatement 缓存的命中统计，未启用缓存时返回 null */
+    public static StatementCacheStats getStatementCacheStats(final DataSource dataSource) {
+        return statementCache.get(Objects.requireNonNull(dataSource));
+    }
+
     /** 强制设置当前本地 ConnectionHolder */
     protected static void unsafeResetHolder(DataSource dataSource, ConnectionHolder holder) {
         Objects.requireNonNull(dataSource);
@@ -86,6 +117,64 @@ public abstract class DataSourceUtils {
         return (ConnectionProxy) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(), new Class[] { ConnectionProxy.class, Closeable.class }, handler);
     }
 
+    /**
+     * 在连接当前的事务结束（提交或回滚）之后执行回调。
+     * <p>只有通过 {@link #getConnection(DataSource)} 获取的连接（可以被 ConnectionProxy 再次包装）才能感知事务的结束，其它连接返回 false。</p>
+     * @param conn 数据库连接
+     * @param key 回调的标识，同一个事务中 key 相同的回调只保留第一个
+     * @param callback 回调
+     * @return 是否注册成功
+     */
+    public static boolean registerCompletion(Connection conn, Object key, Runnable callback) {
+        Objects.requireNonNull(callback);
+        ConnectionHolderImpl holder = findHolder(conn);
+        return holder != null && holder.registerCompletion(key, callback);
+    }
+
+    /**
+     * 获取连接所属的数据源，只有通过 {@link #getConnection(DataSource)} 获取的连接（可以被 ConnectionProxy 再次包装）才能找到，其它连接返回 null。
+     * @param conn 数据库连接
+     * @return 数据源
+     */
+    public static DataSource findDataSource(Connection conn) {
+        ConnectionHolderImpl holder = findHolder(conn);
+        return holder == null ? null : holder.getDataSource();
+    }
+
+    private static ConnectionHolderImpl findHolder(Connection conn) {
+        Connection target = conn;
+        while (target instanceof ConnectionProxy) {
+            if (Proxy.isProxyClass(target.getClass())) {
+                InvocationHandler handler = Proxy.getInvocationHandler(target);
+                if (handler instanceof CloseSuppressingInvocationHandlerForHolder) {
+                    return ((CloseSuppressingInvocationHandlerForHolder) handler).holder;
+                }
+            }
+            Connection next = ((ConnectionProxy) target).getTargetConnection();
+            if (next == target) {
+                break;
+            }
+            target = next;
+        }
+        return null;
+    }
+
+    /**
+     * 当前线程持有数据源的本地连接并且处于事务中时，在事务结束（提交或回滚）之后执行回调。
+     * @param dataSource 数据源
+     * @param key 回调的标识，同一个事务中 key 相同的回调只保留第一个
+     * @param callback 回调
+     * @return 是否注册成功，不在事务中或者 ConnectionHolder 不支持时返回 false
+     */
+    public static boolean registerCompletion(DataSource dataSource, Object key, Runnable callback) throws SQLException {
+        Objects.requireNonNull(callback);
+        ConnectionHolder holder = holderMap.get().get(Objects.requireNonNull(dataSource));
+        if (holder == null || holder.getRefCount() == 0 || !holder.hasTransaction()) {
+            return false;
+        }
+        return holder.registerCompletion(key, callback);
+    }
+
     /** Connection 接口代理，目的是为了控制一些方法的调用。同时进行一些特殊类型的处理 */
     private static class CloseSuppressingInvocationHandlerForHolder implements InvocationHandler {
         private final ConnectionHolderImpl holder;
@@ -115,6 +204,14 @@ public abstract class DataSourceUtils {
                 throw new IllegalStateException("connection is close.");
             }
 
+            if ("close".equals(method.getName())) {
+                if (this.holder.isOpen()) {
+                    this.holder.released();//ref--
+                }
+                this.closed.set(true);
+                return null;
+            }
+
             Connection conn = this.holder.getConnection();
             switch (method.getName()) {
                 case "getTargetConnection":
@@ -125,18 +222,23 @@ public abstract class DataSourceUtils {
                     } else {
                         break;
                     }
-                case "close":
-                    if (this.holder.isOpen()) {
-                        this.holder.released();//ref--
+                case "prepareStatement":
+                    StatementCache cache = this.holder.getStatementCache();
+                    if (cache != null) {
+                        return cache.prepareStatement((Connection) proxy, method, args);
+                    } else {
+                        break;
                     }
-                    this.closed.set(true);
-                    return null;
                 default:
                     break;
             }
 
             try {
-                return method.invoke(conn, args);
+                Object result = method.invoke(conn, args);
+                if (("commit".equals(method.getName()) || "rollback".equals(method.getName())) && (args == null || args.length == 0)) {
+                    this.holder.triggerCompletion();
+                }
+                return result;
             } catch (InvocationTargetException ex) {
                 throw ex.getTargetException();
             }
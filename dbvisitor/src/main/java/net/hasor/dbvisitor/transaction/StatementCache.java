@@ -0,0 +1,315 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.transaction;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import net.hasor.cobble.logging.Logger;
+import net.hasor.cobble.logging.LoggerFactory;
+
+/**
+ * 物理连接上的 PreparedStatement 缓存（LRU），以 SQL 文本和 prepareStatement 的其余参数（例如 generated-key 模式）作为缓存 Key。
+ * <p>调用者拿到的是 PreparedStatement 的代理，调用 close 时会关闭它打开的 ResultSet、清理参数并归还到缓存中，而不是真正关闭。
+ * 代理的 getConnection 以及 ResultSet 的 getStatement 返回的都是代理对象，避免调用者绕过代理关闭物理连接或者缓存的 PreparedStatement。
+ * 同一个 SQL 的 PreparedStatement 正在被使用时，再次请求会创建一个不被缓存的 PreparedStatement。
+ * 被淘汰或者连接关闭时，PreparedStatement 才会被真正关闭。</p>
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+class StatementCache {
+    private static final Logger                                 logger = LoggerFactory.getLogger(StatementCache.class);
+    private final        Connection                             connection;
+    private final        StatementCacheStats                    stats;
+    private final        LinkedHashMap<String, CachedStatement> cache;
+    private final        ReentrantLock                          lock   = new ReentrantLock();
+    private              boolean                                closed;
+
+    StatementCache(Connection connection, StatementCacheStats stats) {
+        this.connection = connection;
+        this.stats = stats;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * 处理 Connection 上的 prepareStatement 方法调用
+     * @param connProxy 调用者使用的连接代理，作为 PreparedStatement 代理的 getConnection 返回值
+     */
+    PreparedStatement prepareStatement(Connection connProxy, Method method, Object[] args) throws Throwable {
+        this.lock.lock();
+        try {
+            String cacheKey = cacheKey(args);
+            CachedStatement cached = this.cache.get(cacheKey);
+            if (cached != null && !cached.inUse) {
+                if (!cached.statement.isClosed()) {
+                    this.stats.hit();
+                    cached.inUse = true;
+                    return cached.newProxy(connProxy);
+                }
+                this.cache.remove(cacheKey);
+                cached = null;
+            }
+
+            this.stats.miss();
+            PreparedStatement statement = invokePrepare(method, this.connection, args);
+            if (cached != null || this.closed) {
+                return statement; // 同一个 SQL 正在被使用，不做缓存
+            }
+
+            cached = new CachedStatement(this, cacheKey, statement);
+            cached.inUse = true;
+            this.cache.put(cacheKey, cached);
+            this.evictIfNecessary();
+            return cached.newProxy(connProxy);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void evictIfNecessary() {
+        Iterator<CachedStatement> iterator = this.cache.values().iterator();
+        while (this.cache.size() > this.stats.getCacheSize() && iterator.hasNext()) {
+            CachedStatement eldest = iterator.next();
+            iterator.remove();
+            this.stats.evict();
+            if (eldest.inUse) {
+                eldest.evicted = true; // 归还时关闭
+            } else {
+                closeQuietly(eldest.statement);
+            }
+        }
+    }
+
+    /** 归还 PreparedStatement，清理参数、批处理以及被修改过的设置 */
+    void release(CachedStatement cached) throws SQLException {
+        this.lock.lock();
+        try {
+            cached.inUse = false;
+            if (cached.evicted || this.closed) {
+                cached.statement.close();
+                return;
+            }
+
+            try {
+                cached.reset();
+            } catch (SQLException | RuntimeException e) {
+                logger.warn("reset cached statement failed, the statement will be closed. " + e.getMessage());
+                this.cache.remove(cached.cacheKey);
+                closeQuietly(cached.statement);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /** 关闭所有缓存的 PreparedStatement，正在被使用的会在归还时关闭 */
+    void close() {
+        this.lock.lock();
+        try {
+            this.closed = true;
+            for (CachedStatement cached : this.cache.values()) {
+                if (cached.inUse) {
+                    cached.evicted = true;
+                } else {
+                    closeQuietly(cached.statement);
+                }
+            }
+            this.cache.clear();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private static String cacheKey(Object[] args) {
+        String sql = (String) args[0];
+        if (args.length == 1) {
+            return sql;
+        }
+        return sql + "\u0000" + Arrays.deepToString(Arrays.copyOfRange(args, 1, args.length));
+    }
+
+    private static PreparedStatement invokePrepare(Method method, Connection conn, Object[] args) throws Throwable {
+        try {
+            return (PreparedStatement) method.invoke(conn, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            logger.warn("close cached statement failed, " + e.getMessage());
+        }
+    }
+
+    /** 被缓存的 PreparedStatement，记录创建时的设置以便在归还时恢复 */
+    static class CachedStatement {
+        private final StatementCache    owner;
+        private final String            cacheKey;
+        private final PreparedStatement statement;
+        private final int               maxRows;
+        private final int               queryTimeout;
+        private final int               fetchSize;
+        private       boolean           inUse;
+        private       boolean           evicted;
+
+        CachedStatement(StatementCache owner, String cacheKey, PreparedStatement statement) throws SQLException {
+            this.owner = owner;
+            this.cacheKey = cacheKey;
+            this.statement = statement;
+            this.maxRows = statement.getMaxRows();
+            this.queryTimeout = statement.getQueryTimeout();
+            this.fetchSize = statement.getFetchSize();
+        }
+
+        PreparedStatement newProxy(Connection connProxy) {
+            StatementHandler handler = new StatementHandler(this, connProxy);
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class[] { PreparedStatement.class }, handler);
+        }
+
+        void reset() throws SQLException {
+            this.statement.clearParameters();
+            this.statement.clearBatch();
+            this.statement.clearWarnings();
+            if (this.statement.getMaxRows() != this.maxRows) {
+                this.statement.setMaxRows(this.maxRows);
+            }
+            if (this.statement.getQueryTimeout() != this.queryTimeout) {
+                this.statement.setQueryTimeout(this.queryTimeout);
+            }
+            if (this.statement.getFetchSize() != this.fetchSize) {
+                this.statement.setFetchSize(this.fetchSize);
+            }
+        }
+    }
+
+    /** 每次从缓存中取出时都会创建新的代理，close 之后该代理不可再使用 */
+    private static class StatementHandler implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection      connProxy;
+        private final List<ResultSet> resultSets = new ArrayList<>();
+        private       boolean         closed;
+
+        StatementHandler(CachedStatement cached, Connection connProxy) {
+            this.cached = cached;
+            this.connProxy = connProxy;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "toString":
+                    return "Cached " + this.cached.statement;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "isClosed":
+                    return this.closed || this.cached.statement.isClosed();
+                case "close":
+                    if (!this.closed) {
+                        this.closed = true;
+                        this.closeResultSets();
+                        this.cached.owner.release(this.cached);
+                    }
+                    return null;
+                default:
+                    break;
+            }
+
+            if (this.closed) {
+                throw new SQLException("statement is closed.");
+            }
+            if ("getConnection".equals(method.getName())) {
+                return this.connProxy;
+            }
+
+            Object result;
+            try {
+                result = method.invoke(this.cached.statement, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+
+            if (result instanceof ResultSet) {
+                ResultSet resultSet = (ResultSet) result;
+                this.resultSets.add(resultSet);
+                ResultSetHandler handler = new ResultSetHandler(this, (Statement) proxy, resultSet);
+                return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class[] { ResultSet.class }, handler);
+            }
+            return result;
+        }
+
+        /** 关闭调用者没有关闭的 ResultSet，否则下一个使用者执行时驱动才会关闭它们，某些驱动还会因此报错 */
+        private void closeResultSets() {
+            for (ResultSet resultSet : this.resultSets) {
+                try {
+                    resultSet.close();
+                } catch (SQLException e) {
+                    logger.warn("close result set of cached statement failed, " + e.getMessage());
+                }
+            }
+            this.resultSets.clear();
+        }
+    }
+
+    /** 让 ResultSet 的 getStatement 返回 PreparedStatement 的代理，关闭时不再由 StatementHandler 跟踪 */
+    private static class ResultSetHandler implements InvocationHandler {
+        private final StatementHandler owner;
+        private final Statement        statementProxy;
+        private final ResultSet        resultSet;
+
+        ResultSetHandler(StatementHandler owner, Statement statementProxy, ResultSet resultSet) {
+            this.owner = owner;
+            this.statementProxy = statementProxy;
+            this.resultSet = resultSet;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "toString":
+                    return this.resultSet.toString();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getStatement":
+                    return this.statementProxy;
+                case "close":
+                    this.owner.resultSets.remove(this.resultSet);
+                    break;
+                default:
+                    break;
+            }
+
+            try {
+                return method.invoke(this.resultSet, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.transaction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 数据源的 PreparedStatement 缓存配置与统计信息，由同一个数据源的所有连接共同累计。
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ * @see DataSourceUtils#setStatementCacheSize(javax.sql.DataSource, int)
+ */
+public final class StatementCacheStats {
+    private final int        cacheSize;
+    private final AtomicLong hitCount      = new AtomicLong();
+    private final AtomicLong missCount     = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    StatementCacheStats(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /** 每个连接最多缓存的 PreparedStatement 数量 */
+    public int getCacheSize() {
+        return this.cacheSize;
+    }
+
+    /** 命中缓存的次数 */
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    /** 未命中缓存（新创建 PreparedStatement）的次数 */
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    /** 因超出缓存容量而被关闭的 PreparedStatement 数量 */
+    public long getEvictionCount() {
+        return this.evictionCount.get();
+    }
+
+    /** 命中率，尚未发生过请求时返回 0 */
+    public double getHitRate() {
+        long hit = this.hitCount.get();
+        long total = hit + this.missCount.get();
+        return total == 0 ? 0d : (double) hit / total;
+    }
+
+    /** 清空统计数据 */
+    public void reset() {
+        this.hitCount.set(0);
+        this.missCount.set(0);
+        this.evictionCount.set(0);
+    }
+
+    void hit() {
+        this.hitCount.incrementAndGet();
+    }
+
+    void miss() {
+        this.missCount.incrementAndGet();
+    }
+
+    void evict() {
+        this.evictionCount.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "StatementCacheStats{cacheSize=" + this.cacheSize + ", hit=" + this.getHitCount() + ", miss=" + this.getMissCount() + ", eviction=" + this.getEvictionCount() + "}";
+    }
+}
@@ -17,7 +17,9 @@ package net.hasor.dbvisitor.transaction.support;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.sql.DataSource;
 import net.hasor.cobble.dynamic.Proxy;
 import net.hasor.dbvisitor.transaction.TransactionManager;
@@ -28,22 +30,16 @@ import net.hasor.dbvisitor.transaction.Transactional;
  * @version 2013-10-30
  */
 public class TransactionHelper {
-    private static final WeakHashMap<DataSource, TransactionManager> txManagerMap = new WeakHashMap<>();
+    private static final Map<DataSource, TransactionManager> txManagerMap  = new WeakHashMap<>();
+    private static final ReentrantLock                       txManagerLock = new ReentrantLock();
 
     public static TransactionManager txManager(DataSource dataSource) {
-        TransactionManager txManager = txManagerMap.get(dataSource);
-        if (txManager == null) {
-            synchronized (txManagerMap) {
-                txManager = txManagerMap.get(dataSource);
-                if (txManager != null) {
-                    return txManager;
-                }
-
-                txManager = new LocalTransactionManager(dataSource);
-                txManagerMap.put(dataSource, txManager);
-            }
+        txManagerLock.lock();
+        try {
+            return txManagerMap.computeIfAbsent(dataSource, LocalTransactionManager::new);
+        } finally {
+            txManagerLock.unlock();
         }
-        return txManager;
     }
 
     public static <T> T support(T object, DataSource... ctxDs) {
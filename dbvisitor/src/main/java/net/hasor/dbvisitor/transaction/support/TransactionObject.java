@@ -48,14 +48,22 @@ public class TransactionObject {
     }
 
     public void rollback() throws SQLException {
-        if (this.holder.hasTransaction()) {
-            this.holder.getConnection().rollback();//在AutoCommit情况下不执行事务操作（MYSQL强制在auto下执行该方法会引发异常）。
+        try {
+            if (this.holder.hasTransaction()) {
+                this.holder.getConnection().rollback();//在AutoCommit情况下不执行事务操作（MYSQL强制在auto下执行该方法会引发异常）。
+            }
+        } finally {
+            this.holder.triggerCompletion();
         }
     }
 
     public void commit() throws SQLException {
-        if (this.holder.hasTransaction()) {
-            this.holder.getConnection().commit();//在AutoCommit情况下不执行事务操作（MYSQL强制在auto下执行该方法会引发异常）。
+        try {
+            if (this.holder.hasTransaction()) {
+                this.holder.getConnection().commit();//在AutoCommit情况下不执行事务操作（MYSQL强制在auto下执行该方法会引发异常）。
+            }
+        } finally {
+            this.holder.triggerCompletion();
         }
     }
 
@@ -14,8 +14,12 @@
  * limitations under the License.
  */
 package net.hasor.dbvisitor.dialect;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import net.hasor.dbvisitor.dialect.provider.MySqlDialect;
 import net.hasor.dbvisitor.jdbc.JdbcHelper;
+import net.hasor.dbvisitor.lambda.DuplicateKeyStrategy;
 import org.junit.Test;
 
 /***
@@ -107,4 +111,20 @@ public class Dialect4MySqlTest extends AbstractDialectTest {
     //        assert boundSql3.getSqlString().equals("INSERT INTO TB_User (userUUID, name, loginName, loginPassword, email, `index`, registerTime) VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE");
     //    }
 
+    @Test
+    public void dialect_mysql_bulkInsert() {
+        MySqlDialect dialect = findDialect();
+        List<String> pk = Collections.singletonList("id");
+        List<String> columns = Arrays.asList("id", "name");
+
+        String into = dialect.bulkInsert(DuplicateKeyStrategy.Into, true, null, null, "tb_user", pk, columns, null, 2);
+        assert into.equals("INSERT INTO `tb_user` (`id`, `name`) VALUES (?, ?), (?, ?)");
+
+        assert dialect.supportBulkInsert(DuplicateKeyStrategy.Into, pk, columns, null);
+        assert !dialect.supportBulkInsert(DuplicateKeyStrategy.Ignore, pk, columns, null);
+        assert !dialect.supportBulkInsert(DuplicateKeyStrategy.Update, pk, columns, null);
+
+        String term = dialect.bulkInsert(DuplicateKeyStrategy.Into, false, null, null, "tb_user", pk, columns, Collections.singletonMap("name", "UPPER(?)"), 2);
+        assert term.equals("INSERT INTO tb_user (id, name) VALUES (?, UPPER(?)), (?, UPPER(?))");
+    }
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ import java.util.Map;
 import net.hasor.cobble.CollectionUtils;
 import net.hasor.dbvisitor.dialect.provider.OracleDialect;
 import net.hasor.dbvisitor.jdbc.JdbcHelper;
+import net.hasor.dbvisitor.lambda.DuplicateKeyStrategy;
 import org.junit.Test;
 
 /***
@@ -90,4 +91,23 @@ public class Dialect4OracleTest extends AbstractDialectTest {
         assert sql.equals("MERGE INTO examination TMP USING (SELECT ? student, ? course, ? score, to_char(?) passed, ? teacher FROM dual) SRC ON (TMP.student = SRC.student AND TMP.course = SRC.course) WHEN MATCHED THEN UPDATE SET score = SRC.score, passed = SRC.passed, teacher = SRC.teacher WHEN NOT MATCHED THEN INSERT (student, course, score, passed, teacher) VALUES ( SRC.student, SRC.course, SRC.score, SRC.passed, SRC.teacher)");
     }
 
+    @Test
+    public void dialect_oracle_bulkInsert() {
+        OracleDialect dialect = this.findDialect();
+
+        List<String> keys = CollectionUtils.asList("student", "course");
+        List<String> columns = CollectionUtils.asList("student", "course", "score");
+        Map<String, String> terms = CollectionUtils.asMap("score", "to_number(?)");
+
+        assert dialect.supportBulkInsert(DuplicateKeyStrategy.Into, keys, columns, null);
+        assert !dialect.supportBulkInsert(DuplicateKeyStrategy.Update, keys, columns, null);
+        assert !dialect.supportBulkInsert(DuplicateKeyStrategy.Into, keys, columns, terms);
+
+        String sql = dialect.bulkInsert(DuplicateKeyStrategy.Into, false, null, null, "examination", keys, columns, null, 2);
+        assert sql.equals("INSERT INTO examination (student, course, score) SELECT ?, ?, ? FROM DUAL UNION ALL SELECT ?, ?, ? FROM DUAL");
+
+        String termSql = dialect.bulkInsert(DuplicateKeyStrategy.Into, false, null, null, "examination", keys, columns, terms, 2);
+        assert termSql.equals("INSERT INTO examination (student, course, score) SELECT ?, ?, to_number(?) FROM DUAL UNION ALL SELECT ?, ?, to_number(?) FROM DUAL");
+    }
+
 }
\ No newline at end of file
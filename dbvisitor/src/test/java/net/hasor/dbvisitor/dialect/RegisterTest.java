@@ -14,9 +14,17 @@
  * limitations under the License.
  */
 package net.hasor.dbvisitor.dialect;
+import java.sql.Connection;
 import net.hasor.dbvisitor.dialect.dto.TestDialect;
 import net.hasor.dbvisitor.dialect.provider.DefaultSqlDialect;
+import net.hasor.dbvisitor.dialect.provider.H2Dialect;
+import net.hasor.dbvisitor.jdbc.JdbcHelper;
+import net.hasor.dbvisitor.lambda.LambdaTemplate;
+import net.hasor.dbvisitor.mapping.Options;
+import net.hasor.dbvisitor.transaction.DataSourceUtils;
 import net.hasor.test.AbstractDbTest;
+import net.hasor.test.utils.DefaultDs;
+import net.hasor.test.utils.DsUtils;
 import org.junit.Test;
 
 /***
@@ -48,4 +56,55 @@ public class RegisterTest extends AbstractDbTest {
         assert dialect != null;
         assert dialect instanceof TestDialect;
     }
+
+    @Test
+    public void databaseInfoTest_1() throws Exception {
+        SqlDialectRegister.clearDialectCache();
+        try (Connection c1 = DsUtils.h2Conn(); Connection c2 = DsUtils.h2Conn()) {
+            DatabaseInfo info1 = SqlDialectRegister.findDatabaseInfo(c1);
+            assert info1.getDbType().equals(JdbcHelper.H2);
+            assert info1.getProductName().equals("H2");
+            assert info1.getMajorVersion() >= 2;
+            assert info1.isVersionAtLeast(1, 4);
+            assert info1.supportsBatchUpdates();
+            assert info1.supportsGetGeneratedKeys();
+
+            // same connection and same url
+            assert SqlDialectRegister.findDatabaseInfo(c1) == info1;
+            assert SqlDialectRegister.findDatabaseInfo(c2) == info1;
+            assert SqlDialectRegister.findDialect(Options.of(), c2) instanceof H2Dialect;
+        }
+    }
+
+    @Test
+    public void databaseInfoTest_2() throws Throwable {
+        SqlDialectRegister.clearDialectCache();
+        try (DefaultDs ds = DsUtils.h2Ds()) {
+            assert SqlDialectRegister.findDatabaseInfo(ds) == null;
+
+            // the lambda resolves the dialect with a connection and binds the result to the DataSource.
+            assert new LambdaTemplate(ds).queryFreedom(null, null, "user_info").queryForCount() > 0;
+            DatabaseInfo info = SqlDialectRegister.findDatabaseInfo(ds);
+            assert info != null && info.getDbType().equals(JdbcHelper.H2);
+        }
+    }
+
+    @Test
+    public void databaseInfoTest_3() throws Throwable {
+        SqlDialectRegister.clearDialectCache();
+        try (DefaultDs ds = DsUtils.h2Ds()) {
+            // a connection from DataSourceUtils binds the result to its DataSource.
+            try (Connection conn = DataSourceUtils.getConnection(ds)) {
+                assert SqlDialectRegister.findDialect(Options.of(), conn) instanceof H2Dialect;
+            }
+            DatabaseInfo info = SqlDialectRegister.findDatabaseInfo(ds);
+            assert info != null && info.getDbType().equals(JdbcHelper.H2);
+
+            // later lookups use the DataSource without reading the connection metadata.
+            try (Connection conn = DataSourceUtils.getConnection(ds)) {
+                assert DataSourceUtils.findDataSource(conn) == ds;
+                assert SqlDialectRegister.findDatabaseInfo(ds, conn) == info;
+            }
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package net.hasor.dbvisitor.dynamic;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.Map;
 import net.hasor.cobble.CollectionUtils;
 import net.hasor.dbvisitor.dynamic.dto.LicenseOfValueEnum;
@@ -104,6 +105,35 @@ public class ArgRuleTest {
         }
     }
 
+    @Test
+    public void ruleTest_9() throws SQLException {
+        PlanDynamicSql segment = DynamicParsed.getParsedSql("#{name,jdbcType=varchar,javaType=java.lang.String,typeHandler=net.hasor.dbvisitor.types.handler.string.SqlXmlTypeHandler}");
+
+        // the same plan is executed repeatedly and under different contexts.
+        for (int i = 0; i < 3; i++) {
+            Map<String, Object> ctx = CollectionUtils.asMap("name", "abc" + i);
+            SqlBuilder sqlBuilder = segment.buildQuery(ctx, new TestQueryContext());
+            assert sqlBuilder.getSqlString().equals("?");
+            assert ((SqlArg) sqlBuilder.getArgs()[0]).getValue().equals("abc" + i);
+            assert ((SqlArg) sqlBuilder.getArgs()[0]).getJdbcType() == Types.VARCHAR;
+            assert ((SqlArg) sqlBuilder.getArgs()[0]).getJavaType() == String.class;
+            assert ((SqlArg) sqlBuilder.getArgs()[0]).getTypeHandler() instanceof SqlXmlTypeHandler;
+        }
+    }
+
+    @Test
+    public void ruleTest_10() throws SQLException {
+        PlanDynamicSql segment = DynamicParsed.getParsedSql("@{arg, true, name, mode=inout, jdbcType=int}");
+        TestQueryContext context = new TestQueryContext();
+
+        SqlBuilder sqlBuilder1 = segment.buildQuery(CollectionUtils.asMap("name", 1), context);
+        SqlBuilder sqlBuilder2 = segment.buildQuery(CollectionUtils.asMap("name", 2), context);
+        assert ((SqlArg) sqlBuilder1.getArgs()[0]).getValue().equals(1);
+        assert ((SqlArg) sqlBuilder2.getArgs()[0]).getValue().equals(2);
+        assert ((SqlArg) sqlBuilder2.getArgs()[0]).getSqlMode() == SqlMode.InOut;
+        assert ((SqlArg) sqlBuilder2.getArgs()[0]).getJdbcType() == Types.INTEGER;
+    }
+
     @Test
     public void toStringTest_1() {
         assert ArgRule.INSTANCE.toString().startsWith("arg [");
@@ -4,6 +4,7 @@ import java.util.Collections;
 import java.util.Map;
 import net.hasor.cobble.CollectionUtils;
 import net.hasor.dbvisitor.dynamic.rule.IfRule;
+import net.hasor.dbvisitor.dynamic.rule.SqlRule;
 import net.hasor.dbvisitor.dynamic.segment.PlanDynamicSql;
 import org.junit.Test;
 
@@ -73,4 +74,32 @@ public class IfRuleTest {
     public void toStringTest_1() {
         assert IfRule.INSTANCE_IF.toString().startsWith("if [");
     }
+
+    @Test
+    public void ifRuleTest_custom() throws SQLException {
+        PlanDynamicSql segment = DynamicParsed.getParsedSql("@{if,true,:data}");
+        Map<String, Object> ctx = CollectionUtils.asMap("data", "abc");
+
+        // a registry that replaces the builtin rule must not reuse the builtin prepared value.
+        TestQueryContext custom = new TestQueryContext() {
+            @Override
+            public SqlRule findRule(String ruleName) {
+                return new SqlRule() {
+                    @Override
+                    public boolean test(SqlArgSource data, QueryContext context, String activeExpr) {
+                        return true;
+                    }
+
+                    @Override
+                    public void executeRule(SqlArgSource data, QueryContext context, SqlBuilder sqlBuilder, String activeExpr, String ruleValue) {
+                        sqlBuilder.appendSql("custom");
+                    }
+                };
+            }
+        };
+
+        assert segment.buildQuery(ctx, new TestQueryContext()).getSqlString().equals("?");
+        assert segment.buildQuery(ctx, custom).getSqlString().equals("custom");
+        assert segment.buildQuery(ctx, new TestQueryContext()).getSqlString().equals("?");
+    }
 }
@@ -0,0 +1,89 @@
+package net.hasor.dbvisitor.internal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.hasor.dbvisitor.dynamic.DefaultParsedSqlCache;
+import net.hasor.dbvisitor.dynamic.segment.PlanDynamicSql;
+import org.junit.Test;
+
+public class ConcurrentLruCacheTest {
+    @Test
+    public void cacheTest_1() {
+        ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(10);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        assert cache.computeIfAbsent("a", k -> k + loadCount.incrementAndGet()).equals("a1");
+        assert cache.computeIfAbsent("a", k -> k + loadCount.incrementAndGet()).equals("a1");
+        assert cache.get("a").equals("a1");
+        assert cache.get("b") == null;
+
+        assert loadCount.get() == 1;
+        assert cache.getHitCount() == 2;
+        assert cache.getMissCount() == 2;
+        assert cache.size() == 1;
+    }
+
+    @Test
+    public void evictionTest_1() {
+        List<String> evicted = new ArrayList<>();
+        ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(3, (k, v) -> evicted.add(k));
+
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+        cache.get("a"); // a is visited, the hand skip it.
+        cache.put("d", "4");
+
+        assert cache.size() == 3;
+        assert cache.getEvictionCount() == 1;
+        assert evicted.size() == 1 && evicted.get(0).equals("b");
+        assert cache.get("a").equals("1");
+        assert cache.get("b") == null;
+    }
+
+    @Test
+    public void evictionTest_2() {
+        ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(16);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i % 40, i);
+            cache.remove(i % 7);
+        }
+        assert cache.size() <= 16;
+    }
+
+    @Test
+    public void removeTest_1() {
+        List<String> evicted = new ArrayList<>();
+        ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(3, (k, v) -> evicted.add(k + "=" + v));
+
+        cache.put("a", "1");
+        cache.put("a", "2");
+        cache.put("b", "3");
+        assert cache.remove("b").equals("3");
+        assert cache.remove("b") == null;
+        cache.clear();
+
+        assert evicted.size() == 3;
+        assert evicted.get(0).equals("a=1");
+        assert evicted.get(1).equals("b=3");
+        assert evicted.get(2).equals("a=2");
+        assert cache.size() == 0;
+        assert cache.getEvictionCount() == 0;
+    }
+
+    @Test
+    public void parsedSqlCacheTest_1() {
+        DefaultParsedSqlCache cache = new DefaultParsedSqlCache(2);
+
+        PlanDynamicSql sql1 = cache.getParsedSql("select * from t where id = #{id}");
+        PlanDynamicSql sql2 = cache.getParsedSql("select * from t where id = #{id}");
+        assert sql1 == sql2;
+        assert cache.getHitCount() == 1;
+        assert cache.getMissCount() == 1;
+
+        cache.getParsedSql("select 1");
+        cache.getParsedSql("select 2");
+        assert cache.size() == 2;
+        assert cache.getEvictionCount() == 1;
+    }
+}
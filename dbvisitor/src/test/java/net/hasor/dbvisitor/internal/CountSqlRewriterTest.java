@@ -0,0 +1,63 @@
+package net.hasor.dbvisitor.internal;
+import net.hasor.dbvisitor.dialect.BoundSql;
+import net.hasor.dbvisitor.dialect.provider.MySqlDialect;
+import org.junit.Test;
+
+public class CountSqlRewriterTest {
+    @Test
+    public void removeOrderBy_1() {
+        assert CountSqlRewriter.removeOrderBy("select * from t where a = ?").equals("select * from t where a = ?");
+        assert CountSqlRewriter.removeOrderBy("select * from t where a = ? order by a desc, b").equals("select * from t where a = ?");
+        assert CountSqlRewriter.removeOrderBy("select * from t ORDER  BY a").equals("select * from t");
+        // order by in sub query is untouched
+        assert CountSqlRewriter.removeOrderBy("select * from (select * from t order by a) x").equals("select * from (select * from t order by a) x");
+        // keywords in string literal and comment
+        assert CountSqlRewriter.removeOrderBy("select * from t where a = 'order by' -- order by\n order by a").equals("select * from t where a = 'order by' -- order by");
+    }
+
+    @Test
+    public void removeOrderBy_2() {
+        // parameters in order by
+        assert CountSqlRewriter.removeOrderBy("select * from t order by field(a, ?)") == null;
+        // limit / set operations
+        assert CountSqlRewriter.removeOrderBy("select * from t order by a limit 10") == null;
+        assert CountSqlRewriter.removeOrderBy("select a from t union select a from t2 order by a") == null;
+        assert CountSqlRewriter.removeOrderBy("select * from t for update") == null;
+        // broken sql
+        assert CountSqlRewriter.removeOrderBy("select * from t where a = 'abc") == null;
+        assert CountSqlRewriter.removeOrderBy("select * from t where (a = 1") == null;
+    }
+
+    @Test
+    public void replaceSelectList_1() {
+        assert CountSqlRewriter.replaceSelectList("select * from t where a = ?").equals("SELECT COUNT(*) from t where a = ?");
+        assert CountSqlRewriter.replaceSelectList("select a.id, b.name from a join b on a.id = b.aid").equals("SELECT COUNT(*) from a join b on a.id = b.aid");
+        assert CountSqlRewriter.replaceSelectList("select * from t where a in (select b from t2)").equals("SELECT COUNT(*) from t where a in (select b from t2)");
+    }
+
+    @Test
+    public void replaceSelectList_2() {
+        assert CountSqlRewriter.replaceSelectList("select distinct a from t") == null;
+        assert CountSqlRewriter.replaceSelectList("select a, count(*) from t group by a") == null;
+        assert CountSqlRewriter.replaceSelectList("select max(a) from t") == null;
+        assert CountSqlRewriter.replaceSelectList("select a, ? from t") == null;
+        assert CountSqlRewriter.replaceSelectList("select * from t order by a") == null;
+        assert CountSqlRewriter.replaceSelectList("with x as (select * from t) select * from x") == null;
+    }
+
+    @Test
+    public void simpleCountSql_1() {
+        MySqlDialect dialect = new MySqlDialect();
+        Object[] args = new Object[] { 1 };
+
+        BoundSql sql1 = dialect.simpleCountSql(new BoundSql.BoundSqlObj("select * from t where a = ? order by b", args));
+        assert sql1.getSqlString().equals("SELECT COUNT(*) from t where a = ?");
+        assert sql1.getArgs() == args;
+
+        BoundSql sql2 = dialect.simpleCountSql(new BoundSql.BoundSqlObj("select a, count(*) from t where a = ? group by a order by a", args));
+        assert sql2.getSqlString().equals("SELECT COUNT(*) FROM (select a, count(*) from t where a = ? group by a) as TEMP_T");
+
+        BoundSql sql3 = dialect.simpleCountSql(new BoundSql.BoundSqlObj("select * from t where a = ? order by b limit 10", args));
+        assert sql3.getSqlString().equals("SELECT COUNT(*) FROM (select * from t where a = ? order by b limit 10) as TEMP_T");
+    }
+}
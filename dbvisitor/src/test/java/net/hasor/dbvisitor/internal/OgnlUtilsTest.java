@@ -0,0 +1,57 @@
+package net.hasor.dbvisitor.internal;
+import java.util.HashMap;
+import java.util.Map;
+import net.hasor.cobble.CollectionUtils;
+import org.junit.Test;
+
+public class OgnlUtilsTest {
+    @Test
+    public void cacheTest_1() {
+        String expr = "cacheTest_1 + '_' + name";
+        Map<String, Object> ctx = CollectionUtils.asMap("cacheTest_1", "abc", "name", "123");
+
+        long misses = OgnlUtils.getCacheMisses();
+        long hits = OgnlUtils.getCacheHits();
+
+        assert OgnlUtils.evalOgnl(expr, ctx).equals("abc_123");
+        assert OgnlUtils.evalOgnl(expr, ctx).equals("abc_123");
+        assert OgnlUtils.evalOgnl(expr, ctx).equals("abc_123");
+
+        assert OgnlUtils.getCacheMisses() - misses >= 1;
+        assert OgnlUtils.getCacheHits() - hits >= 2;
+    }
+
+    @Test
+    public void cacheTest_2() {
+        Map<String, Object> ctx1 = CollectionUtils.asMap("name", "abc");
+        Map<String, Object> ctx2 = CollectionUtils.asMap("name", "123");
+
+        // the cached tree must not remember the previous root.
+        assert OgnlUtils.evalOgnl("name", ctx1).equals("abc");
+        assert OgnlUtils.evalOgnl("name", ctx2).equals("123");
+        assert OgnlUtils.evalOgnl("#root.name", ctx2).equals("123");
+    }
+
+    @Test
+    public void nestedTest_1() {
+        Map<String, Object> ctx = new HashMap<>();
+        ctx.put("self", new NestedBean());
+
+        // evaluation of the outer expression calls back into OgnlUtils.
+        assert OgnlUtils.evalOgnl("self.nested('abc')", ctx).equals("abc_nested");
+    }
+
+    @Test
+    public void writeTest_1() {
+        Map<String, Object> ctx = new HashMap<>();
+        OgnlUtils.writeByExpr("name", ctx, "abc");
+        OgnlUtils.writeByExpr("name", ctx, "123");
+        assert ctx.get("name").equals("123");
+    }
+
+    public static class NestedBean {
+        public String nested(String value) {
+            return (String) OgnlUtils.evalOgnl("value + '_nested'", CollectionUtils.asMap("value", value));
+        }
+    }
+}
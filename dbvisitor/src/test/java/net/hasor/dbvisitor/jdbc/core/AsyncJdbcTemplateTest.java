@@ -0,0 +1,130 @@
+package net.hasor.dbvisitor.jdbc.core;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.hasor.dbvisitor.jdbc.AsyncJdbcOperations;
+import net.hasor.dbvisitor.jdbc.ConnectionCallback;
+import net.hasor.dbvisitor.mapper.BaseMapper;
+import net.hasor.dbvisitor.page.PageObject;
+import net.hasor.dbvisitor.session.Configuration;
+import net.hasor.dbvisitor.session.Session;
+import net.hasor.dbvisitor.session.dto.UserInfo2;
+import net.hasor.dbvisitor.transaction.Isolation;
+import net.hasor.dbvisitor.transaction.Propagation;
+import net.hasor.dbvisitor.transaction.TransactionManager;
+import net.hasor.dbvisitor.transaction.TransactionStatus;
+import net.hasor.dbvisitor.transaction.support.LocalTransactionManager;
+import net.hasor.test.utils.DefaultDs;
+import net.hasor.test.utils.DsUtils;
+import org.junit.Test;
+
+public class AsyncJdbcTemplateTest {
+    @Test
+    public void async_query_1() throws Throwable {
+        try (DefaultDs dataSource = DsUtils.h2Ds()) {
+            AsyncJdbcOperations async = new JdbcTemplate(dataSource).async();
+            assert async.isAsync();
+            assert async.getExecutor() == AsyncJdbcTemplate.defaultExecutor();
+
+            Thread caller = Thread.currentThread();
+            Thread worker = async.execute((ConnectionCallback<Thread>) con -> Thread.currentThread()).get();
+            assert worker != caller;
+
+            CompletableFuture<Long> count = async.queryForLong("select count(*) from user_info", null);
+            CompletableFuture<List<Map<String, Object>>> page = async.queryForList("select * from user_info order by user_uuid limit 2", null);
+            int[] result = count.thenCombine(page, (c, p) -> new int[] { c.intValue(), p.size() }).join();
+            assert result[0] == 3;
+            assert result[1] == 2;
+        }
+    }
+
+    @Test
+    public void async_executor_1() throws Throwable {
+        ExecutorService executor = Executors.newFixedThreadPool(1, r -> new Thread(r, "async-test"));
+        try (DefaultDs dataSource = DsUtils.h2Ds()) {
+            AsyncJdbcOperations async = new JdbcTemplate(dataSource).async(executor);
+            assert async.getExecutor() == executor;
+
+            String name = async.supply(() -> Thread.currentThread().getName()).get();
+            assert name.equals("async-test");
+            assert async.executeUpdate("update user_info set user_name = ? where 1 = 2", new Object[] { "async" }).get() == 0;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void async_error_1() throws Throwable {
+        try (DefaultDs dataSource = DsUtils.h2Ds()) {
+            CompletableFuture<Integer> future = new JdbcTemplate(dataSource).async().queryForInt("select count(*) from no_such_table", null);
+            try {
+                future.join();
+                assert false;
+            } catch (CompletionException e) {
+                assert e.getCause() instanceof SQLException;
+            }
+        }
+    }
+
+    @Test
+    public void async_in_tran_1() throws Throwable {
+        try (DefaultDs dataSource = DsUtils.h2Ds()) {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            TransactionManager manager = new LocalTransactionManager(dataSource);
+            TransactionStatus tran = manager.begin(Propagation.REQUIRED, Isolation.READ_COMMITTED);
+            try {
+                jdbc.executeUpdate("insert into user_info (user_uuid, user_name) values (?, ?)", new Object[] { "async_tran", "async" });
+
+                // 事务中在调用线程上执行，使用同一个连接因此能看到未提交的数据
+                AsyncJdbcOperations async = jdbc.async();
+                assert !async.isAsync();
+                CompletableFuture<Thread> thread = async.supply(Thread::currentThread);
+                assert thread.isDone();
+                assert thread.get() == Thread.currentThread();
+                assert async.queryForInt("select count(*) from user_info where user_uuid = 'async_tran'", null).get() == 1;
+            } finally {
+                manager.rollBack(tran);
+            }
+            assert jdbc.queryForInt("select count(*) from user_info where user_uuid = 'async_tran'") == 0;
+        }
+    }
+
+    @Test
+    public void async_conn_1() throws Throwable {
+        try (Connection conn = DsUtils.h2Conn()) {
+            AsyncJdbcOperations async = new JdbcTemplate(conn).async();
+            assert !async.isAsync();
+            assert async.supply(Thread::currentThread).get() == Thread.currentThread();
+            assert async.queryForLong("select count(*) from user_info", null).get() == 3L;
+        }
+    }
+
+    @Test
+    public void session_async_1() throws Throwable {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Configuration config = new Configuration();
+            config.options().mapUnderscoreToCamelCase(true);
+            config.setParallelExecutor(executor);
+
+            try (Session s = config.newSession(DsUtils.h2Ds())) {
+                AsyncJdbcOperations async = s.async();
+                assert async.getExecutor() == executor;
+
+                BaseMapper<UserInfo2> mapper = s.createBaseMapper(UserInfo2.class);
+                PageObject page = new PageObject(0, 2);
+                CompletableFuture<Integer> count = async.supply(() -> mapper.query().queryForCount());
+                CompletableFuture<List<UserInfo2>> data = async.supply(() -> mapper.query().orderBy("uid").usePage(page).queryForList());
+                assert count.get() == 3;
+                assert data.get().size() == 2;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -15,8 +15,12 @@
  */
 package net.hasor.dbvisitor.jdbc.mapper;
 import java.sql.Connection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import net.hasor.dbvisitor.jdbc.core.JdbcTemplate;
+import net.hasor.dbvisitor.mapping.MappingRegistry;
 import net.hasor.test.AbstractDbTest;
 import net.hasor.test.dto.UserInfo2;
 import net.hasor.test.utils.DsUtils;
@@ -41,4 +45,47 @@ public class MappingRowMapperTest extends AbstractDbTest {
             assert TestUtils.beanForData3().getUserUuid().equals(users.get(2).getUid());
         }
     }
+
+    @Test
+    public void testBeanRowMapper_1() throws Throwable {
+        try (Connection c = DsUtils.h2Conn()) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(c);
+
+            Set<RowMappingPlan> plans = new HashSet<>();
+            BeanMappingRowMapper<UserInfo2> rowMapper = new BeanMappingRowMapper<UserInfo2>(UserInfo2.class) {
+                @Override
+                protected RowMappingPlan getMappingPlan(String[] columns) {
+                    RowMappingPlan plan = super.getMappingPlan(columns);
+                    plans.add(plan);
+                    return plan;
+                }
+            };
+
+            // the plan is resolved once per ResultSet and shared by the next query.
+            List<UserInfo2> users1 = jdbcTemplate.queryForList("select user_uuid, user_name, abc from (select *, 1 as abc from user_info)", rowMapper);
+            List<UserInfo2> users2 = jdbcTemplate.queryForList("select user_uuid, user_name, abc from (select *, 1 as abc from user_info)", rowMapper);
+            assert users1.size() == 3 && users2.size() == 3;
+            assert plans.size() == 1;
+
+            RowMappingPlan plan = plans.iterator().next();
+            assert plan.getColumns().length == 3;
+            assert plan.getMapping(2) == null;
+            assert TestUtils.beanForData1().getUserUuid().equals(users2.get(0).getUid());
+            assert TestUtils.beanForData1().getName().equals(users2.get(0).getName());
+            assert users2.get(0).getLoginName() == null;
+        }
+    }
+
+    @Test
+    public void testMapRowMapper_0() throws Throwable {
+        try (Connection c = DsUtils.h2Conn()) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(c);
+
+            List<Map<String, Object>> users = jdbcTemplate.queryForList("select user_uuid, user_name from user_info", new MapMappingRowMapper(UserInfo2.class, MappingRegistry.DEFAULT));
+            assert users.size() == 3;
+            assert users.get(0).size() == 2;
+            assert TestUtils.beanForData1().getUserUuid().equals(users.get(0).get("uid"));
+            assert TestUtils.beanForData1().getName().equals(users.get(0).get("name"));
+        }
+    }
 }
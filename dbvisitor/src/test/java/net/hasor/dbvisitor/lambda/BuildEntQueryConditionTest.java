@@ -16,6 +16,7 @@
 package net.hasor.dbvisitor.lambda;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import net.hasor.dbvisitor.dialect.BoundSql;
 import net.hasor.dbvisitor.lambda.dto.AnnoUserInfoDTO;
@@ -1288,4 +1289,19 @@ public class BuildEntQueryConditionTest {
         assert boundSql3.getArgs()[0].equals(1);
         assert boundSql3.getArgs()[1].equals("abc");
     }
+
+    @Test
+    public void queryBuild_in_rows_1() throws SQLException {
+        List<Object[]> rows = Arrays.asList(new Object[] { "u1", "n1" }, new Object[] { "u2", "n2" });
+        BoundSql boundSql1 = new LambdaTemplate().query(AnnoUserInfoDTO.class)//
+                .eq("seq", 1).inRows(Arrays.asList("uid", "loginName"), rows).getBoundSql();
+        assert boundSql1.getSqlString().equals("SELECT * FROM user_info WHERE seq = ? AND ( ( user_uuid = ? AND login_name = ? ) OR ( user_uuid = ? AND login_name = ? ) )");
+        assert boundSql1.getArgs().length == 5;
+        assert boundSql1.getArgs()[1].equals("u1");
+        assert boundSql1.getArgs()[4].equals("n2");
+
+        BoundSql boundSql2 = new LambdaTemplate().query(AnnoUserInfoDTO.class)//
+                .inRows(Collections.singletonList("uid"), Arrays.asList(new Object[] { "u1" }, new Object[] { "u2" })).getBoundSql();
+        assert boundSql2.getSqlString().equals("SELECT * FROM user_info WHERE user_uuid IN ( ? , ? )");
+    }
 }
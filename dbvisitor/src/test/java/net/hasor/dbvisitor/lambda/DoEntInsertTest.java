@@ -15,13 +15,15 @@
  */
 package net.hasor.dbvisitor.lambda;
 import java.sql.Connection;
-import java.util.Date;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import net.hasor.dbvisitor.dialect.BatchBoundSql;
+import net.hasor.dbvisitor.lambda.core.BulkChunk;
+import net.hasor.dbvisitor.lambda.core.BulkOptions;
+import net.hasor.dbvisitor.lambda.core.BulkResult;
 import net.hasor.dbvisitor.lambda.dto.AnnoUserInfoDTO;
+import net.hasor.scene.wrapper.crud.dto.UserTableDTO;
 import net.hasor.test.dto.UserInfo2;
 import net.hasor.test.utils.DsUtils;
 import org.junit.Test;
@@ -255,4 +257,219 @@ public class DoEntInsertTest {
             assert ids.contains(user2.get("uid"));
         }
     }
+
+    private static AnnoUserInfoDTO newUser(int i) {
+        AnnoUserInfoDTO user = new AnnoUserInfoDTO();
+        user.setUid("bulk_" + i);
+        user.setName("name_" + i);
+        user.setLoginName("login_" + i);
+        user.setPassword("pwd_" + i);
+        user.setEmail("user" + i + "@hasor.net");
+        user.setSeq(i);
+        user.setCreateTime(new Date());
+        return user;
+    }
+
+    @Test
+    public void bulkInsert_ent() throws Throwable {
+        try (Connection c = DsUtils.h2Conn()) {
+            LambdaTemplate lambdaTemplate = new LambdaTemplate(c);
+            lambdaTemplate.jdbc().execute("delete from user_info");
+
+            List<BulkChunk> chunks = new ArrayList<>();
+            BulkOptions options = BulkOptions.of().batchRows(10).listener(chunks::add);
+            BulkResult result = lambdaTemplate.insert(AnnoUserInfoDTO.class).executeBulk(IntStream.range(0, 25).mapToObj(DoEntInsertTest::newUser), options);
+
+            assert result.isSuccess();
+            assert result.getRows() == 25;
+            assert result.getAffected() == 25;
+            assert result.getChunks() == 3;
+            assert chunks.size() == 3;
+            assert chunks.get(0).getRows() == 10 && chunks.get(0).getFirstRow() == 0;
+            assert chunks.get(2).getRows() == 5 && chunks.get(2).getFirstRow() == 20;
+            assert chunks.get(2).getBytes() > 0;
+
+            assert lambdaTemplate.query(UserInfo2.class).queryForCount() == 25;
+        }
+    }
+
+    @Test
+    public void bulkInsert_bytes() throws Throwable {
+        try (Connection c = DsUtils.h2Conn()) {
+            LambdaTemplate lambdaTemplate = new LambdaTemplate(c);
+            lambdaTemplate.jdbc().execute("delete from user_info");
+
+            List<AnnoUserInfoDTO> users = IntStream.range(0, 6).mapToObj(DoEntInsertTest::newUser).collect(Collectors.toList());
+            BulkOptions options = BulkOptions.of().batchRows(100).batchBytes(1);
+            BulkResult result = lambdaTemplate.insert(AnnoUserInfoDTO.class).executeBulk(users, options);
+
+            assert result.getChunks() == 6; // each row reaches the bytes limit
+            assert lambdaTemplate.query(UserInfo2.class).queryForCount() == 6;
+        }
+    }
+
+    @Test
+    public void bulkInsert_continueOnError() throws Throwable {
+        try (Connection c = DsUtils.h2Conn()) {
+            LambdaTemplate lambdaTemplate = new LambdaTemplate(c);
+            lambdaTemplate.jdbc().execute("delete from user_info");
+
+            // row 5 duplicates row 4, the second chunk fails.
+            List<AnnoUserInfoDTO> users = IntStream.range(0, 9).mapToObj(DoEntInsertTest::newUser).collect(Collectors.toList());
+            users.get(5).setUid(users.get(4).getUid());
+
+            BulkOptions options = BulkOptions.of().batchRows(3).commitEachChunk(true).continueOnError(true);
+            BulkResult result = lambdaTemplate.insert(AnnoUserInfoDTO.class).executeBulk(users, options);
+
+            assert !result.isSuccess();
+            assert result.getChunks() == 3;
+            assert result.getFailures().size() == 1;
+            assert result.getFailures().get(0).getIndex() == 1;
+            assert result.getFailures().get(0).getError() != null;
+            assert result.getAffected() == 6;
+
+            assert lambdaTemplate.query(UserInfo2.class).queryForCount() == 6;
+            assert c.getAutoCommit();
+        }
+    }
+
+    @Test
+    public void bulkInsert_failed() throws Throwable {
+        try (Connection c = DsUtils.h2Conn()) {
+            LambdaTemplate lambdaTemplate = new LambdaTemplate(c);
+            lambdaTemplate.jdbc().execute("delete from user_info");
+
+            List<AnnoUserInfoDTO> users = IntStream.range(0, 9).mapToObj(DoEntInsertTest::newUser).collect(Collectors.toList());
+            users.get(5).setUid(users.get(4).getUid());
+
+            try {
+                lambdaTemplate.insert(AnnoUserInfoDTO.class).executeBulk(users, BulkOptions.of().batchRows(3).commitEachChunk(true));
+                assert false;
+            } catch (Exception e) {
+                assert e.getMessage().contains("bulk_4") || e.getMessage().toLowerCase().contains("primary key");
+            }
+
+            // the first chunk is committed, later chunks are not executed.
+            assert lambdaTemplate.query(UserInfo2.class).queryForCount() == 3;
+        }
+    }
+
+    @Test
+    public void bulkInsert_autoId() throws Throwable {
+        try (Connection c = DsUtils.h2Conn()) {
+            LambdaTemplate lambdaTemplate = new LambdaTemplate(c);
+            lambdaTemplate.jdbc().execute("delete from user_table");
+
+            List<UserTableDTO> users = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                UserTableDTO user = new UserTableDTO();
+                user.setName("user_" + i);
+                user.setAge(i);
+                user.setCreateTime(new Date());
+                users.add(user);
+            }
+
+            BulkResult result = lambdaTemplate.insert(UserTableDTO.class).executeBulk(users, BulkOptions.of().batchRows(3));
+            assert result.getChunks() == 3;
+
+            Set<Integer> ids = users.stream().map(UserTableDTO::getId).collect(Collectors.toSet());
+            assert !ids.contains(null);
+            assert ids.size() == 7;
+
+            List<UserTableDTO> tbUsers = lambdaTemplate.query(UserTableDTO.class).queryForList();
+            assert tbUsers.stream().map(UserTableDTO::getId).collect(Collectors.toSet()).equals(ids);
+        }
+    }
+
+    @Test
+    public void bulkInsert_map() throws Throwable {
+        try (Connection c = DsUtils.h2Conn()) {
+            LambdaTemplate lambdaTemplate = new LambdaTemplate(c);
+            lambdaTemplate.jdbc().execute("delete from user_info");
+
+            List<Map<String, Object>> users = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                Map<String, Object> user = new LinkedHashMap<>();
+                user.put("uid", "bulk_" + i);
+                user.put("name", "name_" + i);
+                if (i >= 3) {
+                    user.put("loginName", "login_" + i); // different sql
+                }
+                users.add(user);
+            }
+
+            BulkResult result = lambdaTemplate.insert(AnnoUserInfoDTO.class).asMap().executeBulk(users, BulkOptions.of().batchRows(10));
+            assert result.getChunks() == 2;
+            assert result.getAffected() == 5;
+            assert lambdaTemplate.query(UserInfo2.class).queryForCount() == 5;
+        }
+    }
+
+    @Test
+    public void bulkValues_ent() throws Throwable {
+        try (Connection c = DsUtils.h2Conn()) {
+            LambdaTemplate lambdaTemplate = new LambdaTemplate(c);
+            lambdaTemplate.jdbc().execute("delete from user_info");
+
+            // H2 supports multi-row VALUES, 2500 rows are split into 1000 + 1000 + 500.
+            List<AnnoUserInfoDTO> users = IntStream.range(0, 2500).mapToObj(DoEntInsertTest::newUser).collect(Collectors.toList());
+            int[] result = lambdaTemplate.insert(AnnoUserInfoDTO.class).applyEntity(users).executeGetResult();
+
+            assert result.length == 2500;
+            assert Arrays.stream(result).allMatch(v -> v == 1);
+            assert lambdaTemplate.query(UserInfo2.class).queryForCount() == 2500;
+
+            Set<String> ids = lambdaTemplate.query(UserInfo2.class).queryForList().stream().map(UserInfo2::getUid).collect(Collectors.toSet());
+            assert ids.equals(users.stream().map(AnnoUserInfoDTO::getUid).collect(Collectors.toSet()));
+        }
+    }
+
+    @Test
+    public void bulkValues_autoId() throws Throwable {
+        try (Connection c = DsUtils.h2Conn()) {
+            LambdaTemplate lambdaTemplate = new LambdaTemplate(c);
+            lambdaTemplate.jdbc().execute("delete from user_table");
+
+            List<UserTableDTO> users = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                UserTableDTO user = new UserTableDTO();
+                user.setName("user_" + i);
+                user.setAge(i);
+                user.setCreateTime(new Date());
+                users.add(user);
+            }
+
+            // generated keys require the single-row batch.
+            assert lambdaTemplate.insert(UserTableDTO.class).applyEntity(users).executeSumResult() == 5;
+            Set<Integer> ids = users.stream().map(UserTableDTO::getId).collect(Collectors.toSet());
+            assert !ids.contains(null);
+            assert ids.size() == 5;
+        }
+    }
+
+    @Test
+    public void bulkValues_map() throws Throwable {
+        try (Connection c = DsUtils.h2Conn()) {
+            LambdaTemplate lambdaTemplate = new LambdaTemplate(c);
+            lambdaTemplate.jdbc().execute("delete from user_info");
+
+            List<Map<String, Object>> users = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                Map<String, Object> user = new LinkedHashMap<>();
+                user.put("uid", "values_" + i);
+                user.put("name", "name_" + i);
+                if (i == 3) {
+                    user.put("loginName", "login_" + i); // different columns
+                }
+                users.add(user);
+            }
+
+            int[] result = lambdaTemplate.insert(AnnoUserInfoDTO.class).asMap().applyMap(users).executeGetResult();
+            assert Arrays.equals(result, new int[] { 1, 1, 1, 1, 1, 1 });
+
+            List<UserInfo2> tbUsers = lambdaTemplate.query(UserInfo2.class).queryForList();
+            assert tbUsers.size() == 6;
+            assert tbUsers.stream().filter(u -> u.getUid().equals("values_3")).findFirst().get().getLoginName().equals("login_3");
+        }
+    }
 }
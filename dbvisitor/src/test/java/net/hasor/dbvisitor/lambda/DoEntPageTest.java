@@ -19,16 +19,21 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import javax.sql.DataSource;
 import net.hasor.dbvisitor.dialect.BoundSql;
+import net.hasor.dbvisitor.dialect.SqlDialect;
+import net.hasor.dbvisitor.dialect.provider.DerbyDialect;
 import net.hasor.dbvisitor.dialect.provider.MySqlDialect;
 import net.hasor.dbvisitor.dynamic.MacroRegistry;
 import net.hasor.dbvisitor.dynamic.RuleRegistry;
 import net.hasor.dbvisitor.jdbc.core.JdbcQueryContext;
 import net.hasor.dbvisitor.jdbc.core.JdbcTemplate;
+import net.hasor.dbvisitor.lambda.core.OrderType;
 import net.hasor.dbvisitor.lambda.dto.AnnoUserInfoDTO;
 import net.hasor.dbvisitor.mapping.MappingRegistry;
 import net.hasor.dbvisitor.mapping.Options;
+import net.hasor.dbvisitor.page.KeysetPage;
 import net.hasor.dbvisitor.types.TypeHandlerRegistry;
 import net.hasor.test.dto.UserInfo2;
 import net.hasor.test.utils.DsUtils;
@@ -42,7 +47,11 @@ import static net.hasor.test.utils.TestUtils.INSERT_ARRAY;
 public class DoEntPageTest {
 
     private LambdaTemplate newLambda() throws SQLException {
-        Options opt = Options.of().dialect(new MySqlDialect());
+        return newLambda(new MySqlDialect());
+    }
+
+    private LambdaTemplate newLambda(SqlDialect dialect) throws SQLException {
+        Options opt = Options.of().dialect(dialect);
         JdbcQueryContext context = new JdbcQueryContext();
         context.setTypeRegistry(new TypeHandlerRegistry());
         context.setMacroRegistry(new MacroRegistry());
@@ -102,6 +111,83 @@ public class DoEntPageTest {
         assert boundSql2.getArgs()[1].equals(5L);
     }
 
+    @Test
+    public void buildKeysetTest_1() throws SQLException {
+        KeysetPage page = new KeysetPage(10, "loginName", "seq");
+        BoundSql boundSql1 = newLambda().query(UserInfo2.class).select(UserInfo2::getLoginName)//
+                .eq(UserInfo2::getSeq, 1)//
+                .seekAfter(page)//
+                .getBoundSql();
+        assert boundSql1.getSqlString().equals("SELECT login_name FROM user_info WHERE seq = ? ORDER BY login_name ASC, seq ASC LIMIT ?");
+        assert boundSql1.getArgs().length == 2;
+        assert boundSql1.getArgs()[1].equals(10L);
+
+        page.setCursor(new Object[] { "abc", 5 });
+        BoundSql boundSql2 = newLambda().query(UserInfo2.class).select(UserInfo2::getLoginName)//
+                .eq(UserInfo2::getSeq, 1)//
+                .seekAfter(page)//
+                .getBoundSql();
+        assert boundSql2.getSqlString().equals("SELECT login_name FROM user_info WHERE seq = ? AND (login_name, seq) > (?, ?) ORDER BY login_name ASC, seq ASC LIMIT ?");
+        assert boundSql2.getArgs().length == 4;
+        assert boundSql2.getArgs()[3].equals(10L);
+    }
+
+    @Test
+    public void buildKeysetTest_2() throws SQLException {
+        KeysetPage page = new KeysetPage(10, OrderType.DESC, "loginName", "seq");
+        page.setCursor(new Object[] { "abc", 5 });
+        BoundSql boundSql = newLambda(new DerbyDialect()).query(UserInfo2.class).select(UserInfo2::getLoginName)//
+                .seekAfter(page)//
+                .getBoundSql();
+        assert boundSql.getSqlString().startsWith("SELECT login_name FROM user_info WHERE ( login_name <= ? AND ( ( login_name < ? ) OR ( login_name = ? AND seq < ? ) ) ) ORDER BY login_name DESC, seq DESC");
+    }
+
+    @Test
+    public void queryKeyset_1() throws Throwable {
+        try (Connection c = DsUtils.h2Conn()) {
+            int count = initData(c);
+            LambdaTemplate lambda = newLambda(c);
+
+            List<AnnoUserInfoDTO> pageAll = new ArrayList<>();
+            KeysetPage page = new KeysetPage(5, "seq", "uid");
+            while (true) {
+                List<AnnoUserInfoDTO> data = lambda.query(AnnoUserInfoDTO.class).seekAfter(page).queryForList();
+                pageAll.addAll(data);
+                if (!page.hasNextPage()) {
+                    break;
+                }
+                assert data.size() == 5;
+                assert page.getNextCursor()[0].equals(data.get(4).getSeq());
+                page.nextPage();
+            }
+
+            assert pageAll.size() == count;
+            for (int i = 0; i < count; i++) {
+                assert pageAll.get(i).getUid().equals("id_" + i);
+            }
+        }
+    }
+
+    @Test
+    public void queryKeyset_2() throws Throwable {
+        try (Connection c = DsUtils.h2Conn()) {
+            int count = initData(c);
+            LambdaTemplate lambda = newLambda(c);
+
+            List<Map<String, Object>> pageAll = new ArrayList<>();
+            KeysetPage page = new KeysetPage(4, OrderType.DESC, "seq");
+            do {
+                pageAll.addAll(lambda.query(AnnoUserInfoDTO.class).asMap().seekAfter(page).queryForList());
+                page.nextPage();
+            } while (page.getCursor() != null);
+
+            assert pageAll.size() == count;
+            for (int i = 0; i < count; i++) {
+                assert pageAll.get(i).get("uid").equals("id_" + (count - 1 - i));
+            }
+        }
+    }
+
     private static int initData(Connection c) throws SQLException {
         // init data
         JdbcTemplate jdbc = new JdbcTemplate(c);
@@ -19,6 +19,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import net.hasor.dbvisitor.jdbc.core.ResultSetIterator;
 import net.hasor.dbvisitor.jdbc.extractor.RowMapperResultSetExtractor;
 import net.hasor.dbvisitor.jdbc.mapper.ColumnMapRowMapper;
 import net.hasor.dbvisitor.lambda.dto.AnnoUserInfoDTO;
@@ -277,4 +279,51 @@ public class DoEntQueryTest {
             assert lambda.query(UserInfo2.class).queryForLargeCount() == 3L;
         }
     }
+
+    @Test
+    public void selectAll_forCursor_1() throws Throwable {
+        try (Connection c = DsUtils.h2Conn()) {
+            List<String> collect = new ArrayList<>();
+            try (ResultSetIterator<AnnoUserInfoDTO> iterator = new LambdaTemplate(c).query(AnnoUserInfoDTO.class).iteratorForCursor(2)) {
+                while (iterator.hasNext()) {
+                    collect.add(iterator.next().getName());
+                }
+                assert iterator.isClosed(); // closed automatically at the end.
+            }
+
+            assert collect.size() == 3;
+            assert collect.contains(beanForData1().getName());
+            assert collect.contains(beanForData2().getName());
+            assert collect.contains(beanForData3().getName());
+        }
+    }
+
+    @Test
+    public void selectAll_forCursor_2() throws Throwable {
+        try (Connection c = DsUtils.h2Conn()) {
+            ResultSetIterator<AnnoUserInfoDTO> iterator = new LambdaTemplate(c).query(AnnoUserInfoDTO.class).iteratorForCursor(1);
+            assert iterator.hasNext();
+            assert iterator.next() != null;
+            iterator.close();
+
+            assert iterator.isClosed();
+            assert !iterator.hasNext();
+            assert !c.isClosed(); // the connection is not owned by the iterator.
+        }
+    }
+
+    @Test
+    public void selectAll_forStream_1_2map() throws Throwable {
+        try (Connection c = DsUtils.h2Conn()) {
+            List<String> collect;
+            try (Stream<Map<String, Object>> stream = new LambdaTemplate(c).query(AnnoUserInfoDTO.class).asMap().queryForStream()) {
+                collect = stream.map(m -> m.get("name").toString()).collect(Collectors.toList());
+            }
+
+            assert collect.size() == 3;
+            assert collect.contains(beanForData1().getName());
+            assert collect.contains(beanForData2().getName());
+            assert collect.contains(beanForData3().getName());
+        }
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.mapping;
+import java.util.Map;
+import net.hasor.cobble.BeanUtils;
+import net.hasor.cobble.function.Property;
+import net.hasor.dbvisitor.mapping.def.ColumnMapping;
+import net.hasor.dbvisitor.mapping.def.TableMapping;
+import net.hasor.test.dto.UserInfo2;
+import org.junit.Test;
+
+/***
+ * @version 2026-10-17
+ * @author 赵永春 (zyc@hasor.net)
+ */
+public class PropertyAccessorsTest {
+    @Test
+    public void fastProperty_1() {
+        Map<String, Property> properties = BeanUtils.getPropertyFunc(AccessorBean.class);
+        Property name = PropertyAccessors.fastProperty(AccessorBean.class, "name", properties.get("name"));
+        Property age = PropertyAccessors.fastProperty(AccessorBean.class, "age", properties.get("age"));
+        Property money = PropertyAccessors.fastProperty(AccessorBean.class, "money", properties.get("money"));
+
+        assert name != properties.get("name");
+        assert age != properties.get("age");
+        assert !name.isReadOnly() && name.getField() != null;
+
+        AccessorBean bean = new AccessorBean();
+        name.set(bean, "abc");
+        age.set(bean, 12);
+        money.set(bean, 34);  // widening from Integer to long, same as Method.invoke
+        assert name.get(bean).equals("abc");
+        assert age.get(bean).equals(12);
+        assert money.get(bean).equals(34L);
+
+        // errors are ignored, same as reflect.
+        age.set(bean, null);
+        age.set(bean, "abc");
+        name.set(bean, 123);
+        assert age.get(bean).equals(12);
+        assert name.get(bean).equals("abc");
+    }
+
+    @Test
+    public void fastProperty_2() {
+        Map<String, Property> properties = BeanUtils.getPropertyFunc(AccessorBean.class);
+        Property readOnly = PropertyAccessors.fastProperty(AccessorBean.class, "readOnly", properties.get("readOnly"));
+        assert readOnly.isReadOnly();
+        assert readOnly.get(new AccessorBean()).equals("readOnly");
+
+        // overloaded setter keep using reflect.
+        Property overload = PropertyAccessors.fastProperty(AccessorBean.class, "overload", properties.get("overload"));
+        assert overload == properties.get("overload");
+    }
+
+    @Test
+    public void instantiator_1() {
+        assert PropertyAccessors.instantiator(AccessorBean.class).get() != null;
+        assert PropertyAccessors.instantiator(PrivateBean.class).get() != null;
+        assert PropertyAccessors.reflectInstantiator(AccessorBean.class).get() != null;
+    }
+
+    @Test
+    public void tableMapping_1() {
+        MappingRegistry registry = new MappingRegistry();
+        TableMapping<UserInfo2> tableMapping = registry.loadEntityToSpace(UserInfo2.class);
+
+        UserInfo2 user = tableMapping.newInstance();
+        ColumnMapping uid = tableMapping.getPropertyByName("uid");
+        uid.getHandler().set(user, "abc");
+        assert user.getUid().equals("abc");
+        assert uid.getHandler().get(user).equals("abc");
+    }
+
+    public static class AccessorBean {
+        private String name;
+        private int    age;
+        private long   money;
+        private String overload;
+
+        public String getName() {
+            return this.name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return this.age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public long getMoney() {
+            return this.money;
+        }
+
+        public void setMoney(long money) {
+            this.money = money;
+        }
+
+        public String getReadOnly() {
+            return "readOnly";
+        }
+
+        public String getOverload() {
+            return this.overload;
+        }
+
+        public void setOverload(String overload) {
+            this.overload = overload;
+        }
+
+        public void setOverload(int overload) {
+            this.overload = String.valueOf(overload);
+        }
+    }
+
+    private static class PrivateBean {
+        private PrivateBean() {
+        }
+    }
+}
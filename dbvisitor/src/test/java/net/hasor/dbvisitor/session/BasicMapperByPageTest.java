@@ -3,16 +3,28 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import net.hasor.cobble.CollectionUtils;
 import net.hasor.dbvisitor.dialect.SqlDialectRegister;
 import net.hasor.dbvisitor.lambda.core.OrderType;
 import net.hasor.dbvisitor.mapper.BaseMapper;
 import net.hasor.dbvisitor.mapping.Options;
+import net.hasor.dbvisitor.page.CountStrategy;
 import net.hasor.dbvisitor.page.PageObject;
 import net.hasor.dbvisitor.page.PageResult;
+import net.hasor.dbvisitor.session.dto.ProxyStatementMapper;
+import net.hasor.dbvisitor.session.dto.UserInfo;
 import net.hasor.dbvisitor.session.dto.UserInfo2;
 import net.hasor.dbvisitor.session.dto.UserInfo3;
+import net.hasor.dbvisitor.transaction.Isolation;
+import net.hasor.dbvisitor.transaction.Propagation;
+import net.hasor.dbvisitor.transaction.TransactionManager;
+import net.hasor.dbvisitor.transaction.TransactionStatus;
+import net.hasor.dbvisitor.transaction.support.LocalTransactionManager;
+import net.hasor.test.utils.DefaultDs;
 import net.hasor.test.utils.DsUtils;
 import org.junit.Test;
 import static net.hasor.test.utils.TestUtils.INSERT_ARRAY;
@@ -243,4 +255,196 @@ public class BasicMapperByPageTest {
             assert e.getMessage().contains("sample is null");
         }
     }
+
+    @Test
+    public void pageCount_rewrite() throws Exception {
+        Options option = Options.of().dialect(SqlDialectRegister.findOrCreate("h2")).mapUnderscoreToCamelCase(true);
+        Configuration config = new Configuration(option);
+        config.setCountStrategy(CountStrategy.REWRITE);
+        config.loadMapper(ProxyStatementMapper.class);
+        String stId = ProxyStatementMapper.class.getName() + ".selectByPageOrder";
+
+        try (Session s = initPageData(config.newSession(DsUtils.h2Conn()), 8)) {
+            PageResult<UserInfo> page1 = s.pageStatement(stId, CollectionUtils.asMap("seq", 2), new PageObject(0, 4));
+            assert page1.getTotalCount() == 6;
+            assert page1.getData().size() == 4;
+            assert page1.getData().get(0).getSeq() == 2;
+
+            page1.nextPage();
+            PageResult<UserInfo> page2 = s.pageStatement(stId, CollectionUtils.asMap("seq", 2), page1);
+            assert page2.getTotalCount() == 6;
+            assert page2.getData().size() == 2;
+            assert page2.getData().get(0).getSeq() == 6;
+        }
+    }
+
+    @Test
+    public void pageCount_hasNext() throws Exception {
+        Options option = Options.of().dialect(SqlDialectRegister.findOrCreate("h2")).mapUnderscoreToCamelCase(true);
+        Configuration config = new Configuration(option);
+        config.loadMapper(ProxyStatementMapper.class);
+        String stId = ProxyStatementMapper.class.getName() + ".selectByPageOrder";
+
+        try (Session s = initPageData(config.newSession(DsUtils.h2Conn()), 8)) {
+            PageObject pageInfo = new PageObject(0, 3);
+            pageInfo.setCountStrategy(CountStrategy.HAS_NEXT);
+
+            // page1, 6 records in total, one more row means there is a next page.
+            PageResult<UserInfo> page1 = s.pageStatement(stId, CollectionUtils.asMap("seq", 2), pageInfo);
+            assert page1.getData().size() == 3;
+            assert page1.getTotalCount() == 4;
+            assert page1.getCountStrategy() == CountStrategy.HAS_NEXT;
+
+            // page2, the last page.
+            pageInfo.nextPage();
+            PageResult<UserInfo> page2 = s.pageStatement(stId, CollectionUtils.asMap("seq", 2), pageInfo);
+            assert page2.getData().size() == 3;
+            assert page2.getData().get(2).getSeq() == 7;
+            assert page2.getTotalCount() == 6;
+        }
+    }
+
+    @Test
+    public void pageCount_cache() throws Exception {
+        Options option = Options.of().dialect(SqlDialectRegister.findOrCreate("h2")).mapUnderscoreToCamelCase(true);
+        Configuration config = new Configuration(option);
+        config.setCountCache(new CountCache(60000, 16));
+        config.loadMapper(ProxyStatementMapper.class);
+        String stId = ProxyStatementMapper.class.getName() + ".selectByPageOrder";
+
+        try (Session s = initPageData(config.newSession(DsUtils.h2Conn()), 8)) {
+            PageResult<UserInfo> page1 = s.pageStatement(stId, CollectionUtils.asMap("seq", 2), PageObject.of(0, 4));
+            assert page1.getTotalCount() == 6;
+            assert config.getCountCache().size() == 1;
+
+            // the count is cached, new data is not visible to the total count.
+            s.jdbc().executeUpdate("delete from user_info where seq = 7");
+            PageResult<UserInfo> page2 = s.pageStatement(stId, CollectionUtils.asMap("seq", 2), PageObject.of(0, 4));
+            assert page2.getTotalCount() == 6;
+
+            // different arguments
+            PageResult<UserInfo> page3 = s.pageStatement(stId, CollectionUtils.asMap("seq", 3), PageObject.of(0, 4));
+            assert page3.getTotalCount() == 4;
+            assert config.getCountCache().size() == 2;
+
+            // new PageObject(n, size) sets refreshTotalCount, the cached count is skipped and the fresh one is stored.
+            PageResult<UserInfo> page4 = s.pageStatement(stId, CollectionUtils.asMap("seq", 2), new PageObject(0, 4));
+            assert page4.getTotalCount() == 5;
+            PageResult<UserInfo> page5 = s.pageStatement(stId, CollectionUtils.asMap("seq", 2), PageObject.of(0, 4));
+            assert page5.getTotalCount() == 5;
+
+            s.jdbc().executeUpdate("delete from user_info where seq = 6");
+            config.getCountCache().clear();
+            PageResult<UserInfo> page6 = s.pageStatement(stId, CollectionUtils.asMap("seq", 2), PageObject.of(0, 4));
+            assert page6.getTotalCount() == 4;
+        }
+    }
+
+    @Test
+    public void pageBySample_countStrategy() throws Exception {
+        Options option = Options.of().dialect(SqlDialectRegister.findOrCreate("h2")).mapUnderscoreToCamelCase(true);
+        Configuration config = new Configuration(option);
+        config.setCountCache(new CountCache(60000, 16));
+
+        try (Session s = initPageData(config.newSession(DsUtils.h2Conn()), 8)) {
+            BaseMapper<UserInfo2> mapper = s.createBaseMapper(UserInfo2.class);
+
+            // HAS_NEXT, no count query.
+            PageObject pageInfo = new PageObject(2, 3);
+            pageInfo.setCountStrategy(CountStrategy.HAS_NEXT);
+            PageResult<UserInfo2> page1 = mapper.pageBySample(new UserInfo2(), pageInfo, CollectionUtils.asMap("uid", OrderType.ASC), null);
+            assert page1.getData().size() == 2;
+            assert page1.getTotalCount() == 8;
+            assert config.getCountCache().size() == 0;
+
+            // count goes through the count cache.
+            PageResult<UserInfo2> page2 = mapper.pageBySample(new UserInfo2(), PageObject.of(0, 3), CollectionUtils.asMap("uid", OrderType.ASC), null);
+            assert page2.getTotalCount() == 8;
+            assert config.getCountCache().size() == 1;
+
+            s.jdbc().executeUpdate("delete from user_info where seq = 7");
+            PageResult<UserInfo2> page3 = mapper.pageBySample(new UserInfo2(), PageObject.of(0, 3), CollectionUtils.asMap("uid", OrderType.ASC), null);
+            assert page3.getTotalCount() == 8;
+
+            // REWRITE from the configuration, a refreshed count is not read from the cache.
+            config.setCountStrategy(CountStrategy.REWRITE);
+            PageResult<UserInfo2> page4 = mapper.pageBySample(new UserInfo2(), new PageObject(0, 3), CollectionUtils.asMap("uid", OrderType.ASC), null);
+            assert page4.getTotalCount() == 7;
+            assert page4.getData().size() == 3;
+        }
+    }
+
+    @Test
+    public void pageCount_parallel() throws Throwable {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        AtomicInteger submitted = new AtomicInteger();
+        Options option = Options.of().dialect(SqlDialectRegister.findOrCreate("h2")).mapUnderscoreToCamelCase(true);
+        Configuration config = new Configuration(option);
+        config.setParallelExecutor(r -> {
+            submitted.incrementAndGet();
+            pool.execute(r);
+        });
+        config.setParallelPageCount(true);
+        config.loadMapper(ProxyStatementMapper.class);
+        String stId = ProxyStatementMapper.class.getName() + ".selectByPageOrder";
+
+        try (DefaultDs ds = DsUtils.h2Ds(); Session s = initPageData(config.newSession(ds), 8)) {
+            PageResult<UserInfo> page1 = s.pageStatement(stId, CollectionUtils.asMap("seq", 2), new PageObject(0, 4));
+            assert page1.getTotalCount() == 6;
+            assert page1.getData().size() == 4;
+            assert submitted.get() == 1;
+
+            // pageBySample 和 lambda 也返回总记录数
+            BaseMapper<UserInfo2> mapper = s.createBaseMapper(UserInfo2.class);
+            PageResult<UserInfo2> page2 = mapper.pageBySample(new UserInfo2(), new PageObject(1, 3), CollectionUtils.asMap("uid", OrderType.ASC), null);
+            assert page2.getTotalCount() == 8;
+            assert page2.getData().size() == 3;
+            assert page2.getData().get(0).getName().equals("wuguang_3");
+            assert submitted.get() == 2;
+
+            PageResult<UserInfo2> page3 = mapper.query().orderBy("uid").usePage(new PageObject(2, 3)).queryForPage();
+            assert page3.getTotalCount() == 8;
+            assert page3.getData().size() == 2;
+            assert submitted.get() == 3;
+
+            // 总数已知时不再 count
+            PageResult<UserInfo2> page4 = mapper.query().orderBy("uid").usePage(page3).queryForPage();
+            assert page4.getTotalCount() == 8;
+            assert submitted.get() == 3;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void pageCount_parallel_tran() throws Throwable {
+        AtomicInteger submitted = new AtomicInteger();
+        Options option = Options.of().dialect(SqlDialectRegister.findOrCreate("h2")).mapUnderscoreToCamelCase(true);
+        Configuration config = new Configuration(option);
+        config.setParallelExecutor(r -> {
+            submitted.incrementAndGet();
+            r.run();
+        });
+        config.setParallelPageCount(true);
+        config.loadMapper(ProxyStatementMapper.class);
+        String stId = ProxyStatementMapper.class.getName() + ".selectByPageOrder";
+
+        try (DefaultDs ds = DsUtils.h2Ds(); Session s = initPageData(config.newSession(ds), 8)) {
+            TransactionManager manager = new LocalTransactionManager(ds);
+            TransactionStatus tran = manager.begin(Propagation.REQUIRED, Isolation.READ_COMMITTED);
+            try {
+                // 事务中 count 在同一个连接上执行，可以看到未提交的数据
+                s.jdbc().executeUpdate("delete from user_info where seq = 7");
+                PageResult<UserInfo> page1 = s.pageStatement(stId, CollectionUtils.asMap("seq", 2), new PageObject(0, 4));
+                assert page1.getTotalCount() == 5;
+
+                BaseMapper<UserInfo2> mapper = s.createBaseMapper(UserInfo2.class);
+                PageResult<UserInfo2> page2 = mapper.query().usePage(new PageObject(0, 3)).queryForPage();
+                assert page2.getTotalCount() == 7;
+                assert submitted.get() == 0;
+            } finally {
+                manager.rollBack(tran);
+            }
+        }
+    }
 }
@@ -2,6 +2,7 @@ package net.hasor.dbvisitor.session;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import net.hasor.dbvisitor.dialect.provider.H2Dialect;
 import net.hasor.dbvisitor.mapper.BaseMapper;
 import net.hasor.dbvisitor.session.dto.UserInfo;
 import net.hasor.dbvisitor.session.dto.UserInfo2;
@@ -44,6 +45,29 @@ public class BasicMapperDeleteByIdTest {
         }
     }
 
+    @Test
+    public void deleteByIds_chunk_1() throws Exception {
+        Configuration config = new Configuration();
+        config.options().mapUnderscoreToCamelCase(true);
+        config.options().setDialect(new H2Dialect() {
+            @Override
+            public int maxInListSize() {
+                return 1;
+            }
+        });
+
+        try (Session s = config.newSession(DsUtils.h2Conn())) {
+            BaseMapper<UserInfo2> mapper = s.createBaseMapper(UserInfo2.class);
+            List<UserInfo2> list = mapper.query().queryForList();
+            UserInfo2 u1 = list.get(0);
+            UserInfo2 u2 = list.get(1);
+
+            assert mapper.query().queryForCount() == 3;
+            assert mapper.deleteByIds(Arrays.asList(u1.getUid(), u2.getUid(), u1.getUid())) == 2;
+            assert mapper.query().queryForCount() == 1;
+        }
+    }
+
     //
 
     @Test
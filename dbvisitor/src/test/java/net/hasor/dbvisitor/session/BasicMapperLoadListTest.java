@@ -1,5 +1,7 @@
 package net.hasor.dbvisitor.session;
 import java.util.*;
+import net.hasor.dbvisitor.dialect.provider.H2Dialect;
+import net.hasor.dbvisitor.lambda.EntityQuery;
 import net.hasor.dbvisitor.mapper.BaseMapper;
 import net.hasor.dbvisitor.session.dto.UserInfo;
 import net.hasor.dbvisitor.session.dto.UserInfo2;
@@ -319,4 +321,47 @@ public class BasicMapperLoadListTest {
             assert mapper.loadListBy(Arrays.asList(null, null)).size() == 0;
         }
     }
+
+    @Test
+    public void loadListBy_twokey_chunk_1() throws Exception {
+        Configuration config = new Configuration();
+        config.options().mapUnderscoreToCamelCase(true);
+        config.options().setDialect(new H2Dialect() {
+            @Override
+            public int maxInListSize() {
+                return 3; // 联合主键每行两个参数，每次查询一行
+            }
+        });
+
+        try (Session s = config.newSession(DsUtils.h2Conn())) {
+            BaseMapper<UserInfo3> mapper = s.createBaseMapper(UserInfo3.class);
+            List<UserInfo3> list = mapper.query().orderBy("uid").queryForList();
+            assert list.size() > 3;
+
+            Map<String, Object> ref = new HashMap<>();
+            ref.put("uid", list.get(0).getUid());
+            ref.put("name", list.get(0).getName());
+            List<UserInfo3> result = mapper.loadListBy(Arrays.asList(list.get(2), ref, list.get(1), list.get(2)), true);
+            assert result.size() == 3;
+            assert result.get(0).getUid().equals(list.get(2).getUid());
+            assert result.get(1).getUid().equals(list.get(0).getUid());
+            assert result.get(2).getUid().equals(list.get(1).getUid());
+        }
+    }
+
+    @Test
+    public void inRows_sql_1() throws Exception {
+        Configuration config = new Configuration();
+        config.options().mapUnderscoreToCamelCase(true);
+
+        try (Session s = config.newSession(DsUtils.h2Conn())) {
+            BaseMapper<UserInfo3> mapper = s.createBaseMapper(UserInfo3.class);
+            List<UserInfo3> list = mapper.query().queryForList();
+
+            List<Object[]> rows = Arrays.asList(new Object[] { list.get(0).getUid(), list.get(0).getName() }, new Object[] { list.get(1).getUid(), list.get(1).getName() });
+            EntityQuery<UserInfo3> query = mapper.query().inRows(Arrays.asList("uid", "name"), rows);
+            assert query.getBoundSql().getSqlString().contains("(user_uuid, user_name) IN ((?, ?), (?, ?))");
+            assert query.queryForList().size() == 2;
+        }
+    }
 }
@@ -3,7 +3,13 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import net.hasor.dbvisitor.dialect.provider.H2Dialect;
 import net.hasor.dbvisitor.mapper.BaseMapper;
+import net.hasor.dbvisitor.mapping.Column;
+import net.hasor.dbvisitor.mapping.Table;
 import net.hasor.dbvisitor.session.dto.UserInfo;
 import net.hasor.dbvisitor.session.dto.UserInfo2;
 import net.hasor.dbvisitor.session.dto.UserInfo3;
@@ -46,8 +52,106 @@ public class BasicMapperQueryByIdTest {
         }
     }
 
+    @Test
+    public void selectByIds_chunk_1() throws Exception {
+        Configuration config = new Configuration();
+        config.options().mapUnderscoreToCamelCase(true);
+        config.options().setDialect(new H2Dialect() {
+            @Override
+            public int maxInListSize() {
+                return 2;
+            }
+        });
+
+        try (Session s = config.newSession(DsUtils.h2Conn())) {
+            BaseMapper<UserInfo2> mapper = s.createBaseMapper(UserInfo2.class);
+            List<UserInfo2> list = mapper.query().orderBy("uid").queryForList();
+            assert list.size() == 3;
+            String id1 = list.get(0).getUid();
+            String id2 = list.get(1).getUid();
+            String id3 = list.get(2).getUid();
+
+            List<UserInfo2> result = mapper.selectByIds(Arrays.asList(id3, "not_exist", id1, id3, id2), true);
+            assert result.size() == 3;
+            assert result.get(0).getUid().equals(id3);
+            assert result.get(1).getUid().equals(id1);
+            assert result.get(2).getUid().equals(id2);
+        }
+    }
+
+    @Test
+    public void selectByIds_parallel_1() throws Throwable {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Configuration config = new Configuration();
+            config.options().mapUnderscoreToCamelCase(true);
+            config.options().setDialect(new H2Dialect() {
+                @Override
+                public int maxInListSize() {
+                    return 1;
+                }
+            });
+            config.setParallelExecutor(executor);
+
+            try (Session s = config.newSession(DsUtils.h2Ds())) {
+                BaseMapper<UserInfo2> mapper = s.createBaseMapper(UserInfo2.class);
+                List<UserInfo2> list = mapper.query().orderBy("uid").queryForList();
+                assert list.size() == 3;
+
+                List<String> ids = Arrays.asList(list.get(2).getUid(), list.get(0).getUid(), list.get(1).getUid());
+                List<UserInfo2> result = mapper.selectByIds(ids, true);
+                assert result.size() == 3;
+                for (int i = 0; i < ids.size(); i++) {
+                    assert result.get(i).getUid().equals(ids.get(i));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     //
 
+    @Test
+    public void selectByIds_keepOrder_type_1() throws Exception {
+        Configuration config = new Configuration();
+        try (Session s = config.newSession(DsUtils.h2Conn())) {
+            s.jdbc().execute("drop table if exists key_order_info");
+            s.jdbc().execute("create table key_order_info (id char(4) primary key, name varchar(20))");
+            s.jdbc().execute("insert into key_order_info values ('a', 'a'), ('b', 'b'), ('c', 'c')");
+
+            // the database pads CHAR values, the keys of the result rows do not equal the input keys but the rows are kept.
+            BaseMapper<KeyOrderInfo> mapper = s.createBaseMapper(KeyOrderInfo.class);
+            List<KeyOrderInfo> result = mapper.selectByIds(Arrays.asList("c", "a", "b"), true);
+            assert result.size() == 3;
+            assert result.stream().map(r -> r.getId().trim()).sorted().collect(Collectors.joining(",")).equals("a,b,c");
+        }
+    }
+
+    @Table("key_order_info")
+    public static class KeyOrderInfo {
+        @Column(value = "id", primary = true)
+        private String  id;
+        @Column("name")
+        private String  name;
+
+        public String getId() {
+            return this.id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
     @Test
     public void badSelect_1() throws Exception {
         try (Session s = new Configuration().newSession(DsUtils.h2Conn())) {
@@ -0,0 +1,138 @@
+package net.hasor.dbvisitor.session;
+import java.util.Arrays;
+import java.util.List;
+import net.hasor.cobble.CollectionUtils;
+import net.hasor.dbvisitor.mapper.BaseMapper;
+import net.hasor.dbvisitor.session.dto.ResultCacheMapper;
+import net.hasor.dbvisitor.session.dto.UserInfo2;
+import net.hasor.dbvisitor.transaction.Isolation;
+import net.hasor.dbvisitor.transaction.Propagation;
+import net.hasor.dbvisitor.transaction.TransactionManager;
+import net.hasor.dbvisitor.transaction.TransactionStatus;
+import net.hasor.dbvisitor.transaction.support.LocalTransactionManager;
+import net.hasor.test.utils.DefaultDs;
+import net.hasor.test.utils.DsUtils;
+import org.junit.Test;
+
+public class IdentityCacheTest {
+    private Configuration newConfig(boolean identityCache) {
+        Configuration config = new Configuration();
+        config.options().mapUnderscoreToCamelCase(true);
+        config.setIdentityCache(identityCache);
+        return config;
+    }
+
+    @Test
+    public void disabled_1() throws Exception {
+        try (Session s = newConfig(false).newSession(DsUtils.h2Conn())) {
+            BaseMapper<UserInfo2> mapper = s.createBaseMapper(UserInfo2.class);
+            String uid = mapper.query().queryForList().get(0).getUid();
+
+            assert s.getIdentityCache() == null;
+            assert mapper.selectById(uid) != mapper.selectById(uid);
+        }
+    }
+
+    @Test
+    public void selectById_1() throws Exception {
+        try (Session s = newConfig(true).newSession(DsUtils.h2Conn())) {
+            BaseMapper<UserInfo2> mapper = s.createBaseMapper(UserInfo2.class);
+            String uid = mapper.query().queryForList().get(0).getUid();
+
+            UserInfo2 u1 = mapper.selectById(uid);
+            // 通过 jdbc() 修改的数据不会被感知
+            s.jdbc().executeUpdate("update user_info set user_name = ? where user_uuid = ?", new Object[] { "jdbc_name", uid });
+            UserInfo2 u2 = mapper.selectById(uid);
+            assert u1 == u2;
+            assert !u2.getName().equals("jdbc_name");
+
+            s.clearIdentityCache();
+            assert mapper.selectById(uid).getName().equals("jdbc_name");
+        }
+    }
+
+    @Test
+    public void selectById_invalidateByWrite() throws Exception {
+        try (Session s = newConfig(true).newSession(DsUtils.h2Conn())) {
+            BaseMapper<UserInfo2> mapper = s.createBaseMapper(UserInfo2.class);
+            String uid = mapper.query().queryForList().get(0).getUid();
+
+            UserInfo2 u1 = mapper.selectById(uid);
+            assert s.getIdentityCache().size() == 1;
+
+            // BaseMapper 写操作
+            mapper.updateByMap(CollectionUtils.asMap("uid", uid, "name", "base_name"));
+            assert s.getIdentityCache().size() == 0;
+            UserInfo2 u2 = mapper.selectById(uid);
+            assert u1 != u2;
+            assert u2.getName().equals("base_name");
+
+            // Lambda 写操作
+            s.lambda().update(UserInfo2.class).eq(UserInfo2::getUid, uid).updateTo(UserInfo2::getName, "lambda_name").doUpdate();
+            assert mapper.selectById(uid).getName().equals("lambda_name");
+        }
+    }
+
+    @Test
+    public void selectById_invalidateByStatement() throws Exception {
+        try (Session s = newConfig(true).newSession(DsUtils.h2Conn())) {
+            ResultCacheMapper mapper = s.createMapper(ResultCacheMapper.class);
+            String uid = mapper.selectNoCache(0).get(0).getUid();
+
+            UserInfo2 u1 = mapper.selectById(uid);
+            mapper.selectNoCache(0);
+            assert mapper.selectById(uid) == u1;
+
+            assert mapper.updateName(uid, "st_name") == 1;
+            assert mapper.selectById(uid).getName().equals("st_name");
+        }
+    }
+
+    @Test
+    public void selectByIds_1() throws Exception {
+        try (Session s = newConfig(true).newSession(DsUtils.h2Conn())) {
+            BaseMapper<UserInfo2> mapper = s.createBaseMapper(UserInfo2.class);
+            List<UserInfo2> list = mapper.query().queryForList();
+            String uid1 = list.get(0).getUid();
+            String uid2 = list.get(1).getUid();
+            String uid3 = list.get(2).getUid();
+
+            UserInfo2 u2 = mapper.selectById(uid2);
+            List<UserInfo2> result = mapper.selectByIds(Arrays.asList(uid3, uid2, uid1), true);
+            assert result.size() == 3;
+            assert result.get(0).getUid().equals(uid3);
+            assert result.get(1) == u2;
+            assert result.get(2).getUid().equals(uid1);
+            assert s.getIdentityCache().size() == 3;
+
+            UserInfo2 ref = new UserInfo2();
+            ref.setUid(uid3);
+            assert mapper.loadBy(ref) == result.get(0);
+            assert mapper.loadListBy(Arrays.asList(ref)).get(0) == result.get(0);
+        }
+    }
+
+    @Test
+    public void clearAfterRollback_1() throws Throwable {
+        try (DefaultDs ds = DsUtils.h2Ds(); Session s = newConfig(true).newSession(ds)) {
+            BaseMapper<UserInfo2> mapper = s.createBaseMapper(UserInfo2.class);
+            String uid = mapper.query().queryForList().get(0).getUid();
+            String name = mapper.selectById(uid).getName();
+            s.clearIdentityCache();
+
+            TransactionManager manager = new LocalTransactionManager(ds);
+            TransactionStatus tran = manager.begin(Propagation.REQUIRED, Isolation.READ_COMMITTED);
+            try {
+                s.jdbc().executeUpdate("update user_info set user_name = ? where user_uuid = ?", new Object[] { "tx_name", uid });
+                assert mapper.selectById(uid).getName().equals("tx_name");
+                assert s.getIdentityCache().size() == 1;
+            } finally {
+                manager.rollBack(tran);
+            }
+
+            // the uncommitted entity is not kept after the rollback.
+            assert s.getIdentityCache().size() == 0;
+            assert mapper.selectById(uid).getName().equals(name);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package net.hasor.dbvisitor.session;
+import java.sql.Connection;
+import java.util.List;
+import net.hasor.dbvisitor.dialect.SqlDialectRegister;
+import net.hasor.dbvisitor.mapping.Options;
+import net.hasor.dbvisitor.session.dto.ResultCacheMapper;
+import net.hasor.dbvisitor.session.dto.UserInfo2;
+import net.hasor.dbvisitor.transaction.Isolation;
+import net.hasor.dbvisitor.transaction.Propagation;
+import net.hasor.dbvisitor.transaction.TransactionManager;
+import net.hasor.dbvisitor.transaction.TransactionStatus;
+import net.hasor.dbvisitor.transaction.support.LocalTransactionManager;
+import net.hasor.test.utils.DefaultDs;
+import net.hasor.test.utils.DsUtils;
+import org.junit.Test;
+
+public class ResultCacheTest {
+    private Configuration newConfig(ResultCache resultCache) {
+        Options option = Options.of().dialect(SqlDialectRegister.findOrCreate("h2")).mapUnderscoreToCamelCase(true);
+        Configuration config = new Configuration(option);
+        config.setResultCache(resultCache);
+        return config;
+    }
+
+    @Test
+    public void cache_hit() throws Exception {
+        ResultCache resultCache = new ResultCache(60000, 16);
+        try (Session s = newConfig(resultCache).newSession(DsUtils.h2Conn())) {
+            ResultCacheMapper mapper = s.createMapper(ResultCacheMapper.class);
+
+            List<UserInfo2> list1 = mapper.selectBySeq(0);
+            List<UserInfo2> list2 = mapper.selectBySeq(0);
+            assert list1.size() == 3;
+            assert list2.size() == 3;
+            assert list1 != list2;
+            assert list1.get(0) != list2.get(0);
+            assert resultCache.getHitCount() == 1;
+            assert resultCache.getMissCount() == 1;
+
+            // 不同的参数使用不同的缓存
+            assert mapper.selectBySeq(2).size() == 2;
+            assert resultCache.getMissCount() == 2;
+            assert resultCache.size() == 2;
+
+            // 未开启 useCache 的语句不使用缓存
+            mapper.selectNoCache(0);
+            assert resultCache.size() == 2;
+            assert resultCache.getHitCount() == 1;
+        }
+    }
+
+    @Test
+    public void cache_copyOnReadAndWrite() throws Exception {
+        ResultCache resultCache = new ResultCache(60000, 16);
+        try (Session s = newConfig(resultCache).newSession(DsUtils.h2Conn())) {
+            ResultCacheMapper mapper = s.createMapper(ResultCacheMapper.class);
+
+            List<UserInfo2> list1 = mapper.selectBySeq(0);
+            String name = list1.get(0).getName();
+            list1.get(0).setName("changed_1");
+            list1.clear();
+
+            List<UserInfo2> list2 = mapper.selectBySeq(0);
+            assert list2.size() == 3;
+            assert list2.get(0).getName().equals(name);
+            list2.get(0).setName("changed_2");
+
+            List<UserInfo2> list3 = mapper.selectBySeq(0);
+            assert list3.get(0).getName().equals(name);
+            assert list3.get(0).getUid().equals(list2.get(0).getUid());
+            assert resultCache.getHitCount() == 2;
+        }
+    }
+
+    @Test
+    public void cache_invalidateByMapper() throws Exception {
+        ResultCache resultCache = new ResultCache(60000, 16);
+        try (Session s = newConfig(resultCache).newSession(DsUtils.h2Conn())) {
+            ResultCacheMapper mapper = s.createMapper(ResultCacheMapper.class);
+
+            String uid = mapper.selectBySeq(0).get(0).getUid();
+            assert mapper.updateName(uid, "new_name") == 1;
+
+            List<UserInfo2> list = mapper.selectBySeq(0);
+            assert list.get(0).getName().equals("new_name");
+            assert resultCache.getHitCount() == 0;
+        }
+    }
+
+    @Test
+    public void cache_invalidateByBaseMapper() throws Exception {
+        ResultCache resultCache = new ResultCache(60000, 16);
+        try (Session s = newConfig(resultCache).newSession(DsUtils.h2Conn())) {
+            ResultCacheMapper mapper = s.createMapper(ResultCacheMapper.class);
+
+            UserInfo2 user = mapper.selectBySeq(0).get(0);
+            user.setName("base_name");
+            assert mapper.update(user) == 1;
+            assert mapper.selectBySeq(0).get(0).getName().equals("base_name");
+
+            assert mapper.deleteById(user.getUid()) == 1;
+            assert mapper.selectBySeq(0).size() == 2;
+            assert resultCache.getHitCount() == 0;
+        }
+    }
+
+    @Test
+    public void cache_declaredTables() throws Exception {
+        ResultCache resultCache = new ResultCache(60000, 16);
+        try (Session s = newConfig(resultCache).newSession(DsUtils.h2Conn())) {
+            ResultCacheMapper mapper = s.createMapper(ResultCacheMapper.class);
+
+            assert mapper.countWithTables() == 3;
+            assert mapper.countWithTables() == 3;
+            assert resultCache.getHitCount() == 1;
+
+            // 显式声明了依赖的表，user_info 的修改不会使它失效
+            resultCache.invalidate("user_info");
+            assert mapper.countWithTables() == 3;
+            assert resultCache.getHitCount() == 2;
+
+            resultCache.invalidate("PUBLIC.\"USER_INFO3\"");
+            assert mapper.countWithTables() == 3;
+            assert resultCache.getHitCount() == 2;
+        }
+    }
+
+    @Test
+    public void cache_ttlAndInvalidateAll() throws Exception {
+        ResultCache resultCache = new ResultCache(50, 16);
+        try (Session s = newConfig(resultCache).newSession(DsUtils.h2Conn())) {
+            ResultCacheMapper mapper = s.createMapper(ResultCacheMapper.class);
+
+            mapper.selectBySeq(0);
+            Thread.sleep(100);
+            mapper.selectBySeq(0);
+            assert resultCache.getHitCount() == 0;
+
+            mapper.selectBySeq(0);
+            assert resultCache.getHitCount() == 1;
+            resultCache.invalidateAll();
+            assert resultCache.size() == 0;
+            mapper.selectBySeq(0);
+            assert resultCache.getHitCount() == 1;
+        }
+    }
+
+    @Test
+    public void cache_skipInTransaction() throws Throwable {
+        ResultCache resultCache = new ResultCache(60000, 16);
+        DefaultDs ds = DsUtils.h2Ds();
+        try {
+            Session s = newConfig(resultCache).newSession(ds);
+            ResultCacheMapper mapper = s.createMapper(ResultCacheMapper.class);
+
+            TransactionManager manager = new LocalTransactionManager(ds);
+            TransactionStatus tran = manager.begin(Propagation.REQUIRED, Isolation.READ_COMMITTED);
+            mapper.selectBySeq(0);
+            mapper.selectBySeq(0);
+            manager.rollBack(tran);
+            assert resultCache.size() == 0;
+            assert resultCache.getHitCount() == 0;
+
+            mapper.selectBySeq(0);
+            mapper.selectBySeq(0);
+            assert resultCache.getHitCount() == 1;
+        } finally {
+            ds.close();
+        }
+    }
+
+    @Test
+    public void cache_invalidateAfterCommit() throws Throwable {
+        ResultCache resultCache = new ResultCache(60000, 16);
+        DefaultDs ds = DsUtils.h2Ds();
+        try {
+            Configuration config = newConfig(resultCache);
+            ResultCacheMapper mapper = config.newSession(ds).createMapper(ResultCacheMapper.class);
+            String uid = mapper.selectBySeq(0).get(0).getUid();
+            String oldName = mapper.selectBySeq(0).get(0).getName();
+
+            TransactionManager manager = new LocalTransactionManager(ds);
+            TransactionStatus tran = manager.begin(Propagation.REQUIRED, Isolation.READ_COMMITTED);
+            assert mapper.updateName(uid, "tran_name") == 1;
+
+            // 事务提交之前，其它线程读到旧数据并重新缓存
+            Thread reader = new Thread(() -> {
+                try {
+                    mapper.selectBySeq(0);
+                    assert mapper.selectBySeq(0).get(0).getName().equals(oldName);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            reader.start();
+            reader.join();
+            assert resultCache.size() == 1;
+
+            manager.commit(tran);
+            assert mapper.selectBySeq(0).get(0).getName().equals("tran_name");
+        } finally {
+            ds.close();
+        }
+    }
+
+    @Test
+    public void extractTables() {
+        String[] t1 = SqlTableExtractor.extract("select * from user_info a, `db`.user_info3 b left join \"T3\" c on a.id = c.id where a.x in (select y from t4)");
+        assert String.join(",", t1).equals("user_info,user_info3,t3,t4");
+
+        String[] t2 = SqlTableExtractor.extract("insert into auto_id(uid, name) values ('from x', ?)");
+        assert String.join(",", t2).equals("auto_id");
+
+        String[] t3 = SqlTableExtractor.extract("update user_info set name = ? where id in (select id from t2)");
+        assert String.join(",", t3).equals("user_info,t2");
+
+        String[] t4 = SqlTableExtractor.extract("delete from [dbo].[user_info] -- from comment\n where 1 = 1");
+        assert String.join(",", t4).equals("user_info");
+
+        String[] t5 = SqlTableExtractor.extract("update user_info a, user_info3 b set a.name = b.name, a.seq = ? where a.id = b.id");
+        assert String.join(",", t5).equals("user_info,user_info3");
+
+        String[] t6 = SqlTableExtractor.extract("update ignore user_info, t2 set name = ?");
+        assert String.join(",", t6).equals("user_info,t2");
+    }
+}
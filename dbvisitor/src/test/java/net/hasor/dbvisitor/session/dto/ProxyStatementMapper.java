@@ -40,4 +40,7 @@ public interface ProxyStatementMapper {
 
     @Query("select * from user_info")
     List<UserInfo> selectByPage(Page page);
+
+    @Query("select * from user_info where seq >= #{seq} order by seq")
+    List<UserInfo> selectByPageOrder(@Param("seq") int seq, Page page);
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.hasor.dbvisitor.session.dto;
+import java.util.List;
+import net.hasor.dbvisitor.mapper.*;
+
+/**
+ * @author 赵永春 (zyc@hasor.net)
+ * @version 2026-10-17
+ */
+@SimpleMapper
+public interface ResultCacheMapper extends BaseMapper<UserInfo2> {
+    @Query(value = "select * from user_info where seq >= #{seq} order by seq", useCache = true)
+    List<UserInfo2> selectBySeq(@Param("seq") int seq);
+
+    @Query(value = "select count(*) from user_info", useCache = true, cacheTables = "user_info3")
+    long countWithTables();
+
+    @Query("select * from user_info where seq >= #{seq} order by seq")
+    List<UserInfo2> selectNoCache(@Param("seq") int seq);
+
+    @Update("update user_info set user_name = #{name} where user_uuid = #{uid}")
+    int updateName(@Param("uid") String uid, @Param("name") String name);
+}
@@ -1,6 +1,7 @@
 package net.hasor.dbvisitor.transaction;
 import java.sql.Connection;
 import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.hasor.dbvisitor.jdbc.ConnectionCallback;
 import net.hasor.dbvisitor.jdbc.core.JdbcTemplate;
 import net.hasor.dbvisitor.transaction.support.LocalTransactionManager;
@@ -136,4 +137,23 @@ public class DsManagerTest {
         assert DataSourceUtils.holderMap.get().size() == 0;
         assert DataSourceUtils.holderMap.get().size() == 0;
     }
+
+    @Test
+    public void completion_test_1() throws Throwable {
+        try (DefaultDs dataSource = DsUtils.h2Ds()) {
+            TransactionManager manager = new LocalTransactionManager(dataSource);
+            AtomicInteger called = new AtomicInteger();
+            assert !DataSourceUtils.registerCompletion(dataSource, "t1", called::incrementAndGet);
+
+            TransactionStatus tran = manager.begin(Propagation.REQUIRED, Isolation.READ_COMMITTED);
+            for (int i = 0; i < 100; i++) {
+                assert DataSourceUtils.registerCompletion(dataSource, "t1", called::incrementAndGet);
+            }
+            assert DataSourceUtils.registerCompletion(dataSource, "t2", called::incrementAndGet);
+            assert called.get() == 0;
+
+            manager.commit(tran);
+            assert called.get() == 2;
+        }
+    }
 }
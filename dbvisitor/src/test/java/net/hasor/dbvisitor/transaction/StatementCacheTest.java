@@ -0,0 +1,148 @@
+package net.hasor.dbvisitor.transaction;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import net.hasor.dbvisitor.jdbc.core.JdbcTemplate;
+import net.hasor.dbvisitor.transaction.support.LocalTransactionManager;
+import net.hasor.test.utils.DefaultDs;
+import net.hasor.test.utils.DsUtils;
+import org.junit.Test;
+
+public class StatementCacheTest {
+    @Test
+    public void disabled_test_1() throws Throwable {
+        try (DefaultDs dataSource = DsUtils.h2Ds()) {
+            assert DataSourceUtils.getStatementCacheStats(dataSource) == null;
+
+            try (Connection conn = DataSourceUtils.getConnection(dataSource)) {
+                PreparedStatement ps1 = conn.prepareStatement("select 1");
+                ps1.close();
+                PreparedStatement ps2 = conn.prepareStatement("select 1");
+                assert ps1.unwrap(PreparedStatement.class) != ps2.unwrap(PreparedStatement.class);
+                ps2.close();
+            }
+        }
+    }
+
+    @Test
+    public void reuse_test_1() throws Throwable {
+        try (DefaultDs dataSource = DsUtils.h2Ds()) {
+            DataSourceUtils.setStatementCacheSize(dataSource, 10);
+            StatementCacheStats stats = DataSourceUtils.getStatementCacheStats(dataSource);
+
+            PreparedStatement target;
+            try (Connection conn = DataSourceUtils.getConnection(dataSource)) {
+                JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+                assert jdbc.queryForInt("select ?", 1) == 1;
+                assert jdbc.queryForInt("select ?", 2) == 2;
+                assert jdbc.queryForInt("select ?", 3) == 3;
+                assert stats.getMissCount() == 1;
+                assert stats.getHitCount() == 2;
+                assert stats.getHitRate() > 0.6;
+
+                PreparedStatement ps1 = conn.prepareStatement("select 1");
+                target = ps1.unwrap(PreparedStatement.class);
+                ps1.close();
+                assert ps1.isClosed();
+                assert !target.isClosed();
+                try {
+                    ps1.executeQuery();
+                    assert false;
+                } catch (SQLException e) {
+                    assert e.getMessage().equals("statement is closed.");
+                }
+
+                PreparedStatement ps2 = conn.prepareStatement("select 1");
+                assert ps2.unwrap(PreparedStatement.class) == target;
+
+                // 正在被使用时不会复用
+                PreparedStatement ps3 = conn.prepareStatement("select 1");
+                assert ps3.unwrap(PreparedStatement.class) != target;
+                ps3.close();
+                ps2.close();
+
+                // generated-key 模式不同
+                PreparedStatement ps4 = conn.prepareStatement("select 1", Statement.RETURN_GENERATED_KEYS);
+                assert ps4.unwrap(PreparedStatement.class) != target;
+                ps4.close();
+            } finally {
+                DataSourceUtils.setStatementCacheSize(dataSource, 0);
+            }
+
+            // 连接释放时关闭所有缓存的 PreparedStatement
+            assert target.isClosed();
+        }
+    }
+
+    @Test
+    public void release_test_1() throws Throwable {
+        try (DefaultDs dataSource = DsUtils.h2Ds()) {
+            DataSourceUtils.setStatementCacheSize(dataSource, 10);
+            try (Connection conn = DataSourceUtils.getConnection(dataSource)) {
+                PreparedStatement ps = conn.prepareStatement("select 1");
+                assert ps.getConnection() == conn;
+
+                ResultSet rs = ps.executeQuery();
+                assert rs.getStatement() == ps;
+                assert rs.next() && rs.getInt(1) == 1;
+
+                // the result set left open is closed when the statement is returned to the cache.
+                ps.close();
+                assert rs.isClosed();
+            } finally {
+                DataSourceUtils.setStatementCacheSize(dataSource, 0);
+            }
+        }
+    }
+
+    @Test
+    public void eviction_test_1() throws Throwable {
+        try (DefaultDs dataSource = DsUtils.h2Ds()) {
+            DataSourceUtils.setStatementCacheSize(dataSource, 2);
+            StatementCacheStats stats = DataSourceUtils.getStatementCacheStats(dataSource);
+
+            try (Connection conn = DataSourceUtils.getConnection(dataSource)) {
+                PreparedStatement ps1 = conn.prepareStatement("select 1");
+                PreparedStatement target1 = ps1.unwrap(PreparedStatement.class);
+                ps1.close();
+                conn.prepareStatement("select 2").close();
+                conn.prepareStatement("select 3").close();
+
+                assert stats.getEvictionCount() == 1;
+                assert target1.isClosed();
+
+                PreparedStatement ps4 = conn.prepareStatement("select 3");
+                ps4.close();
+                assert stats.getHitCount() == 1;
+            } finally {
+                DataSourceUtils.setStatementCacheSize(dataSource, 0);
+            }
+        }
+    }
+
+    @Test
+    public void transaction_test_1() throws Throwable {
+        try (DefaultDs dataSource = DsUtils.h2Ds()) {
+            DataSourceUtils.setStatementCacheSize(dataSource, 10);
+            StatementCacheStats stats = DataSourceUtils.getStatementCacheStats(dataSource);
+
+            try {
+                JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+                TransactionManager manager = new LocalTransactionManager(dataSource);
+                TransactionStatus tran = manager.begin(Propagation.REQUIRED, Isolation.READ_COMMITTED);
+                for (int i = 0; i < 5; i++) {
+                    jdbc.executeUpdate("insert into user_info (user_uuid, user_name) values (?, ?)", new Object[] { "stmt_cache_" + i, "name_" + i });
+                }
+                manager.commit(tran);
+
+                assert stats.getMissCount() == 1;
+                assert stats.getHitCount() == 4;
+                assert jdbc.queryForInt("select count(*) from user_info where user_uuid like 'stmt_cache_%'") == 5;
+            } finally {
+                DataSourceUtils.setStatementCacheSize(dataSource, 0);
+            }
+        }
+    }
+}